@@ -0,0 +1,306 @@
+package com.fren_gor.ultimateAdvancementAPI;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.PacketPlayOutSelectAdvancementTabWrapper;
+import com.google.common.base.Preconditions;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils.checkSync;
+
+/**
+ * The {@code AdvancementDeliveryQueue} class spreads the sending of every tab to a player over many ticks.
+ * <p>When a player joins (or is updated using {@link AdvancementMain#updatePlayer(Player)}), every tab shown to them
+ * has to be sent. Instead of sending them all in the same tick, the tabs are queued and every tick each player
+ * receives tabs until {@link #getAdvancementsPerTick()} advancements have been sent to them. At most {@link #getTabsPerTick()}
+ * tabs are sent every tick to all the players together, so that many players joining at once don't overload the server.
+ * <p>The tab the client shows when the advancement GUI is opened is sent first and is selected again once every other tab
+ * has been sent.
+ * <p>An instance can be obtained using {@link AdvancementMain#getDeliveryQueue()}.
+ * <p>This class is not thread safe and must be used on the main thread.
+ */
+public final class AdvancementDeliveryQueue {
+
+    /**
+     * The default maximum amount of advancements sent to a player every tick.
+     */
+    public static final int DEFAULT_ADVANCEMENTS_PER_TICK = 500;
+
+    /**
+     * The default maximum amount of tabs sent to all the players every tick.
+     */
+    public static final int DEFAULT_TABS_PER_TICK = 40;
+
+    private final Plugin plugin;
+    // Queued tabs of every player, in sending order. Players are served in round-robin order
+    private final Map<Player, Deque<AdvancementTab>> queues = new LinkedHashMap<>();
+    // The tab to select again for every player once their queue is empty
+    private final Map<Player, AdvancementTab> selected = new LinkedHashMap<>();
+    private boolean enabled = true;
+    private int advancementsPerTick = DEFAULT_ADVANCEMENTS_PER_TICK;
+    private int tabsPerTick = DEFAULT_TABS_PER_TICK;
+    private int queuedTabs = 0;
+    @Nullable
+    private BukkitTask task;
+
+    AdvancementDeliveryQueue(@NotNull Plugin plugin) {
+        this.plugin = Preconditions.checkNotNull(plugin, "Plugin is null.");
+    }
+
+    /**
+     * Queues the provided tabs to be sent to the provided player, replacing the tabs already queued for them.
+     * <p>If the queue is disabled, the tabs are sent immediately.
+     *
+     * @param player The player.
+     * @param tabs The tabs to send, in the old sending order. The last tab is the one selected by the client.
+     */
+    void enqueue(@NotNull Player player, @NotNull List<AdvancementTab> tabs) {
+        if (!enabled || !Bukkit.isPrimaryThread()) {
+            for (AdvancementTab tab : tabs) {
+                sendTab(player, tab);
+            }
+            return;
+        }
+        removePlayer(player);
+        if (tabs.isEmpty()) {
+            return;
+        }
+
+        // Send first the tab which would have been sent last, since the client selects it
+        final AdvancementTab priority = tabs.get(tabs.size() - 1);
+        final Deque<AdvancementTab> queue = new ArrayDeque<>(tabs.size());
+        queue.add(priority);
+        for (int i = 0; i < tabs.size() - 1; i++) {
+            queue.add(tabs.get(i));
+        }
+        queues.put(player, queue);
+        queuedTabs += queue.size();
+        if (queue.size() > 1) {
+            selected.put(player, priority);
+        }
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 0, 1);
+        }
+    }
+
+    private void tick() {
+        int tabsLeft = tabsPerTick;
+        final List<Player> served = new ArrayList<>();
+        for (Map.Entry<Player, Deque<AdvancementTab>> e : queues.entrySet()) {
+            if (tabsLeft <= 0) {
+                break;
+            }
+            final Player player = e.getKey();
+            final Deque<AdvancementTab> queue = e.getValue();
+            int advancementsLeft = advancementsPerTick;
+            // Send at least one tab, so that tabs bigger than the budget are sent anyway
+            do {
+                AdvancementTab tab = queue.poll();
+                queuedTabs--;
+                tabsLeft--;
+                // The tab may have been disposed or hidden in the meantime
+                if (tab.isActive() && tab.isShownTo(player)) {
+                    advancementsLeft -= getSize(tab);
+                    sendTab(player, tab);
+                }
+            } while (!queue.isEmpty() && tabsLeft > 0 && getSize(queue.peek()) <= advancementsLeft);
+            served.add(player);
+        }
+
+        for (Player player : served) {
+            final Deque<AdvancementTab> queue = queues.remove(player);
+            if (!queue.isEmpty()) {
+                queues.put(player, queue); // Move the player to the end
+            } else {
+                selectTab(player, selected.remove(player));
+            }
+        }
+
+        if (queues.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private static int getSize(@NotNull AdvancementTab tab) {
+        return tab.isActive() ? tab.getAdvancements().size() : 0;
+    }
+
+    private static void sendTab(@NotNull Player player, @NotNull AdvancementTab tab) {
+        try {
+            tab.updateEveryAdvancement(player);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void selectTab(@NotNull Player player, @Nullable AdvancementTab tab) {
+        if (tab == null || !tab.isActive() || !tab.isShownTo(player)) {
+            return;
+        }
+        try {
+            tab.getPacketSender().send(player, PacketPlayOutSelectAdvancementTabWrapper.craftSelect(tab.getRootAdvancement().getKey().getNMSWrapper()));
+        } catch (ReflectiveOperationException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Removes the provided tab from the tabs queued for the provided player. Called when the tab is sent to the player
+     * outside the queue, for example because their progressions changed, so that it isn't sent twice.
+     * <p>If it is called async, the tab is removed on the main thread.
+     *
+     * @param player The player.
+     * @param tab The sent tab.
+     */
+    void removeTab(@NotNull Player player, @NotNull AdvancementTab tab) {
+        if (!Bukkit.isPrimaryThread()) {
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> removeTab(player, tab));
+            }
+            return;
+        }
+        final Deque<AdvancementTab> queue = queues.get(player);
+        if (queue == null || !queue.remove(tab)) {
+            return;
+        }
+        queuedTabs--;
+        if (queue.isEmpty()) {
+            queues.remove(player);
+            selectTab(player, selected.remove(player));
+        }
+    }
+
+    /**
+     * Discards the tabs queued for the provided player. Called when the player quits.
+     *
+     * @param player The player.
+     */
+    void removePlayer(@NotNull Player player) {
+        final Deque<AdvancementTab> queue = queues.remove(player);
+        if (queue != null) {
+            queuedTabs -= queue.size();
+        }
+        selected.remove(player);
+    }
+
+    /**
+     * Discards every queued tab. Called when the API is disabled.
+     */
+    void clear() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        queues.clear();
+        selected.clear();
+        queuedTabs = 0;
+    }
+
+    /**
+     * Gets the amount of tabs queued to be sent to all the players.
+     *
+     * @return The amount of queued tabs.
+     */
+    public int getQueueDepth() {
+        return queuedTabs;
+    }
+
+    /**
+     * Gets the amount of tabs queued to be sent to the provided player.
+     *
+     * @param player The player.
+     * @return The amount of tabs queued for the player.
+     */
+    public int getQueueDepth(@NotNull Player player) {
+        Preconditions.checkNotNull(player, "Player is null.");
+        final Deque<AdvancementTab> queue = queues.get(player);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Gets the players who are waiting for some tabs.
+     *
+     * @return A copy of the players who are waiting for some tabs.
+     */
+    @NotNull
+    public Collection<@NotNull Player> getQueuedPlayers() {
+        return new ArrayList<>(queues.keySet());
+    }
+
+    /**
+     * Returns whether the queue is enabled.
+     *
+     * @return Whether the queue is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the queue is enabled. When it is disabled, the tabs are sent immediately and the queued tabs are sent.
+     *
+     * @param enabled Whether the queue is enabled.
+     * @throws com.fren_gor.ultimateAdvancementAPI.exceptions.AsyncExecutionException If it is called async.
+     */
+    public void setEnabled(boolean enabled) {
+        checkSync();
+        this.enabled = enabled;
+        if (!enabled) {
+            while (!queues.isEmpty()) {
+                tick();
+            }
+        }
+    }
+
+    /**
+     * Gets the maximum amount of advancements sent to a player every tick.
+     *
+     * @return The maximum amount of advancements sent to a player every tick.
+     */
+    public int getAdvancementsPerTick() {
+        return advancementsPerTick;
+    }
+
+    /**
+     * Sets the maximum amount of advancements sent to a player every tick.
+     * <p>A tab with more advancements than this limit is sent alone in a tick.
+     *
+     * @param advancementsPerTick The maximum amount of advancements sent to a player every tick. Must be greater than zero.
+     */
+    public void setAdvancementsPerTick(@Range(from = 1, to = Integer.MAX_VALUE) int advancementsPerTick) {
+        Preconditions.checkArgument(advancementsPerTick > 0, "Advancements per tick must be greater than zero.");
+        this.advancementsPerTick = advancementsPerTick;
+    }
+
+    /**
+     * Gets the maximum amount of tabs sent to all the players every tick.
+     *
+     * @return The maximum amount of tabs sent every tick.
+     */
+    public int getTabsPerTick() {
+        return tabsPerTick;
+    }
+
+    /**
+     * Sets the maximum amount of tabs sent to all the players every tick.
+     *
+     * @param tabsPerTick The maximum amount of tabs sent every tick. Must be greater than zero.
+     */
+    public void setTabsPerTick(@Range(from = 1, to = Integer.MAX_VALUE) int tabsPerTick) {
+        Preconditions.checkArgument(tabsPerTick > 0, "Tabs per tick must be greater than zero.");
+        this.tabsPerTick = tabsPerTick;
+    }
+}
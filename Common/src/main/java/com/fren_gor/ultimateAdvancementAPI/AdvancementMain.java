@@ -3,6 +3,9 @@ package com.fren_gor.ultimateAdvancementAPI;
 import com.fren_gor.eventManagerAPI.EventManager;
 import com.fren_gor.ultimateAdvancementAPI.advancement.Advancement;
 import com.fren_gor.ultimateAdvancementAPI.database.DatabaseManager;
+import com.fren_gor.ultimateAdvancementAPI.database.SchemaVersion;
+import com.fren_gor.ultimateAdvancementAPI.database.impl.BlobSQLite;
+import com.fren_gor.ultimateAdvancementAPI.database.impl.SQLite;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.DuplicatedException;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.InvalidVersionException;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
@@ -14,6 +17,7 @@ import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.event.server.ServerCommandEvent;
 import org.bukkit.plugin.Plugin;
@@ -24,6 +28,7 @@ import org.jetbrains.annotations.Range;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -54,6 +59,11 @@ public final class AdvancementMain {
     private final String libFolder;
     private final Map<String, AdvancementTab> tabs = new HashMap<>();
     private final Map<Plugin, List<AdvancementTab>> pluginMap = new HashMap<>();
+    private final AdvancementUpdateScheduler updateScheduler;
+    private final AdvancementPacketCache packetCache = new AdvancementPacketCache();
+    private final AdvancementPacketSender packetSender = new AdvancementPacketSender();
+    private final AdvancementDeliveryQueue deliveryQueue;
+    private final AdvancementToastQueue toastQueue;
 
     /**
      * Creates a new {@code AdvancementMain}.
@@ -66,6 +76,9 @@ public final class AdvancementMain {
         Preconditions.checkNotNull(owningPlugin, "Plugin is null.");
         this.owningPlugin = owningPlugin;
         this.libFolder = ".libs";
+        this.updateScheduler = new AdvancementUpdateScheduler(owningPlugin);
+        this.deliveryQueue = new AdvancementDeliveryQueue(owningPlugin);
+        this.toastQueue = new AdvancementToastQueue(owningPlugin);
     }
 
     /**
@@ -80,6 +93,9 @@ public final class AdvancementMain {
         Preconditions.checkNotNull(libFolder, "Lib folder is null.");
         this.owningPlugin = owningPlugin;
         this.libFolder = libFolder;
+        this.updateScheduler = new AdvancementUpdateScheduler(owningPlugin);
+        this.deliveryQueue = new AdvancementDeliveryQueue(owningPlugin);
+        this.toastQueue = new AdvancementToastQueue(owningPlugin);
     }
 
     /**
@@ -117,11 +133,70 @@ public final class AdvancementMain {
      * @throws IllegalStateException If it is called at an invalid moment.
      */
     public void enableSQLite(File SQLiteDatabase) {
+        enableSQLite(SQLiteDatabase, SQLite.Profile.DEFAULT);
+    }
+
+    /**
+     * Enables the API using a SQLite database with the provided connection profile.
+     * <p><strong>Must be called after {@link #load()} and cannot be called twice</strong> until {@link #disable()} is called.
+     * Also, only one <i>enable</i> method can be called per loading.
+     *
+     * @param SQLiteDatabase The SQLite database file.
+     * @param profile The SQLite connection {@link SQLite.Profile}.
+     * @throws RuntimeException If the enabling fails. It is a wrapper for the real exception.
+     * @throws InvalidVersionException If the minecraft version in use is not supported by this API version.
+     * @throws IllegalStateException If it is called at an invalid moment.
+     */
+    public void enableSQLite(File SQLiteDatabase, @NotNull SQLite.Profile profile) {
+        enableSQLite(SQLiteDatabase, profile, SchemaVersion.V1);
+    }
+
+    /**
+     * Enables the API using a SQLite database with the provided connection profile and schema version.
+     * <p><strong>Must be called after {@link #load()} and cannot be called twice</strong> until {@link #disable()} is called.
+     * Also, only one <i>enable</i> method can be called per loading.
+     *
+     * @param SQLiteDatabase The SQLite database file.
+     * @param profile The SQLite connection {@link SQLite.Profile}.
+     * @param schemaVersion The {@link SchemaVersion} of the database. If the database uses an older version, it is migrated.
+     * @throws RuntimeException If the enabling fails. It is a wrapper for the real exception.
+     * @throws InvalidVersionException If the minecraft version in use is not supported by this API version.
+     * @throws IllegalStateException If it is called at an invalid moment.
+     */
+    public void enableSQLite(File SQLiteDatabase, @NotNull SQLite.Profile profile, @NotNull SchemaVersion schemaVersion) {
+        Preconditions.checkNotNull(profile, "Profile is null.");
+        Preconditions.checkNotNull(schemaVersion, "SchemaVersion is null.");
         commonEnablePreDatabase();
 
         try {
             // Run it sync to avoid using a not initialized database
-            databaseManager = new DatabaseManager(this, SQLiteDatabase);
+            databaseManager = new DatabaseManager(this, SQLiteDatabase, profile, schemaVersion);
+        } catch (Exception e) {
+            failEnable(e);
+        }
+
+        commonEnablePostDatabase();
+    }
+
+    /**
+     * Enables the API using a SQLite database which stores the advancements of every team in a single compact binary row.
+     * <p><strong>Must be called after {@link #load()} and cannot be called twice</strong> until {@link #disable()} is called.
+     * Also, only one <i>enable</i> method can be called per loading.
+     *
+     * @param SQLiteDatabase The SQLite database file. It cannot be shared with {@link #enableSQLite(File)}, since the two databases use different tables.
+     * @param compression The {@link BlobSQLite.Compression} of the progression blobs.
+     * @throws RuntimeException If the enabling fails. It is a wrapper for the real exception.
+     * @throws InvalidVersionException If the minecraft version in use is not supported by this API version.
+     * @throws IllegalStateException If it is called at an invalid moment.
+     * @see BlobSQLite
+     */
+    public void enableBlobSQLite(File SQLiteDatabase, @NotNull BlobSQLite.Compression compression) {
+        Preconditions.checkNotNull(compression, "Compression is null.");
+        commonEnablePreDatabase();
+
+        try {
+            // Run it sync to avoid using a not initialized database
+            databaseManager = new DatabaseManager(this, SQLiteDatabase, compression);
         } catch (Exception e) {
             failEnable(e);
         }
@@ -145,11 +220,32 @@ public final class AdvancementMain {
      * @throws IllegalStateException If it is called at an invalid moment.
      */
     public void enableMySQL(String username, String password, String databaseName, String host, @Range(from = 1, to = Integer.MAX_VALUE) int port, @Range(from = 1, to = Integer.MAX_VALUE) int poolSize, @Range(from = 250, to = Long.MAX_VALUE) long connectionTimeout) {
+        enableMySQL(username, password, databaseName, host, port, poolSize, connectionTimeout, SchemaVersion.V1);
+    }
+
+    /**
+     * Enables the API using a MySQL database with the provided schema version.
+     * <p><strong>Must be called after {@link #load()} and cannot be called twice</strong> until {@link #disable()} is called.
+     * Also, only one <i>enable</i> method can be called per loading.
+     *
+     * @param username The username.
+     * @param password The password.
+     * @param databaseName The name of the database.
+     * @param host The MySQL host.
+     * @param port The MySQL port. Must be greater than zero.
+     * @param poolSize The pool size. Must be greater than zero.
+     * @param connectionTimeout The connection timeout. Must be greater or equal to 250.
+     * @param schemaVersion The {@link SchemaVersion} of the database. If the database uses an older version, it is migrated.
+     * @throws RuntimeException If the enabling fails. It is a wrapper for the real exception.
+     * @throws IllegalStateException If it is called at an invalid moment.
+     */
+    public void enableMySQL(String username, String password, String databaseName, String host, @Range(from = 1, to = Integer.MAX_VALUE) int port, @Range(from = 1, to = Integer.MAX_VALUE) int poolSize, @Range(from = 250, to = Long.MAX_VALUE) long connectionTimeout, @NotNull SchemaVersion schemaVersion) {
+        Preconditions.checkNotNull(schemaVersion, "SchemaVersion is null.");
         commonEnablePreDatabase();
 
         try {
             // Run it sync to avoid using a not initialized database
-            databaseManager = new DatabaseManager(this, username, password, databaseName, host, port, poolSize, connectionTimeout);
+            databaseManager = new DatabaseManager(this, username, password, databaseName, host, port, poolSize, connectionTimeout, schemaVersion);
         } catch (Exception e) {
             failEnable(e);
         }
@@ -217,6 +313,12 @@ public final class AdvancementMain {
                 runSync(this, 20, () -> Bukkit.getOnlinePlayers().forEach(this::updatePlayer));
         });
 
+        eventManager.register(this, PlayerQuitEvent.class, EventPriority.MONITOR, e -> {
+            deliveryQueue.removePlayer(e.getPlayer());
+            toastQueue.removePlayer(e.getPlayer());
+            packetSender.removePlayer(e.getPlayer());
+        });
+
         UltimateAdvancementAPI.main = this;
     }
 
@@ -249,6 +351,9 @@ public final class AdvancementMain {
         if (ENABLED.getAndSet(false)) {
             if (eventManager != null)
                 eventManager.disable();
+            updateScheduler.clear();
+            deliveryQueue.clear();
+            toastQueue.clear();
             pluginMap.clear();
             Iterator<AdvancementTab> it = tabs.values().iterator();
             while (it.hasNext()) {
@@ -262,6 +367,9 @@ public final class AdvancementMain {
                     t.printStackTrace();
                 }
             }
+            // Wait for the packets of the disposed tabs to be sent before releasing the cached ones
+            packetSender.close();
+            packetCache.clear();
             if (databaseManager != null)
                 databaseManager.unregister();
         }
@@ -287,7 +395,7 @@ public final class AdvancementMain {
             throw new DuplicatedException("An AdvancementTab with '" + namespace + "' namespace already exists.");
         }
 
-        AdvancementTab tab = new AdvancementTab(plugin, databaseManager, namespace);
+        AdvancementTab tab = new AdvancementTab(plugin, databaseManager, updateScheduler, packetCache, packetSender, toastQueue, deliveryQueue, namespace);
         tabs.put(namespace, tab);
         pluginMap.computeIfAbsent(plugin, p -> new LinkedList<>()).add(tab);
         return tab;
@@ -386,6 +494,10 @@ public final class AdvancementMain {
         if (colon <= 0 || colon == namespacedKey.length() - 1) {
             throw new IllegalArgumentException("Malformed namespaced key '" + namespacedKey + "'");
         }
+        AdvancementKey interned = AdvancementKey.getInterned(namespacedKey);
+        if (interned != null) {
+            return getAdvancement(interned);
+        }
         return getAdvancement(namespacedKey.substring(0, colon), namespacedKey.substring(colon + 1));
     }
 
@@ -403,7 +515,7 @@ public final class AdvancementMain {
         checkInitialisation();
         Preconditions.checkNotNull(namespace, "Namespace is null.");
         Preconditions.checkNotNull(key, "Key is null.");
-        return getAdvancement(new AdvancementKey(namespace, key));
+        return getAdvancement(AdvancementKey.of(namespace, key));
     }
 
     /**
@@ -498,6 +610,7 @@ public final class AdvancementMain {
     /**
      * Updates every advancement to a player.
      * <p>An advancement is updated only if its tab is shown to the player (see {@link AdvancementTab#isShownTo(Player)}).
+     * <p>The tabs may be sent over the following ticks (see {@link AdvancementDeliveryQueue}).
      *
      * @param player The player to be updated.
      * @throws IllegalStateException If the API is not enabled.
@@ -506,11 +619,26 @@ public final class AdvancementMain {
     public void updatePlayer(@NotNull Player player) {
         checkInitialisation();
         Preconditions.checkNotNull(player, "Player is null.");
+        final List<AdvancementTab> toSend = new ArrayList<>();
         for (AdvancementTab tab : tabs.values()) {
             if (tab.isActive() && tab.isShownTo(player)) {
-                tab.updateEveryAdvancement(player);
+                toSend.add(tab);
             }
         }
+        deliveryQueue.enqueue(player, toSend);
+    }
+
+    /**
+     * Runs the provided {@link Runnable} and then sends every advancement update made by it at once.
+     *
+     * @param runnable The {@link Runnable} to run.
+     * @throws IllegalStateException If the API is not enabled.
+     * @see AdvancementUpdateScheduler#batchUpdates(Runnable)
+     * @see UltimateAdvancementAPI#batchUpdates(Runnable)
+     */
+    public void batchUpdates(@NotNull Runnable runnable) {
+        checkInitialisation();
+        updateScheduler.batchUpdates(runnable);
     }
 
     private static void checkInitialisation() {
@@ -553,6 +681,56 @@ public final class AdvancementMain {
         return databaseManager;
     }
 
+    /**
+     * Gets the {@link AdvancementUpdateScheduler}.
+     *
+     * @return The {@link AdvancementUpdateScheduler}.
+     */
+    @NotNull
+    public AdvancementUpdateScheduler getUpdateScheduler() {
+        return updateScheduler;
+    }
+
+    /**
+     * Gets the {@link AdvancementPacketCache}.
+     *
+     * @return The {@link AdvancementPacketCache}.
+     */
+    @NotNull
+    public AdvancementPacketCache getPacketCache() {
+        return packetCache;
+    }
+
+    /**
+     * Gets the {@link AdvancementPacketSender}.
+     *
+     * @return The {@link AdvancementPacketSender}.
+     */
+    @NotNull
+    public AdvancementPacketSender getPacketSender() {
+        return packetSender;
+    }
+
+    /**
+     * Gets the {@link AdvancementDeliveryQueue}.
+     *
+     * @return The {@link AdvancementDeliveryQueue}.
+     */
+    @NotNull
+    public AdvancementDeliveryQueue getDeliveryQueue() {
+        return deliveryQueue;
+    }
+
+    /**
+     * Gets the {@link AdvancementToastQueue}.
+     *
+     * @return The {@link AdvancementToastQueue}.
+     */
+    @NotNull
+    public AdvancementToastQueue getToastQueue() {
+        return toastQueue;
+    }
+
     /**
      * Gets the libby manager.
      * <p>Libby is a library to handle dependencies at runtime. <a href="https://github.com/AlessioDP/libby">Check it out here.</a>
@@ -0,0 +1,225 @@
+package com.fren_gor.ultimateAdvancementAPI;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.EncodedPacketWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.ISendable;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.PacketPlayOutAdvancementsWrapper;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * The {@code AdvancementPacketCache} class caches the encoded packets which send every advancement of a tab.
+ * <p>Players who see the same advancements with the same progressions (like the members of a team, or every player
+ * who has just started a tab) receive the same packet. When the cache is enabled, such packet is encoded only once and
+ * the encoded data is sent to every player, instead of being encoded again by the connection of every player.
+ * <p>Packets are cached by the advancements they contain, compared by identity, and by their progressions.
+ * So, a packet stops being used as soon as any progression changes or any advancement is crafted again (for example,
+ * to change its display). Only the {@link #getMaxPackets()} most recently used packets of every tab are kept.
+ * <p>The cache is disabled by default, since encoded packets skip the packet listeners of other plugins and protocol
+ * translations (see {@link PacketPlayOutAdvancementsWrapper#encode()}).
+ * <p>An instance can be obtained using {@link AdvancementMain#getPacketCache()}.
+ * <p>This class is thread safe.
+ */
+public final class AdvancementPacketCache {
+
+    /**
+     * The default maximum amount of cached packets per tab.
+     */
+    public static final int DEFAULT_MAX_PACKETS = 8;
+
+    // Guarded by this
+    private final Map<AdvancementTab, LinkedHashMap<PacketKey, EncodedPacketWrapper>> packets = new HashMap<>();
+    private volatile boolean enabled = false;
+    private volatile int maxPackets = DEFAULT_MAX_PACKETS;
+
+    AdvancementPacketCache() {
+    }
+
+    /**
+     * Gets the packet which sends the provided advancements of the provided tab.
+     *
+     * @param tab The tab of the advancements.
+     * @param advs The advancements to send paired with their respective progressions to display. It must not be modified later.
+     * @return The cached packet if the cache is enabled, a new packet otherwise.
+     *         If it is an {@link EncodedPacketWrapper}, it has been retained and must be released after being sent.
+     * @throws ReflectiveOperationException If reflections goes wrong.
+     */
+    @NotNull
+    ISendable getSendPacket(@NotNull AdvancementTab tab, @NotNull Map<AdvancementWrapper, Integer> advs) throws ReflectiveOperationException {
+        if (!enabled) {
+            return PacketPlayOutAdvancementsWrapper.craftSendPacket(advs);
+        }
+        final PacketKey key = new PacketKey(advs);
+        synchronized (this) {
+            EncodedPacketWrapper encoded = getTabPackets(tab).get(key);
+            if (encoded != null) {
+                return encoded.retain();
+            }
+        }
+
+        // Encode the packet outside the lock, since it is the expensive part
+        PacketPlayOutAdvancementsWrapper packet = PacketPlayOutAdvancementsWrapper.craftSendPacket(advs);
+        final EncodedPacketWrapper encoded;
+        try {
+            encoded = packet.encode();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return packet;
+        }
+        synchronized (this) {
+            if (!enabled || !tab.isActive()) {
+                return encoded; // Don't cache it, the caller releases it
+            }
+            LinkedHashMap<PacketKey, EncodedPacketWrapper> tabPackets = getTabPackets(tab);
+            EncodedPacketWrapper old = tabPackets.put(key.toStoredKey(), encoded.retain());
+            if (old != null) {
+                old.release(); // Encoded concurrently by another thread
+            }
+            Iterator<EncodedPacketWrapper> it = tabPackets.values().iterator();
+            while (tabPackets.size() > maxPackets) {
+                it.next().release();
+                it.remove();
+            }
+        }
+        return encoded;
+    }
+
+    @NotNull
+    private LinkedHashMap<PacketKey, EncodedPacketWrapper> getTabPackets(@NotNull AdvancementTab tab) {
+        return packets.computeIfAbsent(tab, t -> new LinkedHashMap<>(16, 0.75f, true));
+    }
+
+    /**
+     * The key of a cached packet.
+     * <p>AdvancementWrappers are equal when their keys are, so they are compared by identity to not reuse packets with
+     * old displays. Progressions are compared by value. Looking up a packet doesn't copy the map of the advancements:
+     * only the keys stored in the cache keep an {@link IdentityHashMap} copy, which the lookup keys are compared against.
+     */
+    private static final class PacketKey {
+        private final Map<AdvancementWrapper, Integer> advs;
+        private final int hash;
+
+        PacketKey(@NotNull Map<AdvancementWrapper, Integer> advs) {
+            this(advs, hash(advs));
+        }
+
+        private PacketKey(@NotNull Map<AdvancementWrapper, Integer> advs, int hash) {
+            this.advs = advs;
+            this.hash = hash;
+        }
+
+        private static int hash(@NotNull Map<AdvancementWrapper, Integer> advs) {
+            // Independent of the iteration order, like Map#hashCode
+            int hash = 0;
+            for (Entry<AdvancementWrapper, Integer> e : advs.entrySet()) {
+                hash += System.identityHashCode(e.getKey()) ^ e.getValue();
+            }
+            return hash;
+        }
+
+        @NotNull
+        PacketKey toStoredKey() {
+            return advs instanceof IdentityHashMap ? this : new PacketKey(new IdentityHashMap<>(advs), hash);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PacketKey that)) return false;
+            if (hash != that.hash || advs.size() != that.advs.size()) return false;
+
+            if (that.advs instanceof IdentityHashMap) {
+                return matches(advs, that.advs);
+            }
+            return matches(that.advs, advs instanceof IdentityHashMap ? advs : new IdentityHashMap<>(advs));
+        }
+
+        private static boolean matches(@NotNull Map<AdvancementWrapper, Integer> advs, @NotNull Map<AdvancementWrapper, Integer> identities) {
+            for (Entry<AdvancementWrapper, Integer> e : advs.entrySet()) {
+                @Nullable Integer progression = identities.get(e.getKey());
+                if (progression == null || progression.intValue() != e.getValue().intValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Releases every cached packet of the provided tab. Called when the tab is disposed.
+     *
+     * @param tab The tab.
+     */
+    synchronized void invalidate(@NotNull AdvancementTab tab) {
+        Map<PacketKey, EncodedPacketWrapper> tabPackets = packets.remove(tab);
+        if (tabPackets != null) {
+            tabPackets.values().forEach(EncodedPacketWrapper::release);
+        }
+    }
+
+    /**
+     * Releases every cached packet.
+     */
+    public synchronized void clear() {
+        for (Map<PacketKey, EncodedPacketWrapper> tabPackets : packets.values()) {
+            tabPackets.values().forEach(EncodedPacketWrapper::release);
+        }
+        packets.clear();
+    }
+
+    /**
+     * Returns whether the cache is enabled.
+     *
+     * @return Whether the cache is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the cache is enabled. Cached packets are released when the cache is disabled.
+     * <p>Encoded packets skip the packet listeners of other plugins and protocol translations,
+     * so the cache should not be enabled if plugins which rely on them (like ViaVersion or ProtocolLib) are installed.
+     *
+     * @param enabled Whether the cache is enabled.
+     */
+    public synchronized void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            clear();
+        }
+    }
+
+    /**
+     * Gets the maximum amount of cached packets per tab.
+     *
+     * @return The maximum amount of cached packets per tab.
+     */
+    public int getMaxPackets() {
+        return maxPackets;
+    }
+
+    /**
+     * Sets the maximum amount of cached packets per tab. The least recently used packets are released first.
+     *
+     * @param maxPackets The maximum amount of cached packets per tab. Must be greater than zero.
+     */
+    public void setMaxPackets(@Range(from = 1, to = Integer.MAX_VALUE) int maxPackets) {
+        Preconditions.checkArgument(maxPackets > 0, "Max packets must be greater than zero.");
+        this.maxPackets = maxPackets;
+    }
+}
@@ -0,0 +1,203 @@
+package com.fren_gor.ultimateAdvancementAPI;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.ISendable;
+import com.google.common.base.Preconditions;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * The {@code AdvancementPacketSender} class builds and sends the advancement packets of the tabs.
+ * <p>Which advancements to send is computed on the main thread, while the NMS packets are built on worker threads,
+ * since building them is expensive for big tabs. Packets are sent from the worker threads too.
+ * <p>The packets of every player are sent in the same order they are submitted: a task of a player starts only after
+ * the previous task of the same player has completed. Tasks of different players run concurrently.
+ * <p>When async building is disabled (see {@link #setAsync(boolean)}), tasks run on the submitting thread,
+ * unless a previous task of the same player is still running.
+ * <p>An instance can be obtained using {@link AdvancementMain#getPacketSender()}.
+ * <p>This class is thread safe. Packets submitted from different threads for the same player are sent in the order
+ * the submissions happen.
+ */
+public final class AdvancementPacketSender {
+
+    /**
+     * The default number of worker threads.
+     */
+    public static final int DEFAULT_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    // The last task submitted for every player
+    private final Map<Player, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final AtomicInteger threadCounter = new AtomicInteger(1);
+    private volatile boolean async = true;
+    // Guarded by this
+    @Nullable
+    private ThreadPoolExecutor executor;
+
+    AdvancementPacketSender() {
+    }
+
+    /**
+     * Sends the provided packets to the provided player, after every packet previously submitted for them.
+     *
+     * @param player The player.
+     * @param packets The packets to send, in order.
+     */
+    public void send(@NotNull Player player, @NotNull ISendable... packets) {
+        Preconditions.checkNotNull(player, "Player is null.");
+        Preconditions.checkNotNull(packets, "ISendable[] is null.");
+        submit(player, () -> {
+            for (ISendable packet : packets) {
+                packet.sendTo(player);
+            }
+        });
+    }
+
+    /**
+     * Runs the provided task for the provided player, after every task previously submitted for them.
+     *
+     * @param player The player.
+     * @param task The task, which builds and sends the packets.
+     */
+    void submit(@NotNull Player player, @NotNull Runnable task) {
+        final CompletableFuture<Void> next = new CompletableFuture<>();
+        // Swapping the tail atomically orders the tasks of the player even if they are submitted from different threads
+        getTail(tails.put(player, next)).thenRunAsync(() -> runTask(task), getExecutor()).whenComplete((v, t) -> next.complete(null));
+    }
+
+    /**
+     * Builds a packet once and then runs the provided task for every provided player, after every task previously submitted for them.
+     *
+     * @param players The players.
+     * @param builder The builder of the packet. If it fails, the task is not run.
+     * @param task The task, which sends the built packet to a player.
+     * @param whenSent The action to run after the task has been run for every player. It receives the built packet, or {@code null} if the building failed.
+     * @param <T> The type of the built packet.
+     */
+    <T> void submit(@NotNull Collection<Player> players, @NotNull Callable<T> builder, @NotNull BiConsumer<Player, T> task, @NotNull Consumer<@Nullable T> whenSent) {
+        if (players.isEmpty()) {
+            return;
+        }
+        final CompletableFuture<T> built = CompletableFuture.supplyAsync(() -> {
+            try {
+                return builder.call();
+            } catch (Exception e) {
+                e.printStackTrace();
+                return null;
+            }
+        }, getExecutor());
+
+        final List<CompletableFuture<Void>> sent = new ArrayList<>(players.size());
+        for (Player player : players) {
+            final CompletableFuture<Void> next = new CompletableFuture<>();
+            getTail(tails.put(player, next)).thenCombine(built, (v, packet) -> packet).thenAccept(packet -> {
+                if (packet != null) {
+                    runTask(() -> task.accept(player, packet));
+                }
+            }).whenComplete((v, t) -> next.complete(null));
+            sent.add(next);
+        }
+        CompletableFuture.allOf(sent.toArray(new CompletableFuture[0])).thenRun(() -> whenSent.accept(built.join()));
+    }
+
+    @NotNull
+    private static CompletableFuture<Void> getTail(@Nullable CompletableFuture<Void> tail) {
+        return tail == null ? CompletableFuture.completedFuture(null) : tail;
+    }
+
+    private static void runTask(@NotNull Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            // Don't stop the following tasks of the player
+            e.printStackTrace();
+        }
+    }
+
+    @NotNull
+    private synchronized Executor getExecutor() {
+        if (!async) {
+            return DIRECT_EXECUTOR;
+        }
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(DEFAULT_THREADS, DEFAULT_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "UltimateAdvancementAPI-Packets-" + threadCounter.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    /**
+     * Forgets the tasks of the provided player. Called when the player quits.
+     *
+     * @param player The player.
+     */
+    void removePlayer(@NotNull Player player) {
+        // Already submitted tasks are still run, since they don't depend on the map
+        tails.remove(player);
+    }
+
+    /**
+     * Waits for the submitted tasks to complete and stops the worker threads. Called when the API is disabled.
+     */
+    void close() {
+        final ThreadPoolExecutor executor;
+        synchronized (this) {
+            executor = this.executor;
+            this.executor = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    System.err.println("AdvancementPacketSender didn't complete " + executor.getQueue().size() + " queued tasks in " + SHUTDOWN_TIMEOUT_SECONDS + " seconds.");
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        tails.clear();
+    }
+
+    /**
+     * Returns whether the packets are built on worker threads.
+     *
+     * @return Whether the packets are built on worker threads.
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Sets whether the packets are built on worker threads.
+     * <p>Tasks already submitted are not affected.
+     *
+     * @param async Whether the packets are built on worker threads.
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+}
@@ -14,12 +14,14 @@ import com.fren_gor.ultimateAdvancementAPI.exceptions.DuplicatedException;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.InvalidAdvancementException;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.MinecraftKeyWrapper;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.EncodedPacketWrapper;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.ISendable;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.PacketPlayOutAdvancementsWrapper;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.PacketPlayOutSelectAdvancementTabWrapper;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils;
 import com.fren_gor.ultimateAdvancementAPI.util.LazyValue;
+import com.fren_gor.ultimateAdvancementAPI.visibilities.VisibilityGraph;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
@@ -38,6 +40,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -60,22 +63,42 @@ public final class AdvancementTab {
     private final EventManager eventManager;
     private final String namespace;
     private final DatabaseManager databaseManager;
+    private final AdvancementUpdateScheduler updateScheduler;
+    private final AdvancementPacketCache packetCache;
+    private final AdvancementPacketSender packetSender;
+    private final AdvancementToastQueue toastQueue;
+    private final AdvancementDeliveryQueue deliveryQueue;
     private final Map<AdvancementKey, Advancement> advancements = new HashMap<>();
-    private final Map<Player, Set<MinecraftKeyWrapper>> players = new HashMap<>();
+    // The advancements sent to every player, paired with their displayed progressions
+    private final Map<Player, Map<AdvancementWrapper, Integer>> players = new HashMap<>();
 
     private RootAdvancement rootAdvancement;
+    @Nullable
+    private VisibilityGraph visibilityGraph;
     private boolean initialised = false, disposed = false;
     @LazyValue
     private Collection<String> advNamespacedKeys;
     @LazyValue
     private Collection<BaseAdvancement> advsWithoutRoot;
+    @LazyValue
+    private Set<MinecraftKeyWrapper> advKeys;
+    @LazyValue
+    private ISendable removePacket, selectPacket;
+
+    // Scratch map used by sendChangedAdvancements, reused by every tab since updates may run on any thread
+    private static final ThreadLocal<Map<MinecraftKeyWrapper, AdvancementWrapper>> SENT_WRAPPERS = ThreadLocal.withInitial(HashMap::new);
 
-    AdvancementTab(@NotNull Plugin owningPlugin, @NotNull DatabaseManager databaseManager, @NotNull String namespace) {
+    AdvancementTab(@NotNull Plugin owningPlugin, @NotNull DatabaseManager databaseManager, @NotNull AdvancementUpdateScheduler updateScheduler, @NotNull AdvancementPacketCache packetCache, @NotNull AdvancementPacketSender packetSender, @NotNull AdvancementToastQueue toastQueue, @NotNull AdvancementDeliveryQueue deliveryQueue, @NotNull String namespace) {
         checkNamespace(namespace);
         this.namespace = Objects.requireNonNull(namespace);
         this.owningPlugin = Objects.requireNonNull(owningPlugin);
         this.eventManager = new EventManager(owningPlugin);
         this.databaseManager = Objects.requireNonNull(databaseManager);
+        this.updateScheduler = Objects.requireNonNull(updateScheduler);
+        this.packetCache = Objects.requireNonNull(packetCache);
+        this.packetSender = Objects.requireNonNull(packetSender);
+        this.toastQueue = Objects.requireNonNull(toastQueue);
+        this.deliveryQueue = Objects.requireNonNull(deliveryQueue);
         eventManager.register(this, PlayerQuitEvent.class, e -> players.remove(e.getPlayer()));
     }
 
@@ -325,8 +348,25 @@ public final class AdvancementTab {
         updateAdvancementsToTeam(databaseManager.getTeamProgression(uuid));
     }
 
+    /**
+     * Schedules the update of the advancements of the tab to the provided team members.
+     * <p>The update is coalesced with the other updates of the tab to the same team made before it is sent
+     * (see {@link AdvancementUpdateScheduler}).
+     *
+     * @param pro The {@link TeamProgression} of the team.
+     * @throws IllegalStateException If the tab is not initialised.
+     * @throws DisposedException If the tab is disposed.
+     */
+    public void scheduleAdvancementsUpdateToTeam(@NotNull TeamProgression pro) {
+        checkInitialisation();
+        Preconditions.checkNotNull(pro, "TeamProgression is null.");
+        updateScheduler.schedule(this, pro);
+    }
+
     /**
      * Sends or updates the advancements of the tab to the provided team members.
+     * <p>Members who have already received the advancements of the tab only receive the changes,
+     * that is the advancements which became visible or hidden and the updated progressions.
      *
      * @param pro The {@link TeamProgression} of the team.
      * @throws IllegalStateException If the tab is not initialised.
@@ -336,49 +376,26 @@ public final class AdvancementTab {
         checkInitialisation();
         validateTeamProgression(pro);
 
-        final int best = advancements.size() + 16;
-        final Set<MinecraftKeyWrapper> keys = Sets.newHashSetWithExpectedSize(best);
-        final Map<AdvancementWrapper, Integer> advs = Maps.newHashMapWithExpectedSize(best);
-
-        for (Advancement advancement : advancements.values()) {
-            advancement.onUpdate(pro, advs);
-            keys.add(advancement.getKey().getNMSWrapper());
-        }
-
-        ISendable sendPacket, noTab, thisTab;
-        try {
-            sendPacket = PacketPlayOutAdvancementsWrapper.craftSendPacket(advs);
-            noTab = PacketPlayOutSelectAdvancementTabWrapper.craftSelectNone();
-            thisTab = PacketPlayOutSelectAdvancementTabWrapper.craftSelect(rootAdvancement.getKey().getNMSWrapper());
-        } catch (ReflectiveOperationException e) {
-            e.printStackTrace();
-            return;
-        }
+        final Map<AdvancementWrapper, Integer> advs = collectAdvancements(pro);
 
+        final List<Player> toSendEverything = new ArrayList<>(pro.getSize());
         pro.forEachMember(u -> {
             Player player = Bukkit.getPlayer(u);
             if (player != null) {
-                noTab.sendTo(player);
-
-                @Nullable Set<MinecraftKeyWrapper> set = players.put(player, keys);
-                if (set != null && !set.isEmpty()) {
-                    try {
-                        PacketPlayOutAdvancementsWrapper.craftRemovePacket(keys).sendTo(player);
-                    } catch (ReflectiveOperationException e) {
-                        e.printStackTrace();
-                        thisTab.sendTo(player);
-                        return; // TODO Check
-                    }
+                @Nullable Map<AdvancementWrapper, Integer> sent = players.get(player);
+                if (sent == null || sent.isEmpty()) {
+                    toSendEverything.add(player);
+                } else {
+                    sendChangedAdvancements(player, advs, sent);
                 }
-
-                sendPacket.sendTo(player);
-                thisTab.sendTo(player);
             }
         });
+        sendEveryAdvancement(toSendEverything, advs);
     }
 
     /**
      * Sends or updates the advancements of the tab to the provided player.
+     * <p>Every advancement is sent again, even if the player has already received it.
      *
      * @param player The player.
      * @throws IllegalStateException If the tab is not initialised.
@@ -390,40 +407,150 @@ public final class AdvancementTab {
 
         TeamProgression pro = databaseManager.getTeamProgression(player);
 
-        final int best = advancements.size() + 16;
-        final Set<MinecraftKeyWrapper> keys = Sets.newHashSetWithExpectedSize(best);
-        final Map<AdvancementWrapper, Integer> advs = Maps.newHashMapWithExpectedSize(best);
+        final Map<AdvancementWrapper, Integer> advs = collectAdvancements(pro);
 
-        for (Advancement advancement : advancements.values()) {
-            advancement.onUpdate(pro, advs);
-            keys.add(advancement.getKey().getNMSWrapper());
+        sendEveryAdvancement(List.of(player), advs);
+    }
+
+    @NotNull
+    private Map<AdvancementWrapper, Integer> collectAdvancements(@NotNull TeamProgression pro) {
+        final Map<AdvancementWrapper, Integer> advs = Maps.newHashMapWithExpectedSize(advancements.size() + 16);
+        if (visibilityGraph != null) {
+            visibilityGraph.onUpdate(pro, advs);
+        } else {
+            for (Advancement advancement : advancements.values()) {
+                advancement.onUpdate(pro, advs);
+            }
         }
+        return advs;
+    }
 
-        ISendable sendPacket, noTab, thisTab;
+    private void sendEveryAdvancement(@NotNull List<Player> receivers, @NotNull Map<AdvancementWrapper, Integer> advs) {
+        if (receivers.isEmpty()) {
+            return;
+        }
+
+        final ISendable noTab, thisTab, removePacket;
         try {
-            sendPacket = PacketPlayOutAdvancementsWrapper.craftSendPacket(advs);
             noTab = PacketPlayOutSelectAdvancementTabWrapper.craftSelectNone();
-            thisTab = PacketPlayOutSelectAdvancementTabWrapper.craftSelect(rootAdvancement.getKey().getNMSWrapper());
+            thisTab = getSelectPacket();
+            removePacket = getRemovePacket();
         } catch (ReflectiveOperationException e) {
             e.printStackTrace();
             return;
         }
 
-        noTab.sendTo(player);
+        // The players who have already received some advancements, which must be removed before sending them again
+        final Set<Player> toReset = new HashSet<>();
+        for (Player player : receivers) {
+            @Nullable Map<AdvancementWrapper, Integer> sent = players.put(player, advs);
+            if (sent != null && !sent.isEmpty()) {
+                toReset.add(player);
+            }
+            // The tab may still be queued for the player, who is receiving it now
+            deliveryQueue.removeTab(player, this);
+        }
+
+        // The packet is built async, while the players' states have already been updated above
+        packetSender.submit(receivers, () -> packetCache.getSendPacket(this, advs), (player, sendPacket) -> {
+            noTab.sendTo(player);
+            if (toReset.contains(player)) {
+                removePacket.sendTo(player);
+            }
+            sendPacket.sendTo(player);
+            thisTab.sendTo(player);
+        }, sendPacket -> {
+            if (sendPacket instanceof EncodedPacketWrapper encoded) {
+                encoded.release();
+            }
+        });
+    }
+
+    private void sendChangedAdvancements(@NotNull Player player, @NotNull Map<AdvancementWrapper, Integer> advs, @NotNull Map<AdvancementWrapper, Integer> sent) {
+        // AdvancementWrappers are equal when their keys are, so index the sent wrappers by key to find the replaced ones
+        final Map<MinecraftKeyWrapper, AdvancementWrapper> sentWrappers = SENT_WRAPPERS.get();
+        for (AdvancementWrapper wrapper : sent.keySet()) {
+            sentWrappers.put(wrapper.getKey(), wrapper);
+        }
+
+        // The collections are handed to the packet sender, so they cannot be reused. Most updates change only a few
+        // advancements, so they are sized on demand
+        Map<AdvancementWrapper, Integer> toSend = Collections.emptyMap();
+        Map<AdvancementWrapper, Integer> toUpdate = Collections.emptyMap();
+        Set<MinecraftKeyWrapper> toRemove = Collections.emptySet();
+        try {
+            for (Entry<AdvancementWrapper, Integer> e : advs.entrySet()) {
+                final AdvancementWrapper wrapper = e.getKey();
+                final AdvancementWrapper old = sentWrappers.remove(wrapper.getKey());
+                if (old == null) {
+                    // Newly visible advancement
+                    toSend = putInto(toSend, wrapper, e.getValue());
+                } else if (old != wrapper) {
+                    // The advancement has been crafted again (for example, to change its display), so it must be replaced
+                    toRemove = addInto(toRemove, wrapper.getKey());
+                    toSend = putInto(toSend, wrapper, e.getValue());
+                } else if (!e.getValue().equals(sent.get(old))) {
+                    toUpdate = putInto(toUpdate, wrapper, e.getValue());
+                }
+            }
+            // The advancements which are not visible anymore
+            for (MinecraftKeyWrapper key : sentWrappers.keySet()) {
+                toRemove = addInto(toRemove, key);
+            }
+        } finally {
+            sentWrappers.clear();
+        }
+
+        if (!toRemove.isEmpty()) {
+            // The client removes the children of the removed advancements too, so they must be sent again
+            for (Entry<AdvancementWrapper, Integer> e : advs.entrySet()) {
+                if (!toSend.containsKey(e.getKey()) && hasRemovedAncestor(e.getKey(), toRemove)) {
+                    toUpdate.remove(e.getKey());
+                    toSend = putInto(toSend, e.getKey(), e.getValue());
+                }
+            }
+        }
 
-        @Nullable Set<MinecraftKeyWrapper> set = players.put(player, keys);
-        if (set != null && !set.isEmpty()) {
+        players.put(player, advs);
+        if (toSend.isEmpty() && toUpdate.isEmpty() && toRemove.isEmpty()) {
+            return;
+        }
+        final Map<AdvancementWrapper, Integer> finalToSend = toSend, finalToUpdate = toUpdate;
+        final Set<MinecraftKeyWrapper> finalToRemove = toRemove;
+        packetSender.submit(player, () -> {
             try {
-                PacketPlayOutAdvancementsWrapper.craftRemovePacket(keys).sendTo(player);
+                PacketPlayOutAdvancementsWrapper.craftUpdatePacket(finalToSend, finalToUpdate, finalToRemove).sendTo(player);
             } catch (ReflectiveOperationException e) {
                 e.printStackTrace();
-                thisTab.sendTo(player);
-                return; // TODO Check
             }
+        });
+    }
+
+    @NotNull
+    private static Map<AdvancementWrapper, Integer> putInto(@NotNull Map<AdvancementWrapper, Integer> map, @NotNull AdvancementWrapper wrapper, @NotNull Integer progression) {
+        if (map.isEmpty() && !(map instanceof HashMap)) {
+            map = new HashMap<>();
         }
+        map.put(wrapper, progression);
+        return map;
+    }
 
-        sendPacket.sendTo(player);
-        thisTab.sendTo(player);
+    @NotNull
+    private static Set<MinecraftKeyWrapper> addInto(@NotNull Set<MinecraftKeyWrapper> set, @NotNull MinecraftKeyWrapper key) {
+        if (set.isEmpty() && !(set instanceof HashSet)) {
+            set = new HashSet<>();
+        }
+        set.add(key);
+        return set;
+    }
+
+    private static boolean hasRemovedAncestor(@NotNull AdvancementWrapper wrapper, @NotNull Set<MinecraftKeyWrapper> removed) {
+        for (AdvancementWrapper parent = wrapper.getParent(); parent != null; parent = parent.getParent()) {
+            if (removed.contains(parent.getKey())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -504,6 +631,13 @@ public final class AdvancementTab {
         for (Advancement adv : this.advancements.values()) {
             callValidation(adv);
         }
+
+        visibilityGraph = new VisibilityGraph(this.advancements.values());
+
+        // Let the database and lookups reuse the keys of the advancements
+        for (Advancement adv : this.advancements.values()) {
+            AdvancementKey.intern(adv.getKey());
+        }
     }
 
     private void callOnRegister(Advancement adv) {
@@ -565,7 +699,7 @@ public final class AdvancementTab {
         checkInitialisation();
         Preconditions.checkNotNull(player, "Player is null.");
         if (!players.containsKey(player)) {
-            players.put(player, Collections.emptySet());
+            players.put(player, Collections.emptyMap());
             updateEveryAdvancement(player);
         }
     }
@@ -606,9 +740,9 @@ public final class AdvancementTab {
         removePlayer(player, players.remove(player));
     }
 
-    private void removePlayer(@NotNull Player player, @NotNull Set<MinecraftKeyWrapper> keys) {
+    private void removePlayer(@NotNull Player player, @NotNull Map<AdvancementWrapper, Integer> sent) {
         try {
-            PacketPlayOutAdvancementsWrapper.craftRemovePacket(keys).sendTo(player);
+            packetSender.send(player, sent.isEmpty() ? PacketPlayOutAdvancementsWrapper.craftRemovePacket(Collections.emptySet()) : getRemovePacket());
         } catch (ReflectiveOperationException e) {
             e.printStackTrace();
         }
@@ -618,9 +752,10 @@ public final class AdvancementTab {
         checkInitialisation();
         disposed = true;
         eventManager.disable();
+        packetCache.invalidate(this);
         var it = players.entrySet().iterator();
         while (it.hasNext()) {
-            Entry<Player, Set<MinecraftKeyWrapper>> e = it.next();
+            Entry<Player, Map<AdvancementWrapper, Integer>> e = it.next();
             removePlayer(e.getKey(), e.getValue());
             it.remove();
         }
@@ -647,10 +782,16 @@ public final class AdvancementTab {
                 e.printStackTrace();
             }
         }
+        for (Advancement a : advancements.values()) {
+            AdvancementKey.unintern(a.getKey());
+        }
         advancements.clear();
         rootAdvancement = null;
+        visibilityGraph = null;
         advNamespacedKeys = null;
         advsWithoutRoot = null;
+        advKeys = null;
+        removePacket = selectPacket = null;
     }
 
     /**
@@ -701,6 +842,35 @@ public final class AdvancementTab {
         return advancement.getKey().getNamespace().equals(namespace);
     }
 
+    @NotNull
+    private Set<MinecraftKeyWrapper> getAdvancementKeys() {
+        if (advKeys == null) {
+            Set<MinecraftKeyWrapper> keys = Sets.newHashSetWithExpectedSize(advancements.size());
+            for (Advancement advancement : advancements.values()) {
+                keys.add(advancement.getKey().getNMSWrapper());
+            }
+            advKeys = Collections.unmodifiableSet(keys);
+        }
+        return advKeys;
+    }
+
+    // The packet which removes every advancement of the tab. The tab keys never change, so it is crafted once
+    @NotNull
+    private ISendable getRemovePacket() throws ReflectiveOperationException {
+        if (removePacket == null) {
+            removePacket = PacketPlayOutAdvancementsWrapper.craftRemovePacket(getAdvancementKeys());
+        }
+        return removePacket;
+    }
+
+    @NotNull
+    private ISendable getSelectPacket() throws ReflectiveOperationException {
+        if (selectPacket == null) {
+            selectPacket = PacketPlayOutSelectAdvancementTabWrapper.craftSelect(rootAdvancement.getKey().getNMSWrapper());
+        }
+        return selectPacket;
+    }
+
     private void checkInitialisation() {
         if (disposed)
             throw new DisposedException("AdvancementTab is disposed");
@@ -769,6 +939,38 @@ public final class AdvancementTab {
         return namespace;
     }
 
+    /**
+     * Gets the {@link VisibilityGraph} which computes the visibility of the advancements of this tab.
+     *
+     * @return The {@link VisibilityGraph} of this tab, or {@code null} if the tab is not initialised or is disposed.
+     */
+    @Nullable
+    public VisibilityGraph getVisibilityGraph() {
+        return visibilityGraph;
+    }
+
+    /**
+     * Gets the {@link AdvancementPacketSender} used to send the packets of this tab.
+     * <p>Packets related to the advancements of this tab should be sent using it,
+     * so that they are received after the advancements of this tab sent before them.
+     *
+     * @return The {@link AdvancementPacketSender} used to send the packets of this tab.
+     */
+    @NotNull
+    public AdvancementPacketSender getPacketSender() {
+        return packetSender;
+    }
+
+    /**
+     * Gets the {@link AdvancementToastQueue} used to show the toast notifications of the advancements of this tab.
+     *
+     * @return The {@link AdvancementToastQueue} used to show the toast notifications of this tab.
+     */
+    @NotNull
+    public AdvancementToastQueue getToastQueue() {
+        return toastQueue;
+    }
+
     /**
      * Gets the {@link DatabaseManager} of this tab.
      *
@@ -0,0 +1,334 @@
+package com.fren_gor.ultimateAdvancementAPI;
+
+import com.fren_gor.ultimateAdvancementAPI.advancement.Advancement;
+import com.fren_gor.ultimateAdvancementAPI.advancement.display.AdvancementFrameType;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils;
+import com.google.common.base.Preconditions;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils.checkSync;
+
+/**
+ * The {@code AdvancementToastQueue} class limits the rate of the toast notifications shown to every player
+ * when advancements are completed.
+ * <p>The client shows toasts one after the other, so when many advancements are completed at once (for example, by granting
+ * every advancement of a tab) the player cannot read most of them anyway. Every player is shown at most {@link #getToastsPerSecond()}
+ * toasts per second, and at most {@link #getMaxQueuedToasts()} toasts are queued for every player. Further toasts are handled
+ * according to the {@link OverflowPolicy}: they are either merged into a single toast titled {@link #getMergedTitle()},
+ * shown after the queued ones, or dropped.
+ * <p>An instance can be obtained using {@link AdvancementMain#getToastQueue()}.
+ * <p>This class is not thread safe and must be used on the main thread.
+ */
+public final class AdvancementToastQueue {
+
+    /**
+     * The default maximum amount of toasts shown to a player every second.
+     */
+    public static final int DEFAULT_TOASTS_PER_SECOND = 2;
+
+    /**
+     * The default maximum amount of toasts queued for a player.
+     */
+    public static final int DEFAULT_MAX_QUEUED_TOASTS = 5;
+
+    /**
+     * The default {@link OverflowPolicy}.
+     */
+    public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.MERGE;
+
+    /**
+     * The placeholder replaced by the amount of merged toasts in the title of the merged toast.
+     */
+    public static final String MERGED_COUNT_PLACEHOLDER = "{count}";
+
+    /**
+     * The default title of the merged toast.
+     */
+    public static final String DEFAULT_MERGED_TITLE = "+" + MERGED_COUNT_PLACEHOLDER + " more advancements";
+
+    private final Plugin plugin;
+    private final Map<Player, PlayerToasts> players = new HashMap<>();
+    private boolean enabled = true;
+    private int toastsPerSecond = DEFAULT_TOASTS_PER_SECOND;
+    private int maxQueuedToasts = DEFAULT_MAX_QUEUED_TOASTS;
+    private OverflowPolicy overflowPolicy = DEFAULT_OVERFLOW_POLICY;
+    private String mergedTitle = DEFAULT_MERGED_TITLE;
+    @Nullable
+    private BukkitTask task;
+
+    AdvancementToastQueue(@NotNull Plugin plugin) {
+        this.plugin = Preconditions.checkNotNull(plugin, "Plugin is null.");
+    }
+
+    /**
+     * Shows the toast notification of the provided advancement to the provided player,
+     * or queues it if too many toasts have been shown to the player recently.
+     * <p>If the queue is disabled, the toast is shown immediately.
+     *
+     * @param player The player.
+     * @param advancement The completed advancement.
+     * @throws com.fren_gor.ultimateAdvancementAPI.exceptions.AsyncExecutionException If it is called async.
+     */
+    public void enqueue(@NotNull Player player, @NotNull Advancement advancement) {
+        checkSync();
+        Preconditions.checkNotNull(player, "Player is null.");
+        Preconditions.checkNotNull(advancement, "Advancement is null.");
+        if (!enabled) {
+            showToast(player, advancement);
+            return;
+        }
+
+        final long now = System.nanoTime();
+        final PlayerToasts toasts = players.computeIfAbsent(player, p -> new PlayerToasts(now));
+        if (toasts.isEmpty() && now - toasts.nextToast >= 0) {
+            showToast(player, advancement);
+            toasts.nextToast = now + getToastInterval();
+        } else if (toasts.queue.size() < maxQueuedToasts) {
+            toasts.queue.add(advancement);
+        } else if (overflowPolicy == OverflowPolicy.MERGE) {
+            toasts.merged++;
+            toasts.lastMerged = advancement;
+        }
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1, 1);
+        }
+    }
+
+    private void tick() {
+        final long now = System.nanoTime();
+        Iterator<Map.Entry<Player, PlayerToasts>> it = players.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Player, PlayerToasts> e = it.next();
+            final PlayerToasts toasts = e.getValue();
+            if (now - toasts.nextToast < 0) {
+                continue;
+            }
+            if (toasts.isEmpty()) {
+                // Players are kept until the interval since their last toast expires, so that the next toast respects the rate
+                it.remove();
+            } else {
+                showNext(e.getKey(), toasts);
+                toasts.nextToast = now + getToastInterval();
+            }
+        }
+
+        if (players.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void showNext(@NotNull Player player, @NotNull PlayerToasts toasts) {
+        final Advancement advancement = toasts.queue.poll();
+        if (advancement != null) {
+            showToast(player, advancement);
+        } else {
+            final Advancement last = toasts.lastMerged;
+            final int merged = toasts.merged;
+            toasts.merged = 0;
+            toasts.lastMerged = null;
+            if (merged == 1) {
+                showToast(player, last);
+            } else if (last.isValid() && player.isOnline()) {
+                try {
+                    // Sent through the sender of the tab, so that it isn't received before the packets of the tab
+                    final String title = mergedTitle.replace(MERGED_COUNT_PLACEHOLDER, String.valueOf(merged));
+                    AdvancementUtils.displayToast(last.getAdvancementTab().getPacketSender(), player, last.getDisplay().getIcon(), title, AdvancementFrameType.TASK);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private static void showToast(@NotNull Player player, @NotNull Advancement advancement) {
+        // The advancement may have been disposed or the player may have quit in the meantime
+        if (!advancement.isValid() || !player.isOnline()) {
+            return;
+        }
+        try {
+            AdvancementUtils.displayToastDuringUpdate(player, advancement);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private long getToastInterval() {
+        return TimeUnit.SECONDS.toNanos(1) / toastsPerSecond;
+    }
+
+    /**
+     * Discards the toasts queued for the provided player. Called when the player quits.
+     *
+     * @param player The player.
+     */
+    void removePlayer(@NotNull Player player) {
+        players.remove(player);
+    }
+
+    /**
+     * Discards every queued toast. Called when the API is disabled.
+     */
+    void clear() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        players.clear();
+    }
+
+    /**
+     * Gets the amount of toasts queued for the provided player, including the merged ones.
+     *
+     * @param player The player.
+     * @return The amount of toasts queued for the player.
+     */
+    public int getQueuedToasts(@NotNull Player player) {
+        Preconditions.checkNotNull(player, "Player is null.");
+        final PlayerToasts toasts = players.get(player);
+        return toasts == null ? 0 : toasts.queue.size() + toasts.merged;
+    }
+
+    /**
+     * Returns whether the queue is enabled.
+     *
+     * @return Whether the queue is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the queue is enabled. When it is disabled, every toast is shown immediately and the queued toasts are discarded.
+     *
+     * @param enabled Whether the queue is enabled.
+     * @throws com.fren_gor.ultimateAdvancementAPI.exceptions.AsyncExecutionException If it is called async.
+     */
+    public void setEnabled(boolean enabled) {
+        checkSync();
+        this.enabled = enabled;
+        if (!enabled) {
+            clear();
+        }
+    }
+
+    /**
+     * Gets the maximum amount of toasts shown to a player every second.
+     *
+     * @return The maximum amount of toasts shown to a player every second.
+     */
+    public int getToastsPerSecond() {
+        return toastsPerSecond;
+    }
+
+    /**
+     * Sets the maximum amount of toasts shown to a player every second.
+     *
+     * @param toastsPerSecond The maximum amount of toasts shown to a player every second. Must be greater than zero.
+     */
+    public void setToastsPerSecond(@Range(from = 1, to = Integer.MAX_VALUE) int toastsPerSecond) {
+        Preconditions.checkArgument(toastsPerSecond > 0, "Toasts per second must be greater than zero.");
+        this.toastsPerSecond = toastsPerSecond;
+    }
+
+    /**
+     * Gets the maximum amount of toasts queued for a player.
+     *
+     * @return The maximum amount of toasts queued for a player.
+     */
+    public int getMaxQueuedToasts() {
+        return maxQueuedToasts;
+    }
+
+    /**
+     * Sets the maximum amount of toasts queued for a player. Further toasts are handled according to the {@link OverflowPolicy}.
+     *
+     * @param maxQueuedToasts The maximum amount of toasts queued for a player. Must not be negative.
+     */
+    public void setMaxQueuedToasts(@Range(from = 0, to = Integer.MAX_VALUE) int maxQueuedToasts) {
+        Preconditions.checkArgument(maxQueuedToasts >= 0, "Max queued toasts must not be negative.");
+        this.maxQueuedToasts = maxQueuedToasts;
+    }
+
+    /**
+     * Gets the {@link OverflowPolicy}.
+     *
+     * @return The {@link OverflowPolicy}.
+     */
+    @NotNull
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Sets the {@link OverflowPolicy}.
+     *
+     * @param overflowPolicy The {@link OverflowPolicy}.
+     */
+    public void setOverflowPolicy(@NotNull OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = Preconditions.checkNotNull(overflowPolicy, "OverflowPolicy is null.");
+    }
+
+    /**
+     * Gets the title of the toast shown in place of the merged toasts.
+     * Every {@link #MERGED_COUNT_PLACEHOLDER} is replaced by the amount of merged toasts.
+     *
+     * @return The title of the merged toast.
+     */
+    @NotNull
+    public String getMergedTitle() {
+        return mergedTitle;
+    }
+
+    /**
+     * Sets the title of the toast shown in place of the merged toasts.
+     *
+     * @param mergedTitle The title of the merged toast. Every {@link #MERGED_COUNT_PLACEHOLDER} is replaced by the amount of merged toasts.
+     */
+    public void setMergedTitle(@NotNull String mergedTitle) {
+        this.mergedTitle = Preconditions.checkNotNull(mergedTitle, "Merged title is null.");
+    }
+
+    /**
+     * The policies for the toasts completed when the queue of a player is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The toasts are merged into a single toast titled {@link #getMergedTitle()}, shown after the queued ones.
+         */
+        MERGE,
+        /**
+         * The toasts are not shown.
+         */
+        DROP
+    }
+
+    private static final class PlayerToasts {
+        private final Deque<Advancement> queue = new ArrayDeque<>();
+        private int merged;
+        @Nullable
+        private Advancement lastMerged;
+        private long nextToast;
+
+        PlayerToasts(long nextToast) {
+            this.nextToast = nextToast;
+        }
+
+        boolean isEmpty() {
+            return queue.isEmpty() && merged == 0;
+        }
+    }
+}
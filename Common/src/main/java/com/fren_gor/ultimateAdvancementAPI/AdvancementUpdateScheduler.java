@@ -0,0 +1,155 @@
+package com.fren_gor.ultimateAdvancementAPI;
+
+import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
+import com.google.common.base.Preconditions;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils.checkSync;
+import static com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils.runSync;
+
+/**
+ * The {@code AdvancementUpdateScheduler} class coalesces the updates of the advancement tabs sent to the teams.
+ * <p>When an advancement changes, its tab is not sent to the team immediately. Instead, the (tab, team) pair is marked as dirty
+ * and every dirty pair is updated once after {@link #getInterval()} ticks. This way, many advancements of the same tab changed
+ * in the same tick (for example, the tasks of a {@link com.fren_gor.ultimateAdvancementAPI.advancement.tasks.MultiTasksAdvancement})
+ * cause a single update of the tab.
+ * <p>Updates can also be grouped explicitly using {@link #batchUpdates(Runnable)}.
+ * <p>An instance can be obtained using {@link AdvancementMain#getUpdateScheduler()}.
+ * <p>This class is not thread safe and must be used on the main thread.
+ */
+public final class AdvancementUpdateScheduler {
+
+    /**
+     * The default update interval, in ticks.
+     */
+    public static final int DEFAULT_INTERVAL = 1;
+
+    private final Plugin plugin;
+    // Dirty teams of every tab, mapped by team id. The last TeamProgression provided for a team is kept
+    private final Map<AdvancementTab, Map<Integer, TeamProgression>> dirty = new LinkedHashMap<>();
+    private int interval = DEFAULT_INTERVAL;
+    private int batchDepth = 0;
+    @Nullable
+    private BukkitTask task;
+
+    AdvancementUpdateScheduler(@NotNull Plugin plugin) {
+        this.plugin = Preconditions.checkNotNull(plugin, "Plugin is null.");
+    }
+
+    /**
+     * Schedules the update of the provided tab to the provided team.
+     * <p>If it is called async, the pair is marked as dirty on the main thread, since tabs must be updated on the main thread.
+     *
+     * @param tab The tab to update.
+     * @param pro The {@link TeamProgression} of the team.
+     */
+    void schedule(@NotNull AdvancementTab tab, @NotNull TeamProgression pro) {
+        if (!Bukkit.isPrimaryThread()) {
+            runSync(plugin, () -> {
+                // The tab may have been disposed or the team may have been unloaded in the meantime
+                if (tab.isActive() && pro.isValid()) {
+                    schedule(tab, pro);
+                }
+            });
+            return;
+        }
+        if (interval == 0 && batchDepth == 0) {
+            tab.updateAdvancementsToTeam(pro);
+            return;
+        }
+        dirty.computeIfAbsent(tab, t -> new LinkedHashMap<>()).put(pro.getTeamId(), pro);
+        if (task == null && batchDepth == 0) {
+            task = Bukkit.getScheduler().runTaskLater(plugin, this::flush, interval);
+        }
+    }
+
+    /**
+     * Runs the provided {@link Runnable} and then updates every tab changed by it at once.
+     * <p>Calls to this method can be nested, in which case the tabs are updated when the outermost call returns.
+     *
+     * @param runnable The {@link Runnable} to run.
+     * @throws com.fren_gor.ultimateAdvancementAPI.exceptions.AsyncExecutionException If it is called async.
+     */
+    public void batchUpdates(@NotNull Runnable runnable) {
+        Preconditions.checkNotNull(runnable, "Runnable is null.");
+        checkSync();
+        batchDepth++;
+        try {
+            runnable.run();
+        } finally {
+            if (--batchDepth == 0) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Updates every dirty tab to its dirty teams immediately.
+     *
+     * @throws com.fren_gor.ultimateAdvancementAPI.exceptions.AsyncExecutionException If it is called async.
+     */
+    public void flush() {
+        checkSync();
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        while (!dirty.isEmpty()) {
+            Iterator<Entry<AdvancementTab, Map<Integer, TeamProgression>>> it = dirty.entrySet().iterator();
+            Entry<AdvancementTab, Map<Integer, TeamProgression>> e = it.next();
+            it.remove();
+            final AdvancementTab tab = e.getKey();
+            for (TeamProgression pro : e.getValue().values()) {
+                // The tab may have been disposed or the team may have been unloaded in the meantime
+                if (tab.isActive() && pro.isValid()) {
+                    try {
+                        tab.updateAdvancementsToTeam(pro);
+                    } catch (Exception t) {
+                        t.printStackTrace();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards every pending update. Called when the API is disabled.
+     */
+    void clear() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Gets the amount of ticks the updates are collected for before being sent.
+     *
+     * @return The update interval, in ticks.
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Sets the amount of ticks the updates are collected for before being sent.
+     * <p>If it is set to {@code 0}, updates are sent immediately, unless they are made inside {@link #batchUpdates(Runnable)}.
+     *
+     * @param interval The update interval, in ticks. Must be greater or equal to zero.
+     */
+    public void setInterval(@Range(from = 0, to = Integer.MAX_VALUE) int interval) {
+        Preconditions.checkArgument(interval >= 0, "Interval cannot be negative.");
+        this.interval = interval;
+    }
+}
@@ -187,6 +187,7 @@ public final class UltimateAdvancementAPI {
     /**
      * Updates every advancement to a player.
      * <p>An advancement is updated only if its tab is shown to the player (see {@link AdvancementTab#isShownTo(Player)}).
+     * <p>The tabs may be sent over the following ticks (see {@link AdvancementDeliveryQueue}).
      *
      * @param player The player to be updated.
      * @throws IllegalStateException If the API is not enabled.
@@ -195,6 +196,17 @@ public final class UltimateAdvancementAPI {
         getMain().updatePlayer(player);
     }
 
+    /**
+     * Runs the provided {@link Runnable} and then sends every advancement update made by it at once.
+     * <p>For example, granting many advancements of the same tab inside the {@link Runnable} updates the tab only once.
+     *
+     * @param runnable The {@link Runnable} to run.
+     * @throws IllegalStateException If the API is not enabled.
+     */
+    public void batchUpdates(@NotNull Runnable runnable) {
+        getMain().batchUpdates(runnable);
+    }
+
     /**
      * Returns the advancement with the provided namespaced key.
      *
@@ -251,7 +263,20 @@ public final class UltimateAdvancementAPI {
      * @param frame The shape of the toast notification frame.
      */
     public void displayCustomToast(@NotNull Player player, @NotNull ItemStack icon, @NotNull String title, @NotNull AdvancementFrameType frame) {
-        AdvancementUtils.displayToast(player, icon, title, frame);
+        AdvancementUtils.displayToast(getMain().getPacketSender(), player, icon, title, frame);
+    }
+
+    /**
+     * Displays a custom toast notification to many players.
+     * <p>The toast notification is crafted only once and is sent to every player.
+     *
+     * @param players The players the toast notification will be shown to.
+     * @param icon The item of the toast notification.
+     * @param title The title of the toast notification.
+     * @param frame The shape of the toast notification frame.
+     */
+    public void displayCustomToast(@NotNull Collection<? extends Player> players, @NotNull ItemStack icon, @NotNull String title, @NotNull AdvancementFrameType frame) {
+        AdvancementUtils.displayToast(getMain().getPacketSender(), players, icon, title, frame);
     }
 
     /**
@@ -13,6 +13,7 @@ import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils;
 import com.fren_gor.ultimateAdvancementAPI.util.AfterHandle;
 import com.fren_gor.ultimateAdvancementAPI.visibilities.IVisibility;
+import com.fren_gor.ultimateAdvancementAPI.visibilities.VisibilityGraph;
 import com.google.common.base.Preconditions;
 import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.chat.BaseComponent;
@@ -55,6 +56,8 @@ import static com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils.validate
  */
 public abstract class Advancement {
 
+    private static final int UNKNOWN_ORDINAL = -2;
+
     /**
      * The namespaced key of the advancement, which identifies it univocally.
      * <p>Note that the namespace of the key is the tab's one.
@@ -82,6 +85,10 @@ public abstract class Advancement {
 
     @Nullable
     private final MethodHandle iVisibilityMethod;
+    @Nullable
+    private Class<? extends IVisibility> iVisibilityInterface;
+    // The ordinal in the VisibilityGraph of the tab, lazily initialised
+    private int visibilityOrdinal = UNKNOWN_ORDINAL;
 
     private Advancement() {
         throw new UnsupportedOperationException("Private constructor.");
@@ -495,7 +502,7 @@ public abstract class Advancement {
      * @param player The player the toast will be shown to.
      */
     public void displayToastToPlayer(@NotNull Player player) {
-        AdvancementUtils.displayToast(player, display.getIcon(), display.getTitle(), display.getFrame());
+        AdvancementUtils.displayToast(advancementTab.getPacketSender(), player, display.getIcon(), display.getTitle(), display.getFrame());
     }
 
     /**
@@ -543,6 +550,16 @@ public abstract class Advancement {
         validateTeamProgression(progression);
         // Advancement visibility system
         if (iVisibilityMethod != null) {
+            // Visibilities provided by the API are computed by the tab, without walking the parents every time
+            final VisibilityGraph graph = advancementTab.getVisibilityGraph();
+            if (graph != null) {
+                if (visibilityOrdinal == UNKNOWN_ORDINAL) {
+                    visibilityOrdinal = graph.getOrdinal(this);
+                }
+                if (visibilityOrdinal != -1) {
+                    return graph.isVisible(visibilityOrdinal, progression);
+                }
+            }
             try {
                 return (boolean) iVisibilityMethod.invokeWithArguments(this, progression);
             } catch (Throwable e) {
@@ -575,7 +592,7 @@ public abstract class Advancement {
         // Show Toast
         if (display.doesShowToast()) {
             // TODO Find a better solution
-            runSync(advancementTab.getOwningPlugin(), () -> AdvancementUtils.displayToastDuringUpdate(player, this));
+            runSync(advancementTab.getOwningPlugin(), () -> advancementTab.getToastQueue().enqueue(player, this));
         }
 
         if (giveRewards)
@@ -749,7 +766,9 @@ public abstract class Advancement {
                     final Method m = i.getDeclaredMethod("isVisible", Advancement.class, TeamProgression.class);
                     if (m.isDefault()) {
                         // Make sure the interface method is called instead of Advancement#isVisible(Advancement, TeamProgression)
-                        return MethodHandles.lookup().unreflectSpecial(m, i).bindTo(this);
+                        MethodHandle handle = MethodHandles.lookup().unreflectSpecial(m, i).bindTo(this);
+                        iVisibilityInterface = i.asSubclass(IVisibility.class);
+                        return handle;
                     }
                 } catch (NoSuchMethodException | IllegalAccessException e) {
                     // No method found, continue
@@ -763,6 +782,17 @@ public abstract class Advancement {
         return null;
     }
 
+    /**
+     * Gets the sub-interface of {@link IVisibility} used by the Advancement Visibility System for this advancement.
+     *
+     * @return The sub-interface of {@link IVisibility} used for this advancement, or {@code null} if the advancement
+     *         doesn't implement any suitable interface.
+     */
+    @Nullable
+    public Class<? extends IVisibility> getVisibilityInterface() {
+        return iVisibilityInterface;
+    }
+
     /**
      * Gets the {@link AdvancementDisplay} of this advancement.
      *
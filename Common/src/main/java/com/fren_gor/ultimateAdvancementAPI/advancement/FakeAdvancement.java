@@ -6,6 +6,7 @@ import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementDisplayWrapper;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
 import com.fren_gor.ultimateAdvancementAPI.util.AfterHandle;
+import com.fren_gor.ultimateAdvancementAPI.util.LazyValue;
 import com.google.common.base.Preconditions;
 import net.md_5.bungee.api.chat.BaseComponent;
 import org.bukkit.Material;
@@ -155,6 +156,9 @@ public final class FakeAdvancement extends BaseAdvancement {
      */
     public static final class FakeAdvancementDisplay extends AdvancementDisplay {
 
+        @LazyValue
+        private volatile AdvancementDisplayWrapper wrapper;
+
         /**
          * Creates a new {@code FakeAdvancementDisplay}.
          *
@@ -188,8 +192,12 @@ public final class FakeAdvancement extends BaseAdvancement {
         @NotNull
         public AdvancementDisplayWrapper getNMSWrapper(@NotNull Advancement advancement) {
             Preconditions.checkNotNull(advancement, "Advancement is null.");
+            AdvancementDisplayWrapper wrapper = this.wrapper;
+            if (wrapper != null) {
+                return wrapper;
+            }
             try {
-                return AdvancementDisplayWrapper.craft(icon, title, compactDescription, frame.getNMSWrapper(), x, y, false, false, true);
+                return this.wrapper = AdvancementDisplayWrapper.craft(icon, title, compactDescription, frame.getNMSWrapper(), x, y, false, false, true);
             } catch (ReflectiveOperationException e) {
                 throw new RuntimeException(e);
             }
@@ -3,6 +3,7 @@ package com.fren_gor.ultimateAdvancementAPI.advancement.display;
 import com.fren_gor.ultimateAdvancementAPI.advancement.Advancement;
 import com.fren_gor.ultimateAdvancementAPI.advancement.RootAdvancement;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementDisplayWrapper;
+import com.fren_gor.ultimateAdvancementAPI.util.LazyValue;
 import com.google.common.base.Preconditions;
 import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.chat.BaseComponent;
@@ -85,6 +86,13 @@ public class AdvancementDisplay {
      */
     protected final float y;
 
+    // The NMS wrappers are crafted once and shared by every advancement using this display,
+    // since crafting them copies the icon into an NMS ItemStack. Roots have a different wrapper for every background texture
+    @LazyValue
+    private volatile AdvancementDisplayWrapper wrapper;
+    @LazyValue
+    private volatile RootWrapper rootWrapper;
+
     /**
      * Creates a new {@code AdvancementDisplay}.
      * <p>The default color of the title and description is {@code frame.getColor()}.
@@ -309,18 +317,36 @@ public class AdvancementDisplay {
     @NotNull
     public AdvancementDisplayWrapper getNMSWrapper(@NotNull Advancement advancement) {
         Preconditions.checkNotNull(advancement, "Advancement is null.");
-        AdvancementDisplayWrapper wrapper;
         try {
             if (advancement instanceof RootAdvancement root) {
-                return AdvancementDisplayWrapper.craft(icon, title, compactDescription, frame.getNMSWrapper(), x, y, root.getBackgroundTexture());
+                final String backgroundTexture = root.getBackgroundTexture();
+                RootWrapper rootWrapper = this.rootWrapper;
+                if (rootWrapper == null || !Objects.equals(rootWrapper.backgroundTexture, backgroundTexture)) {
+                    this.rootWrapper = rootWrapper = new RootWrapper(backgroundTexture, AdvancementDisplayWrapper.craft(icon, title, compactDescription, frame.getNMSWrapper(), x, y, backgroundTexture));
+                }
+                return rootWrapper.wrapper;
             } else {
-                return AdvancementDisplayWrapper.craft(icon, title, compactDescription, frame.getNMSWrapper(), x, y);
+                AdvancementDisplayWrapper wrapper = this.wrapper;
+                if (wrapper == null) {
+                    this.wrapper = wrapper = AdvancementDisplayWrapper.craft(icon, title, compactDescription, frame.getNMSWrapper(), x, y);
+                }
+                return wrapper;
             }
         } catch (ReflectiveOperationException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private static final class RootWrapper {
+        private final String backgroundTexture;
+        private final AdvancementDisplayWrapper wrapper;
+
+        RootWrapper(String backgroundTexture, @NotNull AdvancementDisplayWrapper wrapper) {
+            this.backgroundTexture = backgroundTexture;
+            this.wrapper = wrapper;
+        }
+    }
+
     /**
      * Returns the title of the advancement.
      *
@@ -0,0 +1,306 @@
+package com.fren_gor.ultimateAdvancementAPI.database;
+
+import com.google.common.base.Preconditions;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code DatabaseExecutor} class is the {@link Executor} used by the {@link DatabaseManager} to run database operations.
+ * <p>Database operations are blocking, so they are run on dedicated threads instead of the common
+ * {@link java.util.concurrent.ForkJoinPool}. The number of threads matches the number of connections the database
+ * can use concurrently (the pool size for MySQL and one for SQLite).
+ * <p>The queue itself is unbounded, but {@link #getQueueCapacity()} works as a soft limit: when it is reached, operations
+ * submitted by other threads are run on the submitting thread, slowing it down until the database catches up.
+ * Operations submitted by the server main thread are always queued, even past the limit, since blocking database
+ * calls must never run on the main thread.
+ * <p>This class is thread safe.
+ */
+public final class DatabaseExecutor implements Executor {
+
+    /**
+     * The default queue capacity.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger threadCounter = new AtomicInteger(1);
+
+    private volatile int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    private volatile boolean virtualThreads = false;
+
+    // Metrics
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder callerRunTasks = new LongAdder();
+    private final LongAdder overflowTasks = new LongAdder();
+    private final LongAdder totalQueueNanos = new LongAdder();
+    private final LongAdder totalExecutionNanos = new LongAdder();
+
+    /**
+     * Creates a new {@code DatabaseExecutor}.
+     *
+     * @param name The name of the executor, used as prefix for thread names.
+     * @param threads The maximum number of threads. Must be greater than zero.
+     */
+    DatabaseExecutor(@NotNull String name, @Range(from = 1, to = Integer.MAX_VALUE) int threads) {
+        Preconditions.checkNotNull(name, "Name is null.");
+        Preconditions.checkArgument(threads > 0, "Threads must be greater than zero.");
+        this.name = name;
+        this.executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DatabaseThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs the provided task on a database thread.
+     * <p>If the queue has reached {@link #getQueueCapacity()}, the task is run on the current thread, unless the current
+     * thread is the server main thread. In that case, the task is queued anyway.
+     *
+     * @param command The task to run.
+     * @throws RejectedExecutionException If the executor has been shut down.
+     */
+    @Override
+    public void execute(@NotNull Runnable command) {
+        Preconditions.checkNotNull(command, "Runnable is null.");
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("DatabaseExecutor " + name + " has been shut down.");
+        }
+        final long submitTime = System.nanoTime();
+        if (executor.getQueue().size() >= queueCapacity) {
+            if (!Bukkit.isPrimaryThread()) {
+                // Backpressure: make the submitter wait for its own task
+                callerRunTasks.increment();
+                runTask(command, submitTime);
+                return;
+            }
+            // Never block the main thread on the database
+            overflowTasks.increment();
+        }
+        executor.execute(() -> runTask(command, submitTime));
+    }
+
+    private void runTask(@NotNull Runnable command, long submitTime) {
+        final long startTime = System.nanoTime();
+        totalQueueNanos.add(startTime - submitTime);
+        try {
+            command.run();
+        } finally {
+            totalExecutionNanos.add(System.nanoTime() - startTime);
+            completedTasks.increment();
+        }
+    }
+
+    /**
+     * Stops accepting new tasks and waits for the queued ones to complete.
+     */
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("DatabaseExecutor " + name + " didn't complete " + executor.getQueue().size() + " queued tasks in " + SHUTDOWN_TIMEOUT_SECONDS + " seconds.");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the maximum number of threads.
+     *
+     * @return The maximum number of threads.
+     */
+    public int getThreads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Gets the amount of queued tasks after which tasks submitted from threads other than the main thread are run on the submitting thread.
+     *
+     * @return The queue capacity.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the amount of queued tasks after which tasks submitted from threads other than the main thread are run on the submitting thread.
+     *
+     * @param queueCapacity The queue capacity. Must be greater than zero.
+     */
+    public void setQueueCapacity(@Range(from = 1, to = Integer.MAX_VALUE) int queueCapacity) {
+        Preconditions.checkArgument(queueCapacity > 0, "Queue capacity must be greater than zero.");
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Returns whether new threads are virtual threads.
+     *
+     * @return Whether new threads are virtual threads.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Sets whether to use virtual threads. Applies to threads created after the call.
+     * <p>Virtual threads are available only on Java 21 or newer. If they aren't supported, platform threads are used.
+     *
+     * @param virtualThreads Whether to use virtual threads.
+     * @return Whether the requested thread type is supported.
+     */
+    public boolean setVirtualThreads(boolean virtualThreads) {
+        if (virtualThreads && VirtualThreads.BUILDER == null) {
+            this.virtualThreads = false;
+            return false;
+        }
+        this.virtualThreads = virtualThreads;
+        return true;
+    }
+
+    /**
+     * Gets the number of tasks waiting in queue.
+     *
+     * @return The number of queued tasks.
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Gets the approximate number of threads which are running a task.
+     *
+     * @return The number of active threads.
+     */
+    public int getActiveThreads() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Gets the number of completed tasks.
+     *
+     * @return The number of completed tasks.
+     */
+    public long getCompletedTasks() {
+        return completedTasks.sum();
+    }
+
+    /**
+     * Gets the number of tasks which have been run on the submitting thread because the queue was full.
+     *
+     * @return The number of tasks run on the submitting thread.
+     */
+    public long getCallerRunTasks() {
+        return callerRunTasks.sum();
+    }
+
+    /**
+     * Gets the number of tasks which have been queued even though the queue was full, because they were submitted from the main thread.
+     *
+     * @return The number of tasks queued past the queue capacity.
+     */
+    public long getOverflowTasks() {
+        return overflowTasks.sum();
+    }
+
+    /**
+     * Gets the average time completed tasks waited in queue.
+     *
+     * @return The average queue time, in nanoseconds.
+     */
+    public long getAverageQueueNanos() {
+        long completed = completedTasks.sum();
+        return completed == 0 ? 0 : totalQueueNanos.sum() / completed;
+    }
+
+    /**
+     * Gets the average execution time of completed tasks.
+     *
+     * @return The average execution time, in nanoseconds.
+     */
+    public long getAverageExecutionNanos() {
+        long completed = completedTasks.sum();
+        return completed == 0 ? 0 : totalExecutionNanos.sum() / completed;
+    }
+
+    @Override
+    public String toString() {
+        return "DatabaseExecutor{" +
+                "name='" + name + '\'' +
+                ", threads=" + getThreads() +
+                ", queueSize=" + getQueueSize() +
+                ", activeThreads=" + getActiveThreads() +
+                ", completedTasks=" + getCompletedTasks() +
+                ", callerRunTasks=" + getCallerRunTasks() +
+                ", overflowTasks=" + getOverflowTasks() +
+                '}';
+    }
+
+    private final class DatabaseThreadFactory implements ThreadFactory {
+        @Override
+        public Thread newThread(@NotNull Runnable r) {
+            final String threadName = name + '-' + threadCounter.getAndIncrement();
+            if (virtualThreads) {
+                Thread t = VirtualThreads.newThread(threadName, r);
+                if (t != null) {
+                    return t;
+                }
+            }
+            Thread t = new Thread(r, threadName);
+            t.setDaemon(true);
+            return t;
+        }
+    }
+
+    /**
+     * Virtual threads are accessed through reflection, since they're not available in every supported Java version.
+     */
+    private static final class VirtualThreads {
+        private static final Object BUILDER;
+        private static final Method NAME, UNSTARTED;
+
+        static {
+            Object builder = null;
+            Method name = null, unstarted = null;
+            try {
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                name = builderClass.getMethod("name", String.class);
+                unstarted = builderClass.getMethod("unstarted", Runnable.class);
+            } catch (ReflectiveOperationException e) {
+                builder = null; // Virtual threads aren't supported
+            }
+            BUILDER = builder;
+            NAME = name;
+            UNSTARTED = unstarted;
+        }
+
+        private static Thread newThread(@NotNull String name, @NotNull Runnable r) {
+            if (BUILDER == null) {
+                return null;
+            }
+            try {
+                // Builders are not thread safe, but Thread.Builder#name returns the same builder
+                synchronized (BUILDER) {
+                    return (Thread) UNSTARTED.invoke(NAME.invoke(BUILDER, name), r);
+                }
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    }
+}
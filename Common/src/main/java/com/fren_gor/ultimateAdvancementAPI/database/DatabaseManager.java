@@ -5,6 +5,7 @@ import com.fren_gor.ultimateAdvancementAPI.AdvancementMain;
 import com.fren_gor.ultimateAdvancementAPI.UltimateAdvancementAPI;
 import com.fren_gor.ultimateAdvancementAPI.advancement.Advancement;
 import com.fren_gor.ultimateAdvancementAPI.database.CacheFreeingOption.Option;
+import com.fren_gor.ultimateAdvancementAPI.database.impl.BlobSQLite;
 import com.fren_gor.ultimateAdvancementAPI.database.impl.InMemory;
 import com.fren_gor.ultimateAdvancementAPI.database.impl.MySQL;
 import com.fren_gor.ultimateAdvancementAPI.database.impl.SQLite;
@@ -19,6 +20,7 @@ import com.fren_gor.ultimateAdvancementAPI.exceptions.UserNotLoadedException;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Striped;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
@@ -36,6 +38,7 @@ import org.jetbrains.annotations.Range;
 import java.io.File;
 import java.sql.SQLException;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -44,6 +47,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 
 import static com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils.runSync;
@@ -80,10 +85,18 @@ public final class DatabaseManager {
     private static final int LOAD_EVENTS_DELAY = 3;
 
     private final AdvancementMain main;
-    private final Map<UUID, TeamProgression> progressionCache = new HashMap<>();
-    private final Map<UUID, TempUserMetadata> tempLoaded = new HashMap<>();
+    // Cache maps are written only while holding the lock on this, but they can be read without locking
+    private final Map<UUID, TeamProgression> progressionCache = new ConcurrentHashMap<>();
+    // Maps every member of every cached team (even the ones not in progressionCache) to its TeamProgression
+    private final Map<UUID, TeamProgression> teamIndex = new ConcurrentHashMap<>();
+    private final Map<UUID, TempUserMetadata> tempLoaded = new ConcurrentHashMap<>();
+    // Serializes database loads of the same player, which are done without holding the lock on this
+    private final Striped<Lock> loadingLocks = Striped.lock(64);
     private final EventManager eventManager;
     private final IDatabase database;
+    private final DatabaseExecutor executor;
+    private final ProgressionJournal journal;
+    private final LoginLoadCoalescer loginCoalescer;
 
     /**
      * Creates a new {@code DatabaseManager} which uses an in-memory database.
@@ -97,6 +110,9 @@ public final class DatabaseManager {
         this.eventManager = main.getEventManager();
 
         database = new InMemory(main.getLogger());
+        executor = new DatabaseExecutor("UltimateAdvancementAPI-DB", 1);
+        journal = new ProgressionJournal(main.getOwningPlugin(), database, executor);
+        loginCoalescer = new LoginLoadCoalescer(executor, this::loadPlayersMainFunction);
         commonSetUp();
     }
 
@@ -108,12 +124,67 @@ public final class DatabaseManager {
      * @throws Exception If anything goes wrong.
      */
     public DatabaseManager(@NotNull AdvancementMain main, @NotNull File dbFile) throws Exception {
+        this(main, dbFile, SQLite.Profile.DEFAULT);
+    }
+
+    /**
+     * Creates a new {@code DatabaseManager} which uses a SQLite database.
+     *
+     * @param main The {@link AdvancementMain}.
+     * @param dbFile The SQLite database file.
+     * @param profile The SQLite connection {@link SQLite.Profile}.
+     * @throws Exception If anything goes wrong.
+     */
+    public DatabaseManager(@NotNull AdvancementMain main, @NotNull File dbFile, @NotNull SQLite.Profile profile) throws Exception {
+        this(main, dbFile, profile, SchemaVersion.V1);
+    }
+
+    /**
+     * Creates a new {@code DatabaseManager} which uses a SQLite database.
+     *
+     * @param main The {@link AdvancementMain}.
+     * @param dbFile The SQLite database file.
+     * @param profile The SQLite connection {@link SQLite.Profile}.
+     * @param schemaVersion The {@link SchemaVersion} of the database.
+     * @throws Exception If anything goes wrong.
+     */
+    public DatabaseManager(@NotNull AdvancementMain main, @NotNull File dbFile, @NotNull SQLite.Profile profile, @NotNull SchemaVersion schemaVersion) throws Exception {
+        Preconditions.checkNotNull(main, "AdvancementMain is null.");
+        Preconditions.checkNotNull(dbFile, "Database file is null.");
+        Preconditions.checkNotNull(profile, "Profile is null.");
+        Preconditions.checkNotNull(schemaVersion, "SchemaVersion is null.");
+        this.main = main;
+        this.eventManager = main.getEventManager();
+
+        SQLite sqlite = new SQLite(dbFile, main.getLogger(), profile, schemaVersion);
+        database = sqlite;
+        // One thread for the write connection plus one for every read-only connection
+        executor = new DatabaseExecutor("UltimateAdvancementAPI-DB", 1 + sqlite.getReadConnections());
+        journal = new ProgressionJournal(main.getOwningPlugin(), database, executor);
+        loginCoalescer = new LoginLoadCoalescer(executor, this::loadPlayersMainFunction);
+        commonSetUp();
+    }
+
+    /**
+     * Creates a new {@code DatabaseManager} which uses a SQLite database storing the advancements of every team in a single row.
+     *
+     * @param main The {@link AdvancementMain}.
+     * @param dbFile The SQLite database file.
+     * @param compression The {@link BlobSQLite.Compression} of the progression blobs.
+     * @throws Exception If anything goes wrong.
+     * @see BlobSQLite
+     */
+    public DatabaseManager(@NotNull AdvancementMain main, @NotNull File dbFile, @NotNull BlobSQLite.Compression compression) throws Exception {
         Preconditions.checkNotNull(main, "AdvancementMain is null.");
         Preconditions.checkNotNull(dbFile, "Database file is null.");
+        Preconditions.checkNotNull(compression, "Compression is null.");
         this.main = main;
         this.eventManager = main.getEventManager();
 
-        database = new SQLite(dbFile, main.getLogger());
+        database = new BlobSQLite(dbFile, main.getLogger(), compression);
+        executor = new DatabaseExecutor("UltimateAdvancementAPI-DB", 1);
+        journal = new ProgressionJournal(main.getOwningPlugin(), database, executor);
+        loginCoalescer = new LoginLoadCoalescer(executor, this::loadPlayersMainFunction);
         commonSetUp();
     }
 
@@ -131,11 +202,32 @@ public final class DatabaseManager {
      * @throws Exception If anything goes wrong.
      */
     public DatabaseManager(@NotNull AdvancementMain main, @NotNull String username, @NotNull String password, @NotNull String databaseName, @NotNull String host, @Range(from = 1, to = Integer.MAX_VALUE) int port, @Range(from = 1, to = Integer.MAX_VALUE) int poolSize, @Range(from = 250, to = Long.MAX_VALUE) long connectionTimeout) throws Exception {
+        this(main, username, password, databaseName, host, port, poolSize, connectionTimeout, SchemaVersion.V1);
+    }
+
+    /**
+     * Creates a new {@code DatabaseManager} which uses a MySQL database.
+     *
+     * @param main The {@link AdvancementMain}.
+     * @param username The username.
+     * @param password The password.
+     * @param databaseName The name of the database.
+     * @param host The MySQL host.
+     * @param port The MySQL port. Must be greater than zero.
+     * @param poolSize The pool size. Must be greater than zero.
+     * @param connectionTimeout The connection timeout. Must be greater or equal to 250.
+     * @param schemaVersion The {@link SchemaVersion} of the database.
+     * @throws Exception If anything goes wrong.
+     */
+    public DatabaseManager(@NotNull AdvancementMain main, @NotNull String username, @NotNull String password, @NotNull String databaseName, @NotNull String host, @Range(from = 1, to = Integer.MAX_VALUE) int port, @Range(from = 1, to = Integer.MAX_VALUE) int poolSize, @Range(from = 250, to = Long.MAX_VALUE) long connectionTimeout, @NotNull SchemaVersion schemaVersion) throws Exception {
         Preconditions.checkNotNull(main, "AdvancementMain is null.");
         this.main = main;
         this.eventManager = main.getEventManager();
 
-        database = new MySQL(username, password, databaseName, host, port, poolSize, connectionTimeout, main.getLogger(), main.getLibbyManager());
+        database = new MySQL(username, password, databaseName, host, port, poolSize, connectionTimeout, main.getLogger(), main.getLibbyManager(), schemaVersion);
+        executor = new DatabaseExecutor("UltimateAdvancementAPI-DB", poolSize);
+        journal = new ProgressionJournal(main.getOwningPlugin(), database, executor);
+        loginCoalescer = new LoginLoadCoalescer(executor, this::loadPlayersMainFunction);
         commonSetUp();
     }
 
@@ -143,15 +235,7 @@ public final class DatabaseManager {
         // Run it sync to avoid using uninitialized database
         database.setUp();
 
-        eventManager.register(this, PlayerLoginEvent.class, EventPriority.LOWEST, e -> CompletableFuture.runAsync(() -> {
-            try {
-                loadPlayerMainFunction(e.getPlayer());
-            } catch (Exception ex) {
-                System.err.println("Cannot load player " + e.getPlayer().getName() + ':');
-                ex.printStackTrace();
-                runSync(main, LOAD_EVENTS_DELAY, () -> Bukkit.getPluginManager().callEvent(new PlayerLoadingFailedEvent(e.getPlayer(), ex)));
-            }
-        }));
+        eventManager.register(this, PlayerLoginEvent.class, EventPriority.LOWEST, e -> loginCoalescer.submit(e.getPlayer()));
         eventManager.register(this, PlayerQuitEvent.class, EventPriority.MONITOR, e -> {
             synchronized (DatabaseManager.this) {
                 TempUserMetadata meta = tempLoaded.get(e.getPlayer().getUniqueId());
@@ -162,6 +246,7 @@ public final class DatabaseManager {
                     TeamProgression t = progressionCache.remove(e.getPlayer().getUniqueId());
                     if (t != null && t.noMemberMatch(progressionCache::containsKey)) {
                         t.inCache.set(false); // Invalidate TeamProgression
+                        unindexTeam(t);
                         Bukkit.getPluginManager().callEvent(new TeamUnloadEvent(t));
                     }
                 }
@@ -189,16 +274,18 @@ public final class DatabaseManager {
                 System.err.println("Cannot clear up unused team ids:");
                 e.printStackTrace();
             }
-        });
+        }, executor);
     }
 
     /**
-     * Closes the connection to the database and frees the cache.
+     * Saves the pending progression updates, closes the connection to the database and frees the cache.
      * <p>This method does not call {@link Event}s.
      */
     public void unregister() {
         if (eventManager.isEnabled())
             eventManager.unregister(this);
+        journal.close();
+        executor.shutdown(); // Wait for running operations
         try {
             database.close();
         } catch (SQLException e) {
@@ -208,6 +295,50 @@ public final class DatabaseManager {
             tempLoaded.clear();
             progressionCache.forEach((u, t) -> t.inCache.set(false)); // Invalidate TeamProgression
             progressionCache.clear();
+            teamIndex.clear();
+        }
+    }
+
+    /**
+     * Main function to load the provided joining players from the database.
+     * <p>The players whose team is not in cache are loaded from the database all at once.
+     * <p><strong>Should be called async.</strong>
+     *
+     * @param players The players to load.
+     */
+    private void loadPlayersMainFunction(final @NotNull List<Player> players) {
+        Map<UUID, PlayerLoadResult> preloaded = Collections.emptyMap();
+        if (players.size() > 1) {
+            final Map<UUID, String> toLoad = new HashMap<>();
+            for (Player player : players) {
+                final UUID uuid = player.getUniqueId();
+                if (!progressionCache.containsKey(uuid) && !teamIndex.containsKey(uuid)) {
+                    toLoad.put(uuid, player.getName());
+                }
+            }
+            if (toLoad.size() > 1) {
+                try {
+                    final Map<Integer, Map<AdvancementKey, Integer>> unwritten = flushBeforeLoading();
+                    preloaded = database.loadPlayers(toLoad);
+                    for (PlayerLoadResult result : preloaded.values()) {
+                        applyUnwritten(result.getTeamProgression(), unwritten);
+                    }
+                } catch (Exception e) {
+                    // Fall back to loading players one by one
+                    System.err.println("Cannot load " + toLoad.size() + " players at once:");
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        for (Player player : players) {
+            try {
+                loadPlayerMainFunction(player, preloaded.get(player.getUniqueId()));
+            } catch (Exception ex) {
+                System.err.println("Cannot load player " + player.getName() + ':');
+                ex.printStackTrace();
+                runSync(main, LOAD_EVENTS_DELAY, () -> Bukkit.getPluginManager().callEvent(new PlayerLoadingFailedEvent(player, ex)));
+            }
         }
     }
 
@@ -216,73 +347,136 @@ public final class DatabaseManager {
      * <p><strong>Should be called async.</strong>
      *
      * @param player The player to load.
+     * @param preloaded The data of the player already loaded from the database, or {@code null} if it has to be loaded.
      * @throws SQLException If anything goes wrong.
      */
-    private void loadPlayerMainFunction(final @NotNull Player player) throws SQLException {
-        Entry<TeamProgression, Boolean> entry = loadOrRegisterPlayer(player);
-        final TeamProgression pro = entry.getKey();
+    private void loadPlayerMainFunction(final @NotNull Player player, final @Nullable PlayerLoadResult preloaded) throws SQLException {
+        final PlayerLoadResult result = loadOrRegisterPlayer(player, preloaded);
+        final TeamProgression pro = result.getTeamProgression();
         runSync(main, LOAD_EVENTS_DELAY, () -> {
             Bukkit.getPluginManager().callEvent(new PlayerLoadingCompletedEvent(player, pro));
-            if (entry.getValue())
+            if (result.isRegistered())
                 Bukkit.getPluginManager().callEvent(new TeamUpdateEvent(pro, player.getUniqueId(), Action.JOIN));
             main.updatePlayer(player);
-            CompletableFuture.runAsync(() -> processUnredeemed(player, pro));
+            final List<Entry<AdvancementKey, Boolean>> unredeemed = result.getUnredeemed();
+            if (unredeemed != null) {
+                processUnredeemed(player, pro, unredeemed);
+            } else {
+                CompletableFuture.runAsync(() -> processUnredeemed(player, pro), executor);
+            }
         });
     }
 
     /**
      * Load the provided player from the database. If they are not present, this method registers they.
+     * <p>If the player's team was not in cache, the unredeemed advancements of the team are loaded too.
      * <p><strong>Should be called async.</strong>
      *
      * @param player The player.
-     * @return A pair containing the loaded {@link TeamProgression} and a {@code boolean},
-     *         which is {@code true} if and only if the player was not found in the database.
+     * @param preloaded The data of the player already loaded from the database, or {@code null} if it has to be loaded.
+     * @return A {@link PlayerLoadResult} containing the loaded {@link TeamProgression}, whether the player was not found
+     *         in the database and the unredeemed advancements of the team ({@code null} if the team was already in cache).
      * @throws SQLException If anything goes wrong.
      */
     @NotNull
-    private synchronized Entry<TeamProgression, Boolean> loadOrRegisterPlayer(@NotNull Player player) throws SQLException {
+    private PlayerLoadResult loadOrRegisterPlayer(@NotNull Player player, @Nullable PlayerLoadResult preloaded) throws SQLException {
         final UUID uuid = player.getUniqueId();
+        final Lock lock = loadingLocks.get(uuid);
+        lock.lock();
+        try {
+            synchronized (this) {
+                TeamProgression pro = progressionCache.get(uuid);
+                if (pro != null) {
+                    // Don't let player to be unloaded from cache
+                    TempUserMetadata meta = tempLoaded.get(uuid);
+                    if (meta != null) {
+                        meta.isOnline = true;
+                    }
+                    return new PlayerLoadResult(pro, false, null);
+                }
 
-        TeamProgression pro = progressionCache.get(uuid);
-        if (pro != null) {
-            // Don't let player to be unloaded from cache
-            TempUserMetadata meta = tempLoaded.get(uuid);
-            if (meta != null) {
-                meta.isOnline = true;
+                pro = teamIndex.get(uuid); // Check if the player's team is already in cache (so if any other team member is loaded)
+                if (pro != null) {
+                    progressionCache.put(uuid, pro); // Direct caching
+                    updatePlayerName(player);
+                    return new PlayerLoadResult(pro, false, null);
+                }
             }
-            return new SimpleEntry<>(pro, false);
-        }
 
-        pro = searchTeamProgressionDeeply(uuid);
-        if (pro != null) {
-            progressionCache.put(uuid, pro); // Direct caching
+            // Load from the database without holding the lock, so cache reads and other loads aren't blocked
+            final PlayerLoadResult result;
+            if (preloaded != null) {
+                result = preloaded;
+            } else {
+                final Map<Integer, Map<AdvancementKey, Integer>> unwritten = flushBeforeLoading();
+                result = database.loadPlayer(uuid, player.getName());
+                applyUnwritten(result.getTeamProgression(), unwritten);
+            }
+            final TeamProgression loaded = result.getTeamProgression();
             updatePlayerName(player);
-            return new SimpleEntry<>(pro, false);
+            synchronized (this) {
+                TeamProgression pro = teamIndex.get(uuid); // Another team member may have been loaded in the meantime
+                if (pro != null) {
+                    progressionCache.put(uuid, pro);
+                    return new PlayerLoadResult(pro, result.isRegistered(), result.getUnredeemed());
+                }
+                loaded.inCache.set(true); // Set TeamProgression valid
+                progressionCache.put(uuid, loaded);
+                indexTeam(loaded);
+            }
+            runSync(main, () -> Bukkit.getPluginManager().callEvent(new TeamLoadEvent(loaded)));
+            return result;
+        } finally {
+            lock.unlock();
         }
+    }
 
-        Entry<TeamProgression, Boolean> e = database.loadOrRegisterPlayer(uuid, player.getName());
-        updatePlayerName(player);
-        e.getKey().inCache.set(true); // Set TeamProgression valid
-        progressionCache.put(uuid, e.getKey());
-        runSync(main, () -> Bukkit.getPluginManager().callEvent(new TeamLoadEvent(e.getKey())));
-        return e;
+    /**
+     * Writes the pending progressions to the database before loading teams from it.
+     * <p>The progressions which cannot be written are retried by the journal and returned, so that they can be applied
+     * to the loaded teams with {@link #applyUnwritten(TeamProgression, Map)}. A failed write never blocks a load.
+     * <p><strong>Should be called async.</strong>
+     *
+     * @return The progressions which are not in the database yet, grouped by team id.
+     */
+    @NotNull
+    private Map<Integer, Map<AdvancementKey, Integer>> flushBeforeLoading() {
+        journal.flushPending();
+        // Read before loading: an update written in the meantime is in the database or in the returned map, or both
+        return journal.getUnwritten();
     }
 
     /**
-     * Search if the provided player's team is already in cache (so if any other team member is loaded)
-     * and returns the {@link TeamProgression} object.
+     * Applies the progressions which are not in the database yet to a team loaded from it.
      *
-     * @param uuid The player {@link UUID}.
-     * @return The player team if found, {@code null} otherwise.
+     * @param pro The {@link TeamProgression} loaded from the database.
+     * @param unwritten The progressions returned by {@link #flushBeforeLoading()}.
      */
-    @Nullable
-    private synchronized TeamProgression searchTeamProgressionDeeply(@NotNull UUID uuid) {
-        for (TeamProgression progression : progressionCache.values()) {
-            if (progression.contains(uuid)) {
-                return progression;
-            }
+    private static void applyUnwritten(@NotNull TeamProgression pro, @NotNull Map<Integer, Map<AdvancementKey, Integer>> unwritten) {
+        final Map<AdvancementKey, Integer> progressions = unwritten.get(pro.getTeamId());
+        if (progressions != null) {
+            progressions.forEach(pro::updateProgression);
         }
-        return null;
+    }
+
+    /**
+     * Adds every member of the provided team to the team index.
+     * <p>Must be called while holding the lock on {@code this}.
+     *
+     * @param pro The {@link TeamProgression} of the cached team.
+     */
+    private void indexTeam(@NotNull TeamProgression pro) {
+        pro.forEachMember(u -> teamIndex.put(u, pro));
+    }
+
+    /**
+     * Removes every member of the provided team from the team index.
+     * <p>Must be called while holding the lock on {@code this}.
+     *
+     * @param pro The {@link TeamProgression} of the unloaded team.
+     */
+    private void unindexTeam(@NotNull TeamProgression pro) {
+        pro.forEachMember(u -> teamIndex.remove(u, pro));
     }
 
     /**
@@ -301,7 +495,17 @@ public final class DatabaseManager {
             e.printStackTrace();
             return;
         }
+        processUnredeemed(player, pro, list);
+    }
 
+    /**
+     * Process the provided unredeemed advancements for the provided player and team. The player is assumed to be in the team.
+     *
+     * @param player The player.
+     * @param pro The player's team.
+     * @param list The unredeemed advancements of the team. It may be modified by this method.
+     */
+    private void processUnredeemed(final @NotNull Player player, final @NotNull TeamProgression pro, final @NotNull List<Entry<AdvancementKey, Boolean>> list) {
         if (list.size() != 0)
             runSync(main, () -> {
                 Iterator<Entry<AdvancementKey, Boolean>> it = list.iterator();
@@ -329,7 +533,7 @@ public final class DatabaseManager {
                                 e.getKey().onGrant(player, e.getValue());
                             }
                         });
-                    });
+                    }, executor);
             });
     }
 
@@ -354,7 +558,7 @@ public final class DatabaseManager {
                 return new Result(e);
             }
             return Result.SUCCESSFUL;
-        });
+        }, executor);
     }
 
     /**
@@ -403,10 +607,8 @@ public final class DatabaseManager {
         Preconditions.checkNotNull(playerToMove, "Player to move is null.");
         validateTeamProgression(otherTeamProgression);
 
-        synchronized (DatabaseManager.this) {
-            if (!progressionCache.containsKey(playerToMove)) {
-                throw new UserNotLoadedException(playerToMove);
-            }
+        if (!progressionCache.containsKey(playerToMove)) {
+            throw new UserNotLoadedException(playerToMove);
         }
 
         if (otherTeamProgression.contains(playerToMove)) {
@@ -429,6 +631,7 @@ public final class DatabaseManager {
             boolean teamUnloaded;
             synchronized (DatabaseManager.this) {
                 otherTeamProgression.addMember(playerToMove);
+                teamIndex.put(playerToMove, otherTeamProgression);
 
                 pro = progressionCache.put(playerToMove, otherTeamProgression);
 
@@ -437,6 +640,7 @@ public final class DatabaseManager {
                     teamUnloaded = pro.noMemberMatch(progressionCache::containsKey);
                     if (teamUnloaded) {
                         pro.inCache.set(false); // Invalidate TeamProgression
+                        unindexTeam(pro);
                     }
                 } else {
                     teamUnloaded = false;
@@ -457,7 +661,7 @@ public final class DatabaseManager {
                 processUnredeemed(ptm, otherTeamProgression);
             }
             return Result.SUCCESSFUL;
-        });
+        }, executor);
     }
 
     /**
@@ -486,10 +690,8 @@ public final class DatabaseManager {
 
     private CompletableFuture<ObjectResult<@NotNull TeamProgression>> movePlayerInNewTeam(@NotNull UUID uuid, @Nullable Player ptr) throws UserNotLoadedException {
         Preconditions.checkNotNull(uuid, "UUID is null.");
-        synchronized (DatabaseManager.this) {
-            if (!progressionCache.containsKey(uuid)) {
-                throw new UserNotLoadedException(uuid);
-            }
+        if (!progressionCache.containsKey(uuid)) {
+            throw new UserNotLoadedException(uuid);
         }
 
         return CompletableFuture.supplyAsync(() -> {
@@ -508,12 +710,14 @@ public final class DatabaseManager {
             synchronized (DatabaseManager.this) {
                 newPro.inCache.set(true); // Set TeamProgression valid
                 pro = progressionCache.put(uuid, newPro);
+                indexTeam(newPro);
 
                 if (pro != null) {
                     pro.removeMember(uuid);
                     teamUnloaded = pro.noMemberMatch(progressionCache::containsKey);
                     if (teamUnloaded) {
                         pro.inCache.set(false); // Invalidate TeamProgression
+                        unindexTeam(pro);
                     }
                 } else {
                     teamUnloaded = false;
@@ -531,7 +735,7 @@ public final class DatabaseManager {
                     main.updatePlayer(ptr);
             });
             return new ObjectResult<>(newPro);
-        });
+        }, executor);
     }
 
     /**
@@ -576,7 +780,7 @@ public final class DatabaseManager {
             }
 
             return Result.SUCCESSFUL;
-        });
+        }, executor);
     }
 
     /**
@@ -652,6 +856,7 @@ public final class DatabaseManager {
      * @param progression The {@link TeamProgression} of the team which made the advancement.
      * @param newProgression The new progression.
      * @return A pair containing the old progression and a {@link CompletableFuture} which provides the {@link Result} of the operation.
+     *         The {@link CompletableFuture} is completed when the update is written to the database (see {@link ProgressionJournal}).
      */
     @NotNull
     public Entry<Integer, CompletableFuture<Result>> updateProgressionWithCompletable(@NotNull AdvancementKey key, @NotNull TeamProgression progression, @Range(from = 0, to = Integer.MAX_VALUE) int newProgression) {
@@ -669,18 +874,7 @@ public final class DatabaseManager {
                 e.printStackTrace();
             }
 
-            return new SimpleEntry<>(old, CompletableFuture.supplyAsync(() -> {
-                try {
-                    database.updateAdvancement(key, progression.getTeamId(), newProgression);
-                } catch (SQLException e) {
-                    System.err.println("Cannot update advancement " + key + " to team " + progression.getTeamId() + ':');
-                    e.printStackTrace();
-                    return new Result(e);
-                } catch (Exception e) {
-                    return new Result(e);
-                }
-                return Result.SUCCESSFUL;
-            }));
+            return new SimpleEntry<>(old, journal.enqueue(key, progression.getTeamId(), newProgression));
         }
         return new SimpleEntry<>(old, CompletableFuture.completedFuture(Result.SUCCESSFUL));
     }
@@ -707,7 +901,7 @@ public final class DatabaseManager {
      * @see UltimateAdvancementAPI#getTeamProgression(UUID)
      */
     @NotNull
-    public synchronized TeamProgression getTeamProgression(@NotNull UUID uuid) throws UserNotLoadedException {
+    public TeamProgression getTeamProgression(@NotNull UUID uuid) throws UserNotLoadedException {
         Preconditions.checkNotNull(uuid, "UUID is null.");
         TeamProgression pro = progressionCache.get(uuid);
         AdvancementUtils.checkTeamProgressionNotNull(pro, uuid);
@@ -746,8 +940,8 @@ public final class DatabaseManager {
      * @see UltimateAdvancementAPI#isLoaded(UUID)
      */
     @Contract(pure = true, value = "null -> false")
-    public synchronized boolean isLoaded(UUID uuid) {
-        return progressionCache.containsKey(uuid);
+    public boolean isLoaded(UUID uuid) {
+        return uuid != null && progressionCache.containsKey(uuid);
     }
 
     /**
@@ -768,7 +962,7 @@ public final class DatabaseManager {
      * @return Whether the provided player is online and loaded into the cache.
      */
     @Contract(pure = true, value = "null -> false")
-    public synchronized boolean isLoadedAndOnline(UUID uuid) {
+    public boolean isLoadedAndOnline(UUID uuid) {
         if (isLoaded(uuid)) {
             TempUserMetadata t = tempLoaded.get(uuid);
             return t == null || t.isOnline;
@@ -844,7 +1038,7 @@ public final class DatabaseManager {
                 e.printStackTrace();
                 return new ObjectResult<>(e);
             }
-        });
+        }, executor);
     }
 
     /**
@@ -875,6 +1069,15 @@ public final class DatabaseManager {
         Preconditions.checkNotNull(key, "AdvancementKey is null.");
         validateTeamProgression(pro);
         return CompletableFuture.supplyAsync(() -> {
+            // Unredeemed advancements reference the Advancements table, so the pending progression must be written first
+            Result flush = journal.flushPending();
+            if (journal.hasUnwritten(key, pro.getTeamId())) {
+                // The progression may have been updated again in the meantime
+                flush = journal.flushPending();
+                if (journal.hasUnwritten(key, pro.getTeamId())) {
+                    return flush.isExceptionOccurred() ? flush : new Result(new SQLException("Cannot write the progression of " + key + " of team " + pro.getTeamId() + '.'));
+                }
+            }
             try {
                 database.setUnredeemed(key, giveRewards, pro.getTeamId());
             } catch (SQLException e) {
@@ -885,7 +1088,7 @@ public final class DatabaseManager {
                 return new Result(e);
             }
             return Result.SUCCESSFUL;
-        });
+        }, executor);
     }
 
     /**
@@ -924,7 +1127,7 @@ public final class DatabaseManager {
                 return new Result(e);
             }
             return Result.SUCCESSFUL;
-        });
+        }, executor);
     }
 
     /**
@@ -947,7 +1150,7 @@ public final class DatabaseManager {
             } catch (Exception e) {
                 return new ObjectResult<>(e);
             }
-        });
+        }, executor);
     }
 
     /**
@@ -965,37 +1168,59 @@ public final class DatabaseManager {
      * @see UltimateAdvancementAPI#loadOfflinePlayer(UUID, CacheFreeingOption, Consumer)
      */
     @NotNull
-    public synchronized CompletableFuture<ObjectResult<@NotNull TeamProgression>> loadOfflinePlayer(@NotNull UUID uuid, @NotNull CacheFreeingOption option) {
+    public CompletableFuture<ObjectResult<@NotNull TeamProgression>> loadOfflinePlayer(@NotNull UUID uuid, @NotNull CacheFreeingOption option) {
         Preconditions.checkNotNull(uuid, "UUID is null.");
         Preconditions.checkNotNull(option, "CacheFreeingOption is null.");
-        TeamProgression pro = progressionCache.get(uuid);
-        if (pro != null) {
-            handleCacheFreeingOption(uuid, null, option); // Handle requests
-            return CompletableFuture.completedFuture(new ObjectResult<>(pro));
-        }
-        pro = searchTeamProgressionDeeply(uuid);
-        if (pro != null) {
-            handleCacheFreeingOption(uuid, pro, option); // Direct caching and handle requests
-            return CompletableFuture.completedFuture(new ObjectResult<>(pro));
+        synchronized (this) {
+            TeamProgression pro = progressionCache.get(uuid);
+            if (pro != null) {
+                handleCacheFreeingOption(uuid, null, option); // Handle requests
+                return CompletableFuture.completedFuture(new ObjectResult<>(pro));
+            }
+            pro = teamIndex.get(uuid);
+            if (pro != null) {
+                handleCacheFreeingOption(uuid, pro, option); // Direct caching and handle requests
+                return CompletableFuture.completedFuture(new ObjectResult<>(pro));
+            }
         }
         return CompletableFuture.supplyAsync(() -> {
-            TeamProgression t;
+            final Lock lock = loadingLocks.get(uuid);
+            lock.lock();
             try {
-                t = database.loadUUID(uuid);
-            } catch (SQLException e) {
-                System.err.println("Cannot load offline player " + uuid + ':');
-                e.printStackTrace();
-                return new ObjectResult<>(e);
-            } catch (Exception e) {
-                return new ObjectResult<>(e);
-            }
-            handleCacheFreeingOption(uuid, t, option); // Direct caching and handle requests
-            if (option.option != Option.DONT_CACHE) {
-                t.inCache.set(true); // Set TeamProgression valid
-                runSync(main, () -> Bukkit.getPluginManager().callEvent(new TeamLoadEvent(t)));
+                TeamProgression t;
+                try {
+                    final Map<Integer, Map<AdvancementKey, Integer>> unwritten = flushBeforeLoading();
+                    t = database.loadUUID(uuid);
+                    applyUnwritten(t, unwritten);
+                } catch (SQLException e) {
+                    System.err.println("Cannot load offline player " + uuid + ':');
+                    e.printStackTrace();
+                    return new ObjectResult<>(e);
+                } catch (Exception e) {
+                    return new ObjectResult<>(e);
+                }
+                if (option.option == Option.DONT_CACHE) {
+                    return new ObjectResult<>(t);
+                }
+                final TeamProgression pro;
+                final boolean teamLoaded;
+                synchronized (DatabaseManager.this) {
+                    TeamProgression cached = teamIndex.get(uuid); // Another team member may have been loaded in the meantime
+                    teamLoaded = cached == null;
+                    pro = teamLoaded ? t : cached;
+                    handleCacheFreeingOption(uuid, pro, option); // Direct caching and handle requests
+                    if (teamLoaded) {
+                        pro.inCache.set(true); // Set TeamProgression valid
+                    }
+                }
+                if (teamLoaded) {
+                    runSync(main, () -> Bukkit.getPluginManager().callEvent(new TeamLoadEvent(pro)));
+                }
+                return new ObjectResult<>(pro);
+            } finally {
+                lock.unlock();
             }
-            return new ObjectResult<>(t);
-        });
+        }, executor);
     }
 
     private void handleCacheFreeingOption(@NotNull UUID uuid, @Nullable TeamProgression pro, @NotNull CacheFreeingOption option) {
@@ -1014,6 +1239,7 @@ public final class DatabaseManager {
         meta.addRequest(option.requester, auto);
         if (pro != null) {
             progressionCache.put(uuid, pro);
+            indexTeam(pro);
         }
     }
 
@@ -1024,8 +1250,8 @@ public final class DatabaseManager {
      * @return Whether at least one loading request for the specified player is currently active.
      */
     @Contract(pure = true, value = "null -> false")
-    public synchronized boolean isOfflinePlayerLoaded(UUID uuid) {
-        return tempLoaded.containsKey(uuid);
+    public boolean isOfflinePlayerLoaded(UUID uuid) {
+        return uuid != null && tempLoaded.containsKey(uuid);
     }
 
     /**
@@ -1038,6 +1264,9 @@ public final class DatabaseManager {
      */
     @Contract(pure = true, value = "null, null -> false; null, !null -> false; !null, null -> false")
     public synchronized boolean isOfflinePlayerLoaded(UUID uuid, Plugin requester) {
+        if (uuid == null) {
+            return false;
+        }
         TempUserMetadata t = tempLoaded.get(uuid);
         return t != null && Integer.compareUnsigned(t.getRequests(requester), 0) > 0;
     }
@@ -1066,6 +1295,7 @@ public final class DatabaseManager {
                     TeamProgression t = progressionCache.remove(uuid);
                     if (t != null && t.noMemberMatch(progressionCache::containsKey)) {
                         t.inCache.set(false); // Invalidate TeamProgression
+                        unindexTeam(t);
                         Bukkit.getPluginManager().callEvent(new TeamUnloadEvent(t));
                     }
                 }
@@ -1073,11 +1303,31 @@ public final class DatabaseManager {
         }
     }
 
+    /**
+     * Gets the {@link DatabaseExecutor} used to run database operations.
+     *
+     * @return The {@link DatabaseExecutor} used to run database operations.
+     */
+    @NotNull
+    public DatabaseExecutor getDatabaseExecutor() {
+        return executor;
+    }
+
+    /**
+     * Gets the {@link ProgressionJournal} used to save advancement progressions.
+     *
+     * @return The {@link ProgressionJournal} used to save advancement progressions.
+     */
+    @NotNull
+    public ProgressionJournal getProgressionJournal() {
+        return journal;
+    }
+
     private static final class TempUserMetadata {
 
         // Integer format: first 16 bits for automatic requests count and 16 bits for plugin requests count
         final Map<Plugin, Integer> pluginRequests = new HashMap<>();
-        boolean isOnline;
+        volatile boolean isOnline;
 
         public TempUserMetadata(UUID uuid) {
             this.isOnline = Bukkit.getPlayer(uuid) != null;
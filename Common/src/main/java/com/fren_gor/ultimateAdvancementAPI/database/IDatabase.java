@@ -8,6 +8,9 @@ import org.jetbrains.annotations.Range;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -114,6 +117,43 @@ public interface IDatabase {
      */
     TeamProgression loadUUID(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException;
 
+    /**
+     * Loads the provided player or registers they if they are new, loading also the unredeemed advancements of their team.
+     * <p>Implementations should fetch the team, its members, its advancements and its unredeemed advancements
+     * in a single round trip to the database.
+     *
+     * @param uuid The player {@link UUID}.
+     * @param name The player name.
+     * @return A {@link PlayerLoadResult} with a (always new) {@link TeamProgression} with the player team information,
+     *         whether the player has been registered and the (never {@code null}) unredeemed advancements of the team.
+     * @throws SQLException If an SQL exception occurs.
+     * @implSpec The default implementation calls {@link #loadOrRegisterPlayer(UUID, String)} and then {@link #getUnredeemed(int)}.
+     */
+    default PlayerLoadResult loadPlayer(@NotNull UUID uuid, @NotNull String name) throws SQLException {
+        Entry<TeamProgression, Boolean> e = loadOrRegisterPlayer(uuid, name);
+        // Newly registered players have a new team, so there cannot be unredeemed advancements
+        List<Entry<AdvancementKey, Boolean>> unredeemed = e.getValue() ? new LinkedList<>() : getUnredeemed(e.getKey().getTeamId());
+        return new PlayerLoadResult(e.getKey(), e.getValue(), unredeemed);
+    }
+
+    /**
+     * Loads the provided players or registers them if they are new, loading also the unredeemed advancements of their teams.
+     * <p>Implementations should load every registered player using a fixed number of queries, regardless of how many players
+     * are provided. Players of the same team may share the same {@link TeamProgression} instance.
+     *
+     * @param players The players to load, mapped with their names.
+     * @return The {@link PlayerLoadResult} of every provided player (see {@link #loadPlayer(UUID, String)}).
+     * @throws SQLException If an SQL exception occurs.
+     * @implSpec The default implementation calls {@link #loadPlayer(UUID, String)} for every player.
+     */
+    default Map<UUID, PlayerLoadResult> loadPlayers(@NotNull Map<UUID, String> players) throws SQLException {
+        Map<UUID, PlayerLoadResult> results = new HashMap<>();
+        for (Entry<UUID, String> e : players.entrySet()) {
+            results.put(e.getKey(), loadPlayer(e.getKey(), e.getValue()));
+        }
+        return results;
+    }
+
     /**
      * Updates the progression for the provided advancement and the specified team.
      *
@@ -124,6 +164,22 @@ public interface IDatabase {
      */
     void updateAdvancement(@NotNull AdvancementKey key, int teamId, @Range(from = 0, to = Integer.MAX_VALUE) int progression) throws SQLException;
 
+    /**
+     * Updates the progressions of many advancements, possibly of different teams.
+     * <p>Updates are applied in iteration order, so when an advancement of a team is updated more than once the last update wins.
+     * Implementations should write every update in a single transaction. Implementations which don't apply the updates
+     * in order can use {@link ProgressionUpdate#lastUpdates(Collection)} first.
+     *
+     * @param updates The updates to apply.
+     * @throws SQLException If an SQL exception occurs.
+     * @implSpec The default implementation calls {@link #updateAdvancement(AdvancementKey, int, int)} for every update.
+     */
+    default void updateAdvancements(@NotNull Collection<ProgressionUpdate> updates) throws SQLException {
+        for (ProgressionUpdate update : updates) {
+            updateAdvancement(update.getKey(), update.getTeamId(), update.getProgression());
+        }
+    }
+
     /**
      * Get the list of the unredeemed advancements of the provided team.
      *
@@ -144,6 +200,20 @@ public interface IDatabase {
      */
     void setUnredeemed(@NotNull AdvancementKey key, boolean giveRewards, int teamId) throws SQLException;
 
+    /**
+     * Sets many advancements unredeemed, possibly for different teams.
+     * <p>Implementations should write every update in a single transaction.
+     *
+     * @param updates The unredeemed advancements to set.
+     * @throws SQLException If an SQL exception occurs.
+     * @implSpec The default implementation calls {@link #setUnredeemed(AdvancementKey, boolean, int)} for every update.
+     */
+    default void setUnredeemed(@NotNull Collection<UnredeemedUpdate> updates) throws SQLException {
+        for (UnredeemedUpdate update : updates) {
+            setUnredeemed(update.getKey(), update.isGiveRewards(), update.getTeamId());
+        }
+    }
+
     /**
      * Returns whether the provided advancement is unredeemed for the specified team.
      *
@@ -173,6 +243,21 @@ public interface IDatabase {
      */
     void unsetUnredeemed(@NotNull List<Entry<AdvancementKey, Boolean>> keyList, int teamId) throws SQLException;
 
+    /**
+     * Sets many advancements redeemed, possibly for different teams.
+     * <p>Implementations should write every update in a single transaction.
+     *
+     * @param updates The unredeemed advancements to set redeemed.
+     * @throws SQLException If an SQL exception occurs.
+     * @implSpec The default implementation ignores {@link UnredeemedUpdate#isGiveRewards()} and calls
+     *         {@link #unsetUnredeemed(AdvancementKey, int)} for every update.
+     */
+    default void unsetUnredeemed(@NotNull Collection<UnredeemedUpdate> updates) throws SQLException {
+        for (UnredeemedUpdate update : updates) {
+            unsetUnredeemed(update.getKey(), update.getTeamId());
+        }
+    }
+
     /**
      * Deletes the provided player from the database.
      *
@@ -211,6 +296,21 @@ public interface IDatabase {
      */
     void movePlayer(@NotNull UUID uuid, int newTeamId) throws SQLException;
 
+    /**
+     * Moves the provided players to the specified team.
+     * <p>Implementations should move every player in a single transaction.
+     *
+     * @param uuids The {@link UUID}s of the players to be moved.
+     * @param newTeamId The team id.
+     * @throws SQLException If an SQL exception occurs.
+     * @implSpec The default implementation calls {@link #movePlayer(UUID, int)} for every player.
+     */
+    default void movePlayers(@NotNull Collection<UUID> uuids, int newTeamId) throws SQLException {
+        for (UUID uuid : uuids) {
+            movePlayer(uuid, newTeamId);
+        }
+    }
+
     /**
      * Moves a player in a new team and returns the {@link TeamProgression} of the new team.
      *
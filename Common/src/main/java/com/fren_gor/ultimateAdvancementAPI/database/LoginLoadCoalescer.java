@@ -0,0 +1,90 @@
+package com.fren_gor.ultimateAdvancementAPI.database;
+
+import com.google.common.base.Preconditions;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The {@code LoginLoadCoalescer} class groups the players joining within a short time window,
+ * so that they can be loaded from the database using a few queries (see {@link IDatabase#loadPlayers(java.util.Map)}).
+ * <p>The first player to join starts the window. Every player joining while the window is open is added to the same batch.
+ * Since the batch is loaded on the {@link DatabaseExecutor}, the window also stays open while the executor is busy,
+ * so batches grow bigger as the load increases.
+ * <p>This class is thread safe.
+ */
+final class LoginLoadCoalescer {
+
+    /**
+     * The time window, in milliseconds.
+     */
+    static final long WINDOW_MILLIS = 5;
+
+    /**
+     * The maximum amount of players loaded in the same batch.
+     */
+    static final int MAX_BATCH_SIZE = 256;
+
+    private final DatabaseExecutor executor;
+    private final Executor delayedExecutor;
+    private final Consumer<List<Player>> batchLoader;
+
+    // Guarded by this
+    private List<Player> pending = new ArrayList<>();
+    private boolean drainScheduled = false;
+
+    /**
+     * Creates a new {@code LoginLoadCoalescer}.
+     *
+     * @param executor The {@link DatabaseExecutor} used to load the batches.
+     * @param batchLoader The function which loads a batch of players. It is called on the {@link DatabaseExecutor}.
+     */
+    LoginLoadCoalescer(@NotNull DatabaseExecutor executor, @NotNull Consumer<List<Player>> batchLoader) {
+        this.executor = Preconditions.checkNotNull(executor, "DatabaseExecutor is null.");
+        this.batchLoader = Preconditions.checkNotNull(batchLoader, "Batch loader is null.");
+        this.delayedExecutor = CompletableFuture.delayedExecutor(WINDOW_MILLIS, TimeUnit.MILLISECONDS, executor);
+    }
+
+    /**
+     * Adds a player to the current batch, opening a new time window if needed.
+     *
+     * @param player The joining player.
+     */
+    void submit(@NotNull Player player) {
+        Preconditions.checkNotNull(player, "Player is null.");
+        synchronized (this) {
+            pending.add(player);
+            if (drainScheduled) {
+                return;
+            }
+            drainScheduled = true;
+        }
+        delayedExecutor.execute(this::drain);
+    }
+
+    private void drain() {
+        final List<Player> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new ArrayList<>();
+            drainScheduled = false;
+        }
+        // Load the first batch on this thread and the others on other database threads
+        for (int i = MAX_BATCH_SIZE; i < batch.size(); i += MAX_BATCH_SIZE) {
+            final List<Player> subBatch = batch.subList(i, Math.min(i + MAX_BATCH_SIZE, batch.size()));
+            try {
+                executor.execute(() -> batchLoader.accept(subBatch));
+            } catch (RejectedExecutionException e) {
+                return; // The executor has been shut down
+            }
+        }
+        batchLoader.accept(batch.size() > MAX_BATCH_SIZE ? batch.subList(0, MAX_BATCH_SIZE) : batch);
+    }
+}
@@ -0,0 +1,76 @@
+package com.fren_gor.ultimateAdvancementAPI.database;
+
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map.Entry;
+
+/**
+ * The {@code PlayerLoadResult} class contains everything needed to load a player: their team's {@link TeamProgression},
+ * whether they have just been registered and the unredeemed advancements of their team.
+ * <p>It is returned by {@link IDatabase#loadPlayer(java.util.UUID, String)}.
+ */
+public final class PlayerLoadResult {
+
+    private final TeamProgression teamProgression;
+    private final boolean registered;
+    @Nullable
+    private final List<Entry<AdvancementKey, Boolean>> unredeemed;
+
+    /**
+     * Creates a new {@code PlayerLoadResult}.
+     *
+     * @param teamProgression The {@link TeamProgression} of the player's team.
+     * @param registered Whether the player has been registered (so it was not found in the database).
+     * @param unredeemed The unredeemed advancements of the player's team (see {@link IDatabase#getUnredeemed(int)}),
+     *         or {@code null} if they have not been loaded.
+     */
+    public PlayerLoadResult(@NotNull TeamProgression teamProgression, boolean registered, @Nullable List<Entry<AdvancementKey, Boolean>> unredeemed) {
+        this.teamProgression = Preconditions.checkNotNull(teamProgression, "TeamProgression is null.");
+        this.registered = registered;
+        this.unredeemed = unredeemed;
+    }
+
+    /**
+     * Gets the {@link TeamProgression} of the player's team.
+     *
+     * @return The {@link TeamProgression} of the player's team.
+     */
+    @NotNull
+    public TeamProgression getTeamProgression() {
+        return teamProgression;
+    }
+
+    /**
+     * Returns whether the player has been registered (so it was not found in the database).
+     *
+     * @return Whether the player has been registered.
+     */
+    public boolean isRegistered() {
+        return registered;
+    }
+
+    /**
+     * Gets the unredeemed advancements of the player's team.
+     * <p>The results returned by {@link IDatabase#loadPlayer(java.util.UUID, String)} never return {@code null}.
+     *
+     * @return A list of pairs containing the key of the unredeemed advancement and whether to give rewards for it,
+     *         or {@code null} if they have not been loaded.
+     */
+    @Nullable
+    public List<Entry<AdvancementKey, Boolean>> getUnredeemed() {
+        return unredeemed;
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerLoadResult{" +
+                "teamProgression=" + teamProgression +
+                ", registered=" + registered +
+                ", unredeemed=" + unredeemed +
+                '}';
+    }
+}
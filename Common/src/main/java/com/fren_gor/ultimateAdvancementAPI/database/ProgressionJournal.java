@@ -0,0 +1,460 @@
+package com.fren_gor.ultimateAdvancementAPI.database;
+
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import com.google.common.base.Preconditions;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The {@code ProgressionJournal} class is the write-behind journal used by the {@link DatabaseManager} to save advancement progressions.
+ * <p>Progression updates are not written to the database immediately. Instead, they are kept in memory until the journal is flushed.
+ * Only the last progression of every (team, advancement) pair is kept, so an advancement updated many times between two flushes
+ * is written to the database only once.
+ * <p>The journal is flushed after {@link #getFlushInterval()} ticks since the first pending update, or as soon as
+ * {@link #getFlushThreshold()} updates are pending. Every flush writes the pending updates in a single batch
+ * (see {@link IDatabase#updateAdvancements(java.util.Collection)}).
+ * <p>If a batch fails, its updates are written one at a time, so that a single bad update doesn't hold back the others.
+ * The updates which still fail are put back into the journal (unless a newer update for the same advancement and team
+ * has been made in the meantime) and retried with an exponential backoff, up to {@link #MAX_RETRY_DELAY} ticks
+ * between two attempts. An update which failed {@link #MAX_FAILED_ATTEMPTS} times while the database accepted other writes
+ * is dropped, since it will never succeed. When the database accepts no write at all, updates are never dropped.
+ * <p>The futures of the updates are completed when they are written, when they are dropped or when the journal is closed.
+ * Updates which are not written yet can be read with {@link #getUnwritten()}, to apply them to teams loaded from the database.
+ * <p>This class is thread safe.
+ */
+public final class ProgressionJournal {
+
+    /**
+     * The default flush interval, in ticks.
+     */
+    public static final long DEFAULT_FLUSH_INTERVAL = 20;
+
+    /**
+     * The default flush threshold.
+     */
+    public static final int DEFAULT_FLUSH_THRESHOLD = 512;
+
+    /**
+     * The maximum delay between two attempts of a failed flush, in ticks.
+     */
+    public static final long MAX_RETRY_DELAY = 1200;
+
+    /**
+     * The number of failed attempts after which an update is dropped, if the database accepted other writes in the meantime.
+     */
+    public static final int MAX_FAILED_ATTEMPTS = 3;
+
+    // When the first rows written one at a time all fail the database is likely unavailable, so the others aren't tried
+    private static final int MAX_PROBED_ROWS = 3;
+
+    private final Plugin plugin;
+    private final IDatabase database;
+    private final DatabaseExecutor executor;
+    // Flushes are serialized to make sure updates are written to the database in the order they are made
+    private final Object flushLock = new Object();
+
+    // Guarded by this
+    private Map<JournalKey, PendingUpdate> pending = new HashMap<>();
+    // The updates being written by the current flush
+    private Map<JournalKey, PendingUpdate> inFlight = Collections.emptyMap();
+    private boolean flushScheduled = false, closed = false;
+    // Number of consecutive failed flushes
+    private int failures = 0;
+    // Number of successful writes, used to tell apart failures of single updates from failures of the whole database.
+    // Modified while holding both flushLock and the lock on this, so it can be read holding either of them
+    private long writes = 0;
+
+    private volatile long flushInterval = DEFAULT_FLUSH_INTERVAL;
+    private volatile int flushThreshold = DEFAULT_FLUSH_THRESHOLD;
+
+    ProgressionJournal(@NotNull Plugin plugin, @NotNull IDatabase database, @NotNull DatabaseExecutor executor) {
+        this.plugin = Preconditions.checkNotNull(plugin, "Plugin is null.");
+        this.database = Preconditions.checkNotNull(database, "IDatabase is null.");
+        this.executor = Preconditions.checkNotNull(executor, "DatabaseExecutor is null.");
+    }
+
+    /**
+     * Adds a progression update to the journal.
+     * <p>If an update for the same advancement and team is already pending, it is replaced by the new one
+     * and the {@link CompletableFuture} of the pending update is returned.
+     *
+     * @param key The advancement key.
+     * @param teamId The team id.
+     * @param progression The new progression.
+     * @return A {@link CompletableFuture} which provides the {@link Result} of the operation. It is completed when the batch containing the update is committed.
+     */
+    @NotNull
+    CompletableFuture<Result> enqueue(@NotNull AdvancementKey key, int teamId, @Range(from = 0, to = Integer.MAX_VALUE) int progression) {
+        final ProgressionUpdate update = new ProgressionUpdate(key, teamId, progression);
+        final CompletableFuture<Result> future;
+        final boolean flushNow;
+        synchronized (this) {
+            if (closed) {
+                return CompletableFuture.completedFuture(new Result(new IllegalStateException("ProgressionJournal is closed.")));
+            }
+            PendingUpdate p = pending.get(new JournalKey(key, teamId));
+            if (p != null) {
+                p.update = update; // Keep only the last value
+                p.failedAttempts = 0; // The new value gets its own attempts
+                return p.future;
+            }
+            p = new PendingUpdate(update);
+            pending.put(new JournalKey(key, teamId), p);
+            future = p.future;
+
+            final long interval = flushInterval;
+            flushNow = interval <= 0 || pending.size() >= flushThreshold;
+            if (!flushNow && !flushScheduled) {
+                flushScheduled = true;
+                Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, this::submitFlush, interval);
+            }
+        }
+        if (flushNow) {
+            submitFlush();
+        }
+        return future;
+    }
+
+    /**
+     * Flushes every pending update asynchronously.
+     *
+     * @return A {@link CompletableFuture} which provides the {@link Result} of the flush.
+     */
+    @NotNull
+    public CompletableFuture<Result> flush() {
+        try {
+            return CompletableFuture.supplyAsync(this::flushPending, executor);
+        } catch (RejectedExecutionException e) {
+            // The executor has been shut down, pending updates are flushed by close()
+            return CompletableFuture.completedFuture(new Result(e));
+        }
+    }
+
+    private void submitFlush() {
+        try {
+            executor.execute(this::flushPending);
+        } catch (RejectedExecutionException e) {
+            // The executor has been shut down, pending updates are flushed by close()
+        }
+    }
+
+    /**
+     * Flushes every pending update on the current thread.
+     * <p>If the batch fails, the updates are written one at a time. The ones which still fail are retried later or dropped.
+     * <p><strong>Should be called async.</strong>
+     *
+     * @return The {@link Result} of the flush. It is successful only if every pending update has been written.
+     */
+    @NotNull
+    Result flushPending() {
+        synchronized (flushLock) {
+            final Map<JournalKey, PendingUpdate> toFlush;
+            synchronized (this) {
+                flushScheduled = false;
+                if (pending.isEmpty()) {
+                    return Result.SUCCESSFUL;
+                }
+                toFlush = pending;
+                pending = new HashMap<>();
+                inFlight = toFlush;
+            }
+
+            final List<ProgressionUpdate> updates = new ArrayList<>(toFlush.size());
+            for (PendingUpdate p : toFlush.values()) {
+                updates.add(p.update);
+            }
+
+            try {
+                database.updateAdvancements(updates);
+            } catch (Exception e) {
+                System.err.println("Cannot save " + updates.size() + " advancement progressions:");
+                e.printStackTrace();
+                return flushOneByOne(toFlush, e);
+            }
+
+            synchronized (this) {
+                failures = 0;
+                writes += toFlush.size();
+                inFlight = Collections.emptyMap();
+            }
+            for (PendingUpdate p : toFlush.values()) {
+                p.future.complete(Result.SUCCESSFUL);
+            }
+            return Result.SUCCESSFUL;
+        }
+    }
+
+    /**
+     * Writes the updates of a failed batch one at a time. The updates which fail again are retried later or dropped.
+     * <p>Must be called while holding {@link #flushLock}.
+     *
+     * @param toFlush The updates of the failed batch.
+     * @param batchError The exception thrown by the batch.
+     * @return The {@link Result} of the flush.
+     */
+    @NotNull
+    private Result flushOneByOne(@NotNull Map<JournalKey, PendingUpdate> toFlush, @NotNull Exception batchError) {
+        final Map<JournalKey, PendingUpdate> failed = new HashMap<>();
+        int written = 0;
+        if (toFlush.size() == 1) {
+            // The batch was the attempt of its only update
+            final Map.Entry<JournalKey, PendingUpdate> e = toFlush.entrySet().iterator().next();
+            e.getValue().failed(batchError, writes);
+            failed.put(e.getKey(), e.getValue());
+        } else {
+            for (Map.Entry<JournalKey, PendingUpdate> e : toFlush.entrySet()) {
+                final PendingUpdate p = e.getValue();
+                if (written == 0 && failed.size() >= MAX_PROBED_ROWS) {
+                    failed.put(e.getKey(), p); // Not tried, the database is likely unavailable
+                    continue;
+                }
+                final ProgressionUpdate update = p.update;
+                try {
+                    database.updateAdvancement(update.getKey(), update.getTeamId(), update.getProgression());
+                } catch (Exception ex) {
+                    p.failed(ex, writes);
+                    failed.put(e.getKey(), p);
+                    continue;
+                }
+                written++;
+                p.future.complete(Result.SUCCESSFUL);
+            }
+        }
+
+        final List<PendingUpdate> dropped = new ArrayList<>();
+        final boolean requeued, retry;
+        synchronized (this) {
+            writes += written;
+            failed.values().removeIf(p -> {
+                if (p.failedAttempts >= MAX_FAILED_ATTEMPTS && writes > p.writesAtFirstFailure) {
+                    dropped.add(p);
+                    return true;
+                }
+                return false;
+            });
+            requeued = !closed && !failed.isEmpty();
+            retry = requeue(failed);
+            inFlight = Collections.emptyMap();
+        }
+        if (retry) {
+            try {
+                Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, this::submitFlush, retryDelay());
+            } catch (Exception e) {
+                // The plugin is being disabled, pending updates are flushed by close()
+                synchronized (this) {
+                    flushScheduled = false;
+                }
+            }
+        }
+
+        for (PendingUpdate p : dropped) {
+            final ProgressionUpdate update = p.update;
+            System.err.println("Dropping progression " + update.getProgression() + " of advancement " + update.getKey() + " of team " + update.getTeamId() + " after " + p.failedAttempts + " failed attempts:");
+            p.lastError.printStackTrace();
+            p.future.complete(new Result(p.lastError));
+        }
+        if (requeued) {
+            return new Result(batchError);
+        }
+        if (!failed.isEmpty()) {
+            // The journal is closed, so the failed updates are not retried
+            for (PendingUpdate p : failed.values()) {
+                final ProgressionUpdate update = p.update;
+                System.err.println("Cannot save progression " + update.getProgression() + " of advancement " + update.getKey() + " of team " + update.getTeamId() + " before closing.");
+                p.future.complete(new Result(p.lastError != null ? p.lastError : batchError));
+            }
+            return new Result(batchError);
+        }
+        return dropped.isEmpty() ? Result.SUCCESSFUL : new Result(dropped.get(0).lastError);
+    }
+
+    /**
+     * Puts failed updates back into the journal.
+     * <p>Must be called while holding the lock on {@code this}.
+     *
+     * @param failed The failed updates.
+     * @return Whether a retry has to be scheduled. If the journal is closed the updates are not put back, and their futures must be completed.
+     */
+    private boolean requeue(@NotNull Map<JournalKey, PendingUpdate> failed) {
+        if (closed || failed.isEmpty()) {
+            return false;
+        }
+        for (Iterator<Map.Entry<JournalKey, PendingUpdate>> it = failed.entrySet().iterator(); it.hasNext(); ) {
+            final Map.Entry<JournalKey, PendingUpdate> e = it.next();
+            final PendingUpdate newer = pending.get(e.getKey());
+            if (newer == null) {
+                pending.put(e.getKey(), e.getValue());
+            } else {
+                // The newer update supersedes the failed one, so the failed update is done when the newer one is
+                newer.future.thenAccept(e.getValue().future::complete);
+            }
+            it.remove();
+        }
+        failures++;
+        if (flushScheduled) {
+            return false;
+        }
+        flushScheduled = true;
+        return true;
+    }
+
+    private synchronized long retryDelay() {
+        return Math.min(MAX_RETRY_DELAY, Math.max(flushInterval, 20) << Math.min(failures - 1, 16));
+    }
+
+    /**
+     * Flushes every pending update and closes the journal. Updates made after the journal has been closed will fail.
+     * <p>Flushing is done on the current thread. If this last flush fails, it is not retried and the futures of the
+     * pending updates are completed with the error.
+     */
+    void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flushPending();
+    }
+
+    /**
+     * Returns the number of updates waiting to be written to the database.
+     *
+     * @return The number of pending updates.
+     */
+    public synchronized int getPendingUpdates() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the progressions which are not written to the database yet, grouped by team id.
+     * <p>They are the pending updates and the ones being written by a running flush.
+     *
+     * @return A new map from team ids to the unwritten progressions of the team.
+     */
+    @NotNull
+    public synchronized Map<Integer, Map<AdvancementKey, Integer>> getUnwritten() {
+        if (pending.isEmpty() && inFlight.isEmpty()) {
+            return new HashMap<>();
+        }
+        final Map<Integer, Map<AdvancementKey, Integer>> unwritten = new HashMap<>();
+        // Pending updates are newer than the ones in flight, so they are put last
+        for (PendingUpdate p : inFlight.values()) {
+            unwritten.computeIfAbsent(p.update.getTeamId(), i -> new HashMap<>()).put(p.update.getKey(), p.update.getProgression());
+        }
+        for (PendingUpdate p : pending.values()) {
+            unwritten.computeIfAbsent(p.update.getTeamId(), i -> new HashMap<>()).put(p.update.getKey(), p.update.getProgression());
+        }
+        return unwritten;
+    }
+
+    /**
+     * Returns whether the progression of the provided advancement and team is not written to the database yet.
+     *
+     * @param key The advancement key.
+     * @param teamId The team id.
+     * @return Whether the progression is pending or being written by a running flush.
+     */
+    public synchronized boolean hasUnwritten(@NotNull AdvancementKey key, int teamId) {
+        final JournalKey journalKey = new JournalKey(key, teamId);
+        return pending.containsKey(journalKey) || inFlight.containsKey(journalKey);
+    }
+
+    /**
+     * Gets the maximum amount of ticks an update can wait before being written to the database.
+     *
+     * @return The flush interval, in ticks.
+     */
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Sets the maximum amount of ticks an update can wait before being written to the database.
+     * <p>If it is set to {@code 0}, updates are written as soon as possible.
+     *
+     * @param flushInterval The flush interval, in ticks. Must be greater or equal to zero.
+     */
+    public void setFlushInterval(@Range(from = 0, to = Long.MAX_VALUE) long flushInterval) {
+        Preconditions.checkArgument(flushInterval >= 0, "Flush interval cannot be negative.");
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Gets the amount of pending updates which triggers a flush before the flush interval has passed.
+     *
+     * @return The flush threshold.
+     */
+    public int getFlushThreshold() {
+        return flushThreshold;
+    }
+
+    /**
+     * Sets the amount of pending updates which triggers a flush before the flush interval has passed.
+     *
+     * @param flushThreshold The flush threshold. Must be greater than zero.
+     */
+    public void setFlushThreshold(@Range(from = 1, to = Integer.MAX_VALUE) int flushThreshold) {
+        Preconditions.checkArgument(flushThreshold > 0, "Flush threshold must be greater than zero.");
+        this.flushThreshold = flushThreshold;
+    }
+
+    private static final class JournalKey {
+        private final AdvancementKey key;
+        private final int teamId;
+
+        public JournalKey(@NotNull AdvancementKey key, int teamId) {
+            this.key = key;
+            this.teamId = teamId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            JournalKey that = (JournalKey) o;
+
+            return teamId == that.teamId && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * key.hashCode() + teamId;
+        }
+    }
+
+    private static final class PendingUpdate {
+        private final CompletableFuture<Result> future = new CompletableFuture<>();
+        private ProgressionUpdate update;
+        private int failedAttempts = 0;
+        private long writesAtFirstFailure;
+        private Exception lastError;
+
+        public PendingUpdate(@NotNull ProgressionUpdate update) {
+            this.update = update;
+        }
+
+        /**
+         * Records a failed attempt to write this update.
+         *
+         * @param error The exception thrown by the attempt.
+         * @param writes The number of successful writes of the journal so far.
+         */
+        private void failed(@NotNull Exception error, long writes) {
+            if (failedAttempts++ == 0) {
+                writesAtFirstFailure = writes;
+            }
+            lastError = error;
+        }
+    }
+}
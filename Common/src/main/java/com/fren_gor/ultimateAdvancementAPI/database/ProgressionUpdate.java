@@ -0,0 +1,128 @@
+package com.fren_gor.ultimateAdvancementAPI.database;
+
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code ProgressionUpdate} class represents the new progression of an advancement for a team.
+ * <p>It is used to write many progressions to the database at once (see {@link IDatabase#updateAdvancements(java.util.Collection)}).
+ * <p>This class is immutable.
+ */
+public final class ProgressionUpdate {
+
+    private final AdvancementKey key;
+    private final int teamId;
+    private final int progression;
+
+    /**
+     * Creates a new {@code ProgressionUpdate}.
+     *
+     * @param key The advancement key.
+     * @param teamId The team id.
+     * @param progression The new progression. Must be greater or equal to zero.
+     */
+    public ProgressionUpdate(@NotNull AdvancementKey key, int teamId, @Range(from = 0, to = Integer.MAX_VALUE) int progression) {
+        Preconditions.checkNotNull(key, "AdvancementKey is null.");
+        Preconditions.checkArgument(progression >= 0, "Progression value cannot be < 0");
+        this.key = key;
+        this.teamId = teamId;
+        this.progression = progression;
+    }
+
+    /**
+     * Gets the advancement key.
+     *
+     * @return The advancement key.
+     */
+    @NotNull
+    public AdvancementKey getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the team id.
+     *
+     * @return The team id.
+     */
+    public int getTeamId() {
+        return teamId;
+    }
+
+    /**
+     * Gets the new progression.
+     *
+     * @return The new progression.
+     */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    public int getProgression() {
+        return progression;
+    }
+
+    /**
+     * Removes the updates which are overwritten by a later update of the same advancement for the same team.
+     * <p>The result has the same effect of applying the provided updates in iteration order, but it can be applied in any order.
+     *
+     * @param updates The updates.
+     * @return The last update of every advancement of every team. It may be the provided collection itself.
+     */
+    @NotNull
+    public static Collection<ProgressionUpdate> lastUpdates(@NotNull Collection<ProgressionUpdate> updates) {
+        Preconditions.checkNotNull(updates, "Updates is null.");
+        if (updates.size() <= 1) {
+            return updates;
+        }
+        final Map<Integer, Map<AdvancementKey, ProgressionUpdate>> teams = new LinkedHashMap<>();
+        int size = 0;
+        for (ProgressionUpdate update : updates) {
+            if (teams.computeIfAbsent(update.teamId, t -> new HashMap<>()).put(update.key, update) == null) {
+                size++;
+            }
+        }
+        if (size == updates.size()) {
+            return updates; // No duplicates
+        }
+        final List<ProgressionUpdate> last = new ArrayList<>(size);
+        for (Map<AdvancementKey, ProgressionUpdate> team : teams.values()) {
+            last.addAll(team.values());
+        }
+        return last;
+    }
+
+    @Override
+    public String toString() {
+        return "ProgressionUpdate{" +
+                "key=" + key +
+                ", teamId=" + teamId +
+                ", progression=" + progression +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ProgressionUpdate that = (ProgressionUpdate) o;
+
+        if (teamId != that.teamId) return false;
+        if (progression != that.progression) return false;
+        return key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = key.hashCode();
+        result = 31 * result + teamId;
+        result = 31 * result + progression;
+        return result;
+    }
+}
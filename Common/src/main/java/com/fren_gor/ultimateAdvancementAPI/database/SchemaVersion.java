@@ -0,0 +1,19 @@
+package com.fren_gor.ultimateAdvancementAPI.database;
+
+/**
+ * The versions of the database schema used by the SQLite and MySQL implementations of {@link IDatabase}.
+ */
+public enum SchemaVersion {
+    /**
+     * The {@code Advancements} and {@code Unredeemed} tables reference advancements by their namespace and key.
+     */
+    V1,
+
+    /**
+     * Every advancement key is stored once in the {@code AdvancementKeys} table, and the {@code Advancements} and
+     * {@code Unredeemed} tables reference it by its integer id. Rows and indexes are much smaller than in {@link #V1}.
+     * <p>Databases using {@link #V1} are migrated to this version when the database is set up.
+     * Migrated databases cannot be used with {@link #V1} anymore.
+     */
+    V2
+}
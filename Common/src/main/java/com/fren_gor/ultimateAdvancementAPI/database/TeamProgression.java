@@ -3,8 +3,12 @@ package com.fren_gor.ultimateAdvancementAPI.database;
 import com.fren_gor.ultimateAdvancementAPI.advancement.Advancement;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.IllegalOperationException;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import com.fren_gor.ultimateAdvancementAPI.visibilities.TeamVisibility;
+import com.fren_gor.ultimateAdvancementAPI.visibilities.VisibilityGraph;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -13,13 +17,15 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -36,7 +42,11 @@ public final class TeamProgression {
     final AtomicBoolean inCache = new AtomicBoolean(false);
     private final int teamId;
     private final Set<UUID> players;
-    private final Map<AdvancementKey, Integer> advancements;
+    // The stored progressions, sorted by the ordinals of the advancement keys (see AdvancementKey#getOrdinal()).
+    // Ordinals are global, so only the stored advancements take space. Writes and replacements are guarded by this, reads are lock-free
+    private volatile Progressions progressions;
+    // The visibilities of the advancements of every tab. Weak keys, so they are removed when the tabs are disposed
+    private final Map<VisibilityGraph, TeamVisibility> visibilities = new MapMaker().weakKeys().makeMap();
 
     /**
      * Creates a new TeamProgression for a team with one player in it.
@@ -51,7 +61,7 @@ public final class TeamProgression {
     public TeamProgression(int teamId, @NotNull UUID member) {
         validateCaller(StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass());
         Preconditions.checkNotNull(member, "Member is null.");
-        this.advancements = new ConcurrentHashMap<>();
+        this.progressions = Progressions.EMPTY;
         this.teamId = teamId;
         players = new HashSet<>();
         players.add(member);
@@ -72,7 +82,23 @@ public final class TeamProgression {
         validateCaller(StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass());
         Preconditions.checkNotNull(advancements, "Advancements is null.");
         Preconditions.checkNotNull(members, "Members is null.");
-        this.advancements = new ConcurrentHashMap<>(advancements);
+        final long[] entries = new long[advancements.size()];
+        int size = 0;
+        for (Entry<AdvancementKey, Integer> e : advancements.entrySet()) {
+            final int progression = e.getValue();
+            if (progression != 0) {
+                // Ordinal in the high bits, so that sorting the entries sorts them by ordinal
+                entries[size++] = ((long) e.getKey().getOrdinal() << 32) | (progression & 0xFFFFFFFFL);
+            }
+        }
+        Arrays.sort(entries, 0, size);
+        final int[] ordinals = new int[size];
+        final AtomicIntegerArray values = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            ordinals[i] = (int) (entries[i] >>> 32);
+            values.set(i, (int) entries[i]);
+        }
+        this.progressions = new Progressions(ordinals, values);
         this.teamId = teamId;
         players = Sets.newHashSetWithExpectedSize(members.size() + 4);
         players.addAll(members);
@@ -93,16 +119,34 @@ public final class TeamProgression {
     @Range(from = 0, to = Integer.MAX_VALUE)
     public int getProgression(@NotNull Advancement advancement) {
         Preconditions.checkNotNull(advancement, "Advancement is null.");
-        Integer progression = advancements.get(advancement.getKey());
-
-        if (progression != null) {
-            if (progression <= advancement.getMaxProgression())
-                return progression;
-            else
-                return advancement.getMaxProgression();
-        } else {
-            return 0;
+        final int progression = getProgression(advancement.getKey().getOrdinal());
+        return Math.min(progression, advancement.getMaxProgression());
+    }
+
+    private int getProgression(int ordinal) {
+        final Progressions progressions = this.progressions;
+        final int index = Arrays.binarySearch(progressions.ordinals, ordinal);
+        return index >= 0 ? progressions.values.get(index) : 0;
+    }
+
+    /**
+     * Returns a copy of the stored progressions of the team.
+     * <p>Advancements with a progression of zero may not be contained in the returned map.
+     * Progressions are not capped to the max progressions of the advancements.
+     *
+     * @return A modifiable copy of the stored progressions, by advancement key.
+     */
+    @Contract(pure = true, value = "-> new")
+    public Map<@NotNull AdvancementKey, @NotNull Integer> getProgressionsCopy() {
+        final Progressions progressions = this.progressions;
+        final Map<AdvancementKey, Integer> map = Maps.newHashMapWithExpectedSize(progressions.ordinals.length);
+        for (int i = 0; i < progressions.ordinals.length; i++) {
+            int progression = progressions.values.get(i);
+            if (progression != 0) {
+                map.put(AdvancementKey.fromOrdinal(progressions.ordinals[i]), progression);
+            }
         }
+        return map;
     }
 
     /**
@@ -245,8 +289,48 @@ public final class TeamProgression {
      */
     int updateProgression(@NotNull AdvancementKey key, @Range(from = 0, to = Integer.MAX_VALUE) int progression) {
         validateProgressionValue(progression);
-        Integer i = advancements.put(key, progression);
-        return i == null ? 0 : i;
+        final int ordinal = key.getOrdinal();
+        final int old;
+        synchronized (this) {
+            final Progressions progressions = this.progressions;
+            final int index = Arrays.binarySearch(progressions.ordinals, ordinal);
+            if (index >= 0) {
+                // Entries set to zero are kept, since they will likely be set again
+                old = progressions.values.getAndSet(index, progression);
+            } else if (progression == 0) {
+                return 0; // Nothing to store
+            } else {
+                // Publish a copy with the new entry. Every advancement is inserted at most once, so copies are rare.
+                // Readers of the old copy may read it until the publication below, which is fine
+                this.progressions = progressions.insert(-index - 1, ordinal, progression);
+                old = 0;
+            }
+        }
+        for (Entry<VisibilityGraph, TeamVisibility> e : visibilities.entrySet()) {
+            e.getValue().invalidate(e.getKey(), key);
+        }
+        return old;
+    }
+
+    /**
+     * Gets the amount of advancements whose progression is stored, including the ones set back to zero.
+     *
+     * @return The amount of stored progressions.
+     */
+    int getStoredProgressions() {
+        return progressions.ordinals.length;
+    }
+
+    /**
+     * Gets the visibilities of the advancements of the tab with the provided {@link VisibilityGraph} for the team.
+     *
+     * @param graph The {@link VisibilityGraph} of the tab.
+     * @return The {@link TeamVisibility} of the team for the tab.
+     */
+    @NotNull
+    public TeamVisibility getVisibility(@NotNull VisibilityGraph graph) {
+        Preconditions.checkNotNull(graph, "VisibilityGraph is null.");
+        return visibilities.computeIfAbsent(graph, TeamVisibility::new);
     }
 
     /**
@@ -334,4 +418,35 @@ public final class TeamProgression {
     public int getTeamId() {
         return teamId;
     }
+
+    // The ordinals are never modified, values are modified only while holding the lock of the TeamProgression
+    private static final class Progressions {
+        static final Progressions EMPTY = new Progressions(new int[0], new AtomicIntegerArray(0));
+
+        final int[] ordinals;
+        final AtomicIntegerArray values;
+
+        Progressions(int[] ordinals, AtomicIntegerArray values) {
+            this.ordinals = ordinals;
+            this.values = values;
+        }
+
+        @NotNull
+        Progressions insert(int index, int ordinal, int progression) {
+            final int size = ordinals.length;
+            final int[] newOrdinals = new int[size + 1];
+            System.arraycopy(ordinals, 0, newOrdinals, 0, index);
+            newOrdinals[index] = ordinal;
+            System.arraycopy(ordinals, index, newOrdinals, index + 1, size - index);
+            final AtomicIntegerArray newValues = new AtomicIntegerArray(size + 1);
+            for (int i = 0; i < index; i++) {
+                newValues.set(i, values.get(i));
+            }
+            newValues.set(index, progression);
+            for (int i = index; i < size; i++) {
+                newValues.set(i + 1, values.get(i));
+            }
+            return new Progressions(newOrdinals, newValues);
+        }
+    }
 }
@@ -0,0 +1,89 @@
+package com.fren_gor.ultimateAdvancementAPI.database;
+
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The {@code UnredeemedUpdate} class represents an unredeemed advancement of a team.
+ * <p>It is used to set or unset many unredeemed advancements at once
+ * (see {@link IDatabase#setUnredeemed(java.util.Collection)} and {@link IDatabase#unsetUnredeemed(java.util.Collection)}).
+ * <p>This class is immutable.
+ */
+public final class UnredeemedUpdate {
+
+    private final AdvancementKey key;
+    private final int teamId;
+    private final boolean giveRewards;
+
+    /**
+     * Creates a new {@code UnredeemedUpdate}.
+     *
+     * @param key The advancement key.
+     * @param teamId The team id.
+     * @param giveRewards Whether to give rewards on redeem.
+     */
+    public UnredeemedUpdate(@NotNull AdvancementKey key, int teamId, boolean giveRewards) {
+        Preconditions.checkNotNull(key, "AdvancementKey is null.");
+        this.key = key;
+        this.teamId = teamId;
+        this.giveRewards = giveRewards;
+    }
+
+    /**
+     * Gets the advancement key.
+     *
+     * @return The advancement key.
+     */
+    @NotNull
+    public AdvancementKey getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the team id.
+     *
+     * @return The team id.
+     */
+    public int getTeamId() {
+        return teamId;
+    }
+
+    /**
+     * Gets whether to give rewards on redeem.
+     *
+     * @return Whether to give rewards on redeem.
+     */
+    public boolean isGiveRewards() {
+        return giveRewards;
+    }
+
+    @Override
+    public String toString() {
+        return "UnredeemedUpdate{" +
+                "key=" + key +
+                ", teamId=" + teamId +
+                ", giveRewards=" + giveRewards +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        UnredeemedUpdate that = (UnredeemedUpdate) o;
+
+        if (teamId != that.teamId) return false;
+        if (giveRewards != that.giveRewards) return false;
+        return key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = key.hashCode();
+        result = 31 * result + teamId;
+        result = 31 * result + (giveRewards ? 1 : 0);
+        return result;
+    }
+}
@@ -0,0 +1,210 @@
+package com.fren_gor.ultimateAdvancementAPI.database.impl;
+
+import com.fren_gor.ultimateAdvancementAPI.exceptions.IllegalKeyException;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory cache of the {@code AdvancementKeys} table of the {@link com.fren_gor.ultimateAdvancementAPI.database.SchemaVersion#V2} schema.
+ * <p>It maps every {@link AdvancementKey} to its id, so writes can bind the id without querying the table.
+ * Reads of the {@code Advancements} and {@code Unredeemed} tables don't need it, since they join the {@code AdvancementKeys} table.
+ * It also maps ids back to their keys, which is used to decode the progression blobs of {@link BlobSQLite}.
+ * <p>This class is thread safe.
+ */
+final class AdvancementKeyDictionary {
+
+    /**
+     * The value returned by {@link #getId(Connection, AdvancementKey)} for keys which aren't in the table. It never matches any row.
+     */
+    static final int NO_ID = -1;
+
+    private final SchemaQueries queries;
+    private final Map<AdvancementKey, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, AdvancementKey> keys = new ConcurrentHashMap<>();
+    private final AtomicInteger maxId = new AtomicInteger();
+
+    AdvancementKeyDictionary(@NotNull SchemaQueries queries) {
+        this.queries = Preconditions.checkNotNull(queries, "SchemaQueries is null.");
+    }
+
+    /**
+     * Loads every key of the {@code AdvancementKeys} table into the cache.
+     *
+     * @param conn The connection to use.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    void load(@NotNull Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(queries.selectAdvancementKeys)) {
+            ResultSet r = ps.executeQuery();
+            while (r.next()) {
+                updateMaxId(r.getInt(1));
+                try {
+                    cache(AdvancementKey.of(r.getString(2), r.getString(3)), r.getInt(1));
+                } catch (IllegalKeyException ignored) {
+                    // Rows with invalid keys are skipped when read, so there's no need to cache them
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the id of the provided key.
+     *
+     * @param conn The connection to use if the key is not in cache.
+     * @param key The advancement key.
+     * @return The id of the key, or {@link #NO_ID} if the key is not in the table.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    int getId(@NotNull Connection conn, @NotNull AdvancementKey key) throws SQLException {
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        // The key may have been added by another server which uses the same database
+        return selectId(conn, key);
+    }
+
+    /**
+     * Gets the id of the provided key, adding it to the table if it is not present.
+     *
+     * @param conn The connection to use if the key is not in cache.
+     * @param key The advancement key.
+     * @return The id of the key.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    int getOrCreateId(@NotNull Connection conn, @NotNull AdvancementKey key) throws SQLException {
+        int id = getId(conn, key);
+        if (id != NO_ID) {
+            return id;
+        }
+        try (PreparedStatement ps = conn.prepareStatement(queries.insertAdvancementKey)) {
+            ps.setString(1, key.getNamespace());
+            ps.setString(2, key.getKey());
+            ps.execute();
+        }
+        // Select the id even if the insert succeeded, since another server may have inserted the key in the meantime
+        id = selectId(conn, key);
+        if (id == NO_ID) {
+            throw new SQLException("Cannot insert " + key + " into AdvancementKeys table.");
+        }
+        return id;
+    }
+
+    /**
+     * Adds the provided keys to the table, if they are not present. Keys are added in a single transaction,
+     * so the connection must not be in a transaction already.
+     *
+     * @param conn The connection to use.
+     * @param keys The advancement keys.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    void createIds(@NotNull Connection conn, @NotNull Collection<AdvancementKey> keys) throws SQLException {
+        Set<AdvancementKey> missing = new HashSet<>();
+        for (AdvancementKey key : keys) {
+            if (!ids.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(queries.insertAdvancementKey)) {
+            for (AdvancementKey key : missing) {
+                ps.setString(1, key.getNamespace());
+                ps.setString(2, key.getKey());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        // Cache the ids only after the commit
+        for (AdvancementKey key : missing) {
+            if (selectId(conn, key) == NO_ID) {
+                throw new SQLException("Cannot insert " + key + " into AdvancementKeys table.");
+            }
+        }
+    }
+
+    private int selectId(@NotNull Connection conn, @NotNull AdvancementKey key) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(queries.selectAdvancementKeyId)) {
+            ps.setString(1, key.getNamespace());
+            ps.setString(2, key.getKey());
+            ResultSet r = ps.executeQuery();
+            if (!r.next()) {
+                return NO_ID;
+            }
+            final int id = r.getInt(1);
+            cache(key, id);
+            return id;
+        }
+    }
+
+    /**
+     * Gets the key with the provided id.
+     *
+     * @param conn The connection to use if the id is not in cache.
+     * @param id The id of the key.
+     * @return The key with the provided id, or {@code null} if there is no such key or if it is invalid.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    @Nullable
+    AdvancementKey getKey(@NotNull Connection conn, int id) throws SQLException {
+        AdvancementKey key = keys.get(id);
+        if (key != null) {
+            return key;
+        }
+        try (PreparedStatement ps = conn.prepareStatement(queries.selectAdvancementKey)) {
+            ps.setInt(1, id);
+            ResultSet r = ps.executeQuery();
+            if (!r.next()) {
+                return null;
+            }
+            try {
+                key = AdvancementKey.of(r.getString(1), r.getString(2));
+            } catch (IllegalKeyException e) {
+                return null;
+            }
+            cache(key, id);
+            return key;
+        }
+    }
+
+    /**
+     * Gets the highest id read from the table. Since ids are positive and unique, it is an upper bound
+     * of the number of keys a team can have progressions in.
+     *
+     * @return The highest id read from the table, or {@code 0} if no id has been read yet.
+     */
+    int getMaxId() {
+        return maxId.get();
+    }
+
+    private void cache(@NotNull AdvancementKey key, int id) {
+        ids.put(key, id);
+        keys.put(id, key);
+        updateMaxId(id);
+    }
+
+    private void updateMaxId(int id) {
+        maxId.accumulateAndGet(id, Math::max);
+    }
+}
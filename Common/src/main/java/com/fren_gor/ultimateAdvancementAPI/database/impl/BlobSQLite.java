@@ -0,0 +1,739 @@
+package com.fren_gor.ultimateAdvancementAPI.database.impl;
+
+import com.fren_gor.ultimateAdvancementAPI.database.IDatabase;
+import com.fren_gor.ultimateAdvancementAPI.database.PlayerLoadResult;
+import com.fren_gor.ultimateAdvancementAPI.database.ProgressionUpdate;
+import com.fren_gor.ultimateAdvancementAPI.database.SchemaVersion;
+import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
+import com.fren_gor.ultimateAdvancementAPI.database.UnredeemedUpdate;
+import com.fren_gor.ultimateAdvancementAPI.exceptions.IllegalKeyException;
+import com.fren_gor.ultimateAdvancementAPI.exceptions.UserNotRegisteredException;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConfig.Encoding;
+import org.sqlite.SQLiteConfig.SynchronousMode;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Class used to establish a connection to a SQLite database which stores the advancements of every team in a single row.
+ * <p>The progressions of a team are stored as a compact binary blob (see {@link ProgressionBlobCodec}), which references
+ * the advancements by the ids of the {@code AdvancementKeys} table. Loading a team reads a single row, no matter how many
+ * advancements it has progressed, while updating a team rewrites its whole blob.
+ * <p>Unredeemed advancements are stored in the {@code Unredeemed} table, like in {@link SchemaVersion#V2}.
+ * <p>Every operation is done using a single connection (see {@link #openConnection()}), so operations are serialized.
+ */
+public class BlobSQLite implements IDatabase {
+
+    private final Logger logger;
+    private final Connection connection;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Compression compression;
+    private final SchemaQueries queries = new SchemaQueries(SchemaVersion.V2, false);
+    private final AdvancementKeyDictionary dictionary = new AdvancementKeyDictionary(queries);
+
+    /**
+     * Creates the SQLite connection using {@link Compression#DEFLATE} compression.
+     *
+     * @param dbFile The SQLite database file. If it doesn't exist, it is created.
+     * @param logger The plugin {@link Logger}.
+     * @throws Exception If anything goes wrong.
+     */
+    public BlobSQLite(@NotNull File dbFile, @NotNull Logger logger) throws Exception {
+        this(dbFile, logger, Compression.DEFLATE);
+    }
+
+    /**
+     * Creates the SQLite connection.
+     *
+     * @param dbFile The SQLite database file. If it doesn't exist, it is created.
+     * @param logger The plugin {@link Logger}.
+     * @param compression The {@link Compression} of the progression blobs. Blobs written using another compression can still be read.
+     * @throws Exception If anything goes wrong.
+     */
+    public BlobSQLite(@NotNull File dbFile, @NotNull Logger logger, @NotNull Compression compression) throws Exception {
+        Preconditions.checkNotNull(dbFile, "Database file is null.");
+        Preconditions.checkNotNull(logger, "Logger is null.");
+        Preconditions.checkNotNull(compression, "Compression is null.");
+        if (!dbFile.exists() && !dbFile.createNewFile()) {
+            throw new IOException("Cannot create the database file.");
+        }
+        Class.forName("org.sqlite.JDBC");
+        SQLiteConfig config = new SQLiteConfig();
+        config.enforceForeignKeys(true);
+        config.setEncoding(Encoding.UTF8);
+        config.setSynchronous(SynchronousMode.FULL);
+        this.connection = DriverManager.getConnection("jdbc:sqlite:" + dbFile, config.toProperties());
+        this.logger = logger;
+        this.compression = compression;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setUp() throws SQLException {
+        lock.lock();
+        try {
+            try (Statement statement = connection.createStatement()) {
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `Teams` (`ID` INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT);");
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `Players` (`UUID` TEXT NOT NULL PRIMARY KEY, `Name` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE);");
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `AdvancementKeys` (`ID` INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT, `Namespace` TEXT NOT NULL, `Key` TEXT NOT NULL, UNIQUE(`Namespace`,`Key`));");
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `TeamAdvancements` (`TeamID` INTEGER NOT NULL PRIMARY KEY, `Progressions` BLOB NOT NULL, FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE);");
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `Unredeemed` (`TeamID` INTEGER NOT NULL, `KeyID` INTEGER NOT NULL, `GiveRewards` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`TeamID`,`KeyID`), FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE, FOREIGN KEY(`KeyID`) REFERENCES `AdvancementKeys`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE) WITHOUT ROWID;");
+                statement.executeBatch();
+            }
+            dictionary.load(connection);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Connection openConnection() throws SQLException {
+        return connection;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws SQLException {
+        lock.lock();
+        try {
+            connection.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the {@link Compression} used to write the progression blobs.
+     *
+     * @return The {@link Compression} used to write the progression blobs.
+     */
+    @NotNull
+    public Compression getCompression() {
+        return compression;
+    }
+
+    /**
+     * The compressions of the progression blobs.
+     */
+    public enum Compression {
+        /**
+         * Blobs are not compressed.
+         */
+        NONE,
+
+        /**
+         * Blobs are compressed using the deflate algorithm, if that makes them smaller.
+         */
+        DEFLATE
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTeamId(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException {
+        lock.lock();
+        try (PreparedStatement ps = connection.prepareStatement("SELECT `TeamID` FROM `Players` WHERE `UUID`=?;")) {
+            ps.setString(1, uuid.toString());
+            ResultSet r = ps.executeQuery();
+            if (r.next()) {
+                return r.getInt(1);
+            } else {
+                throw new UserNotRegisteredException("No user " + uuid + " has been found.");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<UUID> getTeamMembers(int teamId) throws SQLException {
+        lock.lock();
+        try (PreparedStatement ps = connection.prepareStatement("SELECT `UUID` FROM `Players` WHERE `TeamID`=?;")) {
+            ps.setInt(1, teamId);
+            ResultSet r = ps.executeQuery();
+            List<UUID> list = new LinkedList<>();
+            while (r.next()) {
+                list.add(UUID.fromString(r.getString(1)));
+            }
+            return list;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<AdvancementKey, Integer> getTeamAdvancements(int teamId) throws SQLException {
+        lock.lock();
+        try {
+            Map<AdvancementKey, Integer> map = new HashMap<>();
+            for (Entry<Integer, Integer> e : readProgressions(teamId).entrySet()) {
+                AdvancementKey key = dictionary.getKey(connection, e.getKey());
+                if (key == null) {
+                    logger.warning("Invalid AdvancementKey id (" + e.getKey() + ") encountered while reading TeamAdvancements table.");
+                } else {
+                    map.put(key, e.getValue());
+                }
+            }
+            return map;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads and decodes the progression blob of the provided team. Must be called while holding the lock.
+     *
+     * @param teamId The team id.
+     * @return The progressions of the team mapped by their key ids.
+     * @throws SQLException If an SQL exception occurs or if the blob of the team is malformed. A malformed blob is never
+     *         read as empty, otherwise the next write would overwrite the progressions of the team.
+     */
+    @NotNull
+    private Map<Integer, Integer> readProgressions(int teamId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT `Progressions` FROM `TeamAdvancements` WHERE `TeamID`=?;")) {
+            ps.setInt(1, teamId);
+            ResultSet r = ps.executeQuery();
+            if (!r.next()) {
+                return new HashMap<>();
+            }
+            try {
+                return ProgressionBlobCodec.decode(r.getBytes(1), dictionary.getMaxId());
+            } catch (IllegalArgumentException e) {
+                throw new SQLException("Invalid progression blob of team " + teamId + " encountered while reading TeamAdvancements table.", e);
+            }
+        }
+    }
+
+    /**
+     * Encodes and writes the progression blob of the provided team. Must be called while holding the lock.
+     *
+     * @param teamId The team id.
+     * @param progressions The progressions of the team mapped by their key ids.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    private void writeProgressions(int teamId, @NotNull Map<Integer, Integer> progressions) throws SQLException {
+        if (progressions.isEmpty()) {
+            try (PreparedStatement ps = connection.prepareStatement("DELETE FROM `TeamAdvancements` WHERE `TeamID`=?;")) {
+                ps.setInt(1, teamId);
+                ps.execute();
+            }
+            return;
+        }
+        try (PreparedStatement ps = connection.prepareStatement("INSERT OR REPLACE INTO `TeamAdvancements` (`TeamID`, `Progressions`) VALUES (?, ?);")) {
+            ps.setInt(1, teamId);
+            ps.setBytes(2, ProgressionBlobCodec.encode(progressions, compression == Compression.DEFLATE));
+            ps.execute();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Entry<TeamProgression, Boolean> loadOrRegisterPlayer(@NotNull UUID uuid, @NotNull String name) throws SQLException {
+        lock.lock();
+        try {
+            PlayerLoadResult result = loadTeam(uuid, false);
+            if (result != null) {
+                return new SimpleEntry<>(result.getTeamProgression(), false);
+            }
+            try (PreparedStatement psInsert = connection.prepareStatement("INSERT INTO `Teams` DEFAULT VALUES;"); PreparedStatement psInsertPl = connection.prepareStatement("INSERT INTO `Players` (`UUID`, `Name`, `TeamID`) VALUES (?, ?, ?);")) {
+                psInsert.executeUpdate();
+                ResultSet r = psInsert.getGeneratedKeys();
+                if (!r.next()) {
+                    throw new SQLException("Cannot insert default values into Teams table.");
+                }
+                int teamId = r.getInt(1);
+                psInsertPl.setString(1, uuid.toString());
+                psInsertPl.setString(2, name);
+                psInsertPl.setInt(3, teamId);
+                psInsertPl.execute();
+                return new SimpleEntry<>(new TeamProgression(teamId, uuid), true);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TeamProgression loadUUID(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException {
+        final PlayerLoadResult result;
+        lock.lock();
+        try {
+            result = loadTeam(uuid, false);
+        } finally {
+            lock.unlock();
+        }
+        if (result == null) {
+            throw new UserNotRegisteredException("No user " + uuid + " has been found.");
+        }
+        return result.getTeamProgression();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PlayerLoadResult loadPlayer(@NotNull UUID uuid, @NotNull String name) throws SQLException {
+        lock.lock();
+        try {
+            PlayerLoadResult result = loadTeam(uuid, true);
+            if (result != null) {
+                return result;
+            }
+            // The player isn't registered. Since the lock is held, their team cannot have unredeemed advancements
+            Entry<TeamProgression, Boolean> e = loadOrRegisterPlayer(uuid, name);
+            return new PlayerLoadResult(e.getKey(), e.getValue(), new LinkedList<>());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Loads the team of the provided player. Must be called while holding the lock.
+     *
+     * @param uuid The player {@link UUID}.
+     * @param loadUnredeemed Whether to load the unredeemed advancements of the team.
+     * @return A {@link PlayerLoadResult} with the player team information (the unredeemed advancements are {@code null}
+     *         if {@code loadUnredeemed} is {@code false}), or {@code null} if the player is not registered.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    @Nullable
+    private PlayerLoadResult loadTeam(@NotNull UUID uuid, boolean loadUnredeemed) throws SQLException {
+        int teamId = Integer.MIN_VALUE;
+        List<UUID> members = new LinkedList<>();
+        try (PreparedStatement ps = connection.prepareStatement("SELECT `UUID`, `TeamID` FROM `Players` WHERE `TeamID`=(SELECT `TeamID` FROM `Players` WHERE `UUID`=? LIMIT 1);")) {
+            ps.setString(1, uuid.toString());
+            ResultSet r = ps.executeQuery();
+            while (r.next()) {
+                members.add(UUID.fromString(r.getString(1)));
+                teamId = r.getInt(2);
+            }
+        }
+        if (teamId == Integer.MIN_VALUE) {
+            return null;
+        }
+        TeamProgression pro = new TeamProgression(getTeamAdvancements(teamId), teamId, members);
+        return new PlayerLoadResult(pro, false, loadUnredeemed ? getUnredeemed(teamId) : null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAdvancement(@NotNull AdvancementKey key, int teamId, @Range(from = 0, to = Integer.MAX_VALUE) int progression) throws SQLException {
+        updateAdvancements(List.of(new ProgressionUpdate(key, teamId, progression)));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The blob of every updated team is read and rewritten once.
+     */
+    @Override
+    public void updateAdvancements(@NotNull Collection<ProgressionUpdate> updates) throws SQLException {
+        if (updates.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            final Connection conn = connection;
+            // Cached ids must not be rolled back, so missing keys are added before the transaction
+            List<AdvancementKey> keys = new ArrayList<>(updates.size());
+            for (ProgressionUpdate update : updates) {
+                if (update.getProgression() > 0) {
+                    keys.add(update.getKey());
+                }
+            }
+            dictionary.createIds(conn, keys);
+
+            // Group the updates by team, so that every blob is rewritten once
+            Map<Integer, Map<Integer, Integer>> teams = new LinkedHashMap<>();
+            for (ProgressionUpdate update : updates) {
+                final int id = dictionary.getId(conn, update.getKey());
+                if (id != AdvancementKeyDictionary.NO_ID) {
+                    teams.computeIfAbsent(update.getTeamId(), t -> new HashMap<>()).put(id, update.getProgression());
+                }
+            }
+            if (teams.isEmpty()) {
+                return;
+            }
+            conn.setAutoCommit(false);
+            try (PreparedStatement psUnredeemed = conn.prepareStatement(queries.deleteUnredeemed)) {
+                for (Entry<Integer, Map<Integer, Integer>> team : teams.entrySet()) {
+                    final int teamId = team.getKey();
+                    Map<Integer, Integer> progressions = readProgressions(teamId);
+                    ProgressionBlobCodec.apply(progressions, team.getValue());
+                    writeProgressions(teamId, progressions);
+                    for (Entry<Integer, Integer> e : team.getValue().entrySet()) {
+                        if (e.getValue() <= 0) {
+                            // Like in the other databases, advancements which are not progressed cannot be unredeemed
+                            psUnredeemed.setInt(1, e.getKey());
+                            psUnredeemed.setInt(2, teamId);
+                            psUnredeemed.addBatch();
+                        }
+                    }
+                }
+                psUnredeemed.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Entry<AdvancementKey, Boolean>> getUnredeemed(int teamId) throws SQLException {
+        lock.lock();
+        try (PreparedStatement ps = connection.prepareStatement(queries.selectUnredeemed)) {
+            ps.setInt(1, teamId);
+            ResultSet r = ps.executeQuery();
+            List<Entry<AdvancementKey, Boolean>> list = new LinkedList<>();
+            while (r.next()) {
+                String namespace = r.getString(1);
+                String key = r.getString(2);
+                boolean giveRewards = r.getInt(3) != 0; // false iff r.getInt(3) == 0
+                try {
+                    list.add(new SimpleEntry<>(AdvancementKey.of(namespace, key), giveRewards));
+                } catch (IllegalKeyException e) {
+                    logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading Unredeemed table: " + e.getMessage());
+                }
+            }
+            return list;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setUnredeemed(@NotNull AdvancementKey key, boolean giveRewards, int teamId) throws SQLException {
+        setUnredeemed(List.of(new UnredeemedUpdate(key, teamId, giveRewards)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setUnredeemed(@NotNull Collection<UnredeemedUpdate> updates) throws SQLException {
+        if (updates.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            final Connection conn = connection;
+            // Cached ids must not be rolled back, so missing keys are added before the transaction
+            List<AdvancementKey> keys = new ArrayList<>(updates.size());
+            for (UnredeemedUpdate update : updates) {
+                keys.add(update.getKey());
+            }
+            dictionary.createIds(conn, keys);
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(queries.insertUnredeemed)) {
+                for (UnredeemedUpdate update : updates) {
+                    ps.setInt(1, dictionary.getId(conn, update.getKey()));
+                    ps.setInt(2, update.getTeamId());
+                    ps.setInt(3, update.isGiveRewards() ? 1 : 0);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isUnredeemed(@NotNull AdvancementKey key, int teamId) throws SQLException {
+        lock.lock();
+        try (PreparedStatement ps = connection.prepareStatement(queries.countUnredeemed)) {
+            ps.setInt(1, dictionary.getId(connection, key));
+            ps.setInt(2, teamId);
+            ResultSet r = ps.executeQuery();
+            return r.next() && r.getInt(1) > 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void unsetUnredeemed(@NotNull AdvancementKey key, int teamId) throws SQLException {
+        lock.lock();
+        try (PreparedStatement ps = connection.prepareStatement(queries.deleteUnredeemed)) {
+            ps.setInt(1, dictionary.getId(connection, key));
+            ps.setInt(2, teamId);
+            ps.execute();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void unsetUnredeemed(@NotNull List<Entry<AdvancementKey, Boolean>> keyList, int teamId) throws SQLException {
+        if (keyList.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            final Connection conn = connection;
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(queries.deleteUnredeemed)) {
+                for (Entry<AdvancementKey, ?> key : keyList) {
+                    ps.setInt(1, dictionary.getId(conn, key.getKey()));
+                    ps.setInt(2, teamId);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void unsetUnredeemed(@NotNull Collection<UnredeemedUpdate> updates) throws SQLException {
+        if (updates.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            final Connection conn = connection;
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(queries.deleteUnredeemed)) {
+                for (UnredeemedUpdate update : updates) {
+                    ps.setInt(1, dictionary.getId(conn, update.getKey()));
+                    ps.setInt(2, update.getTeamId());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void unregisterPlayer(@NotNull UUID uuid) throws SQLException {
+        lock.lock();
+        try (PreparedStatement stDelete = connection.prepareStatement("DELETE FROM `Players` WHERE `UUID`=?;")) {
+            stDelete.setString(1, uuid.toString());
+            stDelete.execute();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void movePlayer(@NotNull UUID uuid, int newTeamId) throws SQLException {
+        lock.lock();
+        try (PreparedStatement stUpdate = connection.prepareStatement("UPDATE `Players` SET `TeamID`=? WHERE `UUID`=?;")) {
+            stUpdate.setInt(1, newTeamId);
+            stUpdate.setString(2, uuid.toString());
+            stUpdate.execute();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void movePlayers(@NotNull Collection<UUID> uuids, int newTeamId) throws SQLException {
+        if (uuids.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            final Connection conn = connection;
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement("UPDATE `Players` SET `TeamID`=? WHERE `UUID`=?;")) {
+                for (UUID uuid : uuids) {
+                    ps.setInt(1, newTeamId);
+                    ps.setString(2, uuid.toString());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TeamProgression movePlayerInNewTeam(@NotNull UUID uuid) throws SQLException {
+        lock.lock();
+        try (PreparedStatement psInsert = connection.prepareStatement("INSERT INTO `Teams` DEFAULT VALUES;")) {
+            psInsert.executeUpdate();
+            ResultSet r = psInsert.getGeneratedKeys();
+            if (!r.next()) {
+                throw new SQLException("Cannot insert default values into Teams table.");
+            }
+            int teamId = r.getInt(1);
+            movePlayer(uuid, teamId);
+            return new TeamProgression(teamId, uuid);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<UUID> getPlayersByName(@NotNull String name) throws SQLException {
+        lock.lock();
+        try (PreparedStatement ps = connection.prepareStatement("SELECT `UUID` FROM `Players` WHERE `Name`=?;")) {
+            ps.setString(1, name);
+            ResultSet r = ps.executeQuery();
+            List<UUID> list = new LinkedList<>();
+            while (r.next()) {
+                list.add(UUID.fromString(r.getString(1)));
+            }
+            return list;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getPlayerName(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException {
+        lock.lock();
+        try (PreparedStatement ps = connection.prepareStatement("SELECT `Name` FROM `Players` WHERE `UUID`=? LIMIT 1;")) {
+            ps.setString(1, uuid.toString());
+            ResultSet r = ps.executeQuery();
+            if (!r.next()) {
+                throw new UserNotRegisteredException("No user " + uuid + " has been found.");
+            }
+            return r.getString(1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updatePlayerName(@NotNull UUID uuid, @NotNull String name) throws SQLException {
+        lock.lock();
+        try (PreparedStatement ps = connection.prepareStatement("UPDATE `Players` SET `Name`=? WHERE `UUID`=?;")) {
+            ps.setString(1, name);
+            ps.setString(2, uuid.toString());
+            ps.execute();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clearUpTeams() throws SQLException {
+        lock.lock();
+        try (PreparedStatement ps = connection.prepareStatement("DELETE FROM `Teams` WHERE `ID` NOT IN (SELECT `TeamID` FROM `Players` GROUP BY `TeamID`);")) {
+            ps.execute();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
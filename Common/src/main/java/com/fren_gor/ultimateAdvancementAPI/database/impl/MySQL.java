@@ -1,7 +1,11 @@
 package com.fren_gor.ultimateAdvancementAPI.database.impl;
 
 import com.fren_gor.ultimateAdvancementAPI.database.IDatabase;
+import com.fren_gor.ultimateAdvancementAPI.database.PlayerLoadResult;
+import com.fren_gor.ultimateAdvancementAPI.database.ProgressionUpdate;
+import com.fren_gor.ultimateAdvancementAPI.database.SchemaVersion;
 import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
+import com.fren_gor.ultimateAdvancementAPI.database.UnredeemedUpdate;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.IllegalKeyException;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.UserNotRegisteredException;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
@@ -10,6 +14,7 @@ import net.byteflux.libby.Library;
 import net.byteflux.libby.LibraryManager;
 import net.byteflux.libby.classloader.IsolatedClassLoader;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 
 import javax.sql.DataSource;
@@ -21,7 +26,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -30,18 +38,28 @@ import java.util.Properties;
 import java.util.UUID;
 import java.util.logging.Logger;
 
+import static com.fren_gor.ultimateAdvancementAPI.database.impl.SchemaQueries.ADVANCEMENT_ROW;
+import static com.fren_gor.ultimateAdvancementAPI.database.impl.SchemaQueries.MEMBER_ROW;
+
 /**
  * Class used to establish a connection to a MySQL database.
  */
 public class MySQL implements IDatabase {
 
+    // Maximum amount of parameters of the IN (...) lists used to load many players at once, to keep queries reasonably sized
+    private static final int MAX_IN_PARAMETERS = 900;
+
     private final Logger logger;
     private final IsolatedClassLoader classLoader;
     private final DataSource dataSource;
     private final Method close;
+    private final SchemaQueries queries;
+    // null iff the schema version is V1
+    @Nullable
+    private final AdvancementKeyDictionary dictionary;
 
     /**
-     * Creates the MySQL connection.
+     * Creates the MySQL connection using the {@link SchemaVersion#V1} schema.
      *
      * @param username The username.
      * @param password The password.
@@ -55,6 +73,25 @@ public class MySQL implements IDatabase {
      * @throws Exception If anything goes wrong.
      */
     public MySQL(@NotNull String username, @NotNull String password, @NotNull String databaseName, @NotNull String host, @Range(from = 1, to = Integer.MAX_VALUE) int port, @Range(from = 1, to = Integer.MAX_VALUE) int poolSize, @Range(from = 250, to = Long.MAX_VALUE) long connectionTimeout, @NotNull Logger logger, @NotNull LibraryManager manager) throws Exception {
+        this(username, password, databaseName, host, port, poolSize, connectionTimeout, logger, manager, SchemaVersion.V1);
+    }
+
+    /**
+     * Creates the MySQL connection using the provided schema version.
+     *
+     * @param username The username.
+     * @param password The password.
+     * @param databaseName The name of the database.
+     * @param host The MySQL host.
+     * @param port The MySQL port. Must be greater than zero.
+     * @param poolSize The pool size. Must be greater than zero.
+     * @param connectionTimeout The connection timeout. Must be greater or equal to 250.
+     * @param logger The plugin {@link Logger}.
+     * @param manager The {@link LibraryManager}.
+     * @param schemaVersion The {@link SchemaVersion} of the database. If the database uses an older version, it is migrated by {@link #setUp()}.
+     * @throws Exception If anything goes wrong.
+     */
+    public MySQL(@NotNull String username, @NotNull String password, @NotNull String databaseName, @NotNull String host, @Range(from = 1, to = Integer.MAX_VALUE) int port, @Range(from = 1, to = Integer.MAX_VALUE) int poolSize, @Range(from = 250, to = Long.MAX_VALUE) long connectionTimeout, @NotNull Logger logger, @NotNull LibraryManager manager, @NotNull SchemaVersion schemaVersion) throws Exception {
         Preconditions.checkNotNull(username, "Username is null.");
         Preconditions.checkNotNull(password, "Password is null.");
         Preconditions.checkNotNull(databaseName, "Database name is null.");
@@ -64,6 +101,7 @@ public class MySQL implements IDatabase {
         Preconditions.checkArgument(connectionTimeout >= 250, "Connection timeout must be greater or equals to 250.");
         Preconditions.checkNotNull(logger, "Logger is null.");
         Preconditions.checkNotNull(manager, "LibraryManager is null.");
+        Preconditions.checkNotNull(schemaVersion, "SchemaVersion is null.");
 
         classLoader = new IsolatedClassLoader();
         classLoader.addPath(manager.downloadLibrary(Library.builder().groupId("org.slf4j").artifactId("slf4j-api").version("1.7.30").checksum("zboHlk0btAoHYUhcax6ML4/Z6x0ZxTkorA1/lRAQXFc=").build()));
@@ -104,6 +142,8 @@ public class MySQL implements IDatabase {
             throw new SQLException("An exception occurred while testing the established connection.", e);
         }
         this.logger = logger;
+        this.queries = new SchemaQueries(schemaVersion, true);
+        this.dictionary = schemaVersion == SchemaVersion.V2 ? new AdvancementKeyDictionary(queries) : null;
     }
 
     /**
@@ -111,12 +151,27 @@ public class MySQL implements IDatabase {
      */
     @Override
     public void setUp() throws SQLException {
-        try (Connection conn = openConnection(); Statement statement = conn.createStatement()) {
-            statement.addBatch("CREATE TABLE IF NOT EXISTS `Teams` (`ID` INTEGER NOT NULL PRIMARY KEY AUTO_INCREMENT) DEFAULT CHARSET = utf8mb4;");
-            statement.addBatch("CREATE TABLE IF NOT EXISTS `Players` (`UUID` VARCHAR(36) NOT NULL, `Name` VARCHAR(16) NOT NULL, `TeamID` INTEGER NOT NULL, PRIMARY KEY(`UUID`), FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE) DEFAULT CHARSET = utf8mb4;");
-            statement.addBatch("CREATE TABLE IF NOT EXISTS `Advancements` (`Namespace` VARCHAR(127) NOT NULL, `Key` VARCHAR(127) NOT NULL, `TeamID` INTEGER NOT NULL, `Progression` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE) DEFAULT CHARSET = utf8mb4;");
-            statement.addBatch("CREATE TABLE IF NOT EXISTS `Unredeemed` (`Namespace` VARCHAR(127) NOT NULL, `Key` VARCHAR(127) NOT NULL, `TeamID` INTEGER NOT NULL, `GiveRewards` INTEGER NOT NULL, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`Namespace`, `Key`, `TeamID`) REFERENCES `Advancements`(`Namespace`, `Key`, `TeamID`) ON DELETE CASCADE ON UPDATE CASCADE) DEFAULT CHARSET = utf8mb4;");
-            statement.executeBatch();
+        try (Connection conn = openConnection()) {
+            SchemaMigration.beforeSetUp(conn, queries.version, logger);
+            try (Statement statement = conn.createStatement()) {
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `Teams` (`ID` INTEGER NOT NULL PRIMARY KEY AUTO_INCREMENT) DEFAULT CHARSET = utf8mb4;");
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `Players` (`UUID` VARCHAR(36) NOT NULL, `Name` VARCHAR(16) NOT NULL, `TeamID` INTEGER NOT NULL, PRIMARY KEY(`UUID`), FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE) DEFAULT CHARSET = utf8mb4;");
+                if (queries.version == SchemaVersion.V1) {
+                    statement.addBatch("CREATE TABLE IF NOT EXISTS `Advancements` (`Namespace` VARCHAR(127) NOT NULL, `Key` VARCHAR(127) NOT NULL, `TeamID` INTEGER NOT NULL, `Progression` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE) DEFAULT CHARSET = utf8mb4;");
+                    statement.addBatch("CREATE TABLE IF NOT EXISTS `Unredeemed` (`Namespace` VARCHAR(127) NOT NULL, `Key` VARCHAR(127) NOT NULL, `TeamID` INTEGER NOT NULL, `GiveRewards` INTEGER NOT NULL, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`Namespace`, `Key`, `TeamID`) REFERENCES `Advancements`(`Namespace`, `Key`, `TeamID`) ON DELETE CASCADE ON UPDATE CASCADE) DEFAULT CHARSET = utf8mb4;");
+                } else {
+                    // Constraints are named explicitly: auto-generated names (like Advancements_ibfk_1) would collide with the ones
+                    // kept by the tables renamed during the migration on MariaDB and MySQL before 8.0.16 (errno 121)
+                    statement.addBatch("CREATE TABLE IF NOT EXISTS `AdvancementKeys` (`ID` INTEGER NOT NULL AUTO_INCREMENT, `Namespace` VARCHAR(127) NOT NULL, `Key` VARCHAR(127) NOT NULL, PRIMARY KEY(`ID`), UNIQUE(`Namespace`,`Key`)) DEFAULT CHARSET = utf8mb4;");
+                    statement.addBatch("CREATE TABLE IF NOT EXISTS `Advancements` (`TeamID` INTEGER NOT NULL, `KeyID` INTEGER NOT NULL, `Progression` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`TeamID`,`KeyID`), CONSTRAINT `Advancements_v2_TeamID_fk` FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE, CONSTRAINT `Advancements_v2_KeyID_fk` FOREIGN KEY(`KeyID`) REFERENCES `AdvancementKeys`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE) DEFAULT CHARSET = utf8mb4;");
+                    statement.addBatch("CREATE TABLE IF NOT EXISTS `Unredeemed` (`TeamID` INTEGER NOT NULL, `KeyID` INTEGER NOT NULL, `GiveRewards` INTEGER NOT NULL, PRIMARY KEY(`TeamID`,`KeyID`), CONSTRAINT `Unredeemed_v2_Advancements_fk` FOREIGN KEY(`TeamID`, `KeyID`) REFERENCES `Advancements`(`TeamID`, `KeyID`) ON DELETE CASCADE ON UPDATE CASCADE) DEFAULT CHARSET = utf8mb4;");
+                }
+                statement.executeBatch();
+            }
+            if (dictionary != null) {
+                SchemaMigration.afterSetUp(conn, queries, logger);
+                dictionary.load(conn);
+            }
         }
     }
 
@@ -145,6 +200,38 @@ public class MySQL implements IDatabase {
         }
     }
 
+    /**
+     * Binds the provided advancement key to the statement, starting from the provided parameter index.
+     * <p>In {@link SchemaVersion#V1} the key is bound as namespace and key, in {@link SchemaVersion#V2} as its id.
+     *
+     * @param conn The connection used to look up the key id.
+     * @param ps The statement.
+     * @param index The index of the first parameter of the key.
+     * @param key The advancement key.
+     * @param create Whether to add the key to the {@code AdvancementKeys} table if it isn't present.
+     * @return The index of the parameter after the key.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    private int setKey(@NotNull Connection conn, @NotNull PreparedStatement ps, int index, @NotNull AdvancementKey key, boolean create) throws SQLException {
+        if (dictionary == null) {
+            ps.setString(index, key.getNamespace());
+            ps.setString(index + 1, key.getKey());
+            return index + 2;
+        }
+        ps.setInt(index, create ? dictionary.getOrCreateId(conn, key) : dictionary.getId(conn, key));
+        return index + 1;
+    }
+
+    /**
+     * Gets the {@link SchemaVersion} of the database.
+     *
+     * @return The {@link SchemaVersion} of the database.
+     */
+    @NotNull
+    public SchemaVersion getSchemaVersion() {
+        return queries.version;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -194,7 +281,7 @@ public class MySQL implements IDatabase {
     }
 
     private Map<AdvancementKey, Integer> getTeamAdvancements(Connection connection, int teamId) throws SQLException {
-        try (PreparedStatement ps = connection.prepareStatement("SELECT `Namespace`,`Key`,`Progression` FROM `Advancements` WHERE `TeamID`=?;")) {
+        try (PreparedStatement ps = connection.prepareStatement(queries.selectTeamAdvancements)) {
             ps.setInt(1, teamId);
             ResultSet r = ps.executeQuery();
             Map<AdvancementKey, Integer> map = new HashMap<>();
@@ -203,7 +290,7 @@ public class MySQL implements IDatabase {
                 String key = r.getString(2);
                 int progression = r.getInt(3);
                 try {
-                    map.put(new AdvancementKey(namespace, key), progression);
+                    map.put(AdvancementKey.of(namespace, key), progression);
                 } catch (IllegalKeyException e) {
                     logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading Advancements table: " + e.getMessage());
                 }
@@ -253,39 +340,190 @@ public class MySQL implements IDatabase {
      */
     @Override
     public TeamProgression loadUUID(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException {
-        int teamID = Integer.MIN_VALUE;
-        List<UUID> list = new LinkedList<>();
+        final PlayerLoadResult result;
         try (Connection conn = openConnection()) {
-            try (PreparedStatement psTeamId = conn.prepareStatement("SELECT `UUID`, `TeamID` FROM `Players` WHERE `TeamID`=(SELECT `TeamID` FROM `Players` WHERE `UUID`=? LIMIT 1);")) {
-                psTeamId.setString(1, uuid.toString());
-                ResultSet r = psTeamId.executeQuery();
-                while (r.next()) {
-                    list.add(UUID.fromString(r.getString(1)));
-                    if (teamID == Integer.MIN_VALUE)
-                        teamID = r.getInt(2);
+            result = loadTeam(conn, uuid, false);
+        }
+        if (result == null) {
+            throw new UserNotRegisteredException("No user " + uuid + " has been found.");
+        }
+        return result.getTeamProgression();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PlayerLoadResult loadPlayer(@NotNull UUID uuid, @NotNull String name) throws SQLException {
+        try (Connection conn = openConnection()) {
+            PlayerLoadResult result = loadTeam(conn, uuid, true);
+            if (result != null) {
+                return result;
+            }
+        }
+        // The player isn't registered
+        Entry<TeamProgression, Boolean> e = loadOrRegisterPlayer(uuid, name);
+        // If the player has been registered by another thread in the meantime, their team may have unredeemed advancements
+        List<Entry<AdvancementKey, Boolean>> unredeemed = e.getValue() ? new LinkedList<>() : getUnredeemed(e.getKey().getTeamId());
+        return new PlayerLoadResult(e.getKey(), e.getValue(), unredeemed);
+    }
+
+    /**
+     * Loads the team of the provided player in a single query.
+     *
+     * @param conn The connection to use.
+     * @param uuid The player {@link UUID}.
+     * @param loadUnredeemed Whether to load the unredeemed advancements of the team.
+     * @return A {@link PlayerLoadResult} with the player team information (the unredeemed advancements are {@code null}
+     *         if {@code loadUnredeemed} is {@code false}), or {@code null} if the player is not registered.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    @Nullable
+    private PlayerLoadResult loadTeam(@NotNull Connection conn, @NotNull UUID uuid, boolean loadUnredeemed) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(loadUnredeemed ? queries.loadTeamWithUnredeemed : queries.loadTeam)) {
+            final String uuidString = uuid.toString();
+            final int parameters = loadUnredeemed ? 3 : 2;
+            for (int i = 1; i <= parameters; i++) {
+                ps.setString(i, uuidString);
+            }
+            ResultSet r = ps.executeQuery();
+            int teamId = Integer.MIN_VALUE;
+            List<UUID> members = new LinkedList<>();
+            Map<AdvancementKey, Integer> advancements = new HashMap<>();
+            List<Entry<AdvancementKey, Boolean>> unredeemed = loadUnredeemed ? new LinkedList<>() : null;
+            while (r.next()) {
+                final int rowType = r.getInt(1);
+                if (rowType == MEMBER_ROW) {
+                    members.add(UUID.fromString(r.getString(2)));
+                    teamId = r.getInt(4);
+                    continue;
                 }
+                String namespace = r.getString(2);
+                String key = r.getString(3);
+                try {
+                    AdvancementKey advKey = AdvancementKey.of(namespace, key);
+                    if (rowType == ADVANCEMENT_ROW) {
+                        advancements.put(advKey, r.getInt(4));
+                    } else {
+                        unredeemed.add(new SimpleEntry<>(advKey, r.getInt(4) != 0)); // false iff r.getInt(4) == 0
+                    }
+                } catch (IllegalKeyException e) {
+                    logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading " + (rowType == ADVANCEMENT_ROW ? "Advancements" : "Unredeemed") + " table: " + e.getMessage());
+                }
+            }
+            if (teamId == Integer.MIN_VALUE) {
+                return null;
             }
+            return new PlayerLoadResult(new TeamProgression(advancements, teamId, members), false, unredeemed);
+        }
+    }
 
-            if (teamID == Integer.MIN_VALUE)
-                throw new UserNotRegisteredException("No user " + uuid + " has been found.");
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<UUID, PlayerLoadResult> loadPlayers(@NotNull Map<UUID, String> players) throws SQLException {
+        Map<UUID, PlayerLoadResult> results = new HashMap<>();
+        if (players.isEmpty()) {
+            return results;
+        }
+        final Map<UUID, Integer> teamIds;
+        final Map<Integer, PlayerLoadResult> teams;
+        try (Connection conn = openConnection()) {
+            teamIds = getTeamIds(conn, players.keySet());
+            teams = loadTeams(conn, teamIds.values());
+        }
+        for (Entry<UUID, String> e : players.entrySet()) {
+            Integer teamId = teamIds.get(e.getKey());
+            PlayerLoadResult result = teamId == null ? null : teams.get(teamId);
+            // Load the player again if they aren't registered or if their team changed in the meantime
+            results.put(e.getKey(), result != null && result.getTeamProgression().contains(e.getKey()) ? result : loadPlayer(e.getKey(), e.getValue()));
+        }
+        return results;
+    }
 
-            try (PreparedStatement psAdv = conn.prepareStatement("SELECT `Namespace`, `Key`, `Progression` FROM `Advancements` WHERE `TeamID`=?;")) {
-                Map<AdvancementKey, Integer> map = new HashMap<>();
-                psAdv.setInt(1, teamID);
-                ResultSet r = psAdv.executeQuery();
+    /**
+     * Gets the team ids of the provided players. Players which aren't registered are not present in the returned map.
+     *
+     * @param conn The connection to use.
+     * @param uuids The players {@link UUID}s.
+     * @return The team ids of the registered players.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    @NotNull
+    private Map<UUID, Integer> getTeamIds(@NotNull Connection conn, @NotNull Collection<UUID> uuids) throws SQLException {
+        Map<UUID, Integer> teamIds = new HashMap<>();
+        final List<UUID> list = new ArrayList<>(uuids);
+        for (int i = 0; i < list.size(); i += MAX_IN_PARAMETERS) {
+            final List<UUID> chunk = list.subList(i, Math.min(i + MAX_IN_PARAMETERS, list.size()));
+            try (PreparedStatement ps = conn.prepareStatement("SELECT `UUID`, `TeamID` FROM `Players` WHERE `UUID` IN (" + SchemaQueries.placeholders(chunk.size()) + ");")) {
+                int index = 1;
+                for (UUID uuid : chunk) {
+                    ps.setString(index++, uuid.toString());
+                }
+                ResultSet r = ps.executeQuery();
+                while (r.next()) {
+                    teamIds.put(UUID.fromString(r.getString(1)), r.getInt(2));
+                }
+            }
+        }
+        return teamIds;
+    }
+
+    /**
+     * Loads the provided teams, including their unredeemed advancements, using one query every {@link #MAX_IN_PARAMETERS} / 3 teams.
+     *
+     * @param conn The connection to use.
+     * @param teamIds The ids of the teams to load.
+     * @return The loaded teams mapped by their ids. Teams without members are not present in the returned map.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    @NotNull
+    private Map<Integer, PlayerLoadResult> loadTeams(@NotNull Connection conn, @NotNull Collection<Integer> teamIds) throws SQLException {
+        Map<Integer, List<UUID>> members = new HashMap<>();
+        Map<Integer, Map<AdvancementKey, Integer>> advancements = new HashMap<>();
+        Map<Integer, List<Entry<AdvancementKey, Boolean>>> unredeemed = new HashMap<>();
+        final List<Integer> list = new ArrayList<>(new HashSet<>(teamIds));
+        final int chunkSize = MAX_IN_PARAMETERS / 3; // The team ids are used three times per query
+        for (int i = 0; i < list.size(); i += chunkSize) {
+            final List<Integer> chunk = list.subList(i, Math.min(i + chunkSize, list.size()));
+            try (PreparedStatement ps = conn.prepareStatement(queries.loadTeams(chunk.size()))) {
+                int index = 1;
+                for (int q = 0; q < 3; q++) {
+                    for (int teamId : chunk) {
+                        ps.setInt(index++, teamId);
+                    }
+                }
+                ResultSet r = ps.executeQuery();
                 while (r.next()) {
-                    String namespace = r.getString(1);
-                    String key = r.getString(2);
-                    int progression = r.getInt(3);
+                    final int rowType = r.getInt(1);
+                    final int teamId = r.getInt(2);
+                    if (rowType == MEMBER_ROW) {
+                        members.computeIfAbsent(teamId, t -> new LinkedList<>()).add(UUID.fromString(r.getString(3)));
+                        continue;
+                    }
+                    String namespace = r.getString(3);
+                    String key = r.getString(4);
                     try {
-                        map.put(new AdvancementKey(namespace, key), progression);
+                        AdvancementKey advKey = AdvancementKey.of(namespace, key);
+                        if (rowType == ADVANCEMENT_ROW) {
+                            advancements.computeIfAbsent(teamId, t -> new HashMap<>()).put(advKey, r.getInt(5));
+                        } else {
+                            unredeemed.computeIfAbsent(teamId, t -> new LinkedList<>()).add(new SimpleEntry<>(advKey, r.getInt(5) != 0)); // false iff r.getInt(5) == 0
+                        }
                     } catch (IllegalKeyException e) {
-                        logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading Advancements table: " + e.getMessage());
+                        logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading " + (rowType == ADVANCEMENT_ROW ? "Advancements" : "Unredeemed") + " table: " + e.getMessage());
                     }
                 }
-                return new TeamProgression(map, teamID, list);
             }
         }
+        Map<Integer, PlayerLoadResult> teams = new HashMap<>();
+        for (Entry<Integer, List<UUID>> e : members.entrySet()) {
+            final int teamId = e.getKey();
+            TeamProgression pro = new TeamProgression(advancements.getOrDefault(teamId, new HashMap<>()), teamId, e.getValue());
+            teams.put(teamId, new PlayerLoadResult(pro, false, unredeemed.getOrDefault(teamId, new LinkedList<>())));
+        }
+        return teams;
     }
 
     /**
@@ -295,30 +533,78 @@ public class MySQL implements IDatabase {
     public void updateAdvancement(@NotNull AdvancementKey key, int teamId, @Range(from = 0, to = Integer.MAX_VALUE) int progression) throws SQLException {
         try (Connection conn = openConnection()) {
             if (progression <= 0) {
-                try (PreparedStatement ps = conn.prepareStatement("DELETE FROM `Advancements` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-                    ps.setString(1, key.getNamespace());
-                    ps.setString(2, key.getKey());
-                    ps.setInt(3, teamId);
+                try (PreparedStatement ps = conn.prepareStatement(queries.deleteAdvancement)) {
+                    int i = setKey(conn, ps, 1, key, false);
+                    ps.setInt(i, teamId);
                     ps.execute();
                 }
             } else {
-                try (PreparedStatement ps = conn.prepareStatement("INSERT INTO `Advancements` (`Namespace`, `Key`, `TeamID`, `Progression`) VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE `Progression`=VALUES(`Progression`);")) {
-                    ps.setString(1, key.getNamespace());
-                    ps.setString(2, key.getKey());
-                    ps.setInt(3, teamId);
-                    ps.setInt(4, progression);
+                try (PreparedStatement ps = conn.prepareStatement(queries.upsertAdvancement)) {
+                    int i = setKey(conn, ps, 1, key, true);
+                    ps.setInt(i, teamId);
+                    ps.setInt(i + 1, progression);
                     ps.execute();
                 }
             }
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAdvancements(@NotNull Collection<ProgressionUpdate> updates) throws SQLException {
+        if (updates.isEmpty()) {
+            return;
+        }
+        // Deletions and upserts are run as two batches, so keep only the last update of every advancement of every team
+        updates = ProgressionUpdate.lastUpdates(updates);
+        try (Connection conn = openConnection()) {
+            if (dictionary != null) {
+                // Cached ids must not be rolled back, so missing keys are added before the transaction
+                List<AdvancementKey> keys = new ArrayList<>(updates.size());
+                for (ProgressionUpdate update : updates) {
+                    if (update.getProgression() > 0) {
+                        keys.add(update.getKey());
+                    }
+                }
+                dictionary.createIds(conn, keys);
+            }
+            conn.setAutoCommit(false);
+            try (PreparedStatement psDelete = conn.prepareStatement(queries.deleteAdvancement); PreparedStatement psInsert = conn.prepareStatement(queries.upsertAdvancement)) {
+                for (ProgressionUpdate update : updates) {
+                    final AdvancementKey key = update.getKey();
+                    if (update.getProgression() <= 0) {
+                        int i = setKey(conn, psDelete, 1, key, false);
+                        psDelete.setInt(i, update.getTeamId());
+                        psDelete.addBatch();
+                    } else {
+                        int i = setKey(conn, psInsert, 1, key, false); // Keys have been added before starting the transaction
+                        psInsert.setInt(i, update.getTeamId());
+                        psInsert.setInt(i + 1, update.getProgression());
+                        psInsert.addBatch();
+                    }
+                }
+                // Updates are unique per (key, team) now, so the execution order of the two batches doesn't matter
+                // rewriteBatchedStatements=true makes the driver send each batch in a few multi-row statements
+                psDelete.executeBatch();
+                psInsert.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public List<Entry<AdvancementKey, Boolean>> getUnredeemed(int teamId) throws SQLException {
-        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("SELECT `Namespace`, `Key`, `GiveRewards` FROM `Unredeemed` WHERE `TeamID`=?;")) {
+        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement(queries.selectUnredeemed)) {
             ps.setInt(1, teamId);
             ResultSet r = ps.executeQuery();
             List<Entry<AdvancementKey, Boolean>> list = new LinkedList<>();
@@ -327,7 +613,7 @@ public class MySQL implements IDatabase {
                 String key = r.getString(2);
                 boolean giveRewards = r.getInt(3) != 0; // false iff r.getInt(3) == 0
                 try {
-                    list.add(new SimpleEntry<>(new AdvancementKey(namespace, key), giveRewards));
+                    list.add(new SimpleEntry<>(AdvancementKey.of(namespace, key), giveRewards));
                 } catch (IllegalKeyException e) {
                     logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading Unredeemed table: " + e.getMessage());
                 }
@@ -341,24 +627,50 @@ public class MySQL implements IDatabase {
      */
     @Override
     public void setUnredeemed(@NotNull AdvancementKey key, boolean giveRewards, int teamId) throws SQLException {
-        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("INSERT IGNORE INTO `Unredeemed` (`Namespace`, `Key`, `TeamID`, `GiveRewards`) VALUES (?, ?, ?, ?);")) {
-            ps.setString(1, key.getNamespace());
-            ps.setString(2, key.getKey());
-            ps.setInt(3, teamId);
-            ps.setInt(4, giveRewards ? 1 : 0);
+        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement(queries.insertUnredeemed)) {
+            int i = setKey(conn, ps, 1, key, false);
+            ps.setInt(i, teamId);
+            ps.setInt(i + 1, giveRewards ? 1 : 0);
             ps.execute();
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setUnredeemed(@NotNull Collection<UnredeemedUpdate> updates) throws SQLException {
+        if (updates.isEmpty()) {
+            return;
+        }
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(queries.insertUnredeemed)) {
+                for (UnredeemedUpdate update : updates) {
+                    int i = setKey(conn, ps, 1, update.getKey(), false);
+                    ps.setInt(i, update.getTeamId());
+                    ps.setInt(i + 1, update.isGiveRewards() ? 1 : 0);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public boolean isUnredeemed(@NotNull AdvancementKey key, int teamId) throws SQLException {
-        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("SELECT Count(*) FROM `Unredeemed` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-            ps.setString(1, key.getNamespace());
-            ps.setString(2, key.getKey());
-            ps.setInt(3, teamId);
+        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement(queries.countUnredeemed)) {
+            int i = setKey(conn, ps, 1, key, false);
+            ps.setInt(i, teamId);
             ResultSet r = ps.executeQuery();
             return r.next() && r.getInt(1) > 0;
         }
@@ -369,10 +681,9 @@ public class MySQL implements IDatabase {
      */
     @Override
     public void unsetUnredeemed(@NotNull AdvancementKey key, int teamId) throws SQLException {
-        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("DELETE FROM `Unredeemed` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-            ps.setString(1, key.getNamespace());
-            ps.setString(2, key.getKey());
-            ps.setInt(3, teamId);
+        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement(queries.deleteUnredeemed)) {
+            int i = setKey(conn, ps, 1, key, false);
+            ps.setInt(i, teamId);
             ps.execute();
         }
     }
@@ -382,12 +693,51 @@ public class MySQL implements IDatabase {
      */
     @Override
     public void unsetUnredeemed(@NotNull List<Entry<AdvancementKey, Boolean>> keyList, int teamId) throws SQLException {
-        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("DELETE FROM `Unredeemed` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-            for (Entry<AdvancementKey, ?> key : keyList) {
-                ps.setString(1, key.getKey().getNamespace());
-                ps.setString(2, key.getKey().getKey());
-                ps.setInt(3, teamId);
-                ps.execute();
+        if (keyList.isEmpty()) {
+            return;
+        }
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(queries.deleteUnredeemed)) {
+                for (Entry<AdvancementKey, ?> key : keyList) {
+                    int i = setKey(conn, ps, 1, key.getKey(), false);
+                    ps.setInt(i, teamId);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void unsetUnredeemed(@NotNull Collection<UnredeemedUpdate> updates) throws SQLException {
+        if (updates.isEmpty()) {
+            return;
+        }
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(queries.deleteUnredeemed)) {
+                for (UnredeemedUpdate update : updates) {
+                    int i = setKey(conn, ps, 1, update.getKey(), false);
+                    ps.setInt(i, update.getTeamId());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         }
     }
@@ -413,6 +763,33 @@ public class MySQL implements IDatabase {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void movePlayers(@NotNull Collection<UUID> uuids, int newTeamId) throws SQLException {
+        if (uuids.isEmpty()) {
+            return;
+        }
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement("UPDATE `Players` SET `TeamID`=? WHERE `UUID`=?;")) {
+                for (UUID uuid : uuids) {
+                    ps.setInt(1, newTeamId);
+                    ps.setString(2, uuid.toString());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
     private void movePlayer(Connection connection, @NotNull UUID uuid, int newTeamId) throws SQLException {
         try (PreparedStatement stUpdate = connection.prepareStatement("UPDATE `Players` SET `TeamID`=? WHERE `UUID`=?;")) {
             stUpdate.setInt(1, newTeamId);
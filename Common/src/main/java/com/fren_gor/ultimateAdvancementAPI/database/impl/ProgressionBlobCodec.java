@@ -0,0 +1,186 @@
+package com.fren_gor.ultimateAdvancementAPI.database.impl;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encoder and decoder of the progression blobs used by {@link BlobSQLite}.
+ * <p>A blob starts with a format byte:
+ * <ul>
+ *     <li>{@link #RAW}: it is followed by the number of entries and then by the entries, sorted by key id.
+ *     Every entry is made of the difference between its key id and the previous one, followed by the progression;</li>
+ *     <li>{@link #DEFLATE}: it is followed by the length of the {@link #RAW} data and then by the {@link #RAW} data compressed using {@link Deflater}.</li>
+ * </ul>
+ * Every number is encoded as an unsigned variable-length integer (7 bits per byte, least significant group first).
+ */
+final class ProgressionBlobCodec {
+
+    static final byte RAW = 0, DEFLATE = 1;
+
+    // Raw data shorter than this isn't worth compressing
+    private static final int COMPRESSION_THRESHOLD = 64;
+
+    private ProgressionBlobCodec() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+
+    /**
+     * Encodes the provided progressions.
+     *
+     * @param progressions The progressions mapped by their key ids. Key ids and progressions must not be negative.
+     * @param compress Whether to try to compress the blob. The compressed blob is used only if it is smaller.
+     * @return The encoded blob.
+     */
+    @NotNull
+    static byte[] encode(@NotNull Map<Integer, Integer> progressions, boolean compress) {
+        final int[] ids = new int[progressions.size()];
+        int i = 0;
+        for (int id : progressions.keySet()) {
+            ids[i++] = id;
+        }
+        Arrays.sort(ids);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1 + 5 + ids.length * 4);
+        out.write(RAW);
+        writeVarInt(out, ids.length);
+        int previous = 0;
+        for (int id : ids) {
+            writeVarInt(out, id - previous);
+            writeVarInt(out, progressions.get(id));
+            previous = id;
+        }
+        final byte[] raw = out.toByteArray();
+        if (!compress || raw.length - 1 < COMPRESSION_THRESHOLD) {
+            return raw;
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw, 1, raw.length - 1);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length);
+            compressed.write(DEFLATE);
+            writeVarInt(compressed, raw.length - 1);
+            final byte[] buffer = new byte[512];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return compressed.size() < raw.length ? compressed.toByteArray() : raw;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decodes the provided blob.
+     * <p>The lengths read from the blob are checked against {@code maxEntries} before allocating anything,
+     * so that a corrupted blob cannot make the decoder allocate huge arrays.
+     *
+     * @param blob The blob to decode.
+     * @param maxEntries The maximum number of entries the blob can contain, usually the number of key ids.
+     * @return The progressions mapped by their key ids.
+     * @throws IllegalArgumentException If the blob is malformed or if it contains more than {@code maxEntries} entries.
+     */
+    @NotNull
+    static Map<Integer, Integer> decode(@NotNull byte[] blob, @Range(from = 0, to = Integer.MAX_VALUE) int maxEntries) {
+        if (blob.length == 0) {
+            throw new IllegalArgumentException("Empty progression blob.");
+        }
+        final byte[] raw;
+        final int[] pos = {1};
+        if (blob[0] == RAW) {
+            raw = blob;
+        } else if (blob[0] == DEFLATE) {
+            final int length = readVarInt(blob, pos);
+            if (length < 0 || length > getMaxRawLength(maxEntries)) {
+                throw new IllegalArgumentException("Invalid compressed progression blob length " + Integer.toUnsignedString(length) + '.');
+            }
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(blob, pos[0], blob.length - pos[0]);
+                raw = new byte[length + 1]; // Keep the raw data at index 1, like in uncompressed blobs
+                if (inflater.inflate(raw, 1, length) != length || !inflater.finished()) {
+                    throw new IllegalArgumentException("Invalid compressed progression blob length.");
+                }
+            } catch (DataFormatException e) {
+                throw new IllegalArgumentException("Invalid compressed progression blob.", e);
+            } finally {
+                inflater.end();
+            }
+            pos[0] = 1;
+        } else {
+            throw new IllegalArgumentException("Unknown progression blob format " + blob[0] + '.');
+        }
+
+        final int size = readVarInt(raw, pos);
+        if (size < 0 || size > maxEntries) {
+            throw new IllegalArgumentException("Invalid progression blob size " + Integer.toUnsignedString(size) + " (max " + maxEntries + ").");
+        }
+        Map<Integer, Integer> progressions = new HashMap<>((int) (size / 0.75f) + 1);
+        int id = 0;
+        for (int i = 0; i < size; i++) {
+            id += readVarInt(raw, pos);
+            progressions.put(id, readVarInt(raw, pos));
+        }
+        return progressions;
+    }
+
+    /**
+     * Gets the maximum length of the {@link #RAW} data of a blob with the provided number of entries.
+     *
+     * @param maxEntries The maximum number of entries.
+     * @return The maximum length of the {@link #RAW} data, without the format byte.
+     */
+    static int getMaxRawLength(@Range(from = 0, to = Integer.MAX_VALUE) int maxEntries) {
+        // The size and every key id difference and progression take at most 5 bytes each
+        return (int) Math.min(Integer.MAX_VALUE - 1, 5 + maxEntries * 10L);
+    }
+
+    /**
+     * Applies the provided progression updates to the provided progressions. Progressions less or equal to zero are removed.
+     *
+     * @param progressions The progressions mapped by their key ids.
+     * @param updates The progression updates mapped by their key ids.
+     */
+    static void apply(@NotNull Map<Integer, Integer> progressions, @NotNull Map<Integer, Integer> updates) {
+        for (Entry<Integer, Integer> e : updates.entrySet()) {
+            if (e.getValue() <= 0) {
+                progressions.remove(e.getKey());
+            } else {
+                progressions.put(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    private static void writeVarInt(@NotNull ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(@NotNull byte[] data, @NotNull int[] pos) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (pos[0] >= data.length) {
+                throw new IllegalArgumentException("Truncated progression blob.");
+            }
+            final byte b = data[pos[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length integer in progression blob.");
+    }
+}
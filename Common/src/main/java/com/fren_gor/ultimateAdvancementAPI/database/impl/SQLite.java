@@ -1,15 +1,22 @@
 package com.fren_gor.ultimateAdvancementAPI.database.impl;
 
 import com.fren_gor.ultimateAdvancementAPI.database.IDatabase;
+import com.fren_gor.ultimateAdvancementAPI.database.PlayerLoadResult;
+import com.fren_gor.ultimateAdvancementAPI.database.ProgressionUpdate;
+import com.fren_gor.ultimateAdvancementAPI.database.SchemaVersion;
 import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
+import com.fren_gor.ultimateAdvancementAPI.database.UnredeemedUpdate;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.IllegalKeyException;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.UserNotRegisteredException;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
 import com.google.common.base.Preconditions;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 import org.sqlite.SQLiteConfig;
 import org.sqlite.SQLiteConfig.Encoding;
+import org.sqlite.SQLiteConfig.JournalMode;
+import org.sqlite.SQLiteConfig.Pragma;
 import org.sqlite.SQLiteConfig.SynchronousMode;
 
 import java.io.File;
@@ -21,32 +28,88 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 
+import static com.fren_gor.ultimateAdvancementAPI.database.impl.SchemaQueries.ADVANCEMENT_ROW;
+import static com.fren_gor.ultimateAdvancementAPI.database.impl.SchemaQueries.MEMBER_ROW;
+
 /**
  * Class used to establish a connection to a SQLite database.
+ * <p>Every write is done using a single connection (see {@link #openConnection()}), so writes are serialized.
  */
 public class SQLite implements IDatabase {
 
+    /**
+     * The number of read-only connections opened by the {@link Profile#HIGH_THROUGHPUT} profile.
+     */
+    public static final int READ_CONNECTIONS = 3;
+
+    private static final int BUSY_TIMEOUT = 5000; // ms
+    private static final int CACHE_SIZE = -16384; // Negative values are in KiB, so 16 MiB
+    private static final long MMAP_SIZE = 268435456; // 256 MiB
+
+    // Maximum amount of parameters of the IN (...) lists used to load many players at once. Old SQLite versions support at most 999 parameters per query
+    private static final int MAX_IN_PARAMETERS = 900;
+
     private final Logger logger;
     private final Connection connection;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // null iff there are no read-only connections
+    private final BlockingQueue<Connection> readConnections;
+    private final SchemaQueries queries;
+    // null iff the schema version is V1
+    @Nullable
+    private final AdvancementKeyDictionary dictionary;
 
     /**
-     * Creates the SQLite connection.
+     * Creates the SQLite connection using the {@link Profile#DEFAULT} profile.
      *
      * @param dbFile The SQLite database file. If it doesn't exist, it is created.
      * @param logger The plugin {@link Logger}.
      * @throws Exception If anything goes wrong.
      */
     public SQLite(@NotNull File dbFile, @NotNull Logger logger) throws Exception {
+        this(dbFile, logger, Profile.DEFAULT, SchemaVersion.V1);
+    }
+
+    /**
+     * Creates the SQLite connections using the provided profile and the {@link SchemaVersion#V1} schema.
+     *
+     * @param dbFile The SQLite database file. If it doesn't exist, it is created.
+     * @param logger The plugin {@link Logger}.
+     * @param profile The connection {@link Profile}.
+     * @throws Exception If anything goes wrong.
+     */
+    public SQLite(@NotNull File dbFile, @NotNull Logger logger, @NotNull Profile profile) throws Exception {
+        this(dbFile, logger, profile, SchemaVersion.V1);
+    }
+
+    /**
+     * Creates the SQLite connections using the provided profile and schema version.
+     *
+     * @param dbFile The SQLite database file. If it doesn't exist, it is created.
+     * @param logger The plugin {@link Logger}.
+     * @param profile The connection {@link Profile}.
+     * @param schemaVersion The {@link SchemaVersion} of the database. If the database uses an older version, it is migrated by {@link #setUp()}.
+     * @throws Exception If anything goes wrong.
+     */
+    public SQLite(@NotNull File dbFile, @NotNull Logger logger, @NotNull Profile profile, @NotNull SchemaVersion schemaVersion) throws Exception {
         Preconditions.checkNotNull(dbFile, "Database file is null.");
         Preconditions.checkNotNull(logger, "Logger is null.");
+        Preconditions.checkNotNull(profile, "Profile is null.");
+        Preconditions.checkNotNull(schemaVersion, "SchemaVersion is null.");
         if (!dbFile.exists() && !dbFile.createNewFile()) {
             throw new IOException("Cannot create the database file.");
         }
@@ -54,9 +117,37 @@ public class SQLite implements IDatabase {
         SQLiteConfig config = new SQLiteConfig();
         config.enforceForeignKeys(true);
         config.setEncoding(Encoding.UTF8);
-        config.setSynchronous(SynchronousMode.FULL);
+        if (profile == Profile.HIGH_THROUGHPUT) {
+            config.setJournalMode(JournalMode.WAL);
+            config.setSynchronous(SynchronousMode.NORMAL); // Safe in WAL mode, the last commits may be lost only on power loss
+            setPerformancePragmas(config);
+        } else {
+            config.setSynchronous(SynchronousMode.FULL);
+        }
         this.connection = DriverManager.getConnection("jdbc:sqlite:" + dbFile, config.toProperties());
         this.logger = logger;
+        this.queries = new SchemaQueries(schemaVersion, false);
+        this.dictionary = schemaVersion == SchemaVersion.V2 ? new AdvancementKeyDictionary(queries) : null;
+
+        if (profile == Profile.HIGH_THROUGHPUT) {
+            // WAL mode lets readers run concurrently with the writer
+            SQLiteConfig readConfig = new SQLiteConfig();
+            readConfig.setReadOnly(true);
+            readConfig.setEncoding(Encoding.UTF8);
+            setPerformancePragmas(readConfig);
+            readConnections = new ArrayBlockingQueue<>(READ_CONNECTIONS);
+            for (int i = 0; i < READ_CONNECTIONS; i++) {
+                readConnections.add(DriverManager.getConnection("jdbc:sqlite:" + dbFile, readConfig.toProperties()));
+            }
+        } else {
+            readConnections = null;
+        }
+    }
+
+    private static void setPerformancePragmas(@NotNull SQLiteConfig config) {
+        config.setBusyTimeout(BUSY_TIMEOUT);
+        config.setCacheSize(CACHE_SIZE);
+        config.setPragma(Pragma.MMAP_SIZE, String.valueOf(MMAP_SIZE));
     }
 
     /**
@@ -74,6 +165,9 @@ public class SQLite implements IDatabase {
         config.setSynchronous(SynchronousMode.FULL);
         this.connection = DriverManager.getConnection("jdbc:sqlite::memory:", config.toProperties());
         this.logger = logger;
+        this.readConnections = null;
+        this.queries = new SchemaQueries(SchemaVersion.V1, false);
+        this.dictionary = null;
     }
 
     /**
@@ -81,13 +175,29 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void setUp() throws SQLException {
-        try (Statement statement = openConnection().createStatement()) {
-            //statement.addBatch("PRAGMA foreign_keys = ON;");
-            statement.addBatch("CREATE TABLE IF NOT EXISTS `Teams` (`ID` INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT);");
-            statement.addBatch("CREATE TABLE IF NOT EXISTS `Players` (`UUID` TEXT NOT NULL PRIMARY KEY, `Name` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE);");
-            statement.addBatch("CREATE TABLE IF NOT EXISTS `Advancements` (`Namespace` TEXT NOT NULL, `Key` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, `Progression` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE);");
-            statement.addBatch("CREATE TABLE IF NOT EXISTS `Unredeemed` (`Namespace` TEXT NOT NULL, `Key` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, `GiveRewards` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`Namespace`, `Key`,`TeamID`) REFERENCES `Advancements`(`Namespace`, `Key`,`TeamID`) ON DELETE CASCADE ON UPDATE CASCADE);");
-            statement.executeBatch();
+        writeLock.lock();
+        try {
+            SchemaMigration.beforeSetUp(connection, queries.version, logger);
+            try (Statement statement = connection.createStatement()) {
+                //statement.addBatch("PRAGMA foreign_keys = ON;");
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `Teams` (`ID` INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT);");
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `Players` (`UUID` TEXT NOT NULL PRIMARY KEY, `Name` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE);");
+                if (queries.version == SchemaVersion.V1) {
+                    statement.addBatch("CREATE TABLE IF NOT EXISTS `Advancements` (`Namespace` TEXT NOT NULL, `Key` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, `Progression` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE);");
+                    statement.addBatch("CREATE TABLE IF NOT EXISTS `Unredeemed` (`Namespace` TEXT NOT NULL, `Key` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, `GiveRewards` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`Namespace`, `Key`,`TeamID`) REFERENCES `Advancements`(`Namespace`, `Key`,`TeamID`) ON DELETE CASCADE ON UPDATE CASCADE);");
+                } else {
+                    statement.addBatch("CREATE TABLE IF NOT EXISTS `AdvancementKeys` (`ID` INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT, `Namespace` TEXT NOT NULL, `Key` TEXT NOT NULL, UNIQUE(`Namespace`,`Key`));");
+                    statement.addBatch("CREATE TABLE IF NOT EXISTS `Advancements` (`TeamID` INTEGER NOT NULL, `KeyID` INTEGER NOT NULL, `Progression` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`TeamID`,`KeyID`), FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE, FOREIGN KEY(`KeyID`) REFERENCES `AdvancementKeys`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE) WITHOUT ROWID;");
+                    statement.addBatch("CREATE TABLE IF NOT EXISTS `Unredeemed` (`TeamID` INTEGER NOT NULL, `KeyID` INTEGER NOT NULL, `GiveRewards` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`TeamID`,`KeyID`), FOREIGN KEY(`TeamID`,`KeyID`) REFERENCES `Advancements`(`TeamID`,`KeyID`) ON DELETE CASCADE ON UPDATE CASCADE) WITHOUT ROWID;");
+                }
+                statement.executeBatch();
+            }
+            if (dictionary != null) {
+                SchemaMigration.afterSetUp(connection, queries, logger);
+                dictionary.load(connection);
+            }
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -104,7 +214,104 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void close() throws SQLException {
-        connection.close();
+        if (readConnections != null) {
+            for (Connection c : readConnections) {
+                c.close();
+            }
+        }
+        writeLock.lock();
+        try {
+            connection.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Binds the provided advancement key to the statement, starting from the provided parameter index.
+     * <p>In {@link SchemaVersion#V1} the key is bound as namespace and key, in {@link SchemaVersion#V2} as its id.
+     *
+     * @param conn The connection used to look up the key id.
+     * @param ps The statement.
+     * @param index The index of the first parameter of the key.
+     * @param key The advancement key.
+     * @param create Whether to add the key to the {@code AdvancementKeys} table if it isn't present.
+     * @return The index of the parameter after the key.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    private int setKey(@NotNull Connection conn, @NotNull PreparedStatement ps, int index, @NotNull AdvancementKey key, boolean create) throws SQLException {
+        if (dictionary == null) {
+            ps.setString(index, key.getNamespace());
+            ps.setString(index + 1, key.getKey());
+            return index + 2;
+        }
+        ps.setInt(index, create ? dictionary.getOrCreateId(conn, key) : dictionary.getId(conn, key));
+        return index + 1;
+    }
+
+    /**
+     * Gets the {@link SchemaVersion} of the database.
+     *
+     * @return The {@link SchemaVersion} of the database.
+     */
+    @NotNull
+    public SchemaVersion getSchemaVersion() {
+        return queries.version;
+    }
+
+    /**
+     * Gets a connection to run read-only queries. It must be released using {@link #releaseReadConnection(Connection)}.
+     * <p>If there are no read-only connections, the write connection is returned and the write lock is acquired.
+     *
+     * @return A connection to run read-only queries.
+     * @throws SQLException If the thread is interrupted while waiting for a connection.
+     */
+    @NotNull
+    private Connection acquireReadConnection() throws SQLException {
+        if (readConnections == null) {
+            writeLock.lock();
+            return connection;
+        }
+        try {
+            return readConnections.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a read connection.", e);
+        }
+    }
+
+    private void releaseReadConnection(@NotNull Connection conn) {
+        if (conn == connection) {
+            writeLock.unlock();
+        } else {
+            readConnections.add(conn);
+        }
+    }
+
+    /**
+     * Gets the number of read-only connections.
+     *
+     * @return The number of read-only connections.
+     */
+    public int getReadConnections() {
+        return readConnections == null ? 0 : READ_CONNECTIONS;
+    }
+
+    /**
+     * The SQLite connection profiles.
+     */
+    public enum Profile {
+        /**
+         * Rollback journal and full synchronous mode. Every operation uses the same connection.
+         */
+        DEFAULT,
+
+        /**
+         * WAL journal, normal synchronous mode, memory-mapped I/O, bigger page cache and busy timeout.
+         * <p>Writes use a single connection, while team advancements, unredeemed advancements and player names
+         * are read using a pool of {@link #READ_CONNECTIONS} read-only connections.
+         */
+        HIGH_THROUGHPUT
     }
 
     /**
@@ -112,7 +319,8 @@ public class SQLite implements IDatabase {
      */
     @Override
     public int getTeamId(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException {
-        try (PreparedStatement ps = openConnection().prepareStatement("SELECT `TeamID` FROM `Players` WHERE `UUID`=?;")) {
+        writeLock.lock();
+        try (PreparedStatement ps = connection.prepareStatement("SELECT `TeamID` FROM `Players` WHERE `UUID`=?;")) {
             ps.setString(1, uuid.toString());
             ResultSet r = ps.executeQuery();
             if (r.next()) {
@@ -120,6 +328,8 @@ public class SQLite implements IDatabase {
             } else {
                 throw new UserNotRegisteredException("No user " + uuid + " has been found.");
             }
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -128,7 +338,8 @@ public class SQLite implements IDatabase {
      */
     @Override
     public List<UUID> getTeamMembers(int teamId) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("SELECT `UUID` FROM `Players` WHERE `TeamID`=?;")) {
+        writeLock.lock();
+        try (PreparedStatement ps = connection.prepareStatement("SELECT `UUID` FROM `Players` WHERE `TeamID`=?;")) {
             ps.setInt(1, teamId);
             ResultSet r = ps.executeQuery();
             List<UUID> list = new LinkedList<>();
@@ -136,6 +347,8 @@ public class SQLite implements IDatabase {
                 list.add(UUID.fromString(r.getString(1)));
             }
             return list;
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -144,7 +357,8 @@ public class SQLite implements IDatabase {
      */
     @Override
     public Map<AdvancementKey, Integer> getTeamAdvancements(int teamId) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("SELECT `Namespace`,`Key`,`Progression` FROM `Advancements` WHERE `TeamID`=?;")) {
+        final Connection conn = acquireReadConnection();
+        try (PreparedStatement ps = conn.prepareStatement(queries.selectTeamAdvancements)) {
             ps.setInt(1, teamId);
             ResultSet r = ps.executeQuery();
             Map<AdvancementKey, Integer> map = new HashMap<>();
@@ -153,12 +367,14 @@ public class SQLite implements IDatabase {
                 String key = r.getString(2);
                 int progression = r.getInt(3);
                 try {
-                    map.put(new AdvancementKey(namespace, key), progression);
+                    map.put(AdvancementKey.of(namespace, key), progression);
                 } catch (IllegalKeyException e) {
                     logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading Advancements table: " + e.getMessage());
                 }
             }
             return map;
+        } finally {
+            releaseReadConnection(conn);
         }
     }
 
@@ -167,33 +383,38 @@ public class SQLite implements IDatabase {
      */
     @Override
     public Entry<TeamProgression, Boolean> loadOrRegisterPlayer(@NotNull UUID uuid, @NotNull String name) throws SQLException {
-        int teamId;
-        ResultSet r;
-        try (PreparedStatement psTeamId = openConnection().prepareStatement("SELECT `TeamID` FROM `Players` WHERE `UUID`=?;")) {
-            psTeamId.setString(1, uuid.toString());
-
-            r = psTeamId.executeQuery();
-            if (!r.next()) { // Player isn't registered
-                try (PreparedStatement psInsert = openConnection().prepareStatement("INSERT INTO `Teams` DEFAULT VALUES;"); PreparedStatement psInsertPl = openConnection().prepareStatement("INSERT INTO `Players` (`UUID`, `Name`, `TeamID`) VALUES (?, ?, ?);")) {
-                    psInsert.executeUpdate();
-                    r = psInsert.getGeneratedKeys();
-                    if (!r.next()) {
-                        throw new SQLException("Cannot insert default values into Teams table.");
+        writeLock.lock();
+        try {
+            int teamId;
+            ResultSet r;
+            try (PreparedStatement psTeamId = connection.prepareStatement("SELECT `TeamID` FROM `Players` WHERE `UUID`=?;")) {
+                psTeamId.setString(1, uuid.toString());
+
+                r = psTeamId.executeQuery();
+                if (!r.next()) { // Player isn't registered
+                    try (PreparedStatement psInsert = connection.prepareStatement("INSERT INTO `Teams` DEFAULT VALUES;"); PreparedStatement psInsertPl = connection.prepareStatement("INSERT INTO `Players` (`UUID`, `Name`, `TeamID`) VALUES (?, ?, ?);")) {
+                        psInsert.executeUpdate();
+                        r = psInsert.getGeneratedKeys();
+                        if (!r.next()) {
+                            throw new SQLException("Cannot insert default values into Teams table.");
+                        }
+                        teamId = r.getInt(1);
+                        psInsertPl.setString(1, uuid.toString());
+                        psInsertPl.setString(2, name);
+                        psInsertPl.setInt(3, teamId);
+                        psInsertPl.execute();
+                        return new SimpleEntry<>(new TeamProgression(teamId, uuid), true);
                     }
-                    teamId = r.getInt(1);
-                    psInsertPl.setString(1, uuid.toString());
-                    psInsertPl.setString(2, name);
-                    psInsertPl.setInt(3, teamId);
-                    psInsertPl.execute();
-                    return new SimpleEntry<>(new TeamProgression(teamId, uuid), true);
                 }
-            }
 
-            teamId = r.getInt(1);
+                teamId = r.getInt(1);
+            }
+            List<UUID> list = getTeamMembers(teamId);
+            Map<AdvancementKey, Integer> map = getTeamAdvancements(teamId);
+            return new SimpleEntry<>(new TeamProgression(map, teamId, list), false);
+        } finally {
+            writeLock.unlock();
         }
-        List<UUID> list = getTeamMembers(teamId);
-        Map<AdvancementKey, Integer> map = getTeamAdvancements(teamId);
-        return new SimpleEntry<>(new TeamProgression(map, teamId, list), false);
     }
 
     /**
@@ -201,59 +422,278 @@ public class SQLite implements IDatabase {
      */
     @Override
     public TeamProgression loadUUID(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException {
-        int teamID = Integer.MIN_VALUE;
-        List<UUID> list = new LinkedList<>();
-        try (PreparedStatement psTeamId = openConnection().prepareStatement("SELECT `UUID`, `TeamID` FROM `Players` WHERE `TeamID`=(SELECT `TeamID` FROM `Players` WHERE `UUID`=? LIMIT 1);")) {
-            psTeamId.setString(1, uuid.toString());
-            ResultSet r = psTeamId.executeQuery();
-            while (r.next()) {
-                list.add(UUID.fromString(r.getString(1)));
-                if (teamID == Integer.MIN_VALUE)
-                    teamID = r.getInt(2);
-            }
+        final PlayerLoadResult result;
+        final Connection conn = acquireReadConnection();
+        try {
+            result = loadTeam(conn, uuid, false);
+        } finally {
+            releaseReadConnection(conn);
         }
-
-        if (teamID == Integer.MIN_VALUE)
+        if (result == null) {
             throw new UserNotRegisteredException("No user " + uuid + " has been found.");
+        }
+        return result.getTeamProgression();
+    }
 
-        try (PreparedStatement psAdv = openConnection().prepareStatement("SELECT `Namespace`, `Key`, `Progression` FROM `Advancements` WHERE `TeamID`=?;")) {
-            Map<AdvancementKey, Integer> map = new HashMap<>();
-            psAdv.setInt(1, teamID);
-            ResultSet r = psAdv.executeQuery();
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PlayerLoadResult loadPlayer(@NotNull UUID uuid, @NotNull String name) throws SQLException {
+        final PlayerLoadResult result;
+        final Connection conn = acquireReadConnection();
+        try {
+            result = loadTeam(conn, uuid, true);
+        } finally {
+            releaseReadConnection(conn);
+        }
+        if (result != null) {
+            return result;
+        }
+        // The player isn't registered
+        Entry<TeamProgression, Boolean> e = loadOrRegisterPlayer(uuid, name);
+        // If the player has been registered by another thread in the meantime, their team may have unredeemed advancements
+        List<Entry<AdvancementKey, Boolean>> unredeemed = e.getValue() ? new LinkedList<>() : getUnredeemed(e.getKey().getTeamId());
+        return new PlayerLoadResult(e.getKey(), e.getValue(), unredeemed);
+    }
+
+    /**
+     * Loads the team of the provided player in a single query.
+     *
+     * @param conn The connection to use.
+     * @param uuid The player {@link UUID}.
+     * @param loadUnredeemed Whether to load the unredeemed advancements of the team.
+     * @return A {@link PlayerLoadResult} with the player team information (the unredeemed advancements are {@code null}
+     *         if {@code loadUnredeemed} is {@code false}), or {@code null} if the player is not registered.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    @Nullable
+    private PlayerLoadResult loadTeam(@NotNull Connection conn, @NotNull UUID uuid, boolean loadUnredeemed) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(loadUnredeemed ? queries.loadTeamWithUnredeemed : queries.loadTeam)) {
+            final String uuidString = uuid.toString();
+            final int parameters = loadUnredeemed ? 3 : 2;
+            for (int i = 1; i <= parameters; i++) {
+                ps.setString(i, uuidString);
+            }
+            ResultSet r = ps.executeQuery();
+            int teamId = Integer.MIN_VALUE;
+            List<UUID> members = new LinkedList<>();
+            Map<AdvancementKey, Integer> advancements = new HashMap<>();
+            List<Entry<AdvancementKey, Boolean>> unredeemed = loadUnredeemed ? new LinkedList<>() : null;
             while (r.next()) {
-                String namespace = r.getString(1);
-                String key = r.getString(2);
-                int progression = r.getInt(3);
+                final int rowType = r.getInt(1);
+                if (rowType == MEMBER_ROW) {
+                    members.add(UUID.fromString(r.getString(2)));
+                    teamId = r.getInt(4);
+                    continue;
+                }
+                String namespace = r.getString(2);
+                String key = r.getString(3);
                 try {
-                    map.put(new AdvancementKey(namespace, key), progression);
+                    AdvancementKey advKey = AdvancementKey.of(namespace, key);
+                    if (rowType == ADVANCEMENT_ROW) {
+                        advancements.put(advKey, r.getInt(4));
+                    } else {
+                        unredeemed.add(new SimpleEntry<>(advKey, r.getInt(4) != 0)); // false iff r.getInt(4) == 0
+                    }
                 } catch (IllegalKeyException e) {
-                    logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading Advancements table: " + e.getMessage());
+                    logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading " + (rowType == ADVANCEMENT_ROW ? "Advancements" : "Unredeemed") + " table: " + e.getMessage());
                 }
             }
-            return new TeamProgression(map, teamID, list);
+            if (teamId == Integer.MIN_VALUE) {
+                return null;
+            }
+            return new PlayerLoadResult(new TeamProgression(advancements, teamId, members), false, unredeemed);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<UUID, PlayerLoadResult> loadPlayers(@NotNull Map<UUID, String> players) throws SQLException {
+        Map<UUID, PlayerLoadResult> results = new HashMap<>();
+        if (players.isEmpty()) {
+            return results;
+        }
+        final Map<UUID, Integer> teamIds;
+        final Map<Integer, PlayerLoadResult> teams;
+        final Connection conn = acquireReadConnection();
+        try {
+            teamIds = getTeamIds(conn, players.keySet());
+            teams = loadTeams(conn, teamIds.values());
+        } finally {
+            releaseReadConnection(conn);
+        }
+        for (Entry<UUID, String> e : players.entrySet()) {
+            Integer teamId = teamIds.get(e.getKey());
+            PlayerLoadResult result = teamId == null ? null : teams.get(teamId);
+            // Load the player again if they aren't registered or if their team changed in the meantime
+            results.put(e.getKey(), result != null && result.getTeamProgression().contains(e.getKey()) ? result : loadPlayer(e.getKey(), e.getValue()));
+        }
+        return results;
+    }
+
+    /**
+     * Gets the team ids of the provided players. Players which aren't registered are not present in the returned map.
+     *
+     * @param conn The connection to use.
+     * @param uuids The players {@link UUID}s.
+     * @return The team ids of the registered players.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    @NotNull
+    private Map<UUID, Integer> getTeamIds(@NotNull Connection conn, @NotNull Collection<UUID> uuids) throws SQLException {
+        Map<UUID, Integer> teamIds = new HashMap<>();
+        final List<UUID> list = new ArrayList<>(uuids);
+        for (int i = 0; i < list.size(); i += MAX_IN_PARAMETERS) {
+            final List<UUID> chunk = list.subList(i, Math.min(i + MAX_IN_PARAMETERS, list.size()));
+            try (PreparedStatement ps = conn.prepareStatement("SELECT `UUID`, `TeamID` FROM `Players` WHERE `UUID` IN (" + SchemaQueries.placeholders(chunk.size()) + ");")) {
+                int index = 1;
+                for (UUID uuid : chunk) {
+                    ps.setString(index++, uuid.toString());
+                }
+                ResultSet r = ps.executeQuery();
+                while (r.next()) {
+                    teamIds.put(UUID.fromString(r.getString(1)), r.getInt(2));
+                }
+            }
+        }
+        return teamIds;
+    }
+
+    /**
+     * Loads the provided teams, including their unredeemed advancements, using one query every {@link #MAX_IN_PARAMETERS} / 3 teams.
+     *
+     * @param conn The connection to use.
+     * @param teamIds The ids of the teams to load.
+     * @return The loaded teams mapped by their ids. Teams without members are not present in the returned map.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    @NotNull
+    private Map<Integer, PlayerLoadResult> loadTeams(@NotNull Connection conn, @NotNull Collection<Integer> teamIds) throws SQLException {
+        Map<Integer, List<UUID>> members = new HashMap<>();
+        Map<Integer, Map<AdvancementKey, Integer>> advancements = new HashMap<>();
+        Map<Integer, List<Entry<AdvancementKey, Boolean>>> unredeemed = new HashMap<>();
+        final List<Integer> list = new ArrayList<>(new HashSet<>(teamIds));
+        final int chunkSize = MAX_IN_PARAMETERS / 3; // The team ids are used three times per query
+        for (int i = 0; i < list.size(); i += chunkSize) {
+            final List<Integer> chunk = list.subList(i, Math.min(i + chunkSize, list.size()));
+            try (PreparedStatement ps = conn.prepareStatement(queries.loadTeams(chunk.size()))) {
+                int index = 1;
+                for (int q = 0; q < 3; q++) {
+                    for (int teamId : chunk) {
+                        ps.setInt(index++, teamId);
+                    }
+                }
+                ResultSet r = ps.executeQuery();
+                while (r.next()) {
+                    final int rowType = r.getInt(1);
+                    final int teamId = r.getInt(2);
+                    if (rowType == MEMBER_ROW) {
+                        members.computeIfAbsent(teamId, t -> new LinkedList<>()).add(UUID.fromString(r.getString(3)));
+                        continue;
+                    }
+                    String namespace = r.getString(3);
+                    String key = r.getString(4);
+                    try {
+                        AdvancementKey advKey = AdvancementKey.of(namespace, key);
+                        if (rowType == ADVANCEMENT_ROW) {
+                            advancements.computeIfAbsent(teamId, t -> new HashMap<>()).put(advKey, r.getInt(5));
+                        } else {
+                            unredeemed.computeIfAbsent(teamId, t -> new LinkedList<>()).add(new SimpleEntry<>(advKey, r.getInt(5) != 0)); // false iff r.getInt(5) == 0
+                        }
+                    } catch (IllegalKeyException e) {
+                        logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading " + (rowType == ADVANCEMENT_ROW ? "Advancements" : "Unredeemed") + " table: " + e.getMessage());
+                    }
+                }
+            }
+        }
+        Map<Integer, PlayerLoadResult> teams = new HashMap<>();
+        for (Entry<Integer, List<UUID>> e : members.entrySet()) {
+            final int teamId = e.getKey();
+            TeamProgression pro = new TeamProgression(advancements.getOrDefault(teamId, new HashMap<>()), teamId, e.getValue());
+            teams.put(teamId, new PlayerLoadResult(pro, false, unredeemed.getOrDefault(teamId, new LinkedList<>())));
+        }
+        return teams;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void updateAdvancement(@NotNull AdvancementKey key, int teamId, @Range(from = 0, to = Integer.MAX_VALUE) int progression) throws SQLException {
-        if (progression <= 0) {
-            try (PreparedStatement ps = openConnection().prepareStatement("DELETE FROM `Advancements` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-                ps.setString(1, key.getNamespace());
-                ps.setString(2, key.getKey());
-                ps.setInt(3, teamId);
-                ps.execute();
+        writeLock.lock();
+        try {
+            if (progression <= 0) {
+                try (PreparedStatement ps = connection.prepareStatement(queries.deleteAdvancement)) {
+                    int i = setKey(connection, ps, 1, key, false);
+                    ps.setInt(i, teamId);
+                    ps.execute();
+                }
+            } else {
+                try (PreparedStatement ps = connection.prepareStatement(queries.upsertAdvancement)) {
+                    int i = setKey(connection, ps, 1, key, true);
+                    ps.setInt(i, teamId);
+                    ps.setInt(i + 1, progression);
+                    ps.execute();
+                }
             }
-        } else {
-            try (PreparedStatement ps = openConnection().prepareStatement("INSERT OR REPLACE INTO `Advancements` (`Namespace`, `Key`, `TeamID`, `Progression`) VALUES (?, ?, ?, ?);")) {
-                ps.setString(1, key.getNamespace());
-                ps.setString(2, key.getKey());
-                ps.setInt(3, teamId);
-                ps.setInt(4, progression);
-                ps.execute();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAdvancements(@NotNull Collection<ProgressionUpdate> updates) throws SQLException {
+        if (updates.isEmpty()) {
+            return;
+        }
+        // Deletions and upserts are run as two batches, so keep only the last update of every advancement of every team
+        updates = ProgressionUpdate.lastUpdates(updates);
+        writeLock.lock();
+        try {
+            final Connection conn = connection;
+            if (dictionary != null) {
+                // Cached ids must not be rolled back, so missing keys are added before the transaction
+                List<AdvancementKey> keys = new ArrayList<>(updates.size());
+                for (ProgressionUpdate update : updates) {
+                    if (update.getProgression() > 0) {
+                        keys.add(update.getKey());
+                    }
+                }
+                dictionary.createIds(conn, keys);
+            }
+            conn.setAutoCommit(false);
+            try (PreparedStatement psDelete = conn.prepareStatement(queries.deleteAdvancement); PreparedStatement psInsert = conn.prepareStatement(queries.upsertAdvancement)) {
+                for (ProgressionUpdate update : updates) {
+                    final AdvancementKey key = update.getKey();
+                    if (update.getProgression() <= 0) {
+                        int i = setKey(conn, psDelete, 1, key, false);
+                        psDelete.setInt(i, update.getTeamId());
+                        psDelete.addBatch();
+                    } else {
+                        int i = setKey(conn, psInsert, 1, key, false); // Keys have been added before starting the transaction
+                        psInsert.setInt(i, update.getTeamId());
+                        psInsert.setInt(i + 1, update.getProgression());
+                        psInsert.addBatch();
+                    }
+                }
+                // Updates are unique per (key, team) now, so the execution order of the two batches doesn't matter
+                psDelete.executeBatch();
+                psInsert.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -262,7 +702,8 @@ public class SQLite implements IDatabase {
      */
     @Override
     public List<Entry<AdvancementKey, Boolean>> getUnredeemed(int teamId) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("SELECT `Namespace`, `Key`, `GiveRewards` FROM `Unredeemed` WHERE `TeamID`=?;")) {
+        final Connection conn = acquireReadConnection();
+        try (PreparedStatement ps = conn.prepareStatement(queries.selectUnredeemed)) {
             ps.setInt(1, teamId);
             ResultSet r = ps.executeQuery();
             List<Entry<AdvancementKey, Boolean>> list = new LinkedList<>();
@@ -271,12 +712,14 @@ public class SQLite implements IDatabase {
                 String key = r.getString(2);
                 boolean giveRewards = r.getInt(3) != 0; // false iff r.getInt(3) == 0
                 try {
-                    list.add(new SimpleEntry<>(new AdvancementKey(namespace, key), giveRewards));
+                    list.add(new SimpleEntry<>(AdvancementKey.of(namespace, key), giveRewards));
                 } catch (IllegalKeyException e) {
                     logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading Unredeemed table: " + e.getMessage());
                 }
             }
             return list;
+        } finally {
+            releaseReadConnection(conn);
         }
     }
 
@@ -285,12 +728,46 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void setUnredeemed(@NotNull AdvancementKey key, boolean giveRewards, int teamId) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("INSERT OR IGNORE INTO `Unredeemed` (`Namespace`, `Key`, `TeamID`, `GiveRewards`) VALUES (?, ?, ?, ?);")) {
-            ps.setString(1, key.getNamespace());
-            ps.setString(2, key.getKey());
-            ps.setInt(3, teamId);
-            ps.setInt(4, giveRewards ? 1 : 0);
+        writeLock.lock();
+        try (PreparedStatement ps = connection.prepareStatement(queries.insertUnredeemed)) {
+            int i = setKey(connection, ps, 1, key, false);
+            ps.setInt(i, teamId);
+            ps.setInt(i + 1, giveRewards ? 1 : 0);
             ps.execute();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setUnredeemed(@NotNull Collection<UnredeemedUpdate> updates) throws SQLException {
+        if (updates.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            final Connection conn = connection;
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(queries.insertUnredeemed)) {
+                for (UnredeemedUpdate update : updates) {
+                    int i = setKey(conn, ps, 1, update.getKey(), false);
+                    ps.setInt(i, update.getTeamId());
+                    ps.setInt(i + 1, update.isGiveRewards() ? 1 : 0);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -299,12 +776,14 @@ public class SQLite implements IDatabase {
      */
     @Override
     public boolean isUnredeemed(@NotNull AdvancementKey key, int teamId) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("SELECT Count(*) FROM `Unredeemed` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-            ps.setString(1, key.getNamespace());
-            ps.setString(2, key.getKey());
-            ps.setInt(3, teamId);
+        writeLock.lock();
+        try (PreparedStatement ps = connection.prepareStatement(queries.countUnredeemed)) {
+            int i = setKey(connection, ps, 1, key, false);
+            ps.setInt(i, teamId);
             ResultSet r = ps.executeQuery();
             return r.next() && r.getInt(1) > 0;
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -313,11 +792,13 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void unsetUnredeemed(@NotNull AdvancementKey key, int teamId) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("DELETE FROM `Unredeemed` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-            ps.setString(1, key.getNamespace());
-            ps.setString(2, key.getKey());
-            ps.setInt(3, teamId);
+        writeLock.lock();
+        try (PreparedStatement ps = connection.prepareStatement(queries.deleteUnredeemed)) {
+            int i = setKey(connection, ps, 1, key, false);
+            ps.setInt(i, teamId);
             ps.execute();
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -326,13 +807,60 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void unsetUnredeemed(@NotNull List<Entry<AdvancementKey, Boolean>> keyList, int teamId) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("DELETE FROM `Unredeemed` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-            for (Entry<AdvancementKey, ?> key : keyList) {
-                ps.setString(1, key.getKey().getNamespace());
-                ps.setString(2, key.getKey().getKey());
-                ps.setInt(3, teamId);
-                ps.execute();
+        if (keyList.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            final Connection conn = connection;
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(queries.deleteUnredeemed)) {
+                for (Entry<AdvancementKey, ?> key : keyList) {
+                    int i = setKey(conn, ps, 1, key.getKey(), false);
+                    ps.setInt(i, teamId);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void unsetUnredeemed(@NotNull Collection<UnredeemedUpdate> updates) throws SQLException {
+        if (updates.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            final Connection conn = connection;
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(queries.deleteUnredeemed)) {
+                for (UnredeemedUpdate update : updates) {
+                    int i = setKey(conn, ps, 1, update.getKey(), false);
+                    ps.setInt(i, update.getTeamId());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -341,9 +869,12 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void unregisterPlayer(@NotNull UUID uuid) throws SQLException {
-        try (PreparedStatement stDelete = openConnection().prepareStatement("DELETE FROM `Players` WHERE `UUID`=?;")) {
+        writeLock.lock();
+        try (PreparedStatement stDelete = connection.prepareStatement("DELETE FROM `Players` WHERE `UUID`=?;")) {
             stDelete.setString(1, uuid.toString());
             stDelete.execute();
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -352,10 +883,44 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void movePlayer(@NotNull UUID uuid, int newTeamId) throws SQLException {
-        try (PreparedStatement stUpdate = openConnection().prepareStatement("UPDATE `Players` SET `TeamID`=? WHERE `UUID`=?;")) {
+        writeLock.lock();
+        try (PreparedStatement stUpdate = connection.prepareStatement("UPDATE `Players` SET `TeamID`=? WHERE `UUID`=?;")) {
             stUpdate.setInt(1, newTeamId);
             stUpdate.setString(2, uuid.toString());
             stUpdate.execute();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void movePlayers(@NotNull Collection<UUID> uuids, int newTeamId) throws SQLException {
+        if (uuids.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            final Connection conn = connection;
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement("UPDATE `Players` SET `TeamID`=? WHERE `UUID`=?;")) {
+                for (UUID uuid : uuids) {
+                    ps.setInt(1, newTeamId);
+                    ps.setString(2, uuid.toString());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -364,7 +929,8 @@ public class SQLite implements IDatabase {
      */
     @Override
     public TeamProgression movePlayerInNewTeam(@NotNull UUID uuid) throws SQLException {
-        try (PreparedStatement psInsert = openConnection().prepareStatement("INSERT INTO `Teams` DEFAULT VALUES;")) {
+        writeLock.lock();
+        try (PreparedStatement psInsert = connection.prepareStatement("INSERT INTO `Teams` DEFAULT VALUES;")) {
             psInsert.executeUpdate();
             ResultSet r = psInsert.getGeneratedKeys();
             if (!r.next()) {
@@ -373,6 +939,8 @@ public class SQLite implements IDatabase {
             int teamId = r.getInt(1);
             movePlayer(uuid, teamId);
             return new TeamProgression(teamId, uuid);
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -381,7 +949,8 @@ public class SQLite implements IDatabase {
      */
     @Override
     public List<UUID> getPlayersByName(@NotNull String name) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("SELECT `UUID` FROM `Players` WHERE `Name`=?;")) {
+        final Connection conn = acquireReadConnection();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT `UUID` FROM `Players` WHERE `Name`=?;")) {
             ps.setString(1, name);
             ResultSet r = ps.executeQuery();
             List<UUID> list = new LinkedList<>();
@@ -389,6 +958,8 @@ public class SQLite implements IDatabase {
                 list.add(UUID.fromString(r.getString(1)));
             }
             return list;
+        } finally {
+            releaseReadConnection(conn);
         }
     }
 
@@ -397,13 +968,16 @@ public class SQLite implements IDatabase {
      */
     @Override
     public String getPlayerName(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException {
-        try (PreparedStatement ps = openConnection().prepareStatement("SELECT `Name` FROM `Players` WHERE `UUID`=? LIMIT 1;")) {
+        writeLock.lock();
+        try (PreparedStatement ps = connection.prepareStatement("SELECT `Name` FROM `Players` WHERE `UUID`=? LIMIT 1;")) {
             ps.setString(1, uuid.toString());
             ResultSet r = ps.executeQuery();
             if (!r.next()) {
                 throw new UserNotRegisteredException("No user " + uuid + " has been found.");
             }
             return r.getString(1);
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -412,10 +986,13 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void updatePlayerName(@NotNull UUID uuid, @NotNull String name) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("UPDATE `Players` SET `Name`=? WHERE `UUID`=?;")) {
+        writeLock.lock();
+        try (PreparedStatement ps = connection.prepareStatement("UPDATE `Players` SET `Name`=? WHERE `UUID`=?;")) {
             ps.setString(1, name);
             ps.setString(2, uuid.toString());
             ps.execute();
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -424,8 +1001,11 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void clearUpTeams() throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("DELETE FROM `Teams` WHERE `ID` NOT IN (SELECT `TeamID` FROM `Players` GROUP BY `TeamID`);")) {
+        writeLock.lock();
+        try (PreparedStatement ps = connection.prepareStatement("DELETE FROM `Teams` WHERE `ID` NOT IN (SELECT `TeamID` FROM `Players` GROUP BY `TeamID`);")) {
             ps.execute();
+        } finally {
+            writeLock.unlock();
         }
     }
 }
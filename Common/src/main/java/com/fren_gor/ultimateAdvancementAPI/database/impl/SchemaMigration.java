@@ -0,0 +1,139 @@
+package com.fren_gor.ultimateAdvancementAPI.database.impl;
+
+import com.fren_gor.ultimateAdvancementAPI.database.SchemaVersion;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+/**
+ * Migration of the database from {@link SchemaVersion#V1} to {@link SchemaVersion#V2}.
+ * <p>The migration is done in two steps around the creation of the tables:
+ * <ol>
+ *     <li>{@link #beforeSetUp(Connection, SchemaVersion, Logger)} renames the {@link SchemaVersion#V1} tables, so that the
+ *     {@link SchemaVersion#V2} tables can be created with their usual names;</li>
+ *     <li>{@link #afterSetUp(Connection, SchemaQueries, Logger)} copies the rows of the renamed tables into the new ones,
+ *     in groups of teams, and then drops the renamed tables.</li>
+ * </ol>
+ * If the migration is interrupted, it is resumed the next time the database is set up.
+ * <p>The migration runs on the thread which sets up the database. Since the database is set up when the API is enabled,
+ * that is usually the server main thread, which doesn't tick until the migration completes. For this reason, a warning
+ * with the number of rows to copy is logged before starting and the progress is logged every {@link #PROGRESS_LOG_INTERVAL} milliseconds.
+ */
+final class SchemaMigration {
+
+    private static final int TEAMS_PER_STEP = 10000;
+    private static final long PROGRESS_LOG_INTERVAL = 5000;
+
+    private SchemaMigration() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+
+    /**
+     * Prepares the migration. Must be called before the tables are created.
+     *
+     * @param conn The connection to use.
+     * @param version The schema version in use.
+     * @param logger The plugin {@link Logger}.
+     * @throws SQLException If an SQL exception occurs or if the database uses a newer schema version.
+     */
+    static void beforeSetUp(@NotNull Connection conn, @NotNull SchemaVersion version, @NotNull Logger logger) throws SQLException {
+        if (version == SchemaVersion.V1) {
+            if (hasColumn(conn, "Advancements", "KeyID")) {
+                throw new SQLException("The database uses the schema version " + SchemaVersion.V2 + ", it cannot be used with schema version " + SchemaVersion.V1 + '.');
+            }
+            return;
+        }
+        if (hasColumn(conn, "Advancements", "Namespace")) {
+            logger.warning("Migrating the database to schema version " + SchemaVersion.V2 + ". The server is blocked until the migration completes, this may take a while...");
+            try (Statement statement = conn.createStatement()) {
+                if (hasTable(conn, "Unredeemed")) {
+                    statement.executeUpdate("ALTER TABLE `Unredeemed` RENAME TO `Unredeemed_v1`;");
+                }
+                statement.executeUpdate("ALTER TABLE `Advancements` RENAME TO `Advancements_v1`;");
+            }
+        }
+    }
+
+    /**
+     * Completes the migration, if one is in progress. Must be called after the tables are created.
+     *
+     * @param conn The connection to use.
+     * @param queries The {@link SchemaVersion#V2} queries.
+     * @param logger The plugin {@link Logger}.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    static void afterSetUp(@NotNull Connection conn, @NotNull SchemaQueries queries, @NotNull Logger logger) throws SQLException {
+        if (queries.version != SchemaVersion.V2 || !hasTable(conn, "Advancements_v1")) {
+            return;
+        }
+        final boolean unredeemed = hasTable(conn, "Unredeemed_v1");
+        try (Statement statement = conn.createStatement()) {
+            statement.executeUpdate(queries.insertIgnore + " INTO `AdvancementKeys` (`Namespace`, `Key`) SELECT DISTINCT `Namespace`, `Key` FROM `Advancements_v1`;");
+
+            int min, max;
+            long rows;
+            try (ResultSet r = statement.executeQuery("SELECT MIN(`TeamID`), MAX(`TeamID`), COUNT(*) FROM `Advancements_v1`;")) {
+                r.next();
+                min = r.getInt(1);
+                max = r.getInt(2);
+                rows = r.getLong(3);
+            }
+            logger.warning("Copying " + rows + " advancement progressions to the new tables. Do not stop the server: if the migration is interrupted, it is resumed on the next startup.");
+            final long teams = (long) max - min + 1;
+            long lastLog = System.currentTimeMillis();
+            // Copy the rows in steps to avoid too big transactions
+            try (PreparedStatement psAdv = conn.prepareStatement(queries.insertIgnore + " INTO `Advancements` (`KeyID`, `TeamID`, `Progression`) SELECT k.`ID`, a.`TeamID`, a.`Progression` FROM `Advancements_v1` a JOIN `AdvancementKeys` k ON k.`Namespace`=a.`Namespace` AND k.`Key`=a.`Key` WHERE a.`TeamID` BETWEEN ? AND ?;");
+                 PreparedStatement psUnr = conn.prepareStatement(queries.insertIgnore + " INTO `Unredeemed` (`KeyID`, `TeamID`, `GiveRewards`) SELECT k.`ID`, u.`TeamID`, u.`GiveRewards` FROM `Unredeemed_v1` u JOIN `AdvancementKeys` k ON k.`Namespace`=u.`Namespace` AND k.`Key`=u.`Key` WHERE u.`TeamID` BETWEEN ? AND ?;")) {
+                for (long from = min; from <= max; from += TEAMS_PER_STEP) {
+                    final int to = (int) Math.min(from + TEAMS_PER_STEP - 1, max);
+                    psAdv.setInt(1, (int) from);
+                    psAdv.setInt(2, to);
+                    psAdv.executeUpdate();
+                    if (unredeemed) {
+                        psUnr.setInt(1, (int) from);
+                        psUnr.setInt(2, to);
+                        psUnr.executeUpdate();
+                    }
+                    final long now = System.currentTimeMillis();
+                    if (now - lastLog >= PROGRESS_LOG_INTERVAL && to < max) {
+                        lastLog = now;
+                        logger.info("Migration progress: " + (((long) to - min + 1) * 100 / teams) + "% (teams " + min + '-' + to + " of " + min + '-' + max + ").");
+                    }
+                }
+            }
+
+            if (unredeemed) {
+                statement.executeUpdate("DROP TABLE `Unredeemed_v1`;");
+            }
+            statement.executeUpdate("DROP TABLE `Advancements_v1`;");
+        }
+        logger.info("Database migrated to schema version " + SchemaVersion.V2 + '.');
+    }
+
+    private static boolean hasTable(@NotNull Connection conn, @NotNull String table) throws SQLException {
+        try (ResultSet r = conn.getMetaData().getTables(conn.getCatalog(), null, table, null)) {
+            while (r.next()) {
+                if (table.equalsIgnoreCase(r.getString("TABLE_NAME"))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static boolean hasColumn(@NotNull Connection conn, @NotNull String table, @NotNull String column) throws SQLException {
+        try (ResultSet r = conn.getMetaData().getColumns(conn.getCatalog(), null, table, column)) {
+            while (r.next()) {
+                if (table.equalsIgnoreCase(r.getString("TABLE_NAME")) && column.equalsIgnoreCase(r.getString("COLUMN_NAME"))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.fren_gor.ultimateAdvancementAPI.database.impl;
+
+import com.fren_gor.ultimateAdvancementAPI.database.SchemaVersion;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The queries on the {@code Advancements}, {@code Unredeemed} and {@code AdvancementKeys} tables for a {@link SchemaVersion}.
+ * <p>In {@link SchemaVersion#V1} advancement keys are bound as two parameters (namespace and key),
+ * while in {@link SchemaVersion#V2} they are bound as a single integer parameter (the key id).
+ * In both versions, queries which return advancement keys return them as two columns (namespace and key).
+ */
+final class SchemaQueries {
+
+    // Every row of the load queries starts with its type, followed by the row values
+    static final int MEMBER_ROW = 0, ADVANCEMENT_ROW = 1, UNREDEEMED_ROW = 2;
+    private static final String TEAM_ID_SUBQUERY = "(SELECT `TeamID` FROM `Players` WHERE `UUID`=? LIMIT 1)";
+
+    final SchemaVersion version;
+    final String selectTeamAdvancements;
+    final String loadTeam, loadTeamWithUnredeemed;
+    final String deleteAdvancement, upsertAdvancement;
+    final String selectUnredeemed, insertUnredeemed, countUnredeemed, deleteUnredeemed;
+    final String insertIgnore;
+    final String insertAdvancementKey, selectAdvancementKeyId, selectAdvancementKey, selectAdvancementKeys;
+
+    private final String advancementsFrom, advancementsKey, unredeemedFrom, unredeemedKey;
+
+    /**
+     * Creates the queries for the provided schema version.
+     *
+     * @param version The schema version.
+     * @param mySQL Whether to use MySQL syntax instead of SQLite one.
+     */
+    SchemaQueries(@NotNull SchemaVersion version, boolean mySQL) {
+        this.version = Preconditions.checkNotNull(version, "SchemaVersion is null.");
+        this.insertIgnore = mySQL ? "INSERT IGNORE" : "INSERT OR IGNORE";
+
+        final String keyColumns, keyParameters, keyCondition;
+        if (version == SchemaVersion.V1) {
+            keyColumns = "`Namespace`, `Key`";
+            keyParameters = "?, ?";
+            keyCondition = "`Namespace`=? AND `Key`=?";
+            advancementsFrom = "`Advancements` a";
+            advancementsKey = "a.`Namespace`, a.`Key`";
+            unredeemedFrom = "`Unredeemed` u";
+            unredeemedKey = "u.`Namespace`, u.`Key`";
+        } else {
+            keyColumns = "`KeyID`";
+            keyParameters = "?";
+            keyCondition = "`KeyID`=?";
+            advancementsFrom = "`Advancements` a JOIN `AdvancementKeys` k ON k.`ID`=a.`KeyID`";
+            advancementsKey = "k.`Namespace`, k.`Key`";
+            unredeemedFrom = "`Unredeemed` u JOIN `AdvancementKeys` k ON k.`ID`=u.`KeyID`";
+            unredeemedKey = "k.`Namespace`, k.`Key`";
+        }
+
+        selectTeamAdvancements = "SELECT " + advancementsKey + ", a.`Progression` FROM " + advancementsFrom + " WHERE a.`TeamID`=?;";
+        loadTeam = "SELECT " + MEMBER_ROW + ", `UUID`, NULL, `TeamID` FROM `Players` WHERE `TeamID`=" + TEAM_ID_SUBQUERY +
+                " UNION ALL SELECT " + ADVANCEMENT_ROW + ", " + advancementsKey + ", a.`Progression` FROM " + advancementsFrom + " WHERE a.`TeamID`=" + TEAM_ID_SUBQUERY;
+        loadTeamWithUnredeemed = loadTeam +
+                " UNION ALL SELECT " + UNREDEEMED_ROW + ", " + unredeemedKey + ", u.`GiveRewards` FROM " + unredeemedFrom + " WHERE u.`TeamID`=" + TEAM_ID_SUBQUERY;
+
+        deleteAdvancement = "DELETE FROM `Advancements` WHERE " + keyCondition + " AND `TeamID`=?;";
+        if (mySQL) {
+            upsertAdvancement = "INSERT INTO `Advancements` (" + keyColumns + ", `TeamID`, `Progression`) VALUES (" + keyParameters + ", ?, ?) ON DUPLICATE KEY UPDATE `Progression`=VALUES(`Progression`);";
+        } else {
+            upsertAdvancement = "INSERT OR REPLACE INTO `Advancements` (" + keyColumns + ", `TeamID`, `Progression`) VALUES (" + keyParameters + ", ?, ?);";
+        }
+
+        selectUnredeemed = "SELECT " + unredeemedKey + ", u.`GiveRewards` FROM " + unredeemedFrom + " WHERE u.`TeamID`=?;";
+        insertUnredeemed = insertIgnore + " INTO `Unredeemed` (" + keyColumns + ", `TeamID`, `GiveRewards`) VALUES (" + keyParameters + ", ?, ?);";
+        countUnredeemed = "SELECT Count(*) FROM `Unredeemed` WHERE " + keyCondition + " AND `TeamID`=?;";
+        deleteUnredeemed = "DELETE FROM `Unredeemed` WHERE " + keyCondition + " AND `TeamID`=?;";
+
+        insertAdvancementKey = insertIgnore + " INTO `AdvancementKeys` (`Namespace`, `Key`) VALUES (?, ?);";
+        selectAdvancementKeyId = "SELECT `ID` FROM `AdvancementKeys` WHERE `Namespace`=? AND `Key`=?;";
+        selectAdvancementKey = "SELECT `Namespace`, `Key` FROM `AdvancementKeys` WHERE `ID`=?;";
+        selectAdvancementKeys = "SELECT `ID`, `Namespace`, `Key` FROM `AdvancementKeys`;";
+    }
+
+    /**
+     * Gets the query which loads the members, the advancements and the unredeemed advancements of many teams.
+     * <p>The team ids must be bound three times, one after the other.
+     *
+     * @param teams The number of teams to load.
+     * @return The query.
+     */
+    @NotNull
+    String loadTeams(int teams) {
+        final String in = " IN (" + placeholders(teams) + ")";
+        return "SELECT " + MEMBER_ROW + ", `TeamID`, `UUID`, NULL, 0 FROM `Players` WHERE `TeamID`" + in +
+                " UNION ALL SELECT " + ADVANCEMENT_ROW + ", a.`TeamID`, " + advancementsKey + ", a.`Progression` FROM " + advancementsFrom + " WHERE a.`TeamID`" + in +
+                " UNION ALL SELECT " + UNREDEEMED_ROW + ", u.`TeamID`, " + unredeemedKey + ", u.`GiveRewards` FROM " + unredeemedFrom + " WHERE u.`TeamID`" + in + ';';
+    }
+
+    @NotNull
+    static String placeholders(int amount) {
+        StringBuilder builder = new StringBuilder(amount * 2);
+        for (int i = 0; i < amount; i++) {
+            if (i != 0) {
+                builder.append(',');
+            }
+            builder.append('?');
+        }
+        return builder.toString();
+    }
+}
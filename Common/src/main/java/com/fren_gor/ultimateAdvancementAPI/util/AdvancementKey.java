@@ -5,11 +5,15 @@ import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.MinecraftKeyWrapper;
 import com.google.common.base.Preconditions;
 import org.bukkit.NamespacedKey;
 import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
@@ -37,6 +41,18 @@ public final class AdvancementKey implements Comparable<AdvancementKey> {
     @NotNull
     private final MinecraftKeyWrapper minecraftKey;
 
+    // The ordinal of every key. Ordinals are never reused, so the same key always has the same ordinal
+    private static final Map<AdvancementKey, Integer> ORDINALS = new ConcurrentHashMap<>();
+    // Guarded by ORDINALS
+    private static AdvancementKey[] ordinalKeys = new AdvancementKey[64];
+
+    // The keys of the registered advancements, by namespace and key and by their string representation
+    private static final Map<String, Map<String, AdvancementKey>> INTERNED = new ConcurrentHashMap<>();
+    private static final Map<String, AdvancementKey> INTERNED_STRINGS = new ConcurrentHashMap<>();
+
+    // The ordinal plus one, or 0 if it has not been looked up yet (like String#hashCode, races are harmless)
+    private int ordinal;
+
     /**
      * Creates a new {@code AdvancementKey} with the provided plugin's (lowercased) name as namespace and the specified key.
      *
@@ -116,6 +132,56 @@ public final class AdvancementKey implements Comparable<AdvancementKey> {
         return minecraftKey;
     }
 
+    /**
+     * Gets the ordinal of this namespaced key.
+     * <p>Every namespaced key is given a dense ordinal (starting from 0) the first time it is requested.
+     * Equal keys always have the same ordinal. Ordinals are used to index arrays instead of hashing keys (see {@link com.fren_gor.ultimateAdvancementAPI.database.TeamProgression}).
+     *
+     * @return The ordinal of this namespaced key.
+     */
+    @Internal
+    public int getOrdinal() {
+        int o = ordinal;
+        if (o == 0) {
+            Integer i = ORDINALS.get(this);
+            if (i == null) {
+                i = assignOrdinal(this);
+            }
+            ordinal = o = i + 1;
+        }
+        return o - 1;
+    }
+
+    private static int assignOrdinal(@NotNull AdvancementKey key) {
+        synchronized (ORDINALS) {
+            Integer i = ORDINALS.get(key);
+            if (i == null) {
+                i = ORDINALS.size();
+                if (i == ordinalKeys.length) {
+                    ordinalKeys = Arrays.copyOf(ordinalKeys, i * 2);
+                }
+                ordinalKeys[i] = key;
+                ORDINALS.put(key, i);
+            }
+            return i;
+        }
+    }
+
+    /**
+     * Gets the namespaced key with the provided ordinal.
+     *
+     * @param ordinal The ordinal.
+     * @return The namespaced key with the provided ordinal, or {@code null} if no key has that ordinal.
+     * @see #getOrdinal()
+     */
+    @Internal
+    @Nullable
+    public static AdvancementKey fromOrdinal(int ordinal) {
+        synchronized (ORDINALS) {
+            return ordinal >= 0 && ordinal < ORDINALS.size() ? ordinalKeys[ordinal] : null;
+        }
+    }
+
     /**
      * Gets a {@link NamespacedKey} with the same namespace and key of this namespaced key.
      *
@@ -129,12 +195,19 @@ public final class AdvancementKey implements Comparable<AdvancementKey> {
     /**
      * Creates an {@code AdvancementKey} from the provided string.
      * <p>The provided string must be a valid namespace key, or an {@link IllegalKeyException} is thrown.
+     * <p>If an advancement with the provided key is registered, its key is returned instead of a new one.
      *
      * @param string The string.
      * @return An {@link AdvancementKey} from the string.
      * @throws IllegalKeyException If provided string is not a valid namespace key.
      */
     public static AdvancementKey fromString(@NotNull String string) throws IllegalKeyException {
+        if (string != null) {
+            AdvancementKey interned = INTERNED_STRINGS.get(string);
+            if (interned != null) {
+                return interned;
+            }
+        }
         int colon;
         if (string == null || string.isEmpty() || (colon = string.indexOf(':')) <= 0 || colon == string.length() - 1) {
             throw new IllegalKeyException("Illegal key '" + string + "'");
@@ -142,6 +215,77 @@ public final class AdvancementKey implements Comparable<AdvancementKey> {
         return new AdvancementKey(string.substring(0, colon), string.substring(colon + 1));
     }
 
+    /**
+     * Gets an {@code AdvancementKey} with the provided namespace and key.
+     * <p>If an advancement with the provided key is registered, its key is returned without allocating a new one.
+     * This method should be preferred to the constructor when the key is likely to belong to a registered advancement,
+     * like when loading progressions from the database.
+     *
+     * @param namespace The namespace.
+     * @param key The key.
+     * @return An {@code AdvancementKey} with the provided namespace and key.
+     * @throws IllegalKeyException If the namespace or the key are not valid.
+     */
+    @NotNull
+    public static AdvancementKey of(@NotNull String namespace, @NotNull String key) throws IllegalKeyException {
+        AdvancementKey interned = getInterned(namespace, key);
+        return interned != null ? interned : new AdvancementKey(namespace, key);
+    }
+
+    /**
+     * Gets the key of the registered advancement with the provided namespace and key.
+     *
+     * @param namespace The namespace.
+     * @param key The key.
+     * @return The key of the registered advancement, or {@code null} if no advancement with that key is registered.
+     */
+    @Nullable
+    public static AdvancementKey getInterned(String namespace, String key) {
+        if (namespace == null || key == null) {
+            return null;
+        }
+        Map<String, AdvancementKey> keys = INTERNED.get(namespace);
+        return keys == null ? null : keys.get(key);
+    }
+
+    /**
+     * Gets the key of the registered advancement with the provided string representation (like {@code "namespace:key"}).
+     *
+     * @param namespacedKey The string representation of the key.
+     * @return The key of the registered advancement, or {@code null} if no advancement with that key is registered.
+     */
+    @Nullable
+    public static AdvancementKey getInterned(String namespacedKey) {
+        return namespacedKey == null ? null : INTERNED_STRINGS.get(namespacedKey);
+    }
+
+    /**
+     * Makes the provided key the one returned for its namespace and key. Called when an advancement is registered.
+     *
+     * @param key The key of the registered advancement.
+     */
+    @Internal
+    public static void intern(@NotNull AdvancementKey key) {
+        Preconditions.checkNotNull(key, "AdvancementKey is null.");
+        INTERNED.computeIfAbsent(key.getNamespace(), n -> new ConcurrentHashMap<>()).put(key.getKey(), key);
+        INTERNED_STRINGS.put(key.toString(), key);
+    }
+
+    /**
+     * Removes the provided key from the interned ones, if it is interned. Called when an advancement is disposed.
+     *
+     * @param key The key of the disposed advancement.
+     */
+    @Internal
+    public static void unintern(@NotNull AdvancementKey key) {
+        Preconditions.checkNotNull(key, "AdvancementKey is null.");
+        Map<String, AdvancementKey> keys = INTERNED.get(key.getNamespace());
+        if (keys != null) {
+            keys.remove(key.getKey(), key);
+        }
+        INTERNED_STRINGS.remove(key.toString(), key);
+    }
+
     /**
      * Checks whether the provided namespace is not {@code null}, not empty, and it's length is less or equals to 127.
      *
@@ -1,6 +1,7 @@
 package com.fren_gor.ultimateAdvancementAPI.util;
 
 import com.fren_gor.ultimateAdvancementAPI.AdvancementMain;
+import com.fren_gor.ultimateAdvancementAPI.AdvancementPacketSender;
 import com.fren_gor.ultimateAdvancementAPI.AdvancementTab;
 import com.fren_gor.ultimateAdvancementAPI.UltimateAdvancementAPI;
 import com.fren_gor.ultimateAdvancementAPI.advancement.Advancement;
@@ -14,8 +15,12 @@ import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.VanillaAdvancementDisabl
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementDisplayWrapper;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementFrameTypeWrapper;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.ISendable;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.PacketPlayOutAdvancementsWrapper;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.MapMaker;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.ComponentBuilder;
 import net.md_5.bungee.api.chat.ComponentBuilder.FormatRetention;
@@ -30,6 +35,7 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,6 +46,14 @@ public class AdvancementUtils {
     public static final MinecraftKeyWrapper ROOT_KEY, NOTIFICATION_KEY;
     private static final String ADV_DESCRIPTION = "\n§7A notification.";
     private static final AdvancementWrapper ROOT;
+    private static final ISendable TOAST_REMOVE_PACKET;
+
+    // Toast packets are immutable, so the same packets are sent every time the same toast is shown
+    private static final Cache<ToastKey, ISendable> TOAST_PACKETS = CacheBuilder.newBuilder().maximumSize(256).build();
+    // The key used to display the toasts of every tab. The advancements of a tab never change, so it is computed once
+    private static final Map<AdvancementTab, MinecraftKeyWrapper> TOAST_KEYS = new MapMaker().weakKeys().makeMap();
+    // The toast packets of every advancement, shown during tab updates
+    private static final Map<Advancement, AdvancementToast> ADVANCEMENT_TOASTS = new MapMaker().weakKeys().makeMap();
 
     static {
         try {
@@ -47,6 +61,7 @@ public class AdvancementUtils {
             NOTIFICATION_KEY = MinecraftKeyWrapper.craft("com.fren_gor", "notification");
             AdvancementDisplayWrapper display = AdvancementDisplayWrapper.craft(new ItemStack(Material.GRASS_BLOCK), "§f§lNotifications§1§2§3§4§5§6§7§8§9§0", "§7Notification page.\n§7Close and reopen advancements to hide.", AdvancementFrameTypeWrapper.TASK, 0, 0, "textures/block/stone.png");
             ROOT = AdvancementWrapper.craftRootAdvancement(ROOT_KEY, display, 1);
+            TOAST_REMOVE_PACKET = PacketPlayOutAdvancementsWrapper.craftRemovePacket(Set.of(ROOT_KEY, NOTIFICATION_KEY));
         } catch (ReflectiveOperationException e) {
             throw new RuntimeException(e);
         }
@@ -54,13 +69,74 @@ public class AdvancementUtils {
 
     /**
      * Displays a custom toast to a player.
+     * <p>The packets are sent through the provided {@link AdvancementPacketSender}, so they are sent after the packets
+     * previously submitted for the player.
+     *
+     * @param sender The {@link AdvancementPacketSender} to send the packets with.
+     * @param player A player to show the toast.
+     * @param icon The displayed item of the toast.
+     * @param title The displayed title of the toast.
+     * @param frame The {@link AdvancementFrameType} of the toast.
+     * @see UltimateAdvancementAPI#displayCustomToast(Player, ItemStack, String, AdvancementFrameType)
+     */
+    public static void displayToast(@NotNull AdvancementPacketSender sender, @NotNull Player player, @NotNull ItemStack icon, @NotNull String title, @NotNull AdvancementFrameType frame) {
+        Preconditions.checkNotNull(sender, "AdvancementPacketSender is null.");
+        Preconditions.checkNotNull(player, "Player is null.");
+        Preconditions.checkNotNull(icon, "Icon is null.");
+        Preconditions.checkNotNull(title, "Title is null.");
+        Preconditions.checkNotNull(frame, "AdvancementFrameType is null.");
+        Preconditions.checkArgument(icon.getType() != Material.AIR, "ItemStack is air.");
+
+        try {
+            sender.send(player, getToastPacket(icon, title, frame), TOAST_REMOVE_PACKET);
+        } catch (ReflectiveOperationException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Displays a custom toast to many players.
+     * <p>The packets of the toast are crafted only once and are sent to every player through the provided
+     * {@link AdvancementPacketSender}, so they are sent after the packets previously submitted for every player.
+     *
+     * @param sender The {@link AdvancementPacketSender} to send the packets with.
+     * @param players The players to show the toast.
+     * @param icon The displayed item of the toast.
+     * @param title The displayed title of the toast.
+     * @param frame The {@link AdvancementFrameType} of the toast.
+     * @see UltimateAdvancementAPI#displayCustomToast(Collection, ItemStack, String, AdvancementFrameType)
+     */
+    public static void displayToast(@NotNull AdvancementPacketSender sender, @NotNull Collection<? extends Player> players, @NotNull ItemStack icon, @NotNull String title, @NotNull AdvancementFrameType frame) {
+        Preconditions.checkNotNull(sender, "AdvancementPacketSender is null.");
+        Preconditions.checkNotNull(players, "Players is null.");
+        Preconditions.checkNotNull(icon, "Icon is null.");
+        Preconditions.checkNotNull(title, "Title is null.");
+        Preconditions.checkNotNull(frame, "AdvancementFrameType is null.");
+        Preconditions.checkArgument(icon.getType() != Material.AIR, "ItemStack is air.");
+
+        try {
+            final ISendable toast = getToastPacket(icon, title, frame);
+            for (Player player : players) {
+                Preconditions.checkNotNull(player, "A player is null.");
+                sender.send(player, toast, TOAST_REMOVE_PACKET);
+            }
+        } catch (ReflectiveOperationException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Displays a custom toast to a player.
+     * <p>The packets are sent immediately, so they may overtake the packets still waiting in an {@link AdvancementPacketSender}.
      *
      * @param player A player to show the toast.
      * @param icon The displayed item of the toast.
      * @param title The displayed title of the toast.
      * @param frame The {@link AdvancementFrameType} of the toast.
      * @see UltimateAdvancementAPI#displayCustomToast(Player, ItemStack, String, AdvancementFrameType)
+     * @deprecated Use {@link #displayToast(AdvancementPacketSender, Player, ItemStack, String, AdvancementFrameType)}.
      */
+    @Deprecated
     public static void displayToast(@NotNull Player player, @NotNull ItemStack icon, @NotNull String title, @NotNull AdvancementFrameType frame) {
         Preconditions.checkNotNull(player, "Player is null.");
         Preconditions.checkNotNull(icon, "Icon is null.");
@@ -69,16 +145,60 @@ public class AdvancementUtils {
         Preconditions.checkArgument(icon.getType() != Material.AIR, "ItemStack is air.");
 
         try {
+            getToastPacket(icon, title, frame).sendTo(player);
+            TOAST_REMOVE_PACKET.sendTo(player);
+        } catch (ReflectiveOperationException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Displays a custom toast to many players.
+     * <p>The packets of the toast are crafted only once and are sent to every player immediately, so they may overtake
+     * the packets still waiting in an {@link AdvancementPacketSender}.
+     *
+     * @param players The players to show the toast.
+     * @param icon The displayed item of the toast.
+     * @param title The displayed title of the toast.
+     * @param frame The {@link AdvancementFrameType} of the toast.
+     * @see UltimateAdvancementAPI#displayCustomToast(Collection, ItemStack, String, AdvancementFrameType)
+     * @deprecated Use {@link #displayToast(AdvancementPacketSender, Collection, ItemStack, String, AdvancementFrameType)}.
+     */
+    @Deprecated
+    public static void displayToast(@NotNull Collection<? extends Player> players, @NotNull ItemStack icon, @NotNull String title, @NotNull AdvancementFrameType frame) {
+        Preconditions.checkNotNull(players, "Players is null.");
+        Preconditions.checkNotNull(icon, "Icon is null.");
+        Preconditions.checkNotNull(title, "Title is null.");
+        Preconditions.checkNotNull(frame, "AdvancementFrameType is null.");
+        Preconditions.checkArgument(icon.getType() != Material.AIR, "ItemStack is air.");
+
+        try {
+            final ISendable toast = getToastPacket(icon, title, frame);
+            for (Player player : players) {
+                Preconditions.checkNotNull(player, "A player is null.");
+                toast.sendTo(player);
+                TOAST_REMOVE_PACKET.sendTo(player);
+            }
+        } catch (ReflectiveOperationException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @NotNull
+    private static ISendable getToastPacket(@NotNull ItemStack icon, @NotNull String title, @NotNull AdvancementFrameType frame) throws ReflectiveOperationException {
+        final ToastKey key = new ToastKey(icon, title, frame);
+        ISendable packet = TOAST_PACKETS.getIfPresent(key);
+        if (packet == null) {
             AdvancementDisplayWrapper display = AdvancementDisplayWrapper.craft(icon, title, ADV_DESCRIPTION, frame.getNMSWrapper(), 1, 0, true, false, false);
             AdvancementWrapper notification = AdvancementWrapper.craftBaseAdvancement(NOTIFICATION_KEY, ROOT, display, 1);
-            PacketPlayOutAdvancementsWrapper.craftSendPacket(Map.of(
+            packet = PacketPlayOutAdvancementsWrapper.craftSendPacket(Map.of(
                     ROOT, 1,
                     notification, 1
-            )).sendTo(player);
-            PacketPlayOutAdvancementsWrapper.craftRemovePacket(Set.of(ROOT_KEY, NOTIFICATION_KEY)).sendTo(player);
-        } catch (ReflectiveOperationException e) {
-            e.printStackTrace();
+            ));
+            // ItemStacks are mutable, so the key keeps a copy of the icon
+            TOAST_PACKETS.put(new ToastKey(icon.clone(), title, frame), packet);
         }
+        return packet;
     }
 
     /*public static void displayToast(@NotNull Player player, @NotNull ItemStack icon, @NotNull String title, @NotNull AdvancementFrameType frame, @NotNull Advancement base) {
@@ -111,28 +231,83 @@ public class AdvancementUtils {
         Preconditions.checkArgument(advancement.isValid(), "Advancement isn't valid.");
 
         final AdvancementDisplay display = advancement.getDisplay();
-        final MinecraftKeyWrapper keyWrapper = getUniqueKey(advancement.getAdvancementTab()).getNMSWrapper();
+        final AdvancementWrapper parent = advancement.getNMSWrapper();
 
         try {
-            AdvancementDisplayWrapper displayWrapper = AdvancementDisplayWrapper.craft(display.getIcon(), display.getTitle(), ADV_DESCRIPTION, display.getFrame().getNMSWrapper(), 0, 0, true, false, false);
-            AdvancementWrapper advWrapper = AdvancementWrapper.craftBaseAdvancement(keyWrapper, advancement.getNMSWrapper(), displayWrapper, 1);
+            AdvancementToast toast = ADVANCEMENT_TOASTS.get(advancement);
+            // The advancement may have been crafted again (for example, to change its display)
+            if (toast == null || toast.display != display || toast.parent != parent) {
+                final MinecraftKeyWrapper keyWrapper = getToastKey(advancement.getAdvancementTab());
+                AdvancementDisplayWrapper displayWrapper = AdvancementDisplayWrapper.craft(display.getIcon(), display.getTitle(), ADV_DESCRIPTION, display.getFrame().getNMSWrapper(), 0, 0, true, false, false);
+                AdvancementWrapper advWrapper = AdvancementWrapper.craftBaseAdvancement(keyWrapper, parent, displayWrapper, 1);
+                toast = new AdvancementToast(display, parent, PacketPlayOutAdvancementsWrapper.craftSendPacket(Map.of(advWrapper, 1)), PacketPlayOutAdvancementsWrapper.craftRemovePacket(Set.of(keyWrapper)));
+                ADVANCEMENT_TOASTS.put(advancement, toast);
+            }
 
-            PacketPlayOutAdvancementsWrapper.craftSendPacket(Map.of(advWrapper, 1)).sendTo(player);
-            PacketPlayOutAdvancementsWrapper.craftRemovePacket(Set.of(keyWrapper)).sendTo(player);
+            // The parent advancement must have already been received by the player
+            advancement.getAdvancementTab().getPacketSender().send(player, toast.sendPacket, toast.removePacket);
         } catch (ReflectiveOperationException e) {
             e.printStackTrace();
         }
     }
 
     @NotNull
-    private static AdvancementKey getUniqueKey(@NotNull AdvancementTab tab) {
+    private static MinecraftKeyWrapper getToastKey(@NotNull AdvancementTab tab) {
+        return TOAST_KEYS.computeIfAbsent(tab, AdvancementUtils::getUniqueKey);
+    }
+
+    @NotNull
+    private static MinecraftKeyWrapper getUniqueKey(@NotNull AdvancementTab tab) {
         final String namespace = tab.getNamespace();
         StringBuilder builder = new StringBuilder("i");
         AdvancementKey key;
         while (tab.getAdvancement(key = new AdvancementKey(namespace, builder.toString())) != null) {
             builder.append('i');
         }
-        return key;
+        return key.getNMSWrapper();
+    }
+
+    private static final class ToastKey {
+        private final ItemStack icon;
+        private final String title;
+        private final AdvancementFrameType frame;
+
+        ToastKey(@NotNull ItemStack icon, @NotNull String title, @NotNull AdvancementFrameType frame) {
+            this.icon = icon;
+            this.title = title;
+            this.frame = frame;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            ToastKey toastKey = (ToastKey) o;
+
+            return frame == toastKey.frame && title.equals(toastKey.title) && icon.equals(toastKey.icon);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = icon.hashCode();
+            result = 31 * result + title.hashCode();
+            result = 31 * result + frame.hashCode();
+            return result;
+        }
+    }
+
+    private static final class AdvancementToast {
+        private final AdvancementDisplay display;
+        private final AdvancementWrapper parent;
+        private final ISendable sendPacket, removePacket;
+
+        AdvancementToast(@NotNull AdvancementDisplay display, @NotNull AdvancementWrapper parent, @NotNull ISendable sendPacket, @NotNull ISendable removePacket) {
+            this.display = display;
+            this.parent = parent;
+            this.sendPacket = sendPacket;
+            this.removePacket = removePacket;
+        }
     }
 
     /**
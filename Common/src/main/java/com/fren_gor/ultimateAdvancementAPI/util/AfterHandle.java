@@ -14,8 +14,9 @@ public interface AfterHandle {
 
     /**
      * The default {@code AfterHandle} used in {@link Advancement#handlePlayer(TeamProgression, Player, int, int, boolean, AfterHandle)}.
+     * <p>It schedules the update of the advancement's tab to the team (see {@link com.fren_gor.ultimateAdvancementAPI.AdvancementTab#scheduleAdvancementsUpdateToTeam(TeamProgression)}).
      */
-    public static final AfterHandle UPDATE_ADVANCEMENTS_TO_TEAM = (progression, player, adv) -> adv.getAdvancementTab().updateAdvancementsToTeam(progression);
+    public static final AfterHandle UPDATE_ADVANCEMENTS_TO_TEAM = (progression, player, adv) -> adv.getAdvancementTab().scheduleAdvancementsUpdateToTeam(progression);
 
     /**
      * The action to do after player handling.
@@ -0,0 +1,94 @@
+package com.fren_gor.ultimateAdvancementAPI.visibilities;
+
+import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.BitSet;
+
+/**
+ * The {@code TeamVisibility} class stores which advancements of a tab are granted and visible for a team,
+ * as bitsets indexed by the ordinals of a {@link VisibilityGraph}.
+ * <p>When a progression of the team is updated, only the advancement and the advancements whose visibility depends
+ * on it are marked to be computed again, which is done the next time a visibility is requested.
+ * <p>Instances are held by {@link TeamProgression}s and can be obtained using {@link TeamProgression#getVisibility(VisibilityGraph)}.
+ * <p>This class is thread safe.
+ */
+public final class TeamVisibility {
+
+    // Guarded by this
+    private final BitSet granted, visible, dirtyGranted, dirtyVisible;
+
+    /**
+     * Creates a new {@code TeamVisibility} for the provided graph. Every state is computed when it is first requested.
+     * <p><strong>Note:</strong> TeamVisibility should be instantiated only by {@link TeamProgression}.
+     *
+     * @param graph The {@link VisibilityGraph} of the tab.
+     */
+    @Internal
+    public TeamVisibility(@NotNull VisibilityGraph graph) {
+        Preconditions.checkNotNull(graph, "VisibilityGraph is null.");
+        final int size = graph.getSize();
+        this.granted = new BitSet(size);
+        this.visible = new BitSet(size);
+        this.dirtyGranted = (BitSet) graph.storedGranted.clone();
+        this.dirtyVisible = (BitSet) graph.storedVisible.clone();
+    }
+
+    /**
+     * Marks the states depending on the progression of the provided advancement to be computed again.
+     * <p>Called by {@link TeamProgression} when a progression of the team is updated.
+     *
+     * @param graph The {@link VisibilityGraph} this {@code TeamVisibility} has been created for.
+     * @param key The key of the updated advancement.
+     */
+    @Internal
+    public void invalidate(@NotNull VisibilityGraph graph, @NotNull AdvancementKey key) {
+        final int ordinal = graph.getKeyOrdinal(key);
+        if (ordinal == -1) {
+            return;
+        }
+        synchronized (this) {
+            if (graph.storedGranted.get(ordinal)) {
+                dirtyGranted.set(ordinal);
+            }
+            if (graph.storedVisible.get(ordinal)) {
+                dirtyVisible.set(ordinal);
+            }
+            for (int d : graph.getDependents(ordinal)) {
+                dirtyVisible.set(d);
+            }
+        }
+    }
+
+    synchronized boolean isVisible(@NotNull VisibilityGraph graph, int ordinal, @NotNull TeamProgression progression) {
+        refresh(graph, progression);
+        return visible.get(ordinal);
+    }
+
+    @NotNull
+    synchronized BitSet getRendered(@NotNull VisibilityGraph graph, @NotNull TeamProgression progression) {
+        refresh(graph, progression);
+        final BitSet rendered = (BitSet) visible.clone();
+        rendered.and(graph.rendered);
+        return rendered;
+    }
+
+    // Must be called while holding the lock
+    private void refresh(@NotNull VisibilityGraph graph, @NotNull TeamProgression progression) {
+        if (!dirtyGranted.isEmpty()) {
+            for (int i = dirtyGranted.nextSetBit(0); i >= 0; i = dirtyGranted.nextSetBit(i + 1)) {
+                granted.set(i, graph.computeGranted(i, progression));
+            }
+            dirtyGranted.clear();
+        }
+        if (!dirtyVisible.isEmpty()) {
+            for (int i = dirtyVisible.nextSetBit(0); i >= 0; i = dirtyVisible.nextSetBit(i + 1)) {
+                visible.set(i, graph.computeVisibility(i, progression, granted));
+            }
+            dirtyVisible.clear();
+        }
+    }
+}
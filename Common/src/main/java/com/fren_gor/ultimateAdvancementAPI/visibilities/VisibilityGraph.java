@@ -0,0 +1,337 @@
+package com.fren_gor.ultimateAdvancementAPI.visibilities;
+
+import com.fren_gor.ultimateAdvancementAPI.advancement.Advancement;
+import com.fren_gor.ultimateAdvancementAPI.advancement.BaseAdvancement;
+import com.fren_gor.ultimateAdvancementAPI.advancement.RootAdvancement;
+import com.fren_gor.ultimateAdvancementAPI.advancement.multiParents.AbstractMultiParentsAdvancement;
+import com.fren_gor.ultimateAdvancementAPI.advancement.multiParents.MultiParentsAdvancement;
+import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@code VisibilityGraph} class computes the visibility of the advancements of a tab which implement
+ * {@link HiddenVisibility}, {@link ParentGrantedVisibility} or {@link VanillaVisibility}.
+ * <p>The parents and grandparents of every advancement are resolved once, when the graph is created, into arrays
+ * indexed by the ordinal of the advancements. The visibilities of every team are then stored as bitsets in its
+ * {@link TeamProgression} (see {@link TeamVisibility}), which are computed in a single pass and updated only for the
+ * advancements affected by a progression update.
+ * <p>Advancements which override {@link Advancement#getProgression(TeamProgression)} or {@link Advancement#isGranted(TeamProgression)}
+ * (like {@link com.fren_gor.ultimateAdvancementAPI.advancement.tasks.MultiTasksAdvancement}s) may not store their progression
+ * in the {@link TeamProgression}, so they and their children are evaluated every time instead.
+ * <p>Advancements which use other {@link IVisibility} implementations are not part of the graph, so the Advancement
+ * Visibility System calls their interface method as usual (see {@link Advancement#isVisible(TeamProgression)}).
+ * <p>This class is thread safe.
+ */
+public final class VisibilityGraph {
+
+    private static final byte NOT_COMPILED = -1, HIDDEN = 0, PARENT_GRANTED = 1, VANILLA = 2;
+    private static final int[] EMPTY = new int[0];
+
+    private final Map<Advancement, Integer> ordinals;
+    private final Map<AdvancementKey, Integer> keyOrdinals;
+    private final Advancement[] advancements;
+    private final byte[] kinds;
+    private final int[][] parents, grandparents;
+    // The advancements with a stored visibility which depends on the granted state of every advancement
+    private final int[][] dependents;
+    // Advancements whose progression may not be stored in the TeamProgression
+    private final BitSet live;
+    // Advancements whose granted state is stored in the TeamVisibilities
+    final BitSet storedGranted;
+    // Advancements whose visibility is stored in the TeamVisibilities
+    final BitSet storedVisible;
+    // Advancements which are sent using the stored visibility, without calling onUpdate
+    final BitSet rendered;
+    private final int[] notRendered;
+
+    /**
+     * Creates the {@code VisibilityGraph} of the provided advancements.
+     *
+     * @param advancements The advancements of a tab. The ordinal of every advancement is its position in the {@link Collection}.
+     */
+    public VisibilityGraph(@NotNull Collection<? extends Advancement> advancements) {
+        Preconditions.checkNotNull(advancements, "Advancements is null.");
+        final int size = advancements.size();
+        this.ordinals = new IdentityHashMap<>(size);
+        this.keyOrdinals = new HashMap<>(size);
+        this.advancements = new Advancement[size];
+        this.kinds = new byte[size];
+        this.parents = new int[size][];
+        this.grandparents = new int[size][];
+        this.live = new BitSet(size);
+        this.storedGranted = new BitSet(size);
+        this.storedVisible = new BitSet(size);
+        this.rendered = new BitSet(size);
+
+        int ordinal = 0;
+        for (Advancement advancement : advancements) {
+            Preconditions.checkNotNull(advancement, "An advancement is null.");
+            this.advancements[ordinal] = advancement;
+            keyOrdinals.put(advancement.getKey(), ordinal);
+            ordinals.put(advancement, ordinal++);
+            if (!isDeclaredBy(advancement, "getProgression", Advancement.class) || !isDeclaredBy(advancement, "isGranted", Advancement.class)) {
+                live.set(ordinal - 1);
+            }
+        }
+
+        final List<List<Integer>> dependents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dependents.add(new ArrayList<>());
+        }
+        final List<Integer> notRendered = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final Advancement advancement = this.advancements[i];
+            byte kind = getKind(advancement.getVisibilityInterface());
+            int[] parentOrdinals = EMPTY, grandparentOrdinals = EMPTY;
+            if (kind == PARENT_GRANTED || kind == VANILLA) {
+                parentOrdinals = getParents(advancement);
+                if (parentOrdinals == null) {
+                    kind = NOT_COMPILED;
+                } else if (kind == VANILLA) {
+                    grandparentOrdinals = getGrandparents(parentOrdinals);
+                    if (grandparentOrdinals == null) {
+                        kind = NOT_COMPILED;
+                    }
+                }
+            }
+            kinds[i] = kind;
+            if (kind == NOT_COMPILED) {
+                parents[i] = grandparents[i] = EMPTY;
+                notRendered.add(i);
+                continue;
+            }
+            parents[i] = parentOrdinals;
+            grandparents[i] = grandparentOrdinals;
+
+            boolean stored = !live.get(i) && !isAnyLive(parentOrdinals) && !isAnyLive(grandparentOrdinals);
+            if (stored) {
+                storedVisible.set(i);
+                for (int p : parentOrdinals) {
+                    storedGranted.set(p);
+                    dependents.get(p).add(i);
+                }
+                for (int g : grandparentOrdinals) {
+                    storedGranted.set(g);
+                    dependents.get(g).add(i);
+                }
+            }
+            if (stored && isDeclaredBy(advancement, "isVisible", Advancement.class) && isDeclaredBy(advancement, "onUpdate", Advancement.class, Map.class)) {
+                rendered.set(i);
+            } else {
+                notRendered.add(i);
+            }
+        }
+
+        this.dependents = new int[size][];
+        for (int i = 0; i < size; i++) {
+            this.dependents[i] = dependents.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        this.notRendered = notRendered.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static byte getKind(@Nullable Class<? extends IVisibility> visibility) {
+        if (visibility == VanillaVisibility.class) {
+            return VANILLA;
+        } else if (visibility == ParentGrantedVisibility.class) {
+            return PARENT_GRANTED;
+        } else if (visibility == HiddenVisibility.class) {
+            return HIDDEN;
+        }
+        return NOT_COMPILED;
+    }
+
+    @Nullable
+    private int[] getParents(@NotNull Advancement advancement) {
+        if (advancement instanceof RootAdvancement) {
+            return EMPTY;
+        }
+        if (advancement instanceof AbstractMultiParentsAdvancement multiParent) {
+            // Other implementations may define their parents differently
+            if (!(multiParent instanceof MultiParentsAdvancement) || !isDeclaredBy(multiParent, "isAnyParentGranted", MultiParentsAdvancement.class) || !isDeclaredBy(multiParent, "isAnyGrandparentGranted", MultiParentsAdvancement.class)) {
+                return null;
+            }
+            final Set<BaseAdvancement> multiParents = multiParent.getParents();
+            final int[] ordinals = new int[multiParents.size()];
+            int i = 0;
+            for (BaseAdvancement parent : multiParents) {
+                final Integer ordinal = this.ordinals.get(parent);
+                if (ordinal == null) {
+                    return null;
+                }
+                ordinals[i++] = ordinal;
+            }
+            return ordinals;
+        }
+        if (advancement instanceof BaseAdvancement base) {
+            final Integer ordinal = ordinals.get(base.getParent());
+            return ordinal == null ? null : new int[] {ordinal};
+        }
+        return null;
+    }
+
+    @Nullable
+    private int[] getGrandparents(@NotNull int[] parentOrdinals) {
+        final Set<Integer> grandparentOrdinals = new LinkedHashSet<>();
+        for (int p : parentOrdinals) {
+            final int[] ordinals = getParents(advancements[p]);
+            if (ordinals == null) {
+                return null;
+            }
+            for (int g : ordinals) {
+                grandparentOrdinals.add(g);
+            }
+        }
+        return grandparentOrdinals.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private boolean isAnyLive(@NotNull int[] ordinals) {
+        for (int o : ordinals) {
+            if (live.get(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isDeclaredBy(@NotNull Advancement advancement, @NotNull String method, @NotNull Class<?> declaringClass) {
+        return isDeclaredBy(advancement, method, declaringClass, null);
+    }
+
+    private static boolean isDeclaredBy(@NotNull Advancement advancement, @NotNull String method, @NotNull Class<?> declaringClass, @Nullable Class<?> secondParameter) {
+        try {
+            final Class<?>[] parameters = secondParameter == null ? new Class<?>[] {TeamProgression.class} : new Class<?>[] {TeamProgression.class, secondParameter};
+            return advancement.getClass().getMethod(method, parameters).getDeclaringClass() == declaringClass;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the amount of advancements of the graph.
+     *
+     * @return The amount of advancements of the graph.
+     */
+    public int getSize() {
+        return advancements.length;
+    }
+
+    /**
+     * Gets the ordinal of the provided advancement.
+     *
+     * @param advancement The advancement.
+     * @return The ordinal of the advancement, or {@code -1} if its visibility is not computed by this graph.
+     */
+    public int getOrdinal(@NotNull Advancement advancement) {
+        final Integer ordinal = ordinals.get(advancement);
+        return ordinal == null || kinds[ordinal] == NOT_COMPILED ? -1 : ordinal;
+    }
+
+    /**
+     * Returns whether the advancement with the provided ordinal is visible to the provided team.
+     * <p>The result is the same of the {@link IVisibility#isVisible(Advancement, TeamProgression)} method of the
+     * visibility implemented by the advancement.
+     *
+     * @param ordinal The ordinal of the advancement, as returned by {@link #getOrdinal(Advancement)}.
+     * @param progression The {@link TeamProgression} of the team.
+     * @return Whether the advancement is visible to the team.
+     * @throws IllegalArgumentException If the visibility of the advancement is not computed by this graph.
+     */
+    public boolean isVisible(int ordinal, @NotNull TeamProgression progression) {
+        Preconditions.checkArgument(ordinal >= 0 && ordinal < kinds.length && kinds[ordinal] != NOT_COMPILED, "Invalid ordinal " + ordinal + '.');
+        Preconditions.checkNotNull(progression, "TeamProgression is null.");
+        if (!storedVisible.get(ordinal)) {
+            return computeVisibility(ordinal, progression, null);
+        }
+        return progression.getVisibility(this).isVisible(this, ordinal, progression);
+    }
+
+    /**
+     * Adds the visible advancements of the graph to the provided {@link Map}, like calling
+     * {@link Advancement#onUpdate(TeamProgression, Map)} for every advancement of the graph.
+     * <p>The advancements which don't override {@link Advancement#onUpdate(TeamProgression, Map)} are added
+     * directly from the visibilities stored in the {@link TeamProgression}.
+     *
+     * @param progression The {@link TeamProgression} of the team.
+     * @param addedAdvancements The {@link Map} in which the advancements to be sent are added as keys.
+     *         The values are the current progressions of the team.
+     */
+    public void onUpdate(@NotNull TeamProgression progression, @NotNull Map<AdvancementWrapper, Integer> addedAdvancements) {
+        Preconditions.checkNotNull(progression, "TeamProgression is null.");
+        Preconditions.checkNotNull(addedAdvancements, "Map is null.");
+        final BitSet visible = progression.getVisibility(this).getRendered(this, progression);
+        for (int i = visible.nextSetBit(0); i >= 0; i = visible.nextSetBit(i + 1)) {
+            final Advancement advancement = advancements[i];
+            addedAdvancements.put(advancement.getNMSWrapper(), progression.getProgression(advancement));
+        }
+        for (int i : notRendered) {
+            advancements[i].onUpdate(progression, addedAdvancements);
+        }
+    }
+
+    /**
+     * Gets the ordinal of the advancement with the provided key.
+     *
+     * @param key The key of the advancement.
+     * @return The ordinal of the advancement with the provided key, or {@code -1} if it isn't part of the graph.
+     */
+    int getKeyOrdinal(@NotNull AdvancementKey key) {
+        final Integer ordinal = keyOrdinals.get(key);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Gets the ordinals of the advancements whose stored visibility depends on the granted state of the provided advancement.
+     *
+     * @param ordinal The ordinal of the advancement.
+     * @return The ordinals of the dependent advancements.
+     */
+    @NotNull
+    int[] getDependents(int ordinal) {
+        return dependents[ordinal];
+    }
+
+    boolean computeGranted(int ordinal, @NotNull TeamProgression progression) {
+        final Advancement advancement = advancements[ordinal];
+        // Same as Advancement#isGranted(TeamProgression), which isn't overridden by stored advancements
+        return progression.getProgression(advancement) >= advancement.getMaxProgression();
+    }
+
+    /**
+     * Computes the visibility of an advancement.
+     *
+     * @param ordinal The ordinal of the advancement.
+     * @param progression The {@link TeamProgression} of the team.
+     * @param granted The stored granted states, or {@code null} to check every ancestor.
+     * @return Whether the advancement is visible.
+     */
+    boolean computeVisibility(int ordinal, @NotNull TeamProgression progression, @Nullable BitSet granted) {
+        final Advancement advancement = advancements[ordinal];
+        if ((granted != null ? progression.getProgression(advancement) : advancement.getProgression(progression)) > 0) {
+            return true;
+        }
+        return kinds[ordinal] != HIDDEN && (isAnyGranted(parents[ordinal], progression, granted) || isAnyGranted(grandparents[ordinal], progression, granted));
+    }
+
+    private boolean isAnyGranted(@NotNull int[] ordinals, @NotNull TeamProgression progression, @Nullable BitSet granted) {
+        for (int o : ordinals) {
+            if (granted != null ? granted.get(o) : advancements[o].isGranted(progression)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
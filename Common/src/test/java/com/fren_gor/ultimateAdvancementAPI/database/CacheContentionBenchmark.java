@@ -0,0 +1,162 @@
+package com.fren_gor.ultimateAdvancementAPI.database;
+
+import com.fren_gor.ultimateAdvancementAPI.tests.Utils;
+import com.google.common.util.concurrent.Striped;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures the main-thread lookups of the DatabaseManager's cache while players are being loaded by other threads.
+ * <p>It compares a model of the old cache (a HashMap guarded by the manager's monitor, held for the whole load)
+ * with a model of the current one (ConcurrentHashMaps read without locking, database loads under a per-UUID striped lock
+ * and a short synchronized section to publish the result). The database load is simulated by parking the loading thread.
+ * <p>It isn't a test, run it manually.
+ */
+public final class CacheContentionBenchmark {
+
+    private static final int ONLINE_PLAYERS = 200;
+    private static final int LOADING_THREADS = 4;
+    private static final long LOAD_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+    private static final long RUN_NANOS = TimeUnit.SECONDS.toNanos(3);
+    private static final long STALL_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    // Keeps the results alive, so that the lookups are not optimized away
+    private static Object sink;
+
+    public static void main(String[] args) throws InterruptedException {
+        try (MockedStatic<Bukkit> bukkitMock = Utils.mockServer()) {
+            for (int round = 0; round < 2; round++) { // The first round is the warmup
+                run(new OldCache(), round == 1);
+                run(new NewCache(), round == 1);
+            }
+        }
+    }
+
+    private static void run(@NotNull Cache cache, boolean print) throws InterruptedException {
+        final List<UUID> online = new ArrayList<>(ONLINE_PLAYERS);
+        for (int i = 0; i < ONLINE_PLAYERS; i++) {
+            final UUID uuid = UUID.randomUUID();
+            online.add(uuid);
+            cache.load(uuid, i);
+        }
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final List<Thread> loaders = new ArrayList<>(LOADING_THREADS);
+        for (int t = 0; t < LOADING_THREADS; t++) {
+            final int firstTeamId = ONLINE_PLAYERS + t * 1_000_000;
+            final Thread loader = new Thread(() -> {
+                int teamId = firstTeamId;
+                while (running.get()) {
+                    cache.load(UUID.randomUUID(), teamId++); // A joining player
+                }
+            }, "Loader-" + t);
+            loaders.add(loader);
+            loader.start();
+        }
+
+        // The main thread looks up the teams of online players, like on every progression change
+        long lookups = 0, stalls = 0;
+        final long end = System.nanoTime() + RUN_NANOS;
+        long now = System.nanoTime();
+        while (now < end) {
+            sink = cache.get(online.get((int) (lookups++ % ONLINE_PLAYERS)));
+            final long after = System.nanoTime();
+            if (after - now > STALL_NANOS) {
+                stalls++;
+            }
+            now = after;
+        }
+        running.set(false);
+        for (Thread loader : loaders) {
+            loader.join();
+        }
+
+        if (print) {
+            System.out.printf("%s: %.1f ns per lookup on average, %d lookups slower than 100 us, %d loads%n", cache.getClass().getSimpleName(),
+                    RUN_NANOS / (double) lookups, stalls, cache.loads());
+        }
+    }
+
+    private interface Cache {
+        @Nullable
+        TeamProgression get(@NotNull UUID uuid);
+
+        void load(@NotNull UUID uuid, int teamId);
+
+        int loads();
+    }
+
+    private static final class OldCache implements Cache {
+        private final Map<UUID, TeamProgression> progressionCache = new HashMap<>();
+        private int loads;
+
+        @Override
+        public synchronized TeamProgression get(@NotNull UUID uuid) {
+            return progressionCache.get(uuid);
+        }
+
+        @Override
+        public synchronized void load(@NotNull UUID uuid, int teamId) {
+            LockSupport.parkNanos(LOAD_NANOS); // The database load was done holding the monitor
+            progressionCache.put(uuid, new TeamProgression(teamId, uuid));
+            loads++;
+        }
+
+        @Override
+        public synchronized int loads() {
+            return loads;
+        }
+    }
+
+    private static final class NewCache implements Cache {
+        private final Map<UUID, TeamProgression> progressionCache = new ConcurrentHashMap<>();
+        private final Map<UUID, TeamProgression> teamIndex = new ConcurrentHashMap<>();
+        private final Striped<Lock> loadingLocks = Striped.lock(64);
+        private int loads;
+
+        @Override
+        public TeamProgression get(@NotNull UUID uuid) {
+            return progressionCache.get(uuid);
+        }
+
+        @Override
+        public void load(@NotNull UUID uuid, int teamId) {
+            final Lock lock = loadingLocks.get(uuid);
+            lock.lock();
+            try {
+                LockSupport.parkNanos(LOAD_NANOS);
+                final TeamProgression loaded = new TeamProgression(teamId, uuid);
+                synchronized (this) {
+                    final TeamProgression cached = teamIndex.get(uuid);
+                    progressionCache.put(uuid, cached != null ? cached : loaded);
+                    teamIndex.put(uuid, cached != null ? cached : loaded);
+                    loads++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public synchronized int loads() {
+            return loads;
+        }
+    }
+
+    private CacheContentionBenchmark() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+}
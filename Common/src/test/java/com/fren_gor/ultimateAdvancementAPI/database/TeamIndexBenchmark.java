@@ -0,0 +1,108 @@
+package com.fren_gor.ultimateAdvancementAPI.database;
+
+import com.fren_gor.ultimateAdvancementAPI.tests.Utils;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.Nullable;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compares how DatabaseManager resolves the cached team of a joining player: the old linear scan of the cached teams
+ * (searchTeamProgressionDeeply) and the current lookup in the member index.
+ * <p>It isn't a test, run it manually. Every team has {@link #MEMBERS} members and all of them but one are online,
+ * the joining player is the missing member. A player without a cached team, who is looked up too, is the scan's worst case.
+ */
+public final class TeamIndexBenchmark {
+
+    private static final int MEMBERS = 4;
+    private static final int[] TEAMS = {10, 100, 1000, 5000};
+    private static final int LOOKUPS = 2_000_000;
+
+    // Keeps the results alive, so that the lookups are not optimized away
+    private static Object sink;
+
+    public static void main(String[] args) {
+        try (MockedStatic<Bukkit> bukkitMock = Utils.mockServer()) {
+            for (int round = 0; round < 2; round++) { // The first round is the warmup
+                for (int teams : TEAMS) {
+                    run(teams, round == 1);
+                }
+            }
+        }
+    }
+
+    private static void run(int teams, boolean print) {
+        final Map<UUID, TeamProgression> progressionCache = new ConcurrentHashMap<>();
+        final Map<UUID, TeamProgression> teamIndex = new ConcurrentHashMap<>();
+        final List<UUID> joining = new ArrayList<>(teams);
+        for (int t = 0; t < teams; t++) {
+            final List<UUID> members = new ArrayList<>(MEMBERS);
+            for (int m = 0; m < MEMBERS; m++) {
+                members.add(UUID.randomUUID());
+            }
+            final TeamProgression pro = new TeamProgression(Map.of(), t, members);
+            for (int m = 1; m < MEMBERS; m++) {
+                progressionCache.put(members.get(m), pro);
+            }
+            pro.forEachMember(u -> teamIndex.put(u, pro));
+            joining.add(members.get(0));
+        }
+        final Object lock = new Object();
+        final UUID noTeam = UUID.randomUUID();
+        // Fewer lookups for the slow cases, so that a run doesn't take minutes
+        final int scanLookups = Math.max(1000, LOOKUPS / teams);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < scanLookups; i++) {
+            synchronized (lock) { // searchTeamProgressionDeeply was synchronized on the DatabaseManager
+                sink = scan(progressionCache, joining.get(i % teams));
+            }
+        }
+        final double scanHit = (System.nanoTime() - start) / (double) scanLookups;
+
+        start = System.nanoTime();
+        for (int i = 0; i < scanLookups; i++) {
+            synchronized (lock) {
+                sink = scan(progressionCache, noTeam);
+            }
+        }
+        final double scanMiss = (System.nanoTime() - start) / (double) scanLookups;
+
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            sink = teamIndex.get(joining.get(i % teams));
+        }
+        final double indexHit = (System.nanoTime() - start) / (double) LOOKUPS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            sink = teamIndex.get(noTeam);
+        }
+        final double indexMiss = (System.nanoTime() - start) / (double) LOOKUPS;
+
+        if (print) {
+            System.out.printf("%d teams (%d online players): scan %.0f ns (hit) %.0f ns (miss), index %.1f ns (hit) %.1f ns (miss)%n",
+                    teams, progressionCache.size(), scanHit, scanMiss, indexHit, indexMiss);
+        }
+    }
+
+    // The removed DatabaseManager#searchTeamProgressionDeeply
+    @Nullable
+    private static TeamProgression scan(Map<UUID, TeamProgression> progressionCache, UUID uuid) {
+        for (TeamProgression progression : progressionCache.values()) {
+            if (progression.contains(uuid)) {
+                return progression;
+            }
+        }
+        return null;
+    }
+
+    private TeamIndexBenchmark() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+}
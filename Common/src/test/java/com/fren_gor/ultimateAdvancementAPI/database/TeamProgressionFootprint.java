@@ -0,0 +1,102 @@
+package com.fren_gor.ultimateAdvancementAPI.database;
+
+import com.fren_gor.ultimateAdvancementAPI.tests.Utils;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import org.bukkit.Bukkit;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Measures the heap used by the progressions of many sparse teams and the time taken by progression updates.
+ * <p>It isn't a test, run it manually with {@code -Xmx1g}. The numbers are indicative, the heap is measured after a GC.
+ */
+public final class TeamProgressionFootprint {
+
+    private static final int ADVANCEMENTS = 2000;
+    private static final int TEAMS = 10_000;
+    private static final int PROGRESSIONS_PER_TEAM = 20;
+    private static final int UPDATES = 5_000_000;
+
+    public static void main(String[] args) {
+        try (MockedStatic<Bukkit> bukkitMock = Utils.mockServer()) {
+            run();
+        }
+    }
+
+    private static void run() {
+        final AdvancementKey[] keys = new AdvancementKey[ADVANCEMENTS];
+        for (int i = 0; i < ADVANCEMENTS; i++) {
+            keys[i] = new AdvancementKey("footprint", "advancement_" + i);
+            keys[i].getOrdinal();
+        }
+
+        final Random random = new Random(42);
+        final List<Map<AdvancementKey, Integer>> teams = new ArrayList<>(TEAMS);
+        for (int t = 0; t < TEAMS; t++) {
+            final Map<AdvancementKey, Integer> progressions = new HashMap<>();
+            while (progressions.size() < PROGRESSIONS_PER_TEAM) {
+                progressions.put(keys[random.nextInt(ADVANCEMENTS)], random.nextInt(10) + 1);
+            }
+            teams.add(progressions);
+        }
+
+        long before = usedHeap();
+        final TeamProgression[] pros = new TeamProgression[TEAMS];
+        for (int t = 0; t < TEAMS; t++) {
+            pros[t] = new TeamProgression(teams.get(t), t, List.of(UUID.randomUUID()));
+        }
+        final long sparse = usedHeap() - before;
+
+        // The layout indexed by the global ordinals, for comparison
+        before = usedHeap();
+        final AtomicIntegerArray[] dense = new AtomicIntegerArray[TEAMS];
+        for (int t = 0; t < TEAMS; t++) {
+            dense[t] = new AtomicIntegerArray(ADVANCEMENTS);
+        }
+        final long ordinalIndexed = usedHeap() - before;
+
+        System.out.printf("%d teams, %d progressions each, %d advancements%n", TEAMS, PROGRESSIONS_PER_TEAM, ADVANCEMENTS);
+        System.out.printf("TeamProgressions: %d bytes per team%n", sparse / TEAMS);
+        System.out.printf("Ordinal-indexed arrays alone: %d bytes per team%n", ordinalIndexed / TEAMS);
+
+        // Updates of already stored advancements, the common case
+        final TeamProgression pro = pros[0];
+        final AdvancementKey[] stored = teams.get(0).keySet().toArray(new AdvancementKey[0]);
+        for (int warmup = 0; warmup < 3; warmup++) {
+            updates(pro, stored);
+        }
+        final long start = System.nanoTime();
+        updates(pro, stored);
+        System.out.printf("Update of a stored progression: %.1f ns%n", (System.nanoTime() - start) / (double) UPDATES);
+
+        // Keep the measured objects reachable until here
+        if (pros.length + dense.length == 0) {
+            throw new AssertionError();
+        }
+    }
+
+    private static void updates(TeamProgression pro, AdvancementKey[] keys) {
+        for (int i = 0; i < UPDATES; i++) {
+            pro.updateProgression(keys[i % keys.length], i & 0xFF);
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private TeamProgressionFootprint() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+}
@@ -0,0 +1,85 @@
+package com.fren_gor.ultimateAdvancementAPI.database;
+
+import com.fren_gor.ultimateAdvancementAPI.tests.Utils;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import org.bukkit.Bukkit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+// In the database package to test the package-private members of TeamProgression, which can be instantiated only by database classes
+public class TeamProgressionTest {
+
+    private MockedStatic<Bukkit> bukkitMock;
+
+    @Before
+    public void setUp() throws Exception {
+        bukkitMock = Utils.mockServer();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        bukkitMock.close();
+        bukkitMock = null;
+    }
+
+    @Test
+    public void sparseFootprintTest() {
+        // Assign many ordinals, like a server with many tabs
+        for (int i = 0; i < 5000; i++) {
+            new AdvancementKey("team_progression_test", "filler_" + i).getOrdinal();
+        }
+        var first = new AdvancementKey("team_progression_test", "first");
+        var second = new AdvancementKey("team_progression_test", "second");
+        assertTrue(second.getOrdinal() >= 5000);
+
+        var pro = new TeamProgression(Map.of(second, 3, first, 1), 1, List.of(UUID.randomUUID()));
+        assertEquals(2, pro.getStoredProgressions());
+        assertEquals(Map.of(first, 1, second, 3), pro.getProgressionsCopy());
+
+        // Zero progressions are not stored
+        pro = new TeamProgression(Map.of(first, 0, second, 2), 2, List.of(UUID.randomUUID()));
+        assertEquals(1, pro.getStoredProgressions());
+        assertEquals(Map.of(second, 2), pro.getProgressionsCopy());
+
+        assertEquals(0, new TeamProgression(3, UUID.randomUUID()).getStoredProgressions());
+    }
+
+    @Test
+    public void updateProgressionTest() {
+        var pro = new TeamProgression(4, UUID.randomUUID());
+        Map<AdvancementKey, Integer> expected = new HashMap<>();
+
+        // Insert keys in an order different from their ordinals
+        for (int i = 20; i > 0; i--) {
+            var key = new AdvancementKey("team_progression_test", "update_" + (i * 7 % 20));
+            assertEquals(0, pro.updateProgression(key, i));
+            expected.put(key, i);
+        }
+        assertEquals(20, pro.getStoredProgressions());
+        assertEquals(expected, pro.getProgressionsCopy());
+
+        for (Map.Entry<AdvancementKey, Integer> e : expected.entrySet()) {
+            assertEquals((int) e.getValue(), pro.updateProgression(e.getKey(), e.getValue() + 100));
+            e.setValue(e.getValue() + 100);
+        }
+        assertEquals(expected, pro.getProgressionsCopy());
+
+        var removed = new AdvancementKey("team_progression_test", "update_0");
+        assertEquals((int) expected.remove(removed), pro.updateProgression(removed, 0));
+        assertEquals(expected, pro.getProgressionsCopy());
+        assertEquals(20, pro.getStoredProgressions());
+
+        // Setting an unknown advancement to zero doesn't store it
+        assertEquals(0, pro.updateProgression(new AdvancementKey("team_progression_test", "update_missing"), 0));
+        assertEquals(20, pro.getStoredProgressions());
+    }
+}
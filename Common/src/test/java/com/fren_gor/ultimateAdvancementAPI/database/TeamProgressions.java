@@ -0,0 +1,45 @@
+package com.fren_gor.ultimateAdvancementAPI.database;
+
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Creates and updates {@link TeamProgression}s for tests outside the database package,
+ * since they can be instantiated only by database-related classes.
+ */
+public final class TeamProgressions {
+
+    /**
+     * Creates a new valid {@link TeamProgression} of a team with one member and no progressions.
+     *
+     * @param teamId The team id.
+     * @return The new {@link TeamProgression}.
+     */
+    @NotNull
+    public static TeamProgression newTeamProgression(int teamId) {
+        final TeamProgression pro = new TeamProgression(Map.of(), teamId, new ArrayList<>(List.of(UUID.randomUUID())));
+        pro.inCache.set(true);
+        return pro;
+    }
+
+    /**
+     * Updates the progression of an advancement, without going through the database.
+     *
+     * @param pro The {@link TeamProgression} to update.
+     * @param key The advancement key.
+     * @param progression The new progression.
+     * @return The old progression.
+     */
+    public static int updateProgression(@NotNull TeamProgression pro, @NotNull AdvancementKey key, int progression) {
+        return pro.updateProgression(key, progression);
+    }
+
+    private TeamProgressions() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+}
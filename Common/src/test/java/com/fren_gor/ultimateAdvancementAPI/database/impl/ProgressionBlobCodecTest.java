@@ -0,0 +1,137 @@
+package com.fren_gor.ultimateAdvancementAPI.database.impl;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+// In the database.impl package since ProgressionBlobCodec is package-private
+public class ProgressionBlobCodecTest {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    @Test
+    public void emptyRoundTripTest() {
+        byte[] blob = ProgressionBlobCodec.encode(Map.of(), true);
+        assertEquals(ProgressionBlobCodec.RAW, blob[0]);
+        assertEquals(Map.of(), ProgressionBlobCodec.decode(blob, 0));
+    }
+
+    @Test
+    public void rawRoundTripTest() {
+        Map<Integer, Integer> progressions = Map.of(1, 1, 2, 300, 127, Integer.MAX_VALUE, 128, 5, 70_000, 2);
+        byte[] blob = ProgressionBlobCodec.encode(progressions, false);
+        assertEquals(ProgressionBlobCodec.RAW, blob[0]);
+        assertEquals(progressions, ProgressionBlobCodec.decode(blob, MAX_ENTRIES));
+    }
+
+    @Test
+    public void compressedRoundTripTest() {
+        Map<Integer, Integer> progressions = new HashMap<>();
+        for (int i = 1; i <= 2000; i++) {
+            progressions.put(i, i % 7 + 1);
+        }
+        byte[] blob = ProgressionBlobCodec.encode(progressions, true);
+        assertEquals(ProgressionBlobCodec.DEFLATE, blob[0]);
+        assertTrue(blob.length < ProgressionBlobCodec.encode(progressions, false).length);
+        assertEquals(progressions, ProgressionBlobCodec.decode(blob, MAX_ENTRIES));
+    }
+
+    @Test
+    public void randomRoundTripTest() {
+        Random random = new Random(42);
+        for (int run = 0; run < 50; run++) {
+            Map<Integer, Integer> progressions = new HashMap<>();
+            final int size = random.nextInt(500);
+            for (int i = 0; i < size; i++) {
+                progressions.put(random.nextInt(MAX_ENTRIES) + 1, random.nextInt(Integer.MAX_VALUE) + 1);
+            }
+            assertEquals(progressions, ProgressionBlobCodec.decode(ProgressionBlobCodec.encode(progressions, false), MAX_ENTRIES));
+            assertEquals(progressions, ProgressionBlobCodec.decode(ProgressionBlobCodec.encode(progressions, true), MAX_ENTRIES));
+        }
+    }
+
+    @Test
+    public void applyTest() {
+        Map<Integer, Integer> progressions = new HashMap<>(Map.of(1, 1, 2, 2, 3, 3));
+        ProgressionBlobCodec.apply(progressions, Map.of(1, 0, 2, 5, 4, 4));
+        assertEquals(Map.of(2, 5, 3, 3, 4, 4), progressions);
+    }
+
+    @Test
+    public void emptyBlobTest() {
+        assertThrows(IllegalArgumentException.class, () -> ProgressionBlobCodec.decode(new byte[0], MAX_ENTRIES));
+    }
+
+    @Test
+    public void unknownFormatTest() {
+        assertThrows(IllegalArgumentException.class, () -> ProgressionBlobCodec.decode(new byte[] {2, 0}, MAX_ENTRIES));
+    }
+
+    @Test
+    public void truncatedBlobTest() {
+        byte[] blob = ProgressionBlobCodec.encode(Map.of(1, 1, 200, 300), false);
+        for (int length = 1; length < blob.length; length++) {
+            byte[] truncated = Arrays.copyOf(blob, length);
+            assertThrows(IllegalArgumentException.class, () -> ProgressionBlobCodec.decode(truncated, MAX_ENTRIES));
+        }
+    }
+
+    @Test
+    public void malformedVarIntTest() {
+        byte[] blob = {ProgressionBlobCodec.RAW, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0};
+        assertThrows(IllegalArgumentException.class, () -> ProgressionBlobCodec.decode(blob, MAX_ENTRIES));
+    }
+
+    @Test
+    public void tooManyEntriesTest() {
+        byte[] blob = ProgressionBlobCodec.encode(Map.of(1, 1, 2, 2, 3, 3), false);
+        assertEquals(3, ProgressionBlobCodec.decode(blob, 3).size());
+        assertThrows(IllegalArgumentException.class, () -> ProgressionBlobCodec.decode(blob, 2));
+
+        // Huge size with no entries after it
+        byte[] huge = {ProgressionBlobCodec.RAW, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        assertThrows(IllegalArgumentException.class, () -> ProgressionBlobCodec.decode(huge, MAX_ENTRIES));
+    }
+
+    @Test
+    public void hugeCompressedLengthTest() {
+        // Integer.MAX_VALUE as raw length: it must be rejected before allocating the raw buffer
+        byte[] blob = {ProgressionBlobCodec.DEFLATE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0x78, 0x01};
+        assertThrows(IllegalArgumentException.class, () -> ProgressionBlobCodec.decode(blob, MAX_ENTRIES));
+
+        // Negative length
+        byte[] negative = {ProgressionBlobCodec.DEFLATE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        assertThrows(IllegalArgumentException.class, () -> ProgressionBlobCodec.decode(negative, MAX_ENTRIES));
+    }
+
+    @Test
+    public void maxRawLengthTest() {
+        assertEquals(5, ProgressionBlobCodec.getMaxRawLength(0));
+        assertEquals(1005, ProgressionBlobCodec.getMaxRawLength(100));
+        assertEquals(Integer.MAX_VALUE - 1, ProgressionBlobCodec.getMaxRawLength(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void corruptedCompressedDataTest() {
+        Map<Integer, Integer> progressions = new HashMap<>();
+        for (int i = 1; i <= 1000; i++) {
+            progressions.put(i, 1);
+        }
+        byte[] blob = ProgressionBlobCodec.encode(progressions, true);
+        assertEquals(ProgressionBlobCodec.DEFLATE, blob[0]);
+
+        byte[] truncated = Arrays.copyOf(blob, blob.length - 4);
+        assertThrows(IllegalArgumentException.class, () -> ProgressionBlobCodec.decode(truncated, MAX_ENTRIES));
+
+        byte[] garbage = blob.clone();
+        for (int i = 4; i < garbage.length; i++) {
+            garbage[i] = (byte) 0xA5;
+        }
+        assertThrows(IllegalArgumentException.class, () -> ProgressionBlobCodec.decode(garbage, MAX_ENTRIES));
+    }
+}
@@ -0,0 +1,118 @@
+package com.fren_gor.ultimateAdvancementAPI.database.impl;
+
+import com.fren_gor.ultimateAdvancementAPI.database.ProgressionUpdate;
+import com.fren_gor.ultimateAdvancementAPI.database.impl.SQLite.Profile;
+import com.fren_gor.ultimateAdvancementAPI.tests.Utils;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.mockito.MockedStatic;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * Compares the {@link Profile}s of {@link SQLite} on a temporary database file.
+ * <p>It measures player registrations, single-row and batched progression updates, and login loads, both alone and
+ * concurrently with updates. It isn't a test, run it manually. Numbers depend heavily on the disk.
+ */
+public final class SQLiteProfileBenchmark {
+
+    private static final int PLAYERS = 500;
+    private static final int ADVANCEMENTS = 50;
+    private static final int SINGLE_UPDATES = 2000;
+    private static final int BATCHES = 50;
+    private static final int BATCH_SIZE = 500;
+
+    public static void main(String[] args) throws Exception {
+        try (MockedStatic<Bukkit> bukkitMock = Utils.mockServer()) {
+            for (Profile profile : Profile.values()) {
+                run(profile);
+            }
+        }
+    }
+
+    private static void run(@NotNull Profile profile) throws Exception {
+        final File file = File.createTempFile("sqlite-benchmark", ".db");
+        final SQLite db = new SQLite(file, Logger.getLogger("SQLiteProfileBenchmark"), profile);
+        try {
+            db.setUp();
+            final AdvancementKey[] keys = new AdvancementKey[ADVANCEMENTS];
+            for (int i = 0; i < ADVANCEMENTS; i++) {
+                keys[i] = new AdvancementKey("benchmark", "advancement_" + i);
+            }
+
+            long start = System.nanoTime();
+            final List<UUID> players = new ArrayList<>(PLAYERS);
+            final int[] teams = new int[PLAYERS];
+            for (int i = 0; i < PLAYERS; i++) {
+                final UUID uuid = UUID.randomUUID();
+                players.add(uuid);
+                teams[i] = db.loadOrRegisterPlayer(uuid, "player" + i).getKey().getTeamId();
+            }
+            final long register = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < SINGLE_UPDATES; i++) {
+                db.updateAdvancement(keys[i % ADVANCEMENTS], teams[i % PLAYERS], i + 1);
+            }
+            final long singleUpdates = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int b = 0; b < BATCHES; b++) {
+                db.updateAdvancements(batch(keys, teams, b));
+            }
+            final long batchedUpdates = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < PLAYERS; i++) {
+                db.loadPlayer(players.get(i), "player" + i);
+            }
+            final long loads = System.nanoTime() - start;
+
+            // Login loads while the progressions of online players are being saved
+            final ExecutorService writer = Executors.newSingleThreadExecutor();
+            final Future<?> writes = writer.submit(() -> {
+                for (int b = 0; b < BATCHES; b++) {
+                    db.updateAdvancements(batch(keys, teams, b));
+                }
+                return null;
+            });
+            start = System.nanoTime();
+            for (int i = 0; i < PLAYERS; i++) {
+                db.getTeamAdvancements(teams[i]);
+            }
+            final long concurrentLoads = System.nanoTime() - start;
+            writes.get();
+            writer.shutdown();
+
+            System.out.printf("%s: %d registrations in %d ms, %d single updates in %d ms, %d batches of %d updates in %d ms, %d loads in %d ms, %d loads during updates in %d ms%n",
+                    profile, PLAYERS, register / 1_000_000, SINGLE_UPDATES, singleUpdates / 1_000_000, BATCHES, BATCH_SIZE, batchedUpdates / 1_000_000,
+                    PLAYERS, loads / 1_000_000, PLAYERS, concurrentLoads / 1_000_000);
+        } finally {
+            db.close();
+            for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+                new File(file.getPath() + suffix).delete();
+            }
+        }
+    }
+
+    @NotNull
+    private static List<ProgressionUpdate> batch(@NotNull AdvancementKey[] keys, @NotNull int[] teams, int b) {
+        final List<ProgressionUpdate> updates = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            updates.add(new ProgressionUpdate(keys[(b + i) % ADVANCEMENTS], teams[i % PLAYERS], b + 1));
+        }
+        return updates;
+    }
+
+    private SQLiteProfileBenchmark() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+}
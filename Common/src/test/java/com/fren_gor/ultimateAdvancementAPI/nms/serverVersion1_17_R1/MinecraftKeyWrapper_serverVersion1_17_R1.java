@@ -5,8 +5,12 @@ import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
 import com.google.common.base.Preconditions;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.regex.Pattern;
+
 public class MinecraftKeyWrapper_serverVersion1_17_R1 extends MinecraftKeyWrapper {
 
+    private static final Pattern VALID_KEY = Pattern.compile("[a-z0-9/._-]{1,127}");
+
     private final String namespace, key;
 
     public MinecraftKeyWrapper_serverVersion1_17_R1(@NotNull Object key) {
@@ -17,7 +21,8 @@ public class MinecraftKeyWrapper_serverVersion1_17_R1 extends MinecraftKeyWrappe
         AdvancementKey.checkNamespace(namespace);
         AdvancementKey.checkKey(key);
         Preconditions.checkArgument(AdvancementKey.VALID_NAMESPACE.matcher(namespace).matches());
-        Preconditions.checkArgument(AdvancementKey.VALID_KEY.matcher(key).matches());
+        // Same characters of MinecraftKey, which also allows the '-' used by FakeAdvancements
+        Preconditions.checkArgument(VALID_KEY.matcher(key).matches());
         this.namespace = namespace;
         this.key = key;
     }
@@ -0,0 +1,56 @@
+package com.fren_gor.ultimateAdvancementAPI.nms.serverVersion1_17_R1.advancement;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.MinecraftKeyWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementDisplayWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class AdvancementWrapper_serverVersion1_17_R1 extends AdvancementWrapper {
+
+    private final MinecraftKeyWrapper key;
+    @Nullable
+    private final AdvancementWrapper parent;
+    private final AdvancementDisplayWrapper display;
+    private final int maxProgression;
+
+    public AdvancementWrapper_serverVersion1_17_R1(@NotNull MinecraftKeyWrapper key, @NotNull AdvancementDisplayWrapper display, int maxProgression) {
+        this(key, null, display, maxProgression);
+    }
+
+    public AdvancementWrapper_serverVersion1_17_R1(@NotNull MinecraftKeyWrapper key, @Nullable AdvancementWrapper parent, @NotNull AdvancementDisplayWrapper display, int maxProgression) {
+        this.key = key;
+        this.parent = parent;
+        this.display = display;
+        this.maxProgression = maxProgression;
+    }
+
+    @Override
+    @NotNull
+    public MinecraftKeyWrapper getKey() {
+        return key;
+    }
+
+    @Override
+    @Nullable
+    public AdvancementWrapper getParent() {
+        return parent;
+    }
+
+    @Override
+    @NotNull
+    public AdvancementDisplayWrapper getDisplay() {
+        return display;
+    }
+
+    @Override
+    public int getMaxProgression() {
+        return maxProgression;
+    }
+
+    @Override
+    @NotNull
+    public Object toNMS() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,48 @@
+package com.fren_gor.ultimateAdvancementAPI.nms.serverVersion1_17_R1.packets;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.EncodedPacketWrapper;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Counts references like the ByteBuf of the real implementations, which would leak off-heap memory if not released
+public class EncodedPacketWrapper_serverVersion1_17_R1 extends EncodedPacketWrapper {
+
+    public static final List<EncodedPacketWrapper_serverVersion1_17_R1> CREATED = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger refCnt = new AtomicInteger(1);
+
+    public EncodedPacketWrapper_serverVersion1_17_R1() {
+        CREATED.add(this);
+    }
+
+    public int refCnt() {
+        return refCnt.get();
+    }
+
+    @Override
+    public void sendTo(@NotNull Player player) {
+        if (refCnt.get() <= 0) {
+            throw new IllegalStateException("Packet sent after being freed.");
+        }
+    }
+
+    @Override
+    @NotNull
+    public EncodedPacketWrapper_serverVersion1_17_R1 retain() {
+        if (refCnt.getAndIncrement() <= 0) {
+            throw new IllegalStateException("Packet retained after being freed.");
+        }
+        return this;
+    }
+
+    @Override
+    public void release() {
+        if (refCnt.decrementAndGet() < 0) {
+            throw new IllegalStateException("Packet released too many times.");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.fren_gor.ultimateAdvancementAPI.nms.serverVersion1_17_R1.packets;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.MinecraftKeyWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.EncodedPacketWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.PacketPlayOutAdvancementsWrapper;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+
+public class PacketPlayOutAdvancementsWrapper_serverVersion1_17_R1 extends PacketPlayOutAdvancementsWrapper {
+
+    public PacketPlayOutAdvancementsWrapper_serverVersion1_17_R1() {
+    }
+
+    public PacketPlayOutAdvancementsWrapper_serverVersion1_17_R1(@NotNull Map<AdvancementWrapper, Integer> toSend) {
+    }
+
+    public PacketPlayOutAdvancementsWrapper_serverVersion1_17_R1(@NotNull Set<MinecraftKeyWrapper> toRemove) {
+    }
+
+    public PacketPlayOutAdvancementsWrapper_serverVersion1_17_R1(@NotNull Map<AdvancementWrapper, Integer> toSend, @NotNull Map<AdvancementWrapper, Integer> toUpdate, @NotNull Set<MinecraftKeyWrapper> toRemove) {
+    }
+
+    @Override
+    public void sendTo(@NotNull Player player) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    @NotNull
+    public EncodedPacketWrapper encode() {
+        return new EncodedPacketWrapper_serverVersion1_17_R1();
+    }
+}
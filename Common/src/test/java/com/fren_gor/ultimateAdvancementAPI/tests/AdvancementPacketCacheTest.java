@@ -0,0 +1,187 @@
+package com.fren_gor.ultimateAdvancementAPI.tests;
+
+import com.fren_gor.ultimateAdvancementAPI.AdvancementMain;
+import com.fren_gor.ultimateAdvancementAPI.AdvancementPacketCache;
+import com.fren_gor.ultimateAdvancementAPI.AdvancementTab;
+import com.fren_gor.ultimateAdvancementAPI.advancement.BaseAdvancement;
+import com.fren_gor.ultimateAdvancementAPI.advancement.RootAdvancement;
+import com.fren_gor.ultimateAdvancementAPI.advancement.display.AdvancementDisplay;
+import com.fren_gor.ultimateAdvancementAPI.nms.serverVersion1_17_R1.packets.EncodedPacketWrapper_serverVersion1_17_R1;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.EncodedPacketWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.ISendable;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class AdvancementPacketCacheTest {
+
+    private static Method getSendPacket, invalidate;
+
+    static {
+        try {
+            getSendPacket = AdvancementPacketCache.class.getDeclaredMethod("getSendPacket", AdvancementTab.class, Map.class);
+            getSendPacket.setAccessible(true);
+            invalidate = AdvancementPacketCache.class.getDeclaredMethod("invalidate", AdvancementTab.class);
+            invalidate.setAccessible(true);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private MockedStatic<Bukkit> bukkitMock;
+    private AdvancementPacketCache cache;
+    private AdvancementTab tab;
+    private AdvancementWrapper root, child;
+
+    @Before
+    public void setUp() throws Exception {
+        bukkitMock = Utils.mockServer();
+        Plugin plugin = InterfaceImplementer.newFakePlugin("packetCachePlugin");
+        AdvancementMain main = Utils.newAdvancementMain(plugin);
+        tab = main.createAdvancementTab(plugin, "packetcachetab");
+        var rootAdvancement = new RootAdvancement(tab, "root", display(), "textures/block/stone.png");
+        var childAdvancement = new BaseAdvancement("child", display(), rootAdvancement, 5);
+        tab.registerAdvancements(rootAdvancement, childAdvancement);
+        root = rootAdvancement.getNMSWrapper();
+        child = childAdvancement.getNMSWrapper();
+
+        cache = main.getPacketCache();
+        cache.setEnabled(true);
+        cache.setMaxPackets(2);
+        EncodedPacketWrapper_serverVersion1_17_R1.CREATED.clear();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cache.clear();
+        bukkitMock.close();
+        bukkitMock = null;
+        // Every encoded packet must have been freed
+        for (var packet : EncodedPacketWrapper_serverVersion1_17_R1.CREATED) {
+            assertEquals(0, packet.refCnt());
+        }
+        EncodedPacketWrapper_serverVersion1_17_R1.CREATED.clear();
+    }
+
+    @Test
+    public void cacheHitTest() throws Exception {
+        var first = getSendPacket(advs(1));
+        var second = getSendPacket(advs(1));
+        assertSame(first, second);
+        // One reference held by the cache and one by every caller
+        assertEquals(3, first.refCnt());
+        first.release();
+        second.release();
+        assertEquals(1, first.refCnt());
+        assertEquals(1, EncodedPacketWrapper_serverVersion1_17_R1.CREATED.size());
+
+        cache.clear();
+        assertEquals(0, first.refCnt());
+    }
+
+    @Test
+    public void evictionTest() throws Exception {
+        var p1 = send(advs(1));
+        var p2 = send(advs(2));
+        assertEquals(1, p1.refCnt());
+        assertEquals(1, p2.refCnt());
+
+        // The least recently used packet is released when a third one is cached
+        assertSame(p1, send(advs(1)));
+        var p3 = send(advs(3));
+        assertEquals(0, p2.refCnt());
+        assertEquals(1, p1.refCnt());
+        assertEquals(1, p3.refCnt());
+
+        // A packet still held by a caller is freed only after being released by it
+        var held = getSendPacket(advs(1));
+        send(advs(4));
+        send(advs(5));
+        assertEquals(1, held.refCnt());
+        held.release();
+        assertEquals(0, held.refCnt());
+    }
+
+    @Test
+    public void invalidateTest() throws Exception {
+        var packet = send(advs(1));
+        assertEquals(1, packet.refCnt());
+        invalidate.invoke(cache, tab);
+        assertEquals(0, packet.refCnt());
+
+        // A new packet is encoded after the tab has been invalidated
+        assertNotSame(packet, send(advs(1)));
+    }
+
+    @Test
+    public void disableTest() throws Exception {
+        var packet = send(advs(1));
+        cache.setEnabled(false);
+        assertEquals(0, packet.refCnt());
+
+        // Packets are not encoded when the cache is disabled
+        var sendable = (ISendable) getSendPacket.invoke(cache, tab, advs(1));
+        assertFalse(sendable instanceof EncodedPacketWrapper);
+        assertEquals(1, EncodedPacketWrapper_serverVersion1_17_R1.CREATED.size());
+    }
+
+    @Test
+    public void inactiveTabTest() throws Exception {
+        var other = Utils.newAdvancementMain(InterfaceImplementer.newFakePlugin("packetCachePlugin2")).createAdvancementTab(InterfaceImplementer.newFakePlugin("packetCachePlugin2"), "inactivetab");
+        assertFalse(other.isActive());
+
+        // Packets of inactive tabs are not cached, so the caller holds the only reference
+        var packet = (EncodedPacketWrapper_serverVersion1_17_R1) getSendPacket.invoke(cache, other, advs(1));
+        assertEquals(1, packet.refCnt());
+        packet.release();
+        assertEquals(0, packet.refCnt());
+    }
+
+    /**
+     * Gets a packet and releases it after "sending" it, like {@link AdvancementTab} does.
+     */
+    @NotNull
+    private EncodedPacketWrapper_serverVersion1_17_R1 send(@NotNull Map<AdvancementWrapper, Integer> advs) throws Exception {
+        var packet = getSendPacket(advs);
+        packet.sendTo(InterfaceImplementer.newFakePlayer(UUID.randomUUID()));
+        packet.release();
+        return packet;
+    }
+
+    @NotNull
+    private EncodedPacketWrapper_serverVersion1_17_R1 getSendPacket(@NotNull Map<AdvancementWrapper, Integer> advs) throws Exception {
+        try {
+            return (EncodedPacketWrapper_serverVersion1_17_R1) getSendPacket.invoke(cache, tab, advs);
+        } catch (InvocationTargetException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    @NotNull
+    private Map<AdvancementWrapper, Integer> advs(int childProgression) {
+        // A new map every time, like AdvancementTab
+        Map<AdvancementWrapper, Integer> advs = new HashMap<>();
+        advs.put(root, 1);
+        advs.put(child, childProgression);
+        return advs;
+    }
+
+    @NotNull
+    private static AdvancementDisplay display() {
+        return new AdvancementDisplay.Builder(Material.GRASS_BLOCK, "Title").build();
+    }
+}
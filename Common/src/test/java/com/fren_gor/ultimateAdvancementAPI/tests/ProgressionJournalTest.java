@@ -0,0 +1,287 @@
+package com.fren_gor.ultimateAdvancementAPI.tests;
+
+import com.fren_gor.ultimateAdvancementAPI.database.DatabaseExecutor;
+import com.fren_gor.ultimateAdvancementAPI.database.IDatabase;
+import com.fren_gor.ultimateAdvancementAPI.database.ProgressionJournal;
+import com.fren_gor.ultimateAdvancementAPI.database.ProgressionUpdate;
+import com.fren_gor.ultimateAdvancementAPI.database.Result;
+import com.fren_gor.ultimateAdvancementAPI.tests.InterfaceImplementer.ImplementedMethod;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+public class ProgressionJournalTest {
+
+    private static Constructor<ProgressionJournal> journalConstructor;
+    private static Constructor<DatabaseExecutor> executorConstructor;
+    private static Method enqueue, flushPending, close, shutdown;
+
+    static {
+        try {
+            journalConstructor = ProgressionJournal.class.getDeclaredConstructor(Plugin.class, IDatabase.class, DatabaseExecutor.class);
+            journalConstructor.setAccessible(true);
+            executorConstructor = DatabaseExecutor.class.getDeclaredConstructor(String.class, int.class);
+            executorConstructor.setAccessible(true);
+            enqueue = ProgressionJournal.class.getDeclaredMethod("enqueue", AdvancementKey.class, int.class, int.class);
+            enqueue.setAccessible(true);
+            flushPending = ProgressionJournal.class.getDeclaredMethod("flushPending");
+            flushPending.setAccessible(true);
+            close = ProgressionJournal.class.getDeclaredMethod("close");
+            close.setAccessible(true);
+            shutdown = DatabaseExecutor.class.getDeclaredMethod("shutdown");
+            shutdown.setAccessible(true);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private MockedStatic<Bukkit> bukkitMock;
+    private DatabaseExecutor executor;
+    private ProgressionJournal journal;
+
+    // The fake database
+    private final Map<ProgressionUpdate, Integer> rows = new HashMap<>();
+    private final List<Collection<ProgressionUpdate>> batches = new ArrayList<>();
+    private Predicate<ProgressionUpdate> failing = u -> false;
+    private Runnable duringBatch = () -> {};
+    private int singleWrites, scheduledRetries;
+
+    @Before
+    public void setUp() throws Exception {
+        bukkitMock = Utils.mockServer();
+        BukkitScheduler scheduler = InterfaceImplementer.implement(BukkitScheduler.class,
+                new ImplementedMethod("runTaskLaterAsynchronously", (o, args) -> {
+                    scheduledRetries++;
+                    return null;
+                })
+        );
+        bukkitMock.when(Bukkit::getScheduler).thenReturn(scheduler);
+
+        IDatabase database = InterfaceImplementer.implement(IDatabase.class,
+                new ImplementedMethod("updateAdvancements", (o, args) -> {
+                    @SuppressWarnings("unchecked")
+                    Collection<ProgressionUpdate> updates = (Collection<ProgressionUpdate>) args[0];
+                    batches.add(updates);
+                    duringBatch.run();
+                    for (ProgressionUpdate u : updates) {
+                        if (failing.test(u)) {
+                            throw new IllegalStateException("Cannot write " + u.getKey() + '.');
+                        }
+                    }
+                    updates.forEach(this::write);
+                    return null;
+                }),
+                new ImplementedMethod("updateAdvancement", (o, args) -> {
+                    singleWrites++;
+                    var u = new ProgressionUpdate((AdvancementKey) args[0], (int) args[1], (int) args[2]);
+                    if (failing.test(u)) {
+                        throw new IllegalStateException("Cannot write " + u.getKey() + '.');
+                    }
+                    write(u);
+                    return null;
+                })
+        );
+
+        executor = executorConstructor.newInstance("ProgressionJournalTest", 1);
+        journal = journalConstructor.newInstance(InterfaceImplementer.newFakePlugin("journalPlugin"), database, executor);
+        // Flushes are made by the tests
+        journal.setFlushInterval(Long.MAX_VALUE);
+        journal.setFlushThreshold(Integer.MAX_VALUE);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        shutdown.invoke(executor);
+        bukkitMock.close();
+        bukkitMock = null;
+    }
+
+    @Test
+    public void coalescingTest() throws Exception {
+        var key = new AdvancementKey("journal", "key");
+        var other = new AdvancementKey("journal", "other");
+        var first = enqueue(key, 1, 1);
+        assertSame(first, enqueue(key, 1, 2));
+        var otherTeam = enqueue(key, 2, 5);
+        var otherKey = enqueue(other, 1, 3);
+        assertNotSame(first, otherTeam);
+        assertEquals(3, journal.getPendingUpdates());
+        assertEquals(Map.of(1, Map.of(key, 2, other, 3), 2, Map.of(key, 5)), journal.getUnwritten());
+
+        assertFalse(flushPending().isExceptionOccurred());
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+        assertEquals(2, read(key, 1));
+        assertEquals(5, read(key, 2));
+        assertEquals(3, read(other, 1));
+        assertEquals(0, journal.getPendingUpdates());
+        assertTrue(journal.getUnwritten().isEmpty());
+        for (var future : List.of(first, otherTeam, otherKey)) {
+            assertTrue(future.isDone());
+            assertFalse(future.get().isExceptionOccurred());
+        }
+    }
+
+    @Test
+    public void requeueAfterFailureTest() throws Exception {
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(enqueue(new AdvancementKey("journal", "key_" + i), 1, i + 1));
+        }
+
+        failing = u -> true; // The database is unavailable
+        final int scheduled = scheduledRetries; // The first flush has been scheduled by enqueue
+        for (int attempt = 1; attempt <= 5; attempt++) {
+            singleWrites = 0;
+            assertTrue(flushPending().isExceptionOccurred());
+            // Only a few updates are tried one at a time when the database is unavailable
+            assertTrue(singleWrites <= 3);
+            assertEquals(scheduled + attempt, scheduledRetries);
+            // Updates are never dropped while no write succeeds
+            assertEquals(10, journal.getPendingUpdates());
+            assertTrue(journal.hasUnwritten(new AdvancementKey("journal", "key_0"), 1));
+            assertEquals(10, journal.getUnwritten().get(1).size());
+            for (var future : futures) {
+                assertFalse(future.isDone());
+            }
+        }
+
+        failing = u -> false;
+        assertFalse(flushPending().isExceptionOccurred());
+        assertEquals(0, journal.getPendingUpdates());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i + 1, read(new AdvancementKey("journal", "key_" + i), 1));
+            assertFalse(futures.get(i).get().isExceptionOccurred());
+        }
+    }
+
+    @Test
+    public void badUpdateIsDroppedTest() throws Exception {
+        var bad = new AdvancementKey("journal", "bad");
+        failing = u -> u.getKey().equals(bad);
+        var badFuture = enqueue(bad, 1, 1);
+
+        for (int attempt = 1; attempt <= ProgressionJournal.MAX_FAILED_ATTEMPTS; attempt++) {
+            var good = new AdvancementKey("journal", "good_" + attempt);
+            var goodFuture = enqueue(good, 1, attempt);
+            assertTrue(flushPending().isExceptionOccurred());
+            // The other updates of the failed batch are written anyway
+            assertEquals(attempt, read(good, 1));
+            assertFalse(goodFuture.get().isExceptionOccurred());
+            if (attempt < ProgressionJournal.MAX_FAILED_ATTEMPTS) {
+                assertTrue(journal.hasUnwritten(bad, 1));
+                assertFalse(badFuture.isDone());
+            }
+        }
+
+        // The database accepted other writes, so the bad update has been dropped
+        assertFalse(journal.hasUnwritten(bad, 1));
+        assertEquals(0, journal.getPendingUpdates());
+        assertTrue(badFuture.isDone());
+        assertTrue(badFuture.get().isExceptionOccurred());
+        assertEquals(0, read(bad, 1));
+    }
+
+    @Test
+    public void newerUpdateSupersedesFailedTest() throws Exception {
+        var key = new AdvancementKey("journal", "key");
+        var old = enqueue(key, 1, 1);
+
+        failing = u -> true;
+        List<CompletableFuture<Result>> newer = new ArrayList<>();
+        duringBatch = () -> {
+            // The update being written is not in the database yet
+            assertEquals(Map.of(1, Map.of(key, 1)), journal.getUnwritten());
+            newer.add(enqueue(key, 1, 2));
+            assertEquals(Map.of(1, Map.of(key, 2)), journal.getUnwritten());
+            duringBatch = () -> {};
+        };
+        assertTrue(flushPending().isExceptionOccurred());
+        assertEquals(1, newer.size());
+        assertNotSame(old, newer.get(0));
+        assertEquals(1, journal.getPendingUpdates());
+        assertEquals(Map.of(1, Map.of(key, 2)), journal.getUnwritten());
+        assertFalse(old.isDone());
+
+        failing = u -> false;
+        assertFalse(flushPending().isExceptionOccurred());
+        assertEquals(2, read(key, 1));
+        // The failed update is done when the newer one is written
+        assertFalse(newer.get(0).get().isExceptionOccurred());
+        assertTrue(old.isDone());
+        assertFalse(old.get().isExceptionOccurred());
+    }
+
+    @Test
+    public void closeTest() throws Exception {
+        var key = new AdvancementKey("journal", "key");
+        var written = enqueue(key, 1, 4);
+        close.invoke(journal);
+        assertEquals(4, read(key, 1));
+        assertFalse(written.get().isExceptionOccurred());
+
+        var afterClose = enqueue(key, 1, 5);
+        assertTrue(afterClose.isDone());
+        assertTrue(afterClose.get().isExceptionOccurred());
+        assertEquals(4, read(key, 1));
+        assertEquals(0, journal.getPendingUpdates());
+    }
+
+    @Test
+    public void failedCloseTest() throws Exception {
+        var key = new AdvancementKey("journal", "key");
+        var future = enqueue(key, 1, 4);
+        failing = u -> true;
+        final int scheduled = scheduledRetries;
+        close.invoke(journal);
+
+        // The last flush is not retried
+        assertEquals(scheduled, scheduledRetries);
+        assertEquals(0, journal.getPendingUpdates());
+        assertTrue(journal.getUnwritten().isEmpty());
+        assertTrue(future.isDone());
+        assertTrue(future.get().isExceptionOccurred());
+    }
+
+    private void write(@NotNull ProgressionUpdate u) {
+        rows.put(new ProgressionUpdate(u.getKey(), u.getTeamId(), 0), u.getProgression());
+    }
+
+    private int read(@NotNull AdvancementKey key, int teamId) {
+        return rows.getOrDefault(new ProgressionUpdate(key, teamId, 0), 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Result> enqueue(@NotNull AdvancementKey key, int teamId, int progression) {
+        try {
+            return (CompletableFuture<Result>) enqueue.invoke(journal, key, teamId, progression);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private Result flushPending() throws Exception {
+        return (Result) flushPending.invoke(journal);
+    }
+}
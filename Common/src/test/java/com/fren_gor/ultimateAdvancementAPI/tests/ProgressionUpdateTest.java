@@ -0,0 +1,60 @@
+package com.fren_gor.ultimateAdvancementAPI.tests;
+
+import com.fren_gor.ultimateAdvancementAPI.database.ProgressionUpdate;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import org.bukkit.Bukkit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ProgressionUpdateTest {
+
+    private MockedStatic<Bukkit> bukkitMock;
+
+    @Before
+    public void setUp() throws Exception {
+        bukkitMock = Utils.mockServer();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        bukkitMock.close();
+        bukkitMock = null;
+    }
+
+    @Test
+    public void noDuplicatesTest() {
+        var key = new AdvancementKey("namespace", "key");
+        List<ProgressionUpdate> updates = List.of(new ProgressionUpdate(key, 1, 5), new ProgressionUpdate(key, 2, 0));
+        assertSame(updates, ProgressionUpdate.lastUpdates(updates));
+        assertSame(List.of(), ProgressionUpdate.lastUpdates(List.of()));
+    }
+
+    @Test
+    public void lastUpdateWinsTest() {
+        var key = new AdvancementKey("namespace", "key");
+        var other = new AdvancementKey("namespace", "other");
+        List<ProgressionUpdate> updates = List.of(
+                new ProgressionUpdate(key, 1, 5),
+                new ProgressionUpdate(other, 1, 3),
+                new ProgressionUpdate(key, 2, 7),
+                new ProgressionUpdate(key, 1, 0),
+                new ProgressionUpdate(other, 1, 4)
+        );
+        Set<ProgressionUpdate> expected = Set.of(
+                new ProgressionUpdate(key, 1, 0),
+                new ProgressionUpdate(other, 1, 4),
+                new ProgressionUpdate(key, 2, 7)
+        );
+        var last = ProgressionUpdate.lastUpdates(updates);
+        assertEquals(3, last.size());
+        assertEquals(expected, new HashSet<>(last));
+    }
+}
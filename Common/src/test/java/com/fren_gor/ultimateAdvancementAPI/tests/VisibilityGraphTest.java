@@ -0,0 +1,166 @@
+package com.fren_gor.ultimateAdvancementAPI.tests;
+
+import com.fren_gor.ultimateAdvancementAPI.AdvancementMain;
+import com.fren_gor.ultimateAdvancementAPI.AdvancementTab;
+import com.fren_gor.ultimateAdvancementAPI.advancement.Advancement;
+import com.fren_gor.ultimateAdvancementAPI.advancement.BaseAdvancement;
+import com.fren_gor.ultimateAdvancementAPI.advancement.RootAdvancement;
+import com.fren_gor.ultimateAdvancementAPI.advancement.display.AdvancementDisplay;
+import com.fren_gor.ultimateAdvancementAPI.advancement.multiParents.MultiParentsAdvancement;
+import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
+import com.fren_gor.ultimateAdvancementAPI.database.TeamProgressions;
+import com.fren_gor.ultimateAdvancementAPI.visibilities.HiddenVisibility;
+import com.fren_gor.ultimateAdvancementAPI.visibilities.ParentGrantedVisibility;
+import com.fren_gor.ultimateAdvancementAPI.visibilities.VanillaVisibility;
+import com.fren_gor.ultimateAdvancementAPI.visibilities.VisibilityGraph;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class VisibilityGraphTest {
+
+    private MockedStatic<Bukkit> bukkitMock;
+    private AdvancementTab tab;
+    private int teamId;
+
+    @Before
+    public void setUp() throws Exception {
+        bukkitMock = Utils.mockServer();
+        Plugin plugin = InterfaceImplementer.newFakePlugin("visibilityPlugin");
+        AdvancementMain main = Utils.newAdvancementMain(plugin);
+        tab = main.createAdvancementTab(plugin, "visibilitytab");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        bukkitMock.close();
+        bukkitMock = null;
+    }
+
+    @Test
+    public void chainTest() {
+        var root = new RootAdvancement(tab, "root", display(), "textures/block/stone.png");
+        var vanilla = new Vanilla("vanilla", root, 1);
+        var parentGranted = new ParentGranted("parent_granted", vanilla, 2);
+        var hidden = new Hidden("hidden", parentGranted, 1);
+        var vanilla2 = new Vanilla("vanilla2", parentGranted, 3);
+        var vanilla3 = new Vanilla("vanilla3", hidden, 1);
+        var parentGranted2 = new ParentGranted("parent_granted2", vanilla3, 1);
+
+        assertEquivalent(List.of(root, vanilla, parentGranted, hidden, vanilla2, vanilla3, parentGranted2));
+    }
+
+    @Test
+    public void multiParentsTest() {
+        var root = new RootAdvancement(tab, "root", display(), "textures/block/stone.png");
+        var a = new Vanilla("a", root, 1);
+        var b = new ParentGranted("b", a, 2);
+        var c = new Hidden("c", root, 1);
+        var d = new Vanilla("d", b, 1);
+        var multiVanilla = new MultiVanilla("multi_vanilla", 1, b, c);
+        var multiParentGranted = new MultiParentGranted("multi_parent_granted", 2, a, d);
+        var multiHidden = new MultiHidden("multi_hidden", 1, c, d);
+        // Children of multi-parent advancements, whose grandparents are the parents of the multi-parent advancement
+        var e = new Vanilla("e", multiVanilla, 1);
+        var f = new ParentGranted("f", multiVanilla, 1);
+        var g = new Vanilla("g", multiParentGranted, 2);
+        // Multi-parent advancements with multi-parent parents
+        var multi2 = new MultiVanilla("multi2", 1, multiVanilla, multiParentGranted, e);
+        var multi3 = new MultiParentGranted("multi3", 1, multi2, multiHidden);
+        var h = new Vanilla("h", multi2, 1);
+
+        assertEquivalent(List.of(root, a, b, c, d, multiVanilla, multiParentGranted, multiHidden, e, f, g, multi2, multi3, h));
+    }
+
+    private void assertEquivalent(@NotNull List<Advancement> advancements) {
+        // The tab isn't initialised, so Advancement#isVisible(TeamProgression) calls the visibility interfaces
+        assertNull(tab.getVisibilityGraph());
+        final VisibilityGraph graph = new VisibilityGraph(advancements);
+        for (Advancement advancement : advancements.subList(1, advancements.size())) {
+            assertNotEquals(advancement.getKey().toString(), -1, graph.getOrdinal(advancement));
+        }
+
+        final Random random = new Random(42);
+        for (int run = 0; run < 20; run++) {
+            final TeamProgression pro = newTeamProgression();
+            assertSameVisibility(graph, advancements, pro);
+            for (int update = 0; update < 50; update++) {
+                final Advancement advancement = advancements.get(random.nextInt(advancements.size()));
+                final int max = advancement.getMaxProgression();
+                // Mostly zero or max, so that the ancestors are often granted
+                final int progression = switch (random.nextInt(4)) {
+                    case 0 -> 0;
+                    case 1 -> random.nextInt(max + 1);
+                    default -> max;
+                };
+                TeamProgressions.updateProgression(pro, advancement.getKey(), progression);
+                assertSameVisibility(graph, advancements, pro);
+            }
+        }
+    }
+
+    private static void assertSameVisibility(@NotNull VisibilityGraph graph, @NotNull List<Advancement> advancements, @NotNull TeamProgression pro) {
+        for (Advancement advancement : advancements) {
+            final int ordinal = graph.getOrdinal(advancement);
+            if (ordinal != -1) {
+                assertEquals(advancement.getKey() + " " + pro.getProgressionsCopy(), advancement.isVisible(pro), graph.isVisible(ordinal, pro));
+            }
+        }
+    }
+
+    @NotNull
+    private TeamProgression newTeamProgression() {
+        return TeamProgressions.newTeamProgression(teamId++);
+    }
+
+    @NotNull
+    private static AdvancementDisplay display() {
+        return new AdvancementDisplay.Builder(Material.GRASS_BLOCK, "Title").build();
+    }
+
+    private static final class Vanilla extends BaseAdvancement implements VanillaVisibility {
+        Vanilla(@NotNull String key, @NotNull Advancement parent, int maxProgression) {
+            super(key, display(), parent, maxProgression);
+        }
+    }
+
+    private static final class ParentGranted extends BaseAdvancement implements ParentGrantedVisibility {
+        ParentGranted(@NotNull String key, @NotNull Advancement parent, int maxProgression) {
+            super(key, display(), parent, maxProgression);
+        }
+    }
+
+    private static final class Hidden extends BaseAdvancement implements HiddenVisibility {
+        Hidden(@NotNull String key, @NotNull Advancement parent, int maxProgression) {
+            super(key, display(), parent, maxProgression);
+        }
+    }
+
+    private static final class MultiVanilla extends MultiParentsAdvancement implements VanillaVisibility {
+        MultiVanilla(@NotNull String key, int maxProgression, @NotNull BaseAdvancement... parents) {
+            super(key, display(), maxProgression, parents);
+        }
+    }
+
+    private static final class MultiParentGranted extends MultiParentsAdvancement implements ParentGrantedVisibility {
+        MultiParentGranted(@NotNull String key, int maxProgression, @NotNull BaseAdvancement... parents) {
+            super(key, display(), maxProgression, parents);
+        }
+    }
+
+    private static final class MultiHidden extends MultiParentsAdvancement implements HiddenVisibility {
+        MultiHidden(@NotNull String key, int maxProgression, @NotNull BaseAdvancement... parents) {
+            super(key, display(), maxProgression, parents);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.fren_gor.ultimateAdvancementAPI.tests;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.util.ReflectionUtil;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.MinecraftKeyWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.PacketPlayOutAdvancementsWrapper;
+import org.bukkit.Bukkit;
+import org.mockito.MockedStatic;
+
+import java.lang.reflect.Constructor;
+import java.util.Map;
+
+/**
+ * Compares the cost of crafting NMS wrappers through {@link Constructor#newInstance(Object...)}, like the craft methods
+ * used to do, with the cost of the current MethodHandle-based craft methods.
+ * <p>It isn't a test, run it manually. The wrappers are the test stubs, whose constructors do (almost) nothing,
+ * so the numbers are the overhead of the factories alone.
+ */
+public final class WrapperFactoryBenchmark {
+
+    private static final int CALLS = 20_000_000;
+    private static final int ROUNDS = 5;
+
+    // Keeps the crafted wrappers alive, so that their allocation is not optimized away
+    private static Object sink;
+
+    public static void main(String[] args) throws Exception {
+        try (MockedStatic<Bukkit> bukkitMock = Utils.mockServer()) {
+            run();
+        }
+    }
+
+    private static void run() throws Exception {
+        final Map<AdvancementWrapper, Integer> advs = Map.of();
+        final Constructor<?> packetConstructor = ReflectionUtil.getWrapperClass(PacketPlayOutAdvancementsWrapper.class).getConstructor(Map.class);
+        final Constructor<?> keyConstructor = ReflectionUtil.getWrapperClass(MinecraftKeyWrapper.class).getConstructor(String.class, String.class);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < CALLS; i++) {
+                sink = packetConstructor.newInstance(advs);
+            }
+            final double reflectivePacket = (System.nanoTime() - start) / (double) CALLS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < CALLS; i++) {
+                sink = PacketPlayOutAdvancementsWrapper.craftSendPacket(advs);
+            }
+            final double handlePacket = (System.nanoTime() - start) / (double) CALLS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < CALLS / 10; i++) {
+                sink = keyConstructor.newInstance("namespace", "key");
+            }
+            final double reflectiveKey = (System.nanoTime() - start) / (double) (CALLS / 10);
+
+            start = System.nanoTime();
+            for (int i = 0; i < CALLS / 10; i++) {
+                sink = MinecraftKeyWrapper.craft("namespace", "key");
+            }
+            final double handleKey = (System.nanoTime() - start) / (double) (CALLS / 10);
+
+            System.out.printf("Round %d: packet %.1f ns (newInstance) vs %.1f ns (MethodHandle), key %.1f ns (newInstance) vs %.1f ns (MethodHandle)%n",
+                    round, reflectivePacket, handlePacket, reflectiveKey, handleKey);
+        }
+        System.out.println(sink != null ? "Done." : "");
+    }
+
+    private WrapperFactoryBenchmark() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+}
@@ -1,7 +1,9 @@
 package com.fren_gor.ultimateAdvancementAPI.nms.v1_16_R1;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Maps;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
 import net.minecraft.server.v1_16_R1.AdvancementProgress;
 import net.minecraft.server.v1_16_R1.Criterion;
 import net.minecraft.server.v1_16_R1.CriterionProgress;
@@ -13,52 +15,116 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Util {
 
+    // Maximum amount of criteria of the cached progresses, which bounds the memory used by the cache
+    private static final int MAX_CACHED_CRITERIA = 1 << 18;
+
+    // Criteria and requirements are shared by every advancement with the same max progression
+    private static final Map<Integer, CriteriaTable> CRITERIA_TABLES = new ConcurrentHashMap<>();
+
+    // Progresses of the advancements which use the criteria tables. They are shared by every packet, so they must never be modified
+    private static final Cache<Long, AdvancementProgress> PROGRESS_CACHE = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_CRITERIA)
+            .weigher((Long key, AdvancementProgress progress) -> Math.max(1, (int) (key >>> 32)))
+            .build();
+
     @NotNull
     public static Map<String, Criterion> getAdvancementCriteria(@Range(from = 1, to = Integer.MAX_VALUE) int maxProgression) {
         Preconditions.checkArgument(maxProgression >= 1, "Max progression must be >= 1.");
 
-        Map<String, Criterion> advCriteria = Maps.newHashMapWithExpectedSize(maxProgression);
-        for (int i = 0; i < maxProgression; i++) {
-            advCriteria.put(String.valueOf(i), new Criterion(new CriterionTriggerImpossible.a()));
-        }
-
-        return advCriteria;
+        return CRITERIA_TABLES.computeIfAbsent(maxProgression, CriteriaTable::new).criteria;
     }
 
     @NotNull
     public static String[][] getAdvancementRequirements(@NotNull Map<String, Criterion> advCriteria) {
         Preconditions.checkNotNull(advCriteria, "Advancement criteria map is null.");
 
-        String[][] array = new String[advCriteria.size()][1];
-        int index = 0;
-        for (String name : advCriteria.keySet()) {
-            array[index++][0] = name;
+        CriteriaTable table = CRITERIA_TABLES.get(advCriteria.size());
+        if (table != null && table.criteria == advCriteria) {
+            return table.requirements;
         }
-
-        return array;
+        return createRequirements(advCriteria);
     }
 
+    /**
+     * Gets the progress of the provided advancement with the provided progression.
+     * <p>If the advancement uses the criteria and requirements returned by {@link #getAdvancementCriteria(int)} and
+     * {@link #getAdvancementRequirements(Map)}, the returned progress is cached and shared by every caller.
+     * Returned progresses must never be modified.
+     *
+     * @param mcAdv The NMS advancement.
+     * @param progression The progression of the advancement.
+     * @return The progress of the advancement. It must not be modified.
+     */
     @NotNull
     public static net.minecraft.server.v1_16_R1.AdvancementProgress getAdvancementProgress(@NotNull net.minecraft.server.v1_16_R1.Advancement mcAdv, @Range(from = 0, to = Integer.MAX_VALUE) int progression) {
         Preconditions.checkNotNull(mcAdv, "NMS Advancement is null.");
         Preconditions.checkArgument(progression >= 0, "Progression must be >= 0.");
 
+        final Map<String, Criterion> criteria = mcAdv.getCriteria();
+        final int maxProgression = criteria.size();
+        final int granted = Math.min(progression, maxProgression);
+        final CriteriaTable table = CRITERIA_TABLES.get(maxProgression);
+        if (table == null || table.criteria != criteria || table.requirements != mcAdv.i()) {
+            // Other criteria may have different names or requirements, so their progresses cannot be shared
+            return createAdvancementProgress(mcAdv, granted);
+        }
+
+        // The criteria of a table are named from 0 to maxProgression - 1, so the progress depends only on the amount of criteria and of granted ones
+        final long key = ((long) maxProgression << 32) | granted;
+        AdvancementProgress advPrg = PROGRESS_CACHE.getIfPresent(key);
+        if (advPrg == null) {
+            advPrg = createAdvancementProgress(mcAdv, granted);
+            PROGRESS_CACHE.put(key, advPrg);
+        }
+        return advPrg;
+    }
+
+    @NotNull
+    private static net.minecraft.server.v1_16_R1.AdvancementProgress createAdvancementProgress(@NotNull net.minecraft.server.v1_16_R1.Advancement mcAdv, int granted) {
         AdvancementProgress advPrg = new AdvancementProgress();
         advPrg.a(mcAdv.getCriteria(), mcAdv.i());
 
-        for (int i = 0; i < progression; i++) {
+        for (int i = 0; i < granted; i++) {
             CriterionProgress criteriaPrg = advPrg.getCriterionProgress(String.valueOf(i));
             if (criteriaPrg != null) {
                 criteriaPrg.b();
             }
         }
-
         return advPrg;
     }
 
+    @NotNull
+    private static String[][] createRequirements(@NotNull Map<String, Criterion> advCriteria) {
+        String[][] array = new String[advCriteria.size()][1];
+        int index = 0;
+        for (String name : advCriteria.keySet()) {
+            array[index++][0] = name;
+        }
+
+        return array;
+    }
+
+    private static final class CriteriaTable {
+        private final Map<String, Criterion> criteria;
+        private final String[][] requirements;
+
+        public CriteriaTable(int maxProgression) {
+            // Impossible triggers hold no state, so the same criterion can be used for every name
+            final Criterion criterion = new Criterion(new CriterionTriggerImpossible.a());
+            // An ImmutableMap isn't copied by ImmutableMap#copyOf, so NMS advancements keep referencing the same instance
+            ImmutableMap.Builder<String, Criterion> advCriteria = ImmutableMap.builder();
+            for (int i = 0; i < maxProgression; i++) {
+                advCriteria.put(String.valueOf(i), criterion);
+            }
+            this.criteria = advCriteria.build();
+            this.requirements = createRequirements(criteria);
+        }
+    }
+
     public static void sendTo(@NotNull Player player, @NotNull Packet<?> packet) {
         Preconditions.checkNotNull(player, "Player is null.");
         Preconditions.checkNotNull(packet, "Packet is null.");
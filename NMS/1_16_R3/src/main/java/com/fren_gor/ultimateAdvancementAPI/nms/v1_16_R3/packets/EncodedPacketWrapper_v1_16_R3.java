@@ -0,0 +1,64 @@
+package com.fren_gor.ultimateAdvancementAPI.nms.v1_16_R3.packets;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.EncodedPacketWrapper;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import net.minecraft.server.v1_16_R3.EnumProtocol;
+import net.minecraft.server.v1_16_R3.EnumProtocolDirection;
+import net.minecraft.server.v1_16_R3.Packet;
+import net.minecraft.server.v1_16_R3.PacketDataSerializer;
+import org.bukkit.craftbukkit.v1_16_R3.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+public class EncodedPacketWrapper_v1_16_R3 extends EncodedPacketWrapper {
+
+    // The name of the handler which encodes the packets of a connection. The encoded data is written right after it
+    private static final String ENCODER_HANDLER = "encoder";
+
+    private final ByteBuf data;
+
+    public EncodedPacketWrapper_v1_16_R3(@NotNull Packet<?> packet) throws IOException {
+        Preconditions.checkNotNull(packet, "Packet is null.");
+        final Integer id = EnumProtocol.PLAY.a(EnumProtocolDirection.CLIENTBOUND, packet);
+        Preconditions.checkArgument(id != null, "Packet is not a play packet.");
+        ByteBuf data = Unpooled.buffer();
+        PacketDataSerializer serializer = new PacketDataSerializer(data);
+        serializer.d(id);
+        packet.b(serializer);
+        this.data = data;
+    }
+
+    @Override
+    public void sendTo(@NotNull Player player) {
+        Preconditions.checkNotNull(player, "Player is null.");
+        final Channel channel = ((CraftPlayer) player).getHandle().playerConnection.networkManager.channel;
+        final ByteBuf toWrite = data.retainedDuplicate();
+        // Write on the event loop to keep the order with the packets sent normally, which are written on it too
+        channel.eventLoop().execute(() -> {
+            ChannelHandlerContext encoder = channel.pipeline().context(ENCODER_HANDLER);
+            if (encoder == null) {
+                toWrite.release(); // The connection has been closed
+                return;
+            }
+            encoder.writeAndFlush(toWrite);
+        });
+    }
+
+    @Override
+    @NotNull
+    public EncodedPacketWrapper_v1_16_R3 retain() {
+        data.retain();
+        return this;
+    }
+
+    @Override
+    public void release() {
+        data.release();
+    }
+}
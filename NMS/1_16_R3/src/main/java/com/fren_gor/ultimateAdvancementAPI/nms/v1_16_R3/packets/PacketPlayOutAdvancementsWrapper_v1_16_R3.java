@@ -4,6 +4,7 @@ import com.fren_gor.ultimateAdvancementAPI.nms.util.ListSet;
 import com.fren_gor.ultimateAdvancementAPI.nms.v1_16_R3.Util;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.MinecraftKeyWrapper;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.EncodedPacketWrapper;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.PacketPlayOutAdvancementsWrapper;
 import com.google.common.collect.Maps;
 import net.minecraft.server.v1_16_R3.Advancement;
@@ -13,6 +14,7 @@ import net.minecraft.server.v1_16_R3.PacketPlayOutAdvancements;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
@@ -37,6 +39,20 @@ public class PacketPlayOutAdvancementsWrapper_v1_16_R3 extends PacketPlayOutAdva
         this.packet = new PacketPlayOutAdvancements(false, (Collection<Advancement>) ListSet.fromWrapperSet(toSend.keySet()), Collections.emptySet(), map);
     }
 
+    @SuppressWarnings("unchecked")
+    public PacketPlayOutAdvancementsWrapper_v1_16_R3(@NotNull Map<AdvancementWrapper, Integer> toSend, @NotNull Map<AdvancementWrapper, Integer> toUpdate, @NotNull Set<MinecraftKeyWrapper> toRemove) {
+        Map<MinecraftKey, AdvancementProgress> map = Maps.newHashMapWithExpectedSize(toSend.size() + toUpdate.size());
+        for (Entry<AdvancementWrapper, Integer> e : toSend.entrySet()) {
+            AdvancementWrapper adv = e.getKey();
+            map.put((MinecraftKey) adv.getKey().toNMS(), Util.getAdvancementProgress((Advancement) adv.toNMS(), e.getValue()));
+        }
+        for (Entry<AdvancementWrapper, Integer> e : toUpdate.entrySet()) {
+            AdvancementWrapper adv = e.getKey();
+            map.put((MinecraftKey) adv.getKey().toNMS(), Util.getAdvancementProgress((Advancement) adv.toNMS(), e.getValue()));
+        }
+        this.packet = new PacketPlayOutAdvancements(false, (Collection<Advancement>) ListSet.fromWrapperSet(toSend.keySet()), (Set<MinecraftKey>) ListSet.fromWrapperSet(toRemove), map);
+    }
+
     @SuppressWarnings("unchecked")
     public PacketPlayOutAdvancementsWrapper_v1_16_R3(@NotNull Set<MinecraftKeyWrapper> toRemove) {
         this.packet = new PacketPlayOutAdvancements(false, Collections.emptyList(), (Set<MinecraftKey>) ListSet.fromWrapperSet(toRemove), Collections.emptyMap());
@@ -46,4 +62,10 @@ public class PacketPlayOutAdvancementsWrapper_v1_16_R3 extends PacketPlayOutAdva
     public void sendTo(@NotNull Player player) {
         Util.sendTo(player, packet);
     }
+
+    @Override
+    @NotNull
+    public EncodedPacketWrapper encode() throws IOException {
+        return new EncodedPacketWrapper_v1_16_R3(packet);
+    }
 }
@@ -0,0 +1,63 @@
+package com.fren_gor.ultimateAdvancementAPI.nms.v1_17_R1.packets;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.EncodedPacketWrapper;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.PacketFlow;
+import org.bukkit.craftbukkit.v1_17_R1.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+
+public class EncodedPacketWrapper_v1_17_R1 extends EncodedPacketWrapper {
+
+    // The name of the handler which encodes the packets of a connection. The encoded data is written right after it
+    private static final String ENCODER_HANDLER = "encoder";
+
+    private final ByteBuf data;
+
+    public EncodedPacketWrapper_v1_17_R1(@NotNull Packet<?> packet) {
+        Preconditions.checkNotNull(packet, "Packet is null.");
+        final Integer id = ConnectionProtocol.PLAY.getPacketId(PacketFlow.CLIENTBOUND, packet);
+        Preconditions.checkArgument(id != null, "Packet is not a play packet.");
+        ByteBuf data = Unpooled.buffer();
+        FriendlyByteBuf serializer = new FriendlyByteBuf(data);
+        serializer.writeVarInt(id);
+        packet.write(serializer);
+        this.data = data;
+    }
+
+    @Override
+    public void sendTo(@NotNull Player player) {
+        Preconditions.checkNotNull(player, "Player is null.");
+        final Channel channel = ((CraftPlayer) player).getHandle().connection.connection.channel;
+        final ByteBuf toWrite = data.retainedDuplicate();
+        // Write on the event loop to keep the order with the packets sent normally, which are written on it too
+        channel.eventLoop().execute(() -> {
+            ChannelHandlerContext encoder = channel.pipeline().context(ENCODER_HANDLER);
+            if (encoder == null) {
+                toWrite.release(); // The connection has been closed
+                return;
+            }
+            encoder.writeAndFlush(toWrite);
+        });
+    }
+
+    @Override
+    @NotNull
+    public EncodedPacketWrapper_v1_17_R1 retain() {
+        data.retain();
+        return this;
+    }
+
+    @Override
+    public void release() {
+        data.release();
+    }
+}
@@ -4,6 +4,7 @@ import com.fren_gor.ultimateAdvancementAPI.nms.util.ListSet;
 import com.fren_gor.ultimateAdvancementAPI.nms.v1_17_R1.Util;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.MinecraftKeyWrapper;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.EncodedPacketWrapper;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.PacketPlayOutAdvancementsWrapper;
 import com.google.common.collect.Maps;
 import net.minecraft.advancements.Advancement;
@@ -37,6 +38,20 @@ public class PacketPlayOutAdvancementsWrapper_v1_17_R1 extends PacketPlayOutAdva
         this.packet = new ClientboundUpdateAdvancementsPacket(false, (Collection<Advancement>) ListSet.fromWrapperSet(toSend.keySet()), Collections.emptySet(), map);
     }
 
+    @SuppressWarnings("unchecked")
+    public PacketPlayOutAdvancementsWrapper_v1_17_R1(@NotNull Map<AdvancementWrapper, Integer> toSend, @NotNull Map<AdvancementWrapper, Integer> toUpdate, @NotNull Set<MinecraftKeyWrapper> toRemove) {
+        Map<ResourceLocation, AdvancementProgress> map = Maps.newHashMapWithExpectedSize(toSend.size() + toUpdate.size());
+        for (Entry<AdvancementWrapper, Integer> e : toSend.entrySet()) {
+            AdvancementWrapper adv = e.getKey();
+            map.put((ResourceLocation) adv.getKey().toNMS(), Util.getAdvancementProgress((Advancement) adv.toNMS(), e.getValue()));
+        }
+        for (Entry<AdvancementWrapper, Integer> e : toUpdate.entrySet()) {
+            AdvancementWrapper adv = e.getKey();
+            map.put((ResourceLocation) adv.getKey().toNMS(), Util.getAdvancementProgress((Advancement) adv.toNMS(), e.getValue()));
+        }
+        this.packet = new ClientboundUpdateAdvancementsPacket(false, (Collection<Advancement>) ListSet.fromWrapperSet(toSend.keySet()), (Set<ResourceLocation>) ListSet.fromWrapperSet(toRemove), map);
+    }
+
     @SuppressWarnings("unchecked")
     public PacketPlayOutAdvancementsWrapper_v1_17_R1(@NotNull Set<MinecraftKeyWrapper> toRemove) {
         this.packet = new ClientboundUpdateAdvancementsPacket(false, Collections.emptyList(), (Set<ResourceLocation>) ListSet.fromWrapperSet(toRemove), Collections.emptyMap());
@@ -46,4 +61,10 @@ public class PacketPlayOutAdvancementsWrapper_v1_17_R1 extends PacketPlayOutAdva
     public void sendTo(@NotNull Player player) {
         Util.sendTo(player, packet);
     }
+
+    @Override
+    @NotNull
+    public EncodedPacketWrapper encode() {
+        return new EncodedPacketWrapper_v1_17_R1(packet);
+    }
 }
@@ -4,6 +4,11 @@ import org.bukkit.Bukkit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+
 /**
  * Reflection utility class.
  */
@@ -87,6 +92,57 @@ public class ReflectionUtil {
         }
     }
 
+    /**
+     * Gets a {@link MethodHandle} which invokes the public constructor of the provided class with the provided parameter types.
+     * <p>The returned handle returns the provided type, so that it can be invoked using {@link MethodHandle#invokeExact(Object...)}
+     * by a method which returns that type. When stored in a {@code static final} field, the JIT can inline the invocation,
+     * unlike {@link java.lang.reflect.Constructor#newInstance(Object...)}.
+     * <p>If the constructor cannot be found, the error is printed and the returned handle throws it when invoked.
+     *
+     * @param clazz The class, or {@code null} if it couldn't be found.
+     * @param returnType The return type of the handle. It must be a superclass of the provided class.
+     * @param parameterTypes The parameter types of the constructor.
+     * @return A {@link MethodHandle} which invokes the constructor.
+     */
+    @NotNull
+    public static MethodHandle getConstructor(@Nullable Class<?> clazz, @NotNull Class<?> returnType, @NotNull Class<?>... parameterTypes) {
+        final MethodType type = MethodType.methodType(returnType, parameterTypes);
+        ReflectiveOperationException exception;
+        if (clazz != null) {
+            try {
+                return MethodHandles.publicLookup().findConstructor(clazz, type.changeReturnType(void.class)).asType(type);
+            } catch (ReflectiveOperationException e) {
+                exception = e;
+            }
+        } else {
+            exception = new ClassNotFoundException("Wrapper class of " + returnType.getName() + " is null.");
+        }
+        exception.printStackTrace();
+        return MethodHandles.dropArguments(MethodHandles.throwException(returnType, ReflectiveOperationException.class).bindTo(exception), 0, parameterTypes);
+    }
+
+    /**
+     * Converts a {@link Throwable} thrown by a {@link MethodHandle} into a {@link ReflectiveOperationException}.
+     * <p>Unchecked exceptions and errors are thrown as they are, while other checked exceptions are wrapped into an {@link InvocationTargetException}.
+     * Callers should throw the returned exception: {@code throw ReflectionUtil.rethrow(t);}.
+     *
+     * @param t The {@link Throwable} thrown by the {@link MethodHandle}.
+     * @return The {@link ReflectiveOperationException} to throw.
+     */
+    @NotNull
+    public static ReflectiveOperationException rethrow(@NotNull Throwable t) {
+        if (t instanceof RuntimeException e) {
+            throw e;
+        }
+        if (t instanceof Error e) {
+            throw e;
+        }
+        if (t instanceof ReflectiveOperationException e) {
+            return e;
+        }
+        return new InvocationTargetException(t);
+    }
+
     private ReflectionUtil() {
         throw new UnsupportedOperationException("Utility class.");
     }
@@ -3,28 +3,20 @@ package com.fren_gor.ultimateAdvancementAPI.nms.wrappers;
 import com.fren_gor.ultimateAdvancementAPI.nms.util.ReflectionUtil;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
 
 /**
  * Wrapper class for NMS {@code MinecraftKey}.
  */
 public abstract class MinecraftKeyWrapper extends AbstractWrapper implements Comparable<MinecraftKeyWrapper> {
 
-    private static Constructor<? extends MinecraftKeyWrapper> minecraftKeyConstructor, namespacedKeyConstructor;
+    private static final MethodHandle MINECRAFT_KEY_CONSTRUCTOR, NAMESPACED_KEY_CONSTRUCTOR;
 
     static {
         var clazz = ReflectionUtil.getWrapperClass(MinecraftKeyWrapper.class);
         assert clazz != null : "Wrapper class is null.";
-        try {
-            minecraftKeyConstructor = clazz.getDeclaredConstructor(Object.class);
-        } catch (ReflectiveOperationException e) {
-            e.printStackTrace();
-        }
-        try {
-            namespacedKeyConstructor = clazz.getDeclaredConstructor(String.class, String.class);
-        } catch (ReflectiveOperationException e) {
-            e.printStackTrace();
-        }
+        MINECRAFT_KEY_CONSTRUCTOR = ReflectionUtil.getConstructor(clazz, MinecraftKeyWrapper.class, Object.class);
+        NAMESPACED_KEY_CONSTRUCTOR = ReflectionUtil.getConstructor(clazz, MinecraftKeyWrapper.class, String.class, String.class);
     }
 
     /**
@@ -37,7 +29,11 @@ public abstract class MinecraftKeyWrapper extends AbstractWrapper implements Com
      */
     @NotNull
     public static MinecraftKeyWrapper craft(@NotNull Object minecraftKey) throws ReflectiveOperationException, ClassCastException {
-        return minecraftKeyConstructor.newInstance(minecraftKey);
+        try {
+            return (MinecraftKeyWrapper) MINECRAFT_KEY_CONSTRUCTOR.invokeExact(minecraftKey);
+        } catch (Throwable t) {
+            throw ReflectionUtil.rethrow(t);
+        }
     }
 
     /**
@@ -53,7 +49,11 @@ public abstract class MinecraftKeyWrapper extends AbstractWrapper implements Com
      */
     @NotNull
     public static MinecraftKeyWrapper craft(@NotNull String namespace, @NotNull String key) throws ReflectiveOperationException, IllegalArgumentException {
-        return namespacedKeyConstructor.newInstance(namespace, key);
+        try {
+            return (MinecraftKeyWrapper) NAMESPACED_KEY_CONSTRUCTOR.invokeExact(namespace, key);
+        } catch (Throwable t) {
+            throw ReflectionUtil.rethrow(t);
+        }
     }
 
     /**
@@ -6,23 +6,19 @@ import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
 
 /**
  * Wrapper class for NMS {@code AdvancementDisplay}.
  */
 public abstract class AdvancementDisplayWrapper extends AbstractWrapper {
 
-    private static Constructor<? extends AdvancementDisplayWrapper> constructor;
+    private static final MethodHandle CONSTRUCTOR;
 
     static {
         var clazz = ReflectionUtil.getWrapperClass(AdvancementDisplayWrapper.class);
         assert clazz != null : "Wrapper class is null.";
-        try {
-            constructor = clazz.getDeclaredConstructor(ItemStack.class, String.class, String.class, AdvancementFrameTypeWrapper.class, float.class, float.class, boolean.class, boolean.class, boolean.class, String.class);
-        } catch (ReflectiveOperationException e) {
-            e.printStackTrace();
-        }
+        CONSTRUCTOR = ReflectionUtil.getConstructor(clazz, AdvancementDisplayWrapper.class, ItemStack.class, String.class, String.class, AdvancementFrameTypeWrapper.class, float.class, float.class, boolean.class, boolean.class, boolean.class, String.class);
     }
 
     /**
@@ -102,7 +98,11 @@ public abstract class AdvancementDisplayWrapper extends AbstractWrapper {
      */
     @NotNull
     public static AdvancementDisplayWrapper craft(@NotNull ItemStack icon, @NotNull String title, @NotNull String description, @NotNull AdvancementFrameTypeWrapper frameType, float x, float y, boolean showToast, boolean announceChat, boolean hidden, @Nullable String backgroundTexture) throws ReflectiveOperationException {
-        return constructor.newInstance(icon.clone(), title, description, frameType, x, y, showToast, announceChat, hidden, backgroundTexture);
+        try {
+            return (AdvancementDisplayWrapper) CONSTRUCTOR.invokeExact(icon.clone(), title, description, frameType, x, y, showToast, announceChat, hidden, backgroundTexture);
+        } catch (Throwable t) {
+            throw ReflectionUtil.rethrow(t);
+        }
     }
 
     /**
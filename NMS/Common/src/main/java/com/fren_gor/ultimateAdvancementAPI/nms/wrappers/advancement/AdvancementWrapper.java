@@ -7,29 +7,21 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
 
 /**
  * Wrapper class for NMS {@code Advancement}.
  */
 public abstract class AdvancementWrapper extends AbstractWrapper {
 
-    private static Constructor<? extends AdvancementWrapper> rootAdvancementWrapperConstructor, baseAdvancementWrapperConstructor;
+    private static final MethodHandle ROOT_CONSTRUCTOR, BASE_CONSTRUCTOR;
     private MinecraftKeyWrapper key;
 
     static {
         var clazz = ReflectionUtil.getWrapperClass(AdvancementWrapper.class);
         assert clazz != null : "Wrapper class is null.";
-        try {
-            rootAdvancementWrapperConstructor = clazz.getDeclaredConstructor(MinecraftKeyWrapper.class, AdvancementDisplayWrapper.class, int.class);
-        } catch (ReflectiveOperationException e) {
-            e.printStackTrace();
-        }
-        try {
-            baseAdvancementWrapperConstructor = clazz.getDeclaredConstructor(MinecraftKeyWrapper.class, AdvancementWrapper.class, AdvancementDisplayWrapper.class, int.class);
-        } catch (ReflectiveOperationException e) {
-            e.printStackTrace();
-        }
+        ROOT_CONSTRUCTOR = ReflectionUtil.getConstructor(clazz, AdvancementWrapper.class, MinecraftKeyWrapper.class, AdvancementDisplayWrapper.class, int.class);
+        BASE_CONSTRUCTOR = ReflectionUtil.getConstructor(clazz, AdvancementWrapper.class, MinecraftKeyWrapper.class, AdvancementWrapper.class, AdvancementDisplayWrapper.class, int.class);
     }
 
     /**
@@ -43,7 +35,11 @@ public abstract class AdvancementWrapper extends AbstractWrapper {
      */
     @NotNull
     public static AdvancementWrapper craftRootAdvancement(@NotNull MinecraftKeyWrapper key, @NotNull AdvancementDisplayWrapper display, @Range(from = 1, to = Integer.MAX_VALUE) int maxProgression) throws ReflectiveOperationException {
-        return rootAdvancementWrapperConstructor.newInstance(key, display, maxProgression);
+        try {
+            return (AdvancementWrapper) ROOT_CONSTRUCTOR.invokeExact(key, display, maxProgression);
+        } catch (Throwable t) {
+            throw ReflectionUtil.rethrow(t);
+        }
     }
 
     /**
@@ -58,7 +54,11 @@ public abstract class AdvancementWrapper extends AbstractWrapper {
      */
     @NotNull
     public static AdvancementWrapper craftBaseAdvancement(@NotNull MinecraftKeyWrapper key, @NotNull AdvancementWrapper parent, @NotNull AdvancementDisplayWrapper display, @Range(from = 1, to = Integer.MAX_VALUE) int maxProgression) throws ReflectiveOperationException {
-        return baseAdvancementWrapperConstructor.newInstance(key, parent, display, maxProgression);
+        try {
+            return (AdvancementWrapper) BASE_CONSTRUCTOR.invokeExact(key, parent, display, maxProgression);
+        } catch (Throwable t) {
+            throw ReflectionUtil.rethrow(t);
+        }
     }
 
     /**
@@ -5,7 +5,7 @@ import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.MinecraftKeyWrapper;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
 
 /**
  * {@code PreparedAdvancementWrapper} instances can be converted into an {@link AdvancementWrapper}
@@ -13,16 +13,12 @@ import java.lang.reflect.Constructor;
  */
 public abstract class PreparedAdvancementWrapper {
 
-    private static Constructor<? extends PreparedAdvancementWrapper> constructor;
+    private static final MethodHandle CONSTRUCTOR;
 
     static {
         var clazz = ReflectionUtil.getWrapperClass(PreparedAdvancementWrapper.class);
         assert clazz != null : "Wrapper class is null.";
-        try {
-            constructor = clazz.getDeclaredConstructor(MinecraftKeyWrapper.class, AdvancementDisplayWrapper.class, int.class);
-        } catch (ReflectiveOperationException e) {
-            e.printStackTrace();
-        }
+        CONSTRUCTOR = ReflectionUtil.getConstructor(clazz, PreparedAdvancementWrapper.class, MinecraftKeyWrapper.class, AdvancementDisplayWrapper.class, int.class);
     }
 
     /**
@@ -36,7 +32,11 @@ public abstract class PreparedAdvancementWrapper {
      */
     @NotNull
     public static PreparedAdvancementWrapper craft(@NotNull MinecraftKeyWrapper key, @NotNull AdvancementDisplayWrapper display, @Range(from = 1, to = Integer.MAX_VALUE) int maxProgression) throws ReflectiveOperationException {
-        return constructor.newInstance(key, display, maxProgression);
+        try {
+            return (PreparedAdvancementWrapper) CONSTRUCTOR.invokeExact(key, display, maxProgression);
+        } catch (Throwable t) {
+            throw ReflectionUtil.rethrow(t);
+        }
     }
 
     /**
@@ -0,0 +1,28 @@
+package com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Wrapper class for an already encoded NMS packet.
+ * <p>The packet is encoded once and the same data is written to the connection of every player it is sent to,
+ * skipping the packet encoder of the connection.
+ * <p>The encoded data is reference counted: it is retained when the packet is created and by every call to {@link #retain()},
+ * and it is freed when {@link #release()} has been called as many times. So, instances must be released when they are not used anymore.
+ * <p>This class is thread safe.
+ */
+public abstract class EncodedPacketWrapper implements ISendable {
+
+    /**
+     * Retains the encoded data of the packet, so that it is not freed until {@link #release()} is called once more.
+     *
+     * @return This packet.
+     */
+    @NotNull
+    public abstract EncodedPacketWrapper retain();
+
+    /**
+     * Releases the encoded data of the packet.
+     * <p>The packet cannot be sent anymore after its data is freed. Packets already sent are not affected.
+     */
+    public abstract void release();
+}
@@ -5,7 +5,8 @@ import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.MinecraftKeyWrapper;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Constructor;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
 import java.util.Map;
 import java.util.Set;
 
@@ -14,26 +15,15 @@ import java.util.Set;
  */
 public abstract class PacketPlayOutAdvancementsWrapper implements ISendable {
 
-    private static Constructor<? extends PacketPlayOutAdvancementsWrapper> resetConstructor, sendConstructor, removeConstructor;
+    private static final MethodHandle RESET_CONSTRUCTOR, SEND_CONSTRUCTOR, REMOVE_CONSTRUCTOR, UPDATE_CONSTRUCTOR;
 
     static {
         var clazz = ReflectionUtil.getWrapperClass(PacketPlayOutAdvancementsWrapper.class);
         assert clazz != null : "Wrapper class is null.";
-        try {
-            resetConstructor = clazz.getDeclaredConstructor();
-        } catch (ReflectiveOperationException e) {
-            e.printStackTrace();
-        }
-        try {
-            sendConstructor = clazz.getDeclaredConstructor(Map.class);
-        } catch (ReflectiveOperationException e) {
-            e.printStackTrace();
-        }
-        try {
-            removeConstructor = clazz.getDeclaredConstructor(Set.class);
-        } catch (ReflectiveOperationException e) {
-            e.printStackTrace();
-        }
+        RESET_CONSTRUCTOR = ReflectionUtil.getConstructor(clazz, PacketPlayOutAdvancementsWrapper.class);
+        SEND_CONSTRUCTOR = ReflectionUtil.getConstructor(clazz, PacketPlayOutAdvancementsWrapper.class, Map.class);
+        REMOVE_CONSTRUCTOR = ReflectionUtil.getConstructor(clazz, PacketPlayOutAdvancementsWrapper.class, Set.class);
+        UPDATE_CONSTRUCTOR = ReflectionUtil.getConstructor(clazz, PacketPlayOutAdvancementsWrapper.class, Map.class, Map.class, Set.class);
     }
 
     /**
@@ -44,7 +34,11 @@ public abstract class PacketPlayOutAdvancementsWrapper implements ISendable {
      */
     @NotNull
     public static PacketPlayOutAdvancementsWrapper craftResetPacket() throws ReflectiveOperationException {
-        return resetConstructor.newInstance();
+        try {
+            return (PacketPlayOutAdvancementsWrapper) RESET_CONSTRUCTOR.invokeExact();
+        } catch (Throwable t) {
+            throw ReflectionUtil.rethrow(t);
+        }
     }
 
     /**
@@ -56,7 +50,11 @@ public abstract class PacketPlayOutAdvancementsWrapper implements ISendable {
      */
     @NotNull
     public static PacketPlayOutAdvancementsWrapper craftSendPacket(@NotNull Map<AdvancementWrapper, Integer> toSend) throws ReflectiveOperationException {
-        return sendConstructor.newInstance(toSend);
+        try {
+            return (PacketPlayOutAdvancementsWrapper) SEND_CONSTRUCTOR.invokeExact(toSend);
+        } catch (Throwable t) {
+            throw ReflectionUtil.rethrow(t);
+        }
     }
 
     /**
@@ -68,6 +66,41 @@ public abstract class PacketPlayOutAdvancementsWrapper implements ISendable {
      */
     @NotNull
     public static PacketPlayOutAdvancementsWrapper craftRemovePacket(@NotNull Set<MinecraftKeyWrapper> toRemove) throws ReflectiveOperationException {
-        return removeConstructor.newInstance(toRemove);
+        try {
+            return (PacketPlayOutAdvancementsWrapper) REMOVE_CONSTRUCTOR.invokeExact(toRemove);
+        } catch (Throwable t) {
+            throw ReflectionUtil.rethrow(t);
+        }
+    }
+
+    /**
+     * Creates a new {@code PacketPlayOutAdvancementsWrapper} which updates the advancement GUI without resending the unchanged advancements.
+     * <p>The client applies the packet in this order: it removes the advancements in {@code toRemove} (and their children),
+     * then it adds the advancements in {@code toSend} and finally it updates the progressions of the advancements in {@code toSend} and {@code toUpdate}.
+     *
+     * @param toSend The {@link Map} of the advancement to send paired with their respective progressions to display.
+     * @param toUpdate The {@link Map} of the already sent advancements paired with their respective new progressions to display.
+     * @param toRemove The {@link Set} containing the namespaced keys of the advancements to remove.
+     * @return A new {@code PacketPlayOutAdvancementsWrapper} which updates the advancement GUI.
+     * @throws ReflectiveOperationException If reflections goes wrong.
+     */
+    @NotNull
+    public static PacketPlayOutAdvancementsWrapper craftUpdatePacket(@NotNull Map<AdvancementWrapper, Integer> toSend, @NotNull Map<AdvancementWrapper, Integer> toUpdate, @NotNull Set<MinecraftKeyWrapper> toRemove) throws ReflectiveOperationException {
+        try {
+            return (PacketPlayOutAdvancementsWrapper) UPDATE_CONSTRUCTOR.invokeExact(toSend, toUpdate, toRemove);
+        } catch (Throwable t) {
+            throw ReflectionUtil.rethrow(t);
+        }
     }
+
+    /**
+     * Encodes this packet, so that it can be sent to many players without being encoded again for every one of them.
+     * <p>The returned {@link EncodedPacketWrapper} skips the packet listeners of other plugins and protocol translations,
+     * since it isn't encoded by the connections it is sent to.
+     *
+     * @return A new {@link EncodedPacketWrapper} containing the encoded packet. It must be released when it is not used anymore.
+     * @throws IOException If the encoding fails.
+     */
+    @NotNull
+    public abstract EncodedPacketWrapper encode() throws IOException;
 }
@@ -4,28 +4,20 @@ import com.fren_gor.ultimateAdvancementAPI.nms.util.ReflectionUtil;
 import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.MinecraftKeyWrapper;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
 
 /**
  * Wrapper class for NMS {@code PacketPlayOutSelectAdvancementTab}.
  */
 public abstract class PacketPlayOutSelectAdvancementTabWrapper implements ISendable {
 
-    private static Constructor<? extends PacketPlayOutSelectAdvancementTabWrapper> selectNoneConstructor, selectConstructor;
+    private static final MethodHandle SELECT_NONE_CONSTRUCTOR, SELECT_CONSTRUCTOR;
 
     static {
         var clazz = ReflectionUtil.getWrapperClass(PacketPlayOutSelectAdvancementTabWrapper.class);
         assert clazz != null : "Wrapper class is null.";
-        try {
-            selectNoneConstructor = clazz.getDeclaredConstructor();
-        } catch (ReflectiveOperationException e) {
-            e.printStackTrace();
-        }
-        try {
-            selectConstructor = clazz.getDeclaredConstructor(MinecraftKeyWrapper.class);
-        } catch (ReflectiveOperationException e) {
-            e.printStackTrace();
-        }
+        SELECT_NONE_CONSTRUCTOR = ReflectionUtil.getConstructor(clazz, PacketPlayOutSelectAdvancementTabWrapper.class);
+        SELECT_CONSTRUCTOR = ReflectionUtil.getConstructor(clazz, PacketPlayOutSelectAdvancementTabWrapper.class, MinecraftKeyWrapper.class);
     }
 
     /**
@@ -36,7 +28,11 @@ public abstract class PacketPlayOutSelectAdvancementTabWrapper implements ISenda
      */
     @NotNull
     public static PacketPlayOutSelectAdvancementTabWrapper craftSelectNone() throws ReflectiveOperationException {
-        return selectNoneConstructor.newInstance();
+        try {
+            return (PacketPlayOutSelectAdvancementTabWrapper) SELECT_NONE_CONSTRUCTOR.invokeExact();
+        } catch (Throwable t) {
+            throw ReflectionUtil.rethrow(t);
+        }
     }
 
     /**
@@ -48,6 +44,10 @@ public abstract class PacketPlayOutSelectAdvancementTabWrapper implements ISenda
      */
     @NotNull
     public static PacketPlayOutSelectAdvancementTabWrapper craftSelect(@NotNull MinecraftKeyWrapper key) throws ReflectiveOperationException {
-        return selectConstructor.newInstance(key);
+        try {
+            return (PacketPlayOutSelectAdvancementTabWrapper) SELECT_CONSTRUCTOR.invokeExact(key);
+        } catch (Throwable t) {
+            throw ReflectionUtil.rethrow(t);
+        }
     }
 }
@@ -1,5 +1,10 @@
 package com.fren_gor.ultimateAdvancementAPI;
 
+import com.fren_gor.ultimateAdvancementAPI.database.DatabaseExecutor;
+import com.fren_gor.ultimateAdvancementAPI.database.ProgressionJournal;
+import com.fren_gor.ultimateAdvancementAPI.database.SchemaVersion;
+import com.fren_gor.ultimateAdvancementAPI.database.impl.BlobSQLite;
+import com.fren_gor.ultimateAdvancementAPI.database.impl.SQLite;
 import com.google.common.base.Preconditions;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -22,7 +27,11 @@ public class ConfigManager {
     private boolean disableVanillaAdvancements;
     // db parameters
     private DB_TYPE storageType;
+    private SchemaVersion schemaVersion;
     private String sqlLiteDbName;
+    private SQLite.Profile sqlLiteProfile;
+    private String blobSqlLiteDbName;
+    private BlobSQLite.Compression blobCompression;
     private String username;
     private String password;
     private String databaseName;
@@ -30,6 +39,25 @@ public class ConfigManager {
     private int port;
     private int poolSize;
     private long connectionTimeout;
+    // write-behind parameters
+    private int flushInterval;
+    private int flushThreshold;
+    // executor parameters
+    private int queueCapacity;
+    private boolean virtualThreads;
+
+    private int updateInterval;
+    private boolean packetCache;
+    private int packetCacheSize;
+    private boolean asyncPackets;
+    private boolean deliveryQueue;
+    private int advancementsPerTick;
+    private int tabsPerTick;
+    private boolean toastQueue;
+    private int toastsPerSecond;
+    private int maxQueuedToasts;
+    private AdvancementToastQueue.OverflowPolicy toastOverflowPolicy;
+    private String mergedToastTitle;
 
     public ConfigManager(@NotNull AdvancementPlugin plugin) {
         this.plugin = Objects.requireNonNull(plugin, "Plugin is null.");
@@ -61,6 +89,19 @@ public class ConfigManager {
         if (type.equalsIgnoreCase("SQLite")) {
             storageType = DB_TYPE.SQLITE;
             sqlLiteDbName = getOrDefault("sqlite.file", "database.db");
+            String profile = getOrDefault("sqlite.profile", "default");
+            if (profile.equalsIgnoreCase("default")) {
+                sqlLiteProfile = SQLite.Profile.DEFAULT;
+            } else if (profile.equalsIgnoreCase("high-throughput")) {
+                sqlLiteProfile = SQLite.Profile.HIGH_THROUGHPUT;
+            } else {
+                Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "Invalid SQLite profile \"" + profile + "\", using default profile.");
+                sqlLiteProfile = SQLite.Profile.DEFAULT;
+            }
+        } else if (type.equalsIgnoreCase("BlobSQLite")) {
+            storageType = DB_TYPE.BLOB_SQLITE;
+            blobSqlLiteDbName = getOrDefault("blob-sqlite.file", "blob-database.db");
+            blobCompression = getOrDefault("blob-sqlite.compression", Boolean.TRUE) ? BlobSQLite.Compression.DEFLATE : BlobSQLite.Compression.NONE;
         } else if (type.equalsIgnoreCase("MySQL")) {
             storageType = DB_TYPE.MYSQL;
             username = getOrDefault("mysql.username", "root");
@@ -77,6 +118,80 @@ public class ConfigManager {
             return true;
         }
 
+        int schema = getOrDefault("schema-version", 1);
+        if (schema == 1) {
+            schemaVersion = SchemaVersion.V1;
+        } else if (schema == 2) {
+            schemaVersion = SchemaVersion.V2;
+        } else {
+            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "Invalid schema version " + schema + ", using schema version 1.");
+            schemaVersion = SchemaVersion.V1;
+        }
+
+        flushInterval = getOrDefault("write-behind.flush-interval", (int) ProgressionJournal.DEFAULT_FLUSH_INTERVAL);
+        flushThreshold = getOrDefault("write-behind.flush-threshold", ProgressionJournal.DEFAULT_FLUSH_THRESHOLD);
+        if (flushInterval < 0 || flushThreshold <= 0) {
+            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "Invalid write-behind settings, using default values.");
+            flushInterval = (int) ProgressionJournal.DEFAULT_FLUSH_INTERVAL;
+            flushThreshold = ProgressionJournal.DEFAULT_FLUSH_THRESHOLD;
+        }
+
+        queueCapacity = getOrDefault("database-executor.queue-capacity", DatabaseExecutor.DEFAULT_QUEUE_CAPACITY);
+        if (queueCapacity <= 0) {
+            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "Invalid database-executor queue capacity, using default value.");
+            queueCapacity = DatabaseExecutor.DEFAULT_QUEUE_CAPACITY;
+        }
+        virtualThreads = config.getBoolean("database-executor.virtual-threads");
+
+        updateInterval = getOrDefault("advancement-updates.interval", AdvancementUpdateScheduler.DEFAULT_INTERVAL);
+        if (updateInterval < 0) {
+            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "Invalid advancement-updates interval, using default value.");
+            updateInterval = AdvancementUpdateScheduler.DEFAULT_INTERVAL;
+        }
+
+        packetCache = getOrDefault("packet-cache.enabled", Boolean.FALSE);
+        packetCacheSize = getOrDefault("packet-cache.max-packets", AdvancementPacketCache.DEFAULT_MAX_PACKETS);
+        if (packetCacheSize <= 0) {
+            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "Invalid packet-cache max-packets, using default value.");
+            packetCacheSize = AdvancementPacketCache.DEFAULT_MAX_PACKETS;
+        }
+
+        asyncPackets = getOrDefault("packet-sending.async", Boolean.TRUE);
+
+        deliveryQueue = getOrDefault("login-delivery.enabled", Boolean.TRUE);
+        advancementsPerTick = getOrDefault("login-delivery.advancements-per-tick", AdvancementDeliveryQueue.DEFAULT_ADVANCEMENTS_PER_TICK);
+        if (advancementsPerTick <= 0) {
+            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "Invalid login-delivery advancements-per-tick, using default value.");
+            advancementsPerTick = AdvancementDeliveryQueue.DEFAULT_ADVANCEMENTS_PER_TICK;
+        }
+        tabsPerTick = getOrDefault("login-delivery.tabs-per-tick", AdvancementDeliveryQueue.DEFAULT_TABS_PER_TICK);
+        if (tabsPerTick <= 0) {
+            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "Invalid login-delivery tabs-per-tick, using default value.");
+            tabsPerTick = AdvancementDeliveryQueue.DEFAULT_TABS_PER_TICK;
+        }
+
+        toastQueue = getOrDefault("toasts.rate-limit", Boolean.TRUE);
+        toastsPerSecond = getOrDefault("toasts.toasts-per-second", AdvancementToastQueue.DEFAULT_TOASTS_PER_SECOND);
+        if (toastsPerSecond <= 0) {
+            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "Invalid toasts toasts-per-second, using default value.");
+            toastsPerSecond = AdvancementToastQueue.DEFAULT_TOASTS_PER_SECOND;
+        }
+        maxQueuedToasts = getOrDefault("toasts.max-queued", AdvancementToastQueue.DEFAULT_MAX_QUEUED_TOASTS);
+        if (maxQueuedToasts < 0) {
+            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "Invalid toasts max-queued, using default value.");
+            maxQueuedToasts = AdvancementToastQueue.DEFAULT_MAX_QUEUED_TOASTS;
+        }
+        String overflow = getOrDefault("toasts.overflow", "merge");
+        if (overflow.equalsIgnoreCase("merge")) {
+            toastOverflowPolicy = AdvancementToastQueue.OverflowPolicy.MERGE;
+        } else if (overflow.equalsIgnoreCase("drop")) {
+            toastOverflowPolicy = AdvancementToastQueue.OverflowPolicy.DROP;
+        } else {
+            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "Invalid toasts overflow \"" + overflow + "\", using default value.");
+            toastOverflowPolicy = AdvancementToastQueue.DEFAULT_OVERFLOW_POLICY;
+        }
+        mergedToastTitle = getOrDefault("toasts.merged-title", AdvancementToastQueue.DEFAULT_MERGED_TITLE);
+
         return false;
     }
 
@@ -90,10 +205,41 @@ public class ConfigManager {
         Preconditions.checkNotNull(storageType, "Config has not been loaded.");
 
         switch (storageType) {
-            case SQLITE -> main.enableSQLite(new File(plugin.getDataFolder(), sqlLiteDbName));
-            case MYSQL -> main.enableMySQL(username, password, databaseName, host, port, poolSize, connectionTimeout);
+            case SQLITE -> main.enableSQLite(new File(plugin.getDataFolder(), sqlLiteDbName), sqlLiteProfile, schemaVersion);
+            case BLOB_SQLITE -> main.enableBlobSQLite(new File(plugin.getDataFolder(), blobSqlLiteDbName), blobCompression);
+            case MYSQL -> main.enableMySQL(username, password, databaseName, host, port, poolSize, connectionTimeout, schemaVersion);
             case IN_MEMORY -> main.enableInMemory();
         }
+
+        ProgressionJournal journal = main.getDatabaseManager().getProgressionJournal();
+        journal.setFlushInterval(flushInterval);
+        journal.setFlushThreshold(flushThreshold);
+
+        DatabaseExecutor executor = main.getDatabaseManager().getDatabaseExecutor();
+        executor.setQueueCapacity(queueCapacity);
+        if (!executor.setVirtualThreads(virtualThreads)) {
+            Bukkit.getConsoleSender().sendMessage(ChatColor.YELLOW + "Virtual threads are not supported by this Java version, using platform threads.");
+        }
+
+        main.getUpdateScheduler().setInterval(updateInterval);
+
+        AdvancementPacketCache cache = main.getPacketCache();
+        cache.setMaxPackets(packetCacheSize);
+        cache.setEnabled(packetCache);
+
+        main.getPacketSender().setAsync(asyncPackets);
+
+        AdvancementDeliveryQueue queue = main.getDeliveryQueue();
+        queue.setAdvancementsPerTick(advancementsPerTick);
+        queue.setTabsPerTick(tabsPerTick);
+        queue.setEnabled(deliveryQueue);
+
+        AdvancementToastQueue toasts = main.getToastQueue();
+        toasts.setToastsPerSecond(toastsPerSecond);
+        toasts.setMaxQueuedToasts(maxQueuedToasts);
+        toasts.setOverflowPolicy(toastOverflowPolicy);
+        toasts.setMergedTitle(mergedToastTitle);
+        toasts.setEnabled(toastQueue);
     }
 
     private String getOrDefault(@NotNull String path, @NotNull String def) {
@@ -108,6 +254,10 @@ public class ConfigManager {
         return config.get(path) instanceof Long l ? l : def;
     }
 
+    private Boolean getOrDefault(@NotNull String path, @NotNull Boolean def) {
+        return config.get(path) instanceof Boolean b ? b : def;
+    }
+
     public boolean getDisableVanillaAdvancements() {
         return disableVanillaAdvancements;
     }
@@ -118,6 +268,7 @@ public class ConfigManager {
 
     public enum DB_TYPE {
         SQLITE("SQLite"),
+        BLOB_SQLITE("Blob SQLite"),
         MYSQL("MySQL"),
         IN_MEMORY("In Memory");
 